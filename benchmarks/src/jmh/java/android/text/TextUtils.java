@@ -0,0 +1,24 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package android.text;
+
+/**
+ * Replaces android.text.TextUtils stub of android.jar, which is used by SDK on the host JVM while running benchmarks.
+ */
+public class TextUtils {
+    public static boolean isEmpty(CharSequence str) {
+        return str == null || str.length() == 0;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Provides delivery search responses for benchmarks, based on SDK unit tests fixtures.
+ */
+class BenchmarkFixtures {
+
+    static final String ASSETS = "assets_default_success_response.json";
+    static final String CATEGORIES = "categories_default_success_response.json";
+    static final String CONTENT_ITEMS = "content_items_default_success_response.json";
+    static final String CONTENT_TYPES = "content_types_default_success_response.json";
+
+    /**
+     * Creates {@link Gson} instance configured the same way as the one used by {@link ContentDeliverySDK}.
+     */
+    static Gson createGson() {
+        return new GsonBuilder()
+                .registerTypeAdapter(JSONObject.class, new JSONObjectJsonDeserializer())
+                .create();
+    }
+
+    /**
+     * Reads given fixture and repeats its documents until response holds requested number of documents.
+     * Every copy of the document gets unique ID, so repeated documents are not equal.
+     *
+     * @param fixtureName   name of the fixture resource
+     * @param documentCount number of documents in returned response
+     * @return JSON string of delivery search response
+     */
+    static String scaledResponse(String fixtureName, int documentCount) {
+        final JsonObject fixture = JsonParser.parseString(read(fixtureName)).getAsJsonObject();
+        final JsonArray fixtureDocuments = fixture.getAsJsonArray("documents");
+
+        final JsonArray documents = new JsonArray(documentCount);
+        for (int i = 0; i < documentCount; i++) {
+            final JsonObject document = fixtureDocuments.get(i % fixtureDocuments.size()).getAsJsonObject().deepCopy();
+            final JsonElement id = document.get("id");
+            if (null != id) {
+                document.addProperty("id", id.getAsString() + "-" + i);
+            }
+            documents.add(document);
+        }
+
+        final JsonObject response = new JsonObject();
+        response.addProperty("numFound", documentCount);
+        response.add("documents", documents);
+        return response.toString();
+    }
+
+    private static String read(String fixtureName) {
+        try (InputStream inputStream = BenchmarkFixtures.class.getClassLoader().getResourceAsStream(fixtureName)) {
+            if (null == inputStream) {
+                throw new IllegalArgumentException("Fixture not found: " + fixtureName);
+            }
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+            return outputStream.toString("UTF-8");
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read fixture: " + fixtureName, e);
+        }
+    }
+
+    private BenchmarkFixtures() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Measures building of delivery search query parameters by {@link DeliverySearchQueryBuilder}.
+ */
+@State(Scope.Thread)
+public class DeliverySearchQueryBuilderBenchmark {
+
+    /**
+     * Number of filter queries, field list entries and sort rules of the benchmarked builder.
+     */
+    @Param({"1", "5", "20"})
+    public int clauses;
+
+    private DeliverySearchQueryBuilder queryBuilder;
+
+    @Setup
+    public void setUp() {
+        queryBuilder = new DeliverySearchQueryBuilder()
+                .query("*:*")
+                .start(20)
+                .rows(Documents.DEFAULT_PAGE_SIZE)
+                .setIncludeDraft(true)
+                .setIncludeRetired(true)
+                .setIncludeAllFields(false);
+
+        for (int i = 0; i < clauses; i++) {
+            queryBuilder
+                    .filterQuery("string" + i, "value " + i)
+                    .fieldList("field" + i)
+                    .sort("sortableString" + i, i % 2 == 0);
+        }
+    }
+
+    @Benchmark
+    public DeliverySearchQuery build() {
+        return queryBuilder.build();
+    }
+
+    @Benchmark
+    public String getSortString() {
+        return queryBuilder.getSortString();
+    }
+
+    @Benchmark
+    public List<String> getFilterQuery() {
+        return queryBuilder.getFilterQuery();
+    }
+}
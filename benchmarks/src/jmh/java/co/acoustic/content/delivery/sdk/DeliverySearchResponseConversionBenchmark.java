@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Measures conversion of delivery search response body to {@link DeliverySearchResponse},
+ * using the same converter as SDK networking calls.
+ */
+@State(Scope.Thread)
+public class DeliverySearchResponseConversionBenchmark {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    @Param({BenchmarkFixtures.ASSETS, BenchmarkFixtures.CATEGORIES, BenchmarkFixtures.CONTENT_ITEMS, BenchmarkFixtures.CONTENT_TYPES})
+    public String fixture;
+
+    @Param({"10", "100", "1000"})
+    public int documents;
+
+    private byte[] responseBytes;
+    private Converter<ResponseBody, DeliverySearchResponse> converter;
+
+    @Setup
+    public void setUp() throws IOException {
+        responseBytes = BenchmarkFixtures.scaledResponse(fixture, documents).getBytes("UTF-8");
+
+        final Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl("https://localhost/")
+                .addConverterFactory(GsonConverterFactory.create(BenchmarkFixtures.createGson()))
+                .build();
+        converter = retrofit.responseBodyConverter(DeliverySearchResponse.class, new Annotation[0]);
+    }
+
+    @Benchmark
+    public DeliverySearchResponse convert() throws IOException {
+        return converter.convert(ResponseBody.create(JSON, responseBytes));
+    }
+}
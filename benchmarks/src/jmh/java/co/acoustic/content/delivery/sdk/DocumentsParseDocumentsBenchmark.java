@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+
+/**
+ * Measures mapping of {@link DeliverySearchResponseDocument}s to {@link Document}s by {@link Documents#parseDocuments(List)}.
+ */
+@State(Scope.Thread)
+public class DocumentsParseDocumentsBenchmark {
+
+    @Param({BenchmarkFixtures.ASSETS, BenchmarkFixtures.CATEGORIES, BenchmarkFixtures.CONTENT_ITEMS, BenchmarkFixtures.CONTENT_TYPES})
+    public String fixture;
+
+    @Param({"10", "100", "1000"})
+    public int documents;
+
+    private Documents<? extends Document> target;
+    private List<DeliverySearchResponseDocument> rawDocuments;
+
+    @Setup
+    public void setUp() {
+        final DeliverySearchResponse response = BenchmarkFixtures.createGson()
+                .fromJson(BenchmarkFixtures.scaledResponse(fixture, documents), DeliverySearchResponse.class);
+        rawDocuments = response.documents;
+
+        final DeliverySearch deliverySearch = ContentDeliverySDK
+                .create(SDKConfig.builder().setApiUrl("https://localhost/api/").build())
+                .deliverySearch();
+        final DeliverySearchQueryBuilder queryBuilder = new DeliverySearchQueryBuilder();
+        final NetworkingCallsExecutor callsExecutor = new NetworkingCallsExecutor() {
+            @Override
+            public <ResponseType> void executeCall(Call<ResponseType> call, Callback<ResponseType> callback) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        switch (fixture) {
+            case BenchmarkFixtures.ASSETS:
+                target = new Assets(deliverySearch, null, queryBuilder, callsExecutor);
+                break;
+            case BenchmarkFixtures.CATEGORIES:
+                target = new Categories(deliverySearch, null, queryBuilder, callsExecutor);
+                break;
+            case BenchmarkFixtures.CONTENT_ITEMS:
+                target = new ContentItems(deliverySearch, null, queryBuilder, callsExecutor);
+                break;
+            case BenchmarkFixtures.CONTENT_TYPES:
+                target = new ContentTypes(deliverySearch, null, queryBuilder, callsExecutor);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown fixture: " + fixture);
+        }
+    }
+
+    @Benchmark
+    public List<? extends Document> parseDocuments() {
+        return target.parseDocuments(rawDocuments);
+    }
+}
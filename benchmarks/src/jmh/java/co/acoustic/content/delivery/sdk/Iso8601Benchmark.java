@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Compares {@link Iso8601#parseMillis(String)} with {@link SimpleDateFormat} parsing of delivery search timestamps.
+ */
+@State(Scope.Thread)
+public class Iso8601Benchmark {
+
+    private static final String TIMESTAMP = "2020-01-07T17:52:31.610Z";
+
+    private SimpleDateFormat simpleDateFormat;
+
+    @Setup
+    public void setUp() {
+        simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+        simpleDateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    }
+
+    @Benchmark
+    public long iso8601() {
+        return Iso8601.parseMillis(TIMESTAMP);
+    }
+
+    @Benchmark
+    public long simpleDateFormat() throws ParseException {
+        return simpleDateFormat.parse(TIMESTAMP).getTime();
+    }
+}
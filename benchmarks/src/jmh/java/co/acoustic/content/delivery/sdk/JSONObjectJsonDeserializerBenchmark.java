@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures conversion of "document" JSON element of delivery search response to {@link JSONObject}
+ * by {@link JSONObjectJsonDeserializer}.
+ */
+@State(Scope.Thread)
+public class JSONObjectJsonDeserializerBenchmark {
+
+    @Param({BenchmarkFixtures.ASSETS, BenchmarkFixtures.CONTENT_ITEMS})
+    public String fixture;
+
+    private final JSONObjectJsonDeserializer deserializer = new JSONObjectJsonDeserializer();
+
+    private JsonElement document;
+
+    @Setup
+    public void setUp() {
+        final JsonObject response = JsonParser.parseString(BenchmarkFixtures.scaledResponse(fixture, 1)).getAsJsonObject();
+        document = response.getAsJsonArray("documents").get(0).getAsJsonObject().get("document");
+    }
+
+    @Benchmark
+    public JSONObject deserialize() {
+        return deserializer.deserialize(document, JSONObject.class, null);
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures escaping of Solr query special characters by {@link SolrQueryUtils#escapeQueryChars(String)}.
+ */
+@State(Scope.Thread)
+public class SolrQueryUtilsBenchmark {
+
+    @Param({
+            "0e7c3d1f-c5b1-4d5e-8f6d-0f7a1c2b3d4e",
+            "My landing page (draft) - summer: 2020!",
+            "title:\"Hello world\" AND (tags:[a TO z] OR name:*page*) && -status:retired || ~fuzzy^2 {x} /path/? ;"
+    })
+    public String value;
+
+    @Benchmark
+    public String escapeQueryChars() {
+        return SolrQueryUtils.escapeQueryChars(value);
+    }
+}
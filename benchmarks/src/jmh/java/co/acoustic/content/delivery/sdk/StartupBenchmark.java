@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Measures SDK startup: creation of {@link ContentDeliverySDK}, e.g. in {@code Application.onCreate()},
+ * and time from creation to the first delivery search result served by local {@link MockWebServer}.
+ * <p/>
+ * Every invocation creates new SDK instance, so networking is created from scratch, class loading is not measured
+ * as classes stay loaded after the first invocation. Responses close connections, so idle connections of abandoned
+ * instances don't pile up.
+ */
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    private MockWebServer mockWebServer;
+    private ExecutorService executorService;
+    private SDKConfig config;
+
+    @Setup
+    public void setUp() throws IOException {
+        final String response = BenchmarkFixtures.scaledResponse(BenchmarkFixtures.CONTENT_ITEMS, 10);
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .addHeader("Connection", "close")
+                        .setBody(response);
+            }
+        });
+        mockWebServer.start();
+
+        // instances share the executor, so threads of abandoned dispatchers don't pile up
+        executorService = Executors.newCachedThreadPool();
+        config = SDKConfig.builder()
+                .setApiUrl(mockWebServer.url("/api/").toString())
+                .setExecutorService(executorService)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        executorService.shutdown();
+        mockWebServer.shutdown();
+    }
+
+    @Benchmark
+    public ContentDeliverySDK create() {
+        return ContentDeliverySDK.create(config);
+    }
+
+    @Benchmark
+    public DeliverySearchResult<ContentItem> createToFirstResult() throws IOException {
+        return ContentDeliverySDK.create(config)
+                .deliverySearch()
+                .contentItems()
+                .execute();
+    }
+}
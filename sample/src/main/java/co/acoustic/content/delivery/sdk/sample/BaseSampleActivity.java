@@ -16,8 +16,6 @@ package co.acoustic.content.delivery.sdk.sample;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.Menu;
@@ -296,7 +294,7 @@ abstract class BaseSampleActivity extends AppCompatActivity {
         if (rvSearchResults.getAdapter() == null) {
             rvSearchResults.setAdapter(new ResultsAdapter(getSource()));
         } else {
-            new Handler(Looper.getMainLooper()).post(() -> rvSearchResults.getAdapter().notifyDataSetChanged());
+            rvSearchResults.getAdapter().notifyDataSetChanged();
         }
     }
 
@@ -34,6 +34,8 @@ public class SampleApplication extends Application {
 
         //initialize ContentDeliverySDK.
         this.sdk = ContentDeliverySDK.create(SDKConfig.builder().setApiUrl(API_URL).build());
+        //prepare networking in background, so the first query of the first screen doesn't wait for it.
+        this.sdk.warmUp();
     }
 
     /**
@@ -16,8 +16,11 @@ package co.acoustic.content.delivery.sdk;
 
 import android.os.Parcel;
 
+import androidx.annotation.NonNull;
+
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -131,6 +134,10 @@ public class Asset extends Document {
         super(source);
     }
 
+    Asset(SnapshotReader source) throws IOException {
+        super(source);
+    }
+
     /**
      * @return the asset type. The value that is returned can be "document", "file", "image", or "video"
      */
@@ -276,6 +283,46 @@ public class Asset extends Document {
         url = source.readString();
     }
 
+    @Override
+    void writeSnapshot(@NonNull SnapshotWriter dest) throws IOException {
+        super.writeSnapshot(dest);
+        dest.writeSharedString(assetType);
+        dest.writeStringList(categories, true);
+        dest.writeStringList(categoryLeaves, true);
+        dest.writeJSONObject(document);
+        dest.writeVarLong(fileSize);
+        dest.writeBoolean(isManaged);
+        dest.writeString(location);
+        dest.writeString(locationPaths);
+        dest.writeString(media);
+        dest.writeSharedString(mediaType);
+        dest.writeString(path);
+        dest.writeString(resource);
+        dest.writeSharedString(status);
+        dest.writeString(thumbnail);
+        dest.writeString(url);
+    }
+
+    @Override
+    void readSnapshot(@NonNull SnapshotReader source) throws IOException {
+        super.readSnapshot(source);
+        assetType = source.readSharedString();
+        categories = source.readStringList(true);
+        categoryLeaves = source.readStringList(true);
+        document = source.readJSONObject();
+        fileSize = source.readVarLong();
+        isManaged = source.readBoolean();
+        location = source.readString();
+        locationPaths = source.readString();
+        media = source.readString();
+        mediaType = source.readSharedString();
+        path = source.readString();
+        resource = source.readString();
+        status = source.readSharedString();
+        thumbnail = source.readString();
+        url = source.readString();
+    }
+
     public static final Creator<Asset> CREATOR = new Creator<Asset>() {
         @Override
         public Asset createFromParcel(Parcel source) {
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list of booleans backed by bit set, {@code null} elements are tracked in a separate bit mask,
+ * that is allocated only if list contains {@code null} elements.
+ */
+final class BooleanColumn extends AbstractList<Boolean> implements RandomAccess {
+
+    private final int size;
+    private final long[] values;
+    @Nullable
+    private final long[] nulls;
+
+    BooleanColumn(int size, @NonNull long[] values, @Nullable long[] nulls) {
+        this.size = size;
+        this.values = values;
+        this.nulls = nulls;
+    }
+
+    @Nullable
+    static BooleanColumn of(@Nullable List<Boolean> source) {
+        if (null == source) {
+            return null;
+        }
+        final int size = source.size();
+        final long[] values = new long[NullMask.words(size)];
+        long[] nulls = null;
+        for (int i = 0; i < size; i++) {
+            final Boolean value = source.get(i);
+            if (null == value) {
+                nulls = NullMask.markNull(nulls, size, i);
+            } else if (value) {
+                values[i >> 6] |= 1L << i;
+            }
+        }
+        return new BooleanColumn(size, values, nulls);
+    }
+
+    @Override
+    public Boolean get(int index) {
+        return isNull(index) ? null : (values[index >> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @throws NullPointerException if element at given index is {@code null}
+     */
+    boolean getBoolean(int index) {
+        if (isNull(index)) {
+            throw new NullPointerException("Element at index " + index + " is null");
+        }
+        return (values[index >> 6] & (1L << index)) != 0;
+    }
+
+    boolean isNull(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return NullMask.isNull(nulls, index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @NonNull
+    long[] getValues() {
+        return values;
+    }
+
+    @Nullable
+    long[] getNulls() {
+        return nulls;
+    }
+
+
+    /**
+     * Parses JSON array of booleans straight into {@link BooleanColumn}, without boxing of the elements.
+     */
+    static class GsonAdapter extends TypeAdapter<BooleanColumn> {
+
+        @Override
+        public void write(JsonWriter out, BooleanColumn value) throws IOException {
+            if (null == value) {
+                out.nullValue();
+                return;
+            }
+            out.beginArray();
+            for (int i = 0; i < value.size(); i++) {
+                if (value.isNull(i)) {
+                    out.nullValue();
+                } else {
+                    out.value(value.getBoolean(i));
+                }
+            }
+            out.endArray();
+        }
+
+        @Override
+        public BooleanColumn read(JsonReader in) throws IOException {
+            if (JsonToken.NULL == in.peek()) {
+                in.nextNull();
+                return null;
+            }
+            long[] values = new long[1];
+            long[] nulls = null;
+            int size = 0;
+            in.beginArray();
+            while (in.hasNext()) {
+                if (NullMask.words(size + 1) > values.length) {
+                    values = Arrays.copyOf(values, values.length * 2);
+                }
+                if (JsonToken.NULL == in.peek()) {
+                    in.nextNull();
+                    if (null == nulls) {
+                        nulls = new long[values.length];
+                    } else if (nulls.length < values.length) {
+                        nulls = Arrays.copyOf(nulls, values.length);
+                    }
+                    nulls[size >> 6] |= 1L << size;
+                } else if (in.nextBoolean()) {
+                    values[size >> 6] |= 1L << size;
+                }
+                size++;
+            }
+            in.endArray();
+            return new BooleanColumn(size, values, nulls);
+        }
+    }
+}
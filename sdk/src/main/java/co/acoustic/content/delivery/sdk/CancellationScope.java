@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import retrofit2.Call;
+
+/**
+ * Groups delivery search queries that belong to the same screen or feature, so that they can be cancelled at once.
+ * <p/>
+ * Queries are started within the scope using {@link Documents#within(CancellationScope)}. Closing the scope cancels
+ * every query started within it, whether it is running or still waiting for a free slot, and results of cancelled
+ * queries are not passed to listeners. Queries started within already closed scope are cancelled immediately.
+ * <p/>
+ * Scope is thread-safe and can be closed from any thread.
+ */
+public final class CancellationScope implements Closeable {
+
+    private final Set<Call<?>> calls = new HashSet<>();
+    private final Set<NetworkingCallsExecutor> executors = new HashSet<>();
+    private boolean closed;
+
+    /**
+     * Cancels all queries started within this scope and marks the scope closed.
+     */
+    @Override
+    public void close() {
+        final List<Call<?>> callsToCancel;
+        final List<NetworkingCallsExecutor> executorsToNotify;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            callsToCancel = new ArrayList<>(calls);
+            calls.clear();
+            executorsToNotify = new ArrayList<>(executors);
+            executors.clear();
+        }
+        for (Call<?> call : callsToCancel) {
+            call.cancel();
+        }
+        // cancelled calls that are still waiting for a free slot are dropped and their callbacks are failed
+        for (NetworkingCallsExecutor executor : executorsToNotify) {
+            executor.onCallsCancelled();
+        }
+    }
+
+    /**
+     * @return {@code true} - scope was closed, {@code false} - otherwise
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Adds the call to this scope, the call is cancelled right away if this scope is already closed.
+     *
+     * @param call     the call to add
+     * @param executor the executor the call is passed to, it's notified once this scope is closed
+     * @return {@code true} - call was added, {@code false} - scope is closed and call was cancelled
+     */
+    boolean add(@NonNull Call<?> call, @Nullable NetworkingCallsExecutor executor) {
+        Validator.checkNotNull(call, "call cannot be null");
+        synchronized (this) {
+            if (!closed) {
+                calls.add(call);
+                if (null != executor) {
+                    executors.add(executor);
+                }
+                return true;
+            }
+        }
+        call.cancel();
+        return false;
+    }
+
+    /**
+     * Removes finished call from this scope.
+     *
+     * @param call the call to remove
+     */
+    synchronized void remove(@NonNull Call<?> call) {
+        calls.remove(call);
+    }
+
+    /**
+     * @return number of calls that were started within this scope and are not finished yet
+     */
+    synchronized int getCallsCount() {
+        return calls.size();
+    }
+}
@@ -18,12 +18,19 @@ import android.text.TextUtils;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 
 import com.google.gson.GsonBuilder;
 
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import okhttp3.ResponseBody;
 import retrofit2.Call;
@@ -40,15 +47,31 @@ public class ContentDeliverySDK {
 
     private final DataEncoder encoder;
 
+    private final SDKConfig config;
+
     private final DeliverySearch deliverySearch;
-    private final NetworkingCallsProvider networkingCallsProvider;
     private final NetworkingCallsExecutor networkingCallsExecutor;
-    private final RetrofitFactory retrofitFactory;
+    private final PriorityRequestScheduler requestScheduler;
 
     private final SdkCookieManager cookieManager;
 
+    /**
+     * Networking is created on first use or by {@link #warmUp()}, see {@link #ensureNetworking()}.
+     * {@link #networkingCallsProvider} is assigned last, so other networking fields are visible once it's not {@code null}.
+     */
+    private final Object networkingLock = new Object();
+    private RetrofitFactory retrofitFactory;
+    private SessionRefresher sessionRefresher;
+    private volatile NetworkingCallsProvider networkingCallsProvider;
+
+    private final MetricsDispatcher metricsDispatcher = new MetricsDispatcher();
+
+    private final StringPool stringPool;
+
+    private final DeliverySearchResultStore resultStore = new DeliverySearchResultStore();
+
     private String currentUserName = null;
-    private String encodedCredentials = null;
+    private volatile String encodedCredentials = null;
 
     private Call<List<LoginResponse>> currentAuthCall;
 
@@ -64,9 +87,32 @@ public class ContentDeliverySDK {
     }
 
     NetworkingCallsProvider getNetworkingCallsProvider() {
+        ensureNetworking();
         return networkingCallsProvider;
     }
 
+    @VisibleForTesting
+    boolean isNetworkingCreated() {
+        return null != networkingCallsProvider;
+    }
+
+    PriorityRequestScheduler getRequestScheduler() {
+        return requestScheduler;
+    }
+
+    /**
+     * @return store of documents of detached {@link DeliverySearchResult.State}s created by this instance
+     */
+    @NonNull
+    DeliverySearchResultStore getResultStore() {
+        return resultStore;
+    }
+
+    @NonNull
+    Executor getCallbackExecutor() {
+        return getRetrofitFactory().getCallbackExecutor();
+    }
+
     private ContentDeliverySDK(@NonNull SDKConfig config) {
         this(config, new DataEncoder());
     }
@@ -80,19 +126,76 @@ public class ContentDeliverySDK {
             DataEncoder dataEncoder,
             NetworkingCallsExecutor networkingCallsExecutor
     ) {
+        this.config = Validator.checkNotNull(config, "config cannot be null");
         this.encoder = dataEncoder;
         this.networkingCallsExecutor = networkingCallsExecutor;
+        this.requestScheduler = new PriorityRequestScheduler(config.getMaxConcurrentRequests());
+
+        this.cookieManager = new SdkCookieManager(config.getCookieStoreFile(), this::runInBackground);
+        // session is established by login to API host, and is used by preview API host as well
+        this.cookieManager.shareCookie(config.getPreviewApiUrl().getHost(), config.getApiUrl().getHost(), SessionRefresher.AUTH_COOKIE_NAME);
+        this.stringPool = new StringPool(config.getStringPoolMaxSize());
+        this.deliverySearch = new DeliverySearch(this);
+    }
 
-        this.cookieManager = new SdkCookieManager();
+    @NonNull
+    private RetrofitFactory getRetrofitFactory() {
+        ensureNetworking();
+        return retrofitFactory;
+    }
+
+    /**
+     * Creates Gson, {@link RetrofitFactory} and {@link NetworkingCallsProvider} unless they were created already.
+     * They are not created by the constructor to keep SDK creation cheap e.g. in {@code Application.onCreate()}.
+     */
+    private void ensureNetworking() {
+        if (null == networkingCallsProvider) {
+            synchronized (networkingLock) {
+                if (null == networkingCallsProvider) {
+                    createNetworking();
+                }
+            }
+        }
+    }
+
+    private void createNetworking() {
+        final GsonBuilder gsonBuilder = new GsonBuilder()
+                .registerTypeAdapter(JSONObject.class, new JSONObjectJsonDeserializer());
+        if (stringPool.isEnabled()) {
+            gsonBuilder.registerTypeAdapterFactory(new StringPoolTypeAdapterFactory(stringPool));
+        }
 
         retrofitFactory = new RetrofitFactory(
-                new GsonBuilder()
-                        .registerTypeAdapter(JSONObject.class, new JSONObjectJsonDeserializer())
-                        .create(),
+                gsonBuilder.create(),
                 config,
-                cookieManager
+                cookieManager,
+                metricsDispatcher
         );
-        deliverySearch = new DeliverySearch(this);
+        final SessionAuthenticator sessionAuthenticator = new SessionAuthenticator(new SessionAuthenticator.Session() {
+            @Nullable
+            @Override
+            public String getEncodedCredentials() {
+                return encodedCredentials;
+            }
+
+            @Override
+            public boolean renew(@NonNull String encodedCredentials) throws IOException {
+                final Throwable error = processLoginResponse(networkingCallsProvider.getLoginCall("Basic " + encodedCredentials).execute());
+                if (null == ContentDeliverySDK.this.encodedCredentials) {
+                    // user logged out meanwhile, so the renewed session should not be kept
+                    cookieManager.clear();
+                    return false;
+                }
+                if (null != error || !encodedCredentials.equals(ContentDeliverySDK.this.encodedCredentials)) {
+                    return false;
+                }
+                sessionRefresher.onSessionEstablished();
+                return true;
+            }
+        });
+        sessionRefresher = new SessionRefresher(sessionAuthenticator, cookieManager, retrofitFactory.getTransport().getScheduler());
+        retrofitFactory.setAuthenticator(sessionAuthenticator);
+        retrofitFactory.setSessionInterceptor(sessionRefresher);
         networkingCallsProvider = new NetworkingCallsProvider(retrofitFactory);
     }
 
@@ -100,11 +203,45 @@ public class ContentDeliverySDK {
         return currentUserName;
     }
 
+    /**
+     * Prepares networking ahead of the first query, e.g. during application startup. Opens connections to API and
+     * preview API hosts, reads persisted cookies and creates networking services and JSON parsers, all of that
+     * is done by the first query otherwise. Work is done in background, on executor of {@link SDKConfig#getTransport()}
+     * or {@link SDKConfig#getExecutorService()} if it's configured, this method doesn't block.
+     * <p/>
+     * Connections are opened by HEAD requests to API base URLs, that reach the server and appear in its logs.
+     */
+    public void warmUp() {
+        runInBackground(() -> {
+            getRetrofitFactory().preconnect();
+            cookieManager.ensureLoaded();
+            networkingCallsProvider.warmUp();
+        });
+    }
+
+    /**
+     * Runs the task on executor of {@link SDKConfig#getTransport()} or {@link SDKConfig#getExecutorService()},
+     * or on {@link BackgroundExecutor} if there is no executor configured.
+     */
+    private void runInBackground(@NonNull Runnable task) {
+        final ExecutorService executorService = null != config.getTransport()
+                ? config.getTransport().getExecutorService()
+                : config.getExecutorService();
+        if (null == executorService) {
+            BackgroundExecutor.INSTANCE.execute(task);
+        } else {
+            executorService.execute(task);
+        }
+    }
+
     /**
      * Logs out current user.
      */
     public void logout() {
         clearCurrentAuthCall();
+        if (isNetworkingCreated()) {
+            sessionRefresher.cancel();
+        }
         cookieManager.clear();
         encodedCredentials = null;
         currentUserName = null;
@@ -140,7 +277,7 @@ public class ContentDeliverySDK {
         currentUserName = null;
         clearCurrentAuthCall();
 
-        currentAuthCall = retrofitFactory
+        currentAuthCall = getRetrofitFactory()
                 .acousticApiService((LOG_NETWORK ? RetrofitFactory.INTERCEPT_FLAG_LOG : 0 ) | RetrofitFactory.INTERCEPT_FLAG_COOKIE)
                 .create(LoginNetworkingService.class)
                 .login("Basic " + newEncodedCredentials);
@@ -150,29 +287,57 @@ public class ContentDeliverySDK {
                 new Callback<List<LoginResponse>>() {
                     @Override
                     public void onResponse(Call<List<LoginResponse>> call, Response<List<LoginResponse>> response) {
-                        if(!call.isCanceled()) {
-                            final Throwable error = processLoginResponse(response);
-                            if (null == error) {
-                                currentUserName = userName;
-                                ContentDeliverySDK.this.encodedCredentials = newEncodedCredentials;
-                            } else {
-                                cookieManager.clear();
+                        final Throwable error = processLoginResponse(response);
+                        getCallbackExecutor().execute(() -> {
+                            if (!call.isCanceled()) {
+                                if (null == error) {
+                                    currentUserName = userName;
+                                    ContentDeliverySDK.this.encodedCredentials = newEncodedCredentials;
+                                    sessionRefresher.onSessionEstablished();
+                                } else {
+                                    cookieManager.clear();
+                                }
+                                notifyLoginDone(loginListener, error);
                             }
-                            notifyLoginDone(loginListener, error);
-                        }
+                        });
                     }
 
                     @Override
                     public void onFailure(Call<List<LoginResponse>> call, Throwable error) {
-                        if (!call.isCanceled()) {
-                            notifyLoginDone(loginListener, error);
-                            cookieManager.clear();
-                        }
+                        getCallbackExecutor().execute(() -> {
+                            if (!call.isCanceled()) {
+                                notifyLoginDone(loginListener, error);
+                                cookieManager.clear();
+                            }
+                        });
                     }
                 }
         );
     }
 
+    /**
+     * Registers {@link MetricsListener} that gets performance metrics of every networking call made by this SDK instance,
+     * metrics aren't collected while there is no listener registered.
+     *
+     * @param metricsListener the {@link MetricsListener} to pass metrics to, {@code null} to stop metrics collection.
+     */
+    public void setMetricsListener(@Nullable MetricsListener metricsListener) {
+        metricsDispatcher.setListener(metricsListener);
+    }
+
+    /**
+     * @return statistics of the pool that makes equal values repeated across documents share single instance
+     * @see SDKConfig.Builder#setStringPoolMaxSize(int)
+     */
+    @NonNull
+    public StringPoolStats getStringPoolStats() {
+        return stringPool.getStats();
+    }
+
+    MetricsDispatcher getMetricsDispatcher() {
+        return metricsDispatcher;
+    }
+
     SdkCookieManager getCookieManager() {
         return cookieManager;
     }
@@ -220,4 +385,53 @@ public class ContentDeliverySDK {
          */
         void onLoginDone(@Nullable Throwable error);
     }
+
+    /**
+     * Defines contract for class aware of performance metrics collected by SDK.
+     */
+    public interface MetricsListener {
+
+        /**
+         * Called once networking call is finished, either successfully or with failure.
+         * <p/>
+         * <b>NOTE:</b> called on the thread that executed the call, implementation should not block.
+         *
+         * @param metrics the {@link NetworkMetrics} of finished call.
+         */
+        void onNetworkMetrics(@NonNull NetworkMetrics metrics);
+
+        /**
+         * Called once delivery search response is converted and mapped into {@link Document}s, before result is passed to
+         * {@link Documents.DeliverySearchResultListener}.
+         * <p/>
+         * <b>NOTE:</b> called on the thread that delivers delivery search results, implementation should not block.
+         *
+         * @param metrics the {@link ParseMetrics} of the delivery search response.
+         */
+        default void onParseMetrics(@NonNull ParseMetrics metrics) {
+        }
+    }
+
+    /**
+     * Holds lazily created thread that runs background work, e.g. writes of cookies, one task at a time,
+     * for SDK instances that have no executor configured. The thread is stopped once there is no work for a while.
+     */
+    private static final class BackgroundExecutor {
+
+        private static final long KEEP_ALIVE_SECONDS = 30;
+
+        static final ExecutorService INSTANCE = create();
+
+        @NonNull
+        private static ExecutorService create() {
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                        final Thread thread = new Thread(runnable, "ContentDeliverySDK-background");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
 }
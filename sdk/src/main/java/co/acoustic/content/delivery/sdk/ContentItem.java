@@ -16,8 +16,12 @@ package co.acoustic.content.delivery.sdk;
 
 import android.os.Parcel;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,17 +30,20 @@ import java.util.List;
  */
 public class ContentItem extends Document {
 
+    private static final int SORTABLE_NUMBER_1 = 0;
+    private static final int SORTABLE_NUMBER_2 = 1;
+
     /**
      * Field can contain boolean element values for elements mapped to this field.
      * The mapping of elements to search fields is defined in the content type referenced by the content item.
      */
-    private ArrayList<Boolean> boolean1;
+    private BooleanColumn boolean1;
 
     /**
      * Field can contain boolean element values for elements mapped to this field.
      * The mapping of elements to search fields is defined in the content type referenced by the content item.
      */
-    private ArrayList<Boolean> boolean2;
+    private BooleanColumn boolean2;
 
     /**
      * The list of all category selections for the content.
@@ -108,13 +115,13 @@ public class ContentItem extends Document {
      * Field can contain number element values for elements mapped to this field.
      * The mapping of elements to search fields is defined in the content type referenced by the content item.
      */
-    private ArrayList<Double> number1;
+    private DoubleColumn number1;
 
     /**
      * Field can contain number element values for elements mapped to this field.
      * The mapping of elements to search fields is defined in the content type referenced by the content item.
      */
-    private ArrayList<Double> number2;
+    private DoubleColumn number2;
 
     /**
      * Field contains the state the item is in.
@@ -161,14 +168,22 @@ public class ContentItem extends Document {
     /**
      * Field can contain a single number element value for an element mapped to this field.
      * The mapping of elements to search fields is defined in the content type referenced by the content item.
+     * Absent value is marked in {@link #sortableNumberNulls}.
      */
-    private Double sortableNumber1;
+    private double sortableNumber1;
 
     /**
      * Field can contain a single number element value for an element mapped to this field.
      * The mapping of elements to search fields is defined in the content type referenced by the content item.
+     * Absent value is marked in {@link #sortableNumberNulls}.
      */
-    private Double sortableNumber2;
+    private double sortableNumber2;
+
+    /**
+     * {@link NullMask} of sortable number fields, indexed by {@link #SORTABLE_NUMBER_1} and {@link #SORTABLE_NUMBER_2}.
+     * Kept apart from the values, as lenient JSON parsing lets any double, {@link Double#NaN} included, be a real value.
+     */
+    private int sortableNumberNulls;
 
     /**
      * Field can contain a single string element value for an element mapped to this field.
@@ -210,6 +225,14 @@ public class ContentItem extends Document {
      */
     private String typeId;
 
+    /**
+     * Epoch milliseconds of date fields, parsed on first access.
+     */
+    private volatile long[] date1Millis;
+    private volatile long[] date2Millis;
+    private volatile long sortableDate1Millis = NOT_PARSED;
+    private volatile long sortableDate2Millis = NOT_PARSED;
+
     ContentItem(DeliverySearchResponseDocument rawDoc) {
         super(rawDoc);
 
@@ -245,8 +268,16 @@ public class ContentItem extends Document {
         sortableDate1 = rawDoc.sortableDate1;
         sortableDate2 = rawDoc.sortableDate2;
 
-        sortableNumber1 = rawDoc.sortableNumber1;
-        sortableNumber2 = rawDoc.sortableNumber2;
+        if (null == rawDoc.sortableNumber1) {
+            sortableNumberNulls = NullMask.markNull(sortableNumberNulls, SORTABLE_NUMBER_1);
+        } else {
+            sortableNumber1 = rawDoc.sortableNumber1;
+        }
+        if (null == rawDoc.sortableNumber2) {
+            sortableNumberNulls = NullMask.markNull(sortableNumberNulls, SORTABLE_NUMBER_2);
+        } else {
+            sortableNumber2 = rawDoc.sortableNumber2;
+        }
 
         sortableString1 = rawDoc.sortableString1;
         sortableString2 = rawDoc.sortableString2;
@@ -263,6 +294,10 @@ public class ContentItem extends Document {
         super(source);
     }
 
+    ContentItem(SnapshotReader source) throws IOException {
+        super(source);
+    }
+
     /**
      * Field can contain boolean element values for elements mapped to this field.
      * The mapping of elements to search fields is defined in the content type referenced by the content item
@@ -273,6 +308,21 @@ public class ContentItem extends Document {
         return boolean1;
     }
 
+    /**
+     * Primitive alternative of {@code getBoolean1().get(index)}, that doesn't allocate.
+     *
+     * @param index index of the element
+     * @return boolean element value at given index
+     * @throws IndexOutOfBoundsException if index is out of range or field is not set
+     * @throws NullPointerException       if element at given index is {@code null}
+     */
+    public boolean getBoolean1At(int index) {
+        if (null == boolean1) {
+            throw new IndexOutOfBoundsException("boolean1 is not set");
+        }
+        return boolean1.getBoolean(index);
+    }
+
     /**
      * Field can contain boolean element values for elements mapped to this field.
      * The mapping of elements to search fields is defined in the content type referenced by the content item
@@ -283,6 +333,21 @@ public class ContentItem extends Document {
         return boolean2;
     }
 
+    /**
+     * Primitive alternative of {@code getBoolean2().get(index)}, that doesn't allocate.
+     *
+     * @param index index of the element
+     * @return boolean element value at given index
+     * @throws IndexOutOfBoundsException if index is out of range or field is not set
+     * @throws NullPointerException       if element at given index is {@code null}
+     */
+    public boolean getBoolean2At(int index) {
+        if (null == boolean2) {
+            throw new IndexOutOfBoundsException("boolean2 is not set");
+        }
+        return boolean2.getBoolean(index);
+    }
+
     /**
      * @return list of all category selections for the content. All category selection elements on content are merged into this property
      */
@@ -307,6 +372,22 @@ public class ContentItem extends Document {
         return date1;
     }
 
+    /**
+     * Date element value at given index as epoch milliseconds, values are parsed on first call and cached afterwards.
+     *
+     * @param index index of the element
+     * @return date element value in milliseconds since January 1, 1970 00:00:00 UTC, {@link #NO_DATE} if value cannot be parsed
+     * @throws IndexOutOfBoundsException if index is out of range or field is not set
+     */
+    public long getDate1MillisAt(int index) {
+        long[] result = date1Millis;
+        if (null == result) {
+            result = parseMillis(date1, "date1");
+            date1Millis = result;
+        }
+        return result[index];
+    }
+
     /**
      * Field can contain date element values for elements mapped to this field.
      * The mapping of elements to search fields is defined in the content type referenced by the content item.
@@ -317,6 +398,22 @@ public class ContentItem extends Document {
         return date2;
     }
 
+    /**
+     * Date element value at given index as epoch milliseconds, values are parsed on first call and cached afterwards.
+     *
+     * @param index index of the element
+     * @return date element value in milliseconds since January 1, 1970 00:00:00 UTC, {@link #NO_DATE} if value cannot be parsed
+     * @throws IndexOutOfBoundsException if index is out of range or field is not set
+     */
+    public long getDate2MillisAt(int index) {
+        long[] result = date2Millis;
+        if (null == result) {
+            result = parseMillis(date2, "date2");
+            date2Millis = result;
+        }
+        return result[index];
+    }
+
     /**
      * @return full JSON document for the item
      */
@@ -370,6 +467,21 @@ public class ContentItem extends Document {
         return number1;
     }
 
+    /**
+     * Primitive alternative of {@code getNumber1().get(index)}, that doesn't allocate.
+     *
+     * @param index index of the element
+     * @return number element value at given index
+     * @throws IndexOutOfBoundsException if index is out of range or field is not set
+     * @throws NullPointerException       if element at given index is {@code null}
+     */
+    public double getNumber1At(int index) {
+        if (null == number1) {
+            throw new IndexOutOfBoundsException("number1 is not set");
+        }
+        return number1.getDouble(index);
+    }
+
     /**
      * Field can contain number element values for elements mapped to this field.
      * The mapping of elements to search fields is defined in the content type referenced by the content item.
@@ -380,6 +492,21 @@ public class ContentItem extends Document {
         return number2;
     }
 
+    /**
+     * Primitive alternative of {@code getNumber2().get(index)}, that doesn't allocate.
+     *
+     * @param index index of the element
+     * @return number element value at given index
+     * @throws IndexOutOfBoundsException if index is out of range or field is not set
+     * @throws NullPointerException       if element at given index is {@code null}
+     */
+    public double getNumber2At(int index) {
+        if (null == number2) {
+            throw new IndexOutOfBoundsException("number2 is not set");
+        }
+        return number2.getDouble(index);
+    }
+
     /**
      * Field contains the state the item is in.
      * The value of this field can be "ready" or "retired".
@@ -440,6 +567,21 @@ public class ContentItem extends Document {
         return sortableDate1;
     }
 
+    /**
+     * Single date element value as epoch milliseconds, value is parsed on first call and cached afterwards.
+     *
+     * @return a single date element value in milliseconds since January 1, 1970 00:00:00 UTC,
+     * {@link #NO_DATE} if value is not set or cannot be parsed
+     */
+    public long getSortableDate1Millis() {
+        long result = sortableDate1Millis;
+        if (NOT_PARSED == result) {
+            result = Iso8601.parseMillis(sortableDate1);
+            sortableDate1Millis = result;
+        }
+        return result;
+    }
+
     /**
      * Field can contain a single date element value for an element mapped to this field.
      * The mapping of elements to search fields is defined in the content type referenced by the content item.
@@ -450,14 +592,40 @@ public class ContentItem extends Document {
         return sortableDate2;
     }
 
+    /**
+     * Single date element value as epoch milliseconds, value is parsed on first call and cached afterwards.
+     *
+     * @return a single date element value in milliseconds since January 1, 1970 00:00:00 UTC,
+     * {@link #NO_DATE} if value is not set or cannot be parsed
+     */
+    public long getSortableDate2Millis() {
+        long result = sortableDate2Millis;
+        if (NOT_PARSED == result) {
+            result = Iso8601.parseMillis(sortableDate2);
+            sortableDate2Millis = result;
+        }
+        return result;
+    }
+
     /**
      * Field can contain a single number element value for an element mapped to this field.
      * The mapping of elements to search fields is defined in the content type referenced by the content item.
      *
      * @return a single number element value for an element mapped to this field
+     * @see #getSortableNumber1(double)
      */
     public Double getSortableNumber1() {
-        return sortableNumber1;
+        return NullMask.isNull(sortableNumberNulls, SORTABLE_NUMBER_1) ? null : Double.valueOf(sortableNumber1);
+    }
+
+    /**
+     * Primitive alternative of {@link #getSortableNumber1()}, that doesn't box the value on every call.
+     *
+     * @param defaultValue value to return if field is not set
+     * @return a single number element value for an element mapped to this field, or {@code defaultValue} if field is not set
+     */
+    public double getSortableNumber1(double defaultValue) {
+        return NullMask.isNull(sortableNumberNulls, SORTABLE_NUMBER_1) ? defaultValue : sortableNumber1;
     }
 
     /**
@@ -465,9 +633,20 @@ public class ContentItem extends Document {
      * The mapping of elements to search fields is defined in the content type referenced by the content item.
      *
      * @return a single number element value for an element mapped to this field
+     * @see #getSortableNumber2(double)
      */
     public Double getSortableNumber2() {
-        return sortableNumber2;
+        return NullMask.isNull(sortableNumberNulls, SORTABLE_NUMBER_2) ? null : Double.valueOf(sortableNumber2);
+    }
+
+    /**
+     * Primitive alternative of {@link #getSortableNumber2()}, that doesn't box the value on every call.
+     *
+     * @param defaultValue value to return if field is not set
+     * @return a single number element value for an element mapped to this field, or {@code defaultValue} if field is not set
+     */
+    public double getSortableNumber2(double defaultValue) {
+        return NullMask.isNull(sortableNumberNulls, SORTABLE_NUMBER_2) ? defaultValue : sortableNumber2;
     }
 
     /**
@@ -541,8 +720,8 @@ public class ContentItem extends Document {
     @Override
     public void writeToParcel(Parcel dest, int flags) {
         super.writeToParcel(dest, flags);
-        ParcelableUtils.writeArrayListOfBoolean(boolean1, dest);
-        ParcelableUtils.writeArrayListOfBoolean(boolean2, dest);
+        ParcelableUtils.writeBooleanColumn(boolean1, dest);
+        ParcelableUtils.writeBooleanColumn(boolean2, dest);
         ParcelableUtils.writeArrayListOfStrings(categories, dest);
         ParcelableUtils.writeArrayListOfStrings(categoryLeaves, dest);
         ParcelableUtils.writeArrayListOfStrings(date1, dest);
@@ -552,8 +731,8 @@ public class ContentItem extends Document {
         dest.writeInt(isManaged ? 1 : 0);
         ParcelableUtils.writeArrayListOfStrings(location1, dest);
         ParcelableUtils.writeArrayListOfStrings(locations, dest);
-        ParcelableUtils.writeArrayListOfDouble(number1, dest);
-        ParcelableUtils.writeArrayListOfDouble(number2, dest);
+        ParcelableUtils.writeDoubleColumn(number1, dest);
+        ParcelableUtils.writeDoubleColumn(number2, dest);
         dest.writeString(status);
         ParcelableUtils.writeArrayListOfStrings(string1, dest);
         ParcelableUtils.writeArrayListOfStrings(string2, dest);
@@ -561,8 +740,9 @@ public class ContentItem extends Document {
         ParcelableUtils.writeArrayListOfStrings(string4, dest);
         dest.writeString(sortableDate1);
         dest.writeString(sortableDate2);
-        dest.writeSerializable(sortableNumber1);
-        dest.writeSerializable(sortableNumber2);
+        dest.writeInt(sortableNumberNulls);
+        dest.writeDouble(sortableNumber1);
+        dest.writeDouble(sortableNumber2);
         dest.writeString(sortableString1);
         dest.writeString(sortableString2);
         dest.writeString(sortableString3);
@@ -575,8 +755,8 @@ public class ContentItem extends Document {
     @Override
     void readFromParcel(Parcel source) {
         super.readFromParcel(source);
-        boolean1 = ParcelableUtils.readArrayListOfBoolean(source);
-        boolean2 = ParcelableUtils.readArrayListOfBoolean(source);
+        boolean1 = ParcelableUtils.readBooleanColumn(source);
+        boolean2 = ParcelableUtils.readBooleanColumn(source);
         categories = ParcelableUtils.readArrayListOfStrings(source);
         categoryLeaves = ParcelableUtils.readArrayListOfStrings(source);
         date1 = ParcelableUtils.readArrayListOfStrings(source);
@@ -586,8 +766,8 @@ public class ContentItem extends Document {
         isManaged = source.readInt() == 1;
         location1 = ParcelableUtils.readArrayListOfStrings(source);
         locations = ParcelableUtils.readArrayListOfStrings(source);
-        number1 = ParcelableUtils.readArrayListOfDouble(source);
-        number2 = ParcelableUtils.readArrayListOfDouble(source);
+        number1 = ParcelableUtils.readDoubleColumn(source);
+        number2 = ParcelableUtils.readDoubleColumn(source);
         status = source.readString();
         string1 = ParcelableUtils.readArrayListOfStrings(source);
         string2 = ParcelableUtils.readArrayListOfStrings(source);
@@ -595,8 +775,9 @@ public class ContentItem extends Document {
         string4 = ParcelableUtils.readArrayListOfStrings(source);
         sortableDate1 = source.readString();
         sortableDate2 = source.readString();
-        sortableNumber1 = (Double) source.readSerializable();
-        sortableNumber2 = (Double) source.readSerializable();
+        sortableNumberNulls = source.readInt();
+        sortableNumber1 = source.readDouble();
+        sortableNumber2 = source.readDouble();
         sortableString1 = source.readString();
         sortableString2 = source.readString();
         sortableString3 = source.readString();
@@ -606,6 +787,90 @@ public class ContentItem extends Document {
         typeId = source.readString();
     }
 
+    @Override
+    void writeSnapshot(@NonNull SnapshotWriter dest) throws IOException {
+        super.writeSnapshot(dest);
+        dest.writeBooleanColumn(boolean1);
+        dest.writeBooleanColumn(boolean2);
+        dest.writeStringList(categories, true);
+        dest.writeStringList(categoryLeaves, true);
+        dest.writeStringList(date1, false);
+        dest.writeStringList(date2, false);
+        dest.writeJSONObject(document);
+        dest.writeStringList(generatedFiles, false);
+        dest.writeBoolean(isManaged);
+        dest.writeStringList(location1, true);
+        dest.writeStringList(locations, true);
+        dest.writeDoubleColumn(number1);
+        dest.writeDoubleColumn(number2);
+        dest.writeSharedString(status);
+        dest.writeStringList(string1, false);
+        dest.writeStringList(string2, false);
+        dest.writeStringList(string3, false);
+        dest.writeStringList(string4, false);
+        dest.writeString(sortableDate1);
+        dest.writeString(sortableDate2);
+        dest.writeByte(sortableNumberNulls);
+        dest.writeDouble(sortableNumber1);
+        dest.writeDouble(sortableNumber2);
+        dest.writeString(sortableString1);
+        dest.writeString(sortableString2);
+        dest.writeString(sortableString3);
+        dest.writeString(sortableString4);
+        dest.writeStringList(text, false);
+        dest.writeSharedString(type);
+        dest.writeSharedString(typeId);
+    }
+
+    @Override
+    void readSnapshot(@NonNull SnapshotReader source) throws IOException {
+        super.readSnapshot(source);
+        boolean1 = source.readBooleanColumn();
+        boolean2 = source.readBooleanColumn();
+        categories = source.readStringList(true);
+        categoryLeaves = source.readStringList(true);
+        date1 = source.readStringList(false);
+        date2 = source.readStringList(false);
+        document = source.readJSONObject();
+        generatedFiles = source.readStringList(false);
+        isManaged = source.readBoolean();
+        location1 = source.readStringList(true);
+        locations = source.readStringList(true);
+        number1 = source.readDoubleColumn();
+        number2 = source.readDoubleColumn();
+        status = source.readSharedString();
+        string1 = source.readStringList(false);
+        string2 = source.readStringList(false);
+        string3 = source.readStringList(false);
+        string4 = source.readStringList(false);
+        sortableDate1 = source.readString();
+        sortableDate2 = source.readString();
+        if (source.getVersion() >= 3) {
+            sortableNumberNulls = source.readByte();
+            sortableNumber1 = source.readDouble();
+            sortableNumber2 = source.readDouble();
+        } else {
+            // version 2 marked absent values with NaN
+            sortableNumber1 = source.readDouble();
+            sortableNumber2 = source.readDouble();
+            if (Double.isNaN(sortableNumber1)) {
+                sortableNumber1 = 0;
+                sortableNumberNulls = NullMask.markNull(sortableNumberNulls, SORTABLE_NUMBER_1);
+            }
+            if (Double.isNaN(sortableNumber2)) {
+                sortableNumber2 = 0;
+                sortableNumberNulls = NullMask.markNull(sortableNumberNulls, SORTABLE_NUMBER_2);
+            }
+        }
+        sortableString1 = source.readString();
+        sortableString2 = source.readString();
+        sortableString3 = source.readString();
+        sortableString4 = source.readString();
+        text = source.readStringList(false);
+        type = source.readSharedString();
+        typeId = source.readSharedString();
+    }
+
     public static final Creator<ContentItem> CREATOR = new Creator<ContentItem>() {
         @Override
         public ContentItem createFromParcel(Parcel source) {
@@ -618,6 +883,18 @@ public class ContentItem extends Document {
         }
     };
 
+    @NonNull
+    private static long[] parseMillis(@Nullable List<String> values, @NonNull String field) {
+        if (null == values) {
+            throw new IndexOutOfBoundsException(field + " is not set");
+        }
+        final long[] result = new long[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Iso8601.parseMillis(values.get(i));
+        }
+        return result;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -656,10 +933,9 @@ public class ContentItem extends Document {
             return false;
         if (sortableDate2 != null ? !sortableDate2.equals(that.sortableDate2) : that.sortableDate2 != null)
             return false;
-        if (sortableNumber1 != null ? !sortableNumber1.equals(that.sortableNumber1) : that.sortableNumber1 != null)
-            return false;
-        if (sortableNumber2 != null ? !sortableNumber2.equals(that.sortableNumber2) : that.sortableNumber2 != null)
-            return false;
+        if (sortableNumberNulls != that.sortableNumberNulls) return false;
+        if (Double.compare(sortableNumber1, that.sortableNumber1) != 0) return false;
+        if (Double.compare(sortableNumber2, that.sortableNumber2) != 0) return false;
         if (sortableString1 != null ? !sortableString1.equals(that.sortableString1) : that.sortableString1 != null)
             return false;
         if (sortableString2 != null ? !sortableString2.equals(that.sortableString2) : that.sortableString2 != null)
@@ -676,6 +952,7 @@ public class ContentItem extends Document {
     @Override
     public int hashCode() {
         int result = super.hashCode();
+        long temp;
         result = 31 * result + (boolean1 != null ? boolean1.hashCode() : 0);
         result = 31 * result + (boolean2 != null ? boolean2.hashCode() : 0);
         result = 31 * result + (categories != null ? categories.hashCode() : 0);
@@ -696,8 +973,11 @@ public class ContentItem extends Document {
         result = 31 * result + (string4 != null ? string4.hashCode() : 0);
         result = 31 * result + (sortableDate1 != null ? sortableDate1.hashCode() : 0);
         result = 31 * result + (sortableDate2 != null ? sortableDate2.hashCode() : 0);
-        result = 31 * result + (sortableNumber1 != null ? sortableNumber1.hashCode() : 0);
-        result = 31 * result + (sortableNumber2 != null ? sortableNumber2.hashCode() : 0);
+        result = 31 * result + sortableNumberNulls;
+        temp = Double.doubleToLongBits(sortableNumber1);
+        result = 31 * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(sortableNumber2);
+        result = 31 * result + (int) (temp ^ (temp >>> 32));
         result = 31 * result + (sortableString1 != null ? sortableString1.hashCode() : 0);
         result = 31 * result + (sortableString2 != null ? sortableString2.hashCode() : 0);
         result = 31 * result + (sortableString3 != null ? sortableString3.hashCode() : 0);
@@ -731,8 +1011,8 @@ public class ContentItem extends Document {
                 ", string4=" + string4 +
                 ", sortableDate1='" + sortableDate1 + '\'' +
                 ", sortableDate2='" + sortableDate2 + '\'' +
-                ", sortableNumber1='" + sortableNumber1 + '\'' +
-                ", sortableNumber2='" + sortableNumber2 + '\'' +
+                ", sortableNumber1='" + getSortableNumber1() + '\'' +
+                ", sortableNumber2='" + getSortableNumber2() + '\'' +
                 ", sortableString1='" + sortableString1 + '\'' +
                 ", sortableString2='" + sortableString2 + '\'' +
                 ", sortableString3='" + sortableString3 + '\'' +
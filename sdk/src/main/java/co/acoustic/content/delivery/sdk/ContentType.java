@@ -16,6 +16,8 @@ package co.acoustic.content.delivery.sdk;
 
 import android.os.Parcel;
 
+import java.io.IOException;
+
 /**
  * Represents content type {@link Document} that can be retrieved using delivery search API, provides document-specific properties.
  */
@@ -29,6 +31,10 @@ public class ContentType extends Document {
         super(source);
     }
 
+    ContentType(SnapshotReader source) throws IOException {
+        super(source);
+    }
+
     @Override
     public String toString() {
         return "ContentType{} " + super.toString();
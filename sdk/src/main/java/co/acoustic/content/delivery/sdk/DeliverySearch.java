@@ -15,6 +15,11 @@
 package co.acoustic.content.delivery.sdk;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Provides access to delivery search APIs.
@@ -55,6 +60,38 @@ public class DeliverySearch {
         return new ContentTypes(this, null);
     }
 
+    /**
+     * Runs given delivery search queries concurrently and joins their results, e.g. queries of {@link ContentItem}s,
+     * {@link Asset}s and {@link Category}s needed to show single screen.
+     * <p/>
+     * Returned future is completed once all queries succeed, with their results in the same order as queries.
+     * If any of queries fails, or they don't succeed within given timeout, the future fails and the rest of queries
+     * are cancelled. Cancelling the future cancels all queries.
+     *
+     * @param timeout the maximum time to wait for all queries, {@code 0} or less to wait without time limit
+     * @param unit    the time unit of the timeout argument
+     * @param queries delivery search queries to run
+     * @return future of all queries results, failed with {@link java.util.concurrent.TimeoutException} if queries don't succeed in time
+     * @see Documents#getAsync()
+     */
+    @NonNull
+    public DeliverySearchFuture<List<DeliverySearchResult<?>>> getAll(long timeout, @NonNull TimeUnit unit, @NonNull Documents<?>... queries) {
+        Validator.checkNotNull(unit, "unit cannot be null");
+        Validator.checkNotNull(queries, "queries cannot be null");
+        final List<DeliverySearchFuture<? extends DeliverySearchResult<?>>> futures = new ArrayList<>(queries.length);
+        try {
+            for (Documents<?> query : queries) {
+                futures.add(Validator.checkNotNull(query, "queries cannot contain null").getAsync());
+            }
+        } catch (RuntimeException e) {
+            for (DeliverySearchFuture<?> future : futures) {
+                future.cancel(false);
+            }
+            throw e;
+        }
+        return DeliverySearchFuture.allOf(timeout, unit, futures);
+    }
+
     /**
      * Creates {@link Documents} instance using given {@link co.acoustic.content.delivery.sdk.Documents.State}.
      *
@@ -90,4 +127,48 @@ public class DeliverySearch {
         Validator.checkNotNull(state, "State cannot be null");
         return new DeliverySearchResult<>(this, state);
     }
-}
\ No newline at end of file
+
+    /**
+     * Restores delivery search query of given {@link DeliverySearchResult.State}, including detached one
+     * (see {@link DeliverySearchResult#getDetachedState()}).
+     * <p/>
+     * If documents of the state are available, returned {@link Documents} instance passes {@link DeliverySearchResult}
+     * made of them to the listener given to {@link Documents#then(Documents.DeliverySearchResultListener)},
+     * otherwise delivery search query is executed again.
+     *
+     * @param state {@link DeliverySearchResult} state, cannot be {@code null}
+     * @param <T> - expected {@link Document} type
+     * @param <E> - expected {@link Documents} type
+     * @return new {@link Documents} instance that provides restored or refetched {@link DeliverySearchResult}
+     */
+    @NonNull
+    public <T extends Document, E extends Documents<T>> E restoreDeliverySearchResult(@NonNull DeliverySearchResult.State state) {
+        Validator.checkNotNull(state, "State cannot be null");
+        final E documents = createDocuments(state.getRequestState());
+        // documents of the state were returned by request of the same state, so they are of type T of created documents
+        @SuppressWarnings("unchecked")
+        final List<T> stateDocuments = (List<T>) getDocuments(state);
+        if (null != stateDocuments) {
+            documents.setPendingDeliverySearchResult(new DeliverySearchResult<>(
+                    state.getNumFound(),
+                    documents,
+                    new ArrayList<>(stateDocuments)
+            ));
+        } else {
+            documents.get();
+        }
+        return documents;
+    }
+
+    /**
+     * Provides documents of given state, documents of detached state are looked up in memory of SDK instance.
+     *
+     * @param state {@link DeliverySearchResult} state
+     * @return documents of the state, {@code null} if documents of detached state are no longer available
+     */
+    @Nullable
+    List<? extends Document> getDocuments(@NonNull DeliverySearchResult.State state) {
+        final String handle = state.getHandle();
+        return null == handle ? state.getDocuments() : sdk.getResultStore().get(handle);
+    }
+}
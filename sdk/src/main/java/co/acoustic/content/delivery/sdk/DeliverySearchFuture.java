@@ -0,0 +1,481 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link Future} of asynchronous delivery search query, that can be composed with other futures.
+ * <p/>
+ * Unlike {@link Documents#then(Documents.DeliverySearchResultListener)}, any number of {@link CompletionListener}s
+ * can be added to the future, and listeners added after the future is completed are notified immediately.
+ * Cancelling the future cancels underlying networking call.
+ * <p/>
+ * Work that depends on the result is chained with {@link #thenApply(Mapper)}, {@link #thenCompose(Mapper)} and
+ * {@link #exceptionally(Mapper)}, their mappers run on callback executor of the query that created the future,
+ * see {@link Documents#callbackExecutor(Executor)}.
+ *
+ * @param <V> - type of the future result
+ */
+public class DeliverySearchFuture<V> implements Future<V> {
+
+    private boolean done;
+    private boolean cancelled;
+    private V result;
+    private Throwable error;
+
+    @Nullable
+    private List<CompletionListener<? super V>> listeners;
+
+    @Nullable
+    private Runnable cancellationHook;
+
+    @NonNull
+    private final Executor callbackExecutor;
+
+    DeliverySearchFuture() {
+        this(SDKConfig.DIRECT_CALLBACK_EXECUTOR);
+    }
+
+    /**
+     * @param callbackExecutor executor that runs mappers of futures chained to this one
+     */
+    DeliverySearchFuture(@NonNull Executor callbackExecutor) {
+        this.callbackExecutor = Validator.checkNotNull(callbackExecutor, "callbackExecutor cannot be null");
+    }
+
+    /**
+     * Creates future that is completed once all given futures are completed successfully, with their results
+     * in the same order. If any of given futures fails or is cancelled, or they aren't completed within given timeout,
+     * the returned future fails and the rest of given futures are cancelled.
+     * Cancelling the returned future cancels all given futures. Mappers chained to the returned future run on callback
+     * executor of the first given future.
+     *
+     * @param timeout  the maximum time to wait for all futures, {@code 0} or less to wait without time limit
+     * @param unit     the time unit of the timeout argument
+     * @param futures  futures to wait for
+     * @param <V>      - type of futures results
+     * @return future of all futures results, failed with {@link TimeoutException} if they aren't completed in time
+     */
+    @NonNull
+    public static <V> DeliverySearchFuture<List<V>> allOf(
+            long timeout,
+            @NonNull TimeUnit unit,
+            @NonNull List<? extends DeliverySearchFuture<? extends V>> futures
+    ) {
+        Validator.checkNotNull(unit, "unit cannot be null");
+        Validator.checkNotNull(futures, "futures cannot be null");
+
+        final int size = futures.size();
+        final DeliverySearchFuture<?> first = 0 == size ? null : futures.get(0);
+        final DeliverySearchFuture<List<V>> combined = null == first
+                ? new DeliverySearchFuture<>()
+                : new DeliverySearchFuture<>(first.callbackExecutor);
+        if (0 == size) {
+            combined.complete(Collections.<V>emptyList());
+            return combined;
+        }
+
+        final Object[] results = new Object[size];
+        final AtomicInteger remaining = new AtomicInteger(size);
+        final Runnable cancelAll = () -> {
+            for (DeliverySearchFuture<? extends V> future : futures) {
+                future.cancel(false);
+            }
+        };
+        combined.setCancellationHook(cancelAll);
+
+        final ScheduledFuture<?> deadline = timeout > 0
+                ? Timer.INSTANCE.schedule(() -> {
+                    if (combined.completeExceptionally(new TimeoutException("Queries weren't completed within " + timeout + " " + unit))) {
+                        cancelAll.run();
+                    }
+                }, timeout, unit)
+                : null;
+        if (null != deadline) {
+            combined.addCompletionListener((value, error) -> deadline.cancel(false));
+        }
+
+        for (int i = 0; i < size; i++) {
+            final int index = i;
+            final DeliverySearchFuture<? extends V> future = Validator.checkNotNull(futures.get(i), "futures cannot contain null");
+            future.addCompletionListener((value, error) -> {
+                if (null != error) {
+                    if (combined.completeExceptionally(error)) {
+                        cancelAll.run();
+                    }
+                    return;
+                }
+                results[index] = value;
+                if (0 == remaining.decrementAndGet()) {
+                    combined.complete((List<V>) Arrays.asList(results));
+                }
+            });
+        }
+        return combined;
+    }
+
+    /**
+     * Adds listener that is notified once this future is completed, successfully or not. Listener added to already
+     * completed future is notified immediately on the calling thread, otherwise it is notified on the thread that
+     * completes the future.
+     *
+     * @param listener the listener to notify
+     * @return this
+     */
+    @NonNull
+    public DeliverySearchFuture<V> addCompletionListener(@NonNull CompletionListener<? super V> listener) {
+        Validator.checkNotNull(listener, "listener cannot be null");
+        synchronized (this) {
+            if (!done) {
+                if (null == listeners) {
+                    listeners = new ArrayList<>(1);
+                }
+                listeners.add(listener);
+                return this;
+            }
+        }
+        listener.onComplete(result, error);
+        return this;
+    }
+
+    /**
+     * Creates future that is completed with result of given mapper applied to the result of this future.
+     * If this future fails or the mapper throws, the returned future fails with the same error, and if this future
+     * is cancelled, the returned one is cancelled as well. Cancelling the returned future cancels this future.
+     *
+     * @param mapper maps result of this future, runs on callback executor of the query
+     * @param <R>    - type of the returned future result
+     * @return future of the mapped result
+     */
+    @NonNull
+    public <R> DeliverySearchFuture<R> thenApply(@NonNull Mapper<? super V, ? extends R> mapper) {
+        Validator.checkNotNull(mapper, "mapper cannot be null");
+        final DeliverySearchFuture<R> chained = chain();
+        addCompletionListener((value, error) -> {
+            if (null != error) {
+                chained.fail(this, error);
+                return;
+            }
+            callbackExecutor.execute(() -> {
+                if (chained.isDone()) {
+                    return;
+                }
+                try {
+                    chained.complete(mapper.map(value));
+                } catch (Exception e) {
+                    chained.completeExceptionally(e);
+                }
+            });
+        });
+        return chained;
+    }
+
+    /**
+     * Creates future that is completed with result of the future returned by given mapper for the result of this
+     * future, e.g. to start query that depends on the result of this one. Errors and cancellation are passed along
+     * same as by {@link #thenApply(Mapper)}. Cancelling the returned future cancels this future, or the future
+     * returned by the mapper if it was called already.
+     *
+     * @param mapper maps result of this future to the next future, runs on callback executor of the query
+     * @param <R>    - type of the returned future result
+     * @return future of result of the future returned by the mapper
+     */
+    @NonNull
+    public <R> DeliverySearchFuture<R> thenCompose(@NonNull Mapper<? super V, ? extends DeliverySearchFuture<R>> mapper) {
+        Validator.checkNotNull(mapper, "mapper cannot be null");
+        final DeliverySearchFuture<R> chained = chain();
+        addCompletionListener((value, error) -> {
+            if (null != error) {
+                chained.fail(this, error);
+                return;
+            }
+            callbackExecutor.execute(() -> {
+                if (chained.isDone()) {
+                    return;
+                }
+                final DeliverySearchFuture<R> next;
+                try {
+                    next = Validator.checkNotNull(mapper.map(value), "mapper cannot return null");
+                } catch (Exception e) {
+                    chained.completeExceptionally(e);
+                    return;
+                }
+                chained.setCancellationHook(() -> next.cancel(false));
+                // chained future could be cancelled before the hook was set
+                if (chained.isCancelled()) {
+                    next.cancel(false);
+                }
+                next.addCompletionListener((nextValue, nextError) -> {
+                    if (null != nextError) {
+                        chained.fail(next, nextError);
+                    } else {
+                        chained.complete(nextValue);
+                    }
+                });
+            });
+        });
+        return chained;
+    }
+
+    /**
+     * Creates future that is completed with result of this future, or with result of given mapper applied to the error
+     * if this future fails or is cancelled. If the mapper throws, the returned future fails with the thrown error.
+     * Cancelling the returned future cancels this future.
+     *
+     * @param mapper maps error of this future to the result, runs on callback executor of the query
+     * @return future of the result or the recovered result
+     */
+    @NonNull
+    public DeliverySearchFuture<V> exceptionally(@NonNull Mapper<? super Throwable, ? extends V> mapper) {
+        Validator.checkNotNull(mapper, "mapper cannot be null");
+        final DeliverySearchFuture<V> chained = chain();
+        addCompletionListener((value, error) -> {
+            if (null == error) {
+                chained.complete(value);
+                return;
+            }
+            callbackExecutor.execute(() -> {
+                if (chained.isDone()) {
+                    return;
+                }
+                try {
+                    chained.complete(mapper.map(error));
+                } catch (Exception e) {
+                    chained.completeExceptionally(e);
+                }
+            });
+        });
+        return chained;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        final Runnable hook;
+        final List<CompletionListener<? super V>> listenersToNotify;
+        synchronized (this) {
+            if (done) {
+                return false;
+            }
+            cancelled = true;
+            error = new CancellationException("Query was cancelled");
+            hook = cancellationHook;
+            listenersToNotify = markDone();
+        }
+        notifyListeners(listenersToNotify);
+        if (null != hook) {
+            hook.run();
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return done;
+    }
+
+    @Override
+    public synchronized V get() throws InterruptedException, ExecutionException {
+        while (!done) {
+            wait();
+        }
+        return getResult();
+    }
+
+    @Override
+    public synchronized V get(long timeout, @NonNull TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        long remainingNanos = unit.toNanos(timeout);
+        final long deadlineNanos = System.nanoTime() + remainingNanos;
+        while (!done) {
+            if (remainingNanos <= 0) {
+                throw new TimeoutException();
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+            remainingNanos = deadlineNanos - System.nanoTime();
+        }
+        return getResult();
+    }
+
+    private V getResult() throws ExecutionException {
+        if (cancelled) {
+            throw (CancellationException) error;
+        }
+        if (null != error) {
+            throw new ExecutionException(error);
+        }
+        return result;
+    }
+
+    /**
+     * Sets action that cancels the work, that is expected to complete this future, e.g. cancels networking call.
+     */
+    synchronized void setCancellationHook(@Nullable Runnable cancellationHook) {
+        this.cancellationHook = cancellationHook;
+    }
+
+    /**
+     * Completes this future with given result, if it isn't completed yet.
+     *
+     * @return {@code true} - future was completed by this call, {@code false} - it was completed before
+     */
+    boolean complete(@Nullable V value) {
+        final List<CompletionListener<? super V>> listenersToNotify;
+        synchronized (this) {
+            if (done) {
+                return false;
+            }
+            result = value;
+            listenersToNotify = markDone();
+        }
+        notifyListeners(listenersToNotify);
+        return true;
+    }
+
+    /**
+     * Completes this future with given error, if it isn't completed yet.
+     *
+     * @return {@code true} - future was completed by this call, {@code false} - it was completed before
+     */
+    boolean completeExceptionally(@NonNull Throwable error) {
+        final List<CompletionListener<? super V>> listenersToNotify;
+        synchronized (this) {
+            if (done) {
+                return false;
+            }
+            this.error = error;
+            listenersToNotify = markDone();
+        }
+        notifyListeners(listenersToNotify);
+        return true;
+    }
+
+    /**
+     * @return future chained to this one, that inherits callback executor and cancels this future when cancelled
+     */
+    @NonNull
+    private <R> DeliverySearchFuture<R> chain() {
+        final DeliverySearchFuture<R> chained = new DeliverySearchFuture<>(callbackExecutor);
+        chained.setCancellationHook(() -> cancel(false));
+        return chained;
+    }
+
+    /**
+     * Completes this future with error of given source future, cancels it if the source future was cancelled.
+     */
+    private void fail(@NonNull DeliverySearchFuture<?> source, @NonNull Throwable error) {
+        if (source.isCancelled()) {
+            cancel(false);
+        } else {
+            completeExceptionally(error);
+        }
+    }
+
+    @Nullable
+    private List<CompletionListener<? super V>> markDone() {
+        done = true;
+        cancellationHook = null;
+        notifyAll();
+        final List<CompletionListener<? super V>> result = listeners;
+        listeners = null;
+        return result;
+    }
+
+    private void notifyListeners(@Nullable List<CompletionListener<? super V>> listenersToNotify) {
+        if (null != listenersToNotify) {
+            for (CompletionListener<? super V> listener : listenersToNotify) {
+                listener.onComplete(result, error);
+            }
+        }
+    }
+
+    /**
+     * Receives result of completed {@link DeliverySearchFuture}.
+     *
+     * @param <V> - type of the future result
+     */
+    public interface CompletionListener<V> {
+
+        /**
+         * Called once the future is completed.
+         *
+         * @param result result of the future, {@code null} if the future failed
+         * @param error  error that caused the future failure, {@link CancellationException} if the future was cancelled,
+         *               {@code null} if the future succeeded
+         */
+        void onComplete(@Nullable V result, @Nullable Throwable error);
+    }
+
+    /**
+     * Maps result or error of {@link DeliverySearchFuture} in {@link #thenApply(Mapper)}, {@link #thenCompose(Mapper)}
+     * and {@link #exceptionally(Mapper)}.
+     *
+     * @param <T> - type of the mapped value
+     * @param <R> - type of the mapper result
+     */
+    public interface Mapper<T, R> {
+
+        /**
+         * @param value value to map, result of the future or its error
+         * @return mapped value
+         * @throws Exception to fail the chained future with
+         */
+        R map(T value) throws Exception;
+    }
+
+    /**
+     * Holds lazily created thread that enforces deadlines of combined futures.
+     */
+    private static final class Timer {
+
+        static final ScheduledExecutorService INSTANCE = create();
+
+        @NonNull
+        private static ScheduledExecutorService create() {
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                final Thread thread = new Thread(runnable, "ContentDeliverySDK-deadline");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // deadlines of futures that completed in time are cancelled, and shouldn't stay queued until they expire
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                executor.setRemoveOnCancelPolicy(true);
+            }
+            return executor;
+        }
+    }
+}
@@ -15,33 +15,55 @@
 package co.acoustic.content.delivery.sdk;
 
 import java.util.List;
+import java.util.Map;
 
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
+import retrofit2.http.QueryMap;
+import retrofit2.http.Tag;
 
+/**
+ * Delivery search API, query parameters are passed already encoded by {@link DeliverySearchQuery}.
+ */
 interface DeliverySearchNetworkService {
 
     @GET("{deliveryType}/v1/search")
     Call<DeliverySearchResponse> search(
             @Path("deliveryType") @DeliverySearchNetworkServiceConstants.DeliveryTypes String deliveryType,
-            @Query("q") String q,
-            @Query("fq") List<String> fq,
-            @Query("sort") String sort,
-            @Query("fl") List<String> fl,
+            @Query(value = "q", encoded = true) String q,
+            @Query(value = "fq", encoded = true) List<String> fq,
+            @Query(value = "sort", encoded = true) String sort,
+            @Query(value = "fl", encoded = true) List<String> fl,
             @Query("start") Integer start,
-            @Query("rows") Integer rows
+            @Query("rows") Integer rows,
+            @Tag DeliverySearchQuery query
     );
 
     @GET("{deliveryType}/v1/rendering/search")
     Call<DeliverySearchResponse> renderingSearch(
             @Path("deliveryType") @DeliverySearchNetworkServiceConstants.DeliveryTypes String deliveryType,
-            @Query("q") String q,
-            @Query("fq") List<String> fq,
-            @Query("sort") String sort,
-            @Query("fl") List<String> fl,
+            @Query(value = "q", encoded = true) String q,
+            @Query(value = "fq", encoded = true) List<String> fq,
+            @Query(value = "sort", encoded = true) String sort,
+            @Query(value = "fl", encoded = true) List<String> fl,
             @Query("start") Integer start,
-            @Query("rows") Integer rows
+            @Query("rows") Integer rows,
+            @Tag DeliverySearchQuery query
+    );
+
+    @GET("{deliveryType}/v1/search")
+    Call<DeliverySearchResponse> facetSearch(
+            @Path("deliveryType") @DeliverySearchNetworkServiceConstants.DeliveryTypes String deliveryType,
+            @Query(value = "q", encoded = true) String q,
+            @Query(value = "fq", encoded = true) List<String> fq,
+            @Query("rows") Integer rows,
+            @Query("facet") Boolean facet,
+            @Query(value = "facet.field", encoded = true) List<String> facetFields,
+            @Query(value = "facet.query", encoded = true) List<String> facetQueries,
+            @Query(value = "facet.range", encoded = true) List<String> facetRanges,
+            @QueryMap(encoded = true) Map<String, String> facetRangeParameters,
+            @Tag DeliverySearchQuery query
     );
-}
\ No newline at end of file
+}
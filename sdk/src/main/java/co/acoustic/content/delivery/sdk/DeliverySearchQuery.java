@@ -14,10 +14,31 @@
 
 package co.acoustic.content.delivery.sdk;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Immutable compiled delivery search query. Query parameters are URL encoded once, when query is built,
+ * so the same instance can be shared across threads and reused for repeated refreshes, and sibling pages
+ * are derived by {@link #withStart(Integer)} without encoding parameters again.
+ */
 class DeliverySearchQuery {
 
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Characters that are percent-encoded in query component, the same set OkHttp encodes in query parameters.
+     */
+    private static final String QUERY_COMPONENT_ENCODE_SET = " !\"#$&'(),/:;<=>?@[]\\^`{|}~+%";
+
     final String q;
     final List<String> fq;
     final List<String> fl;
@@ -25,13 +46,109 @@ class DeliverySearchQuery {
     final Integer start;
     final Integer rows;
 
-    DeliverySearchQuery(DeliverySearchQueryBuilder builder) {
+    final String encodedQ;
+    final List<String> encodedFq;
+    final List<String> encodedFl;
+    final String encodedSort;
+
+    /**
+     * {@code true} - query counts documents per facet and returns no documents, {@code false} - otherwise.
+     */
+    final boolean facet;
+    final List<String> facetFields;
+    final List<String> facetQueries;
+    final Map<String, List<String>> facetRanges;
+
+    final List<String> encodedFacetFields;
+    final List<String> encodedFacetQueries;
+    final List<String> encodedFacetRanges;
+    /**
+     * Per-field range parameters, e.g. {@code f.lastModified.facet.range.start}, by encoded parameter name.
+     */
+    final Map<String, String> encodedFacetRangeParameters;
+
+    private final int hashCode;
+
+    @Nullable
+    private volatile String encodedQuery;
+
+    @Nullable
+    private volatile String canonicalForm;
+
+    @Nullable
+    private volatile String id;
+
+    /**
+     * @param facet {@code true} - build facet query, that counts documents per facet of the builder and returns no documents,
+     *              {@code false} - build query of documents, facets of the builder are ignored
+     */
+    DeliverySearchQuery(DeliverySearchQueryBuilder builder, boolean facet) {
         this.q = builder.getQString();
-        this.fq = builder.getFilterQuery();
-        this.fl = builder.getFieldList();
-        this.sort = builder.getSortString();
-        this.start = builder.getStart();
-        this.rows = builder.getRows();
+        this.fq = Collections.unmodifiableList(builder.getFilterQuery());
+        this.facet = facet;
+        if (facet) {
+            // field list, sort and paging don't change the counts
+            this.fl = Collections.emptyList();
+            this.sort = null;
+            this.start = null;
+            this.rows = 0;
+            this.facetFields = Collections.unmodifiableList(builder.getFacetFields());
+            this.facetQueries = Collections.unmodifiableList(builder.getFacetQueries());
+            this.facetRanges = Collections.unmodifiableMap(builder.getFacetRanges());
+        } else {
+            this.fl = Collections.unmodifiableList(builder.getFieldList());
+            this.sort = builder.getSortString();
+            this.start = builder.getStart();
+            this.rows = builder.getRows();
+            this.facetFields = Collections.emptyList();
+            this.facetQueries = Collections.emptyList();
+            this.facetRanges = Collections.emptyMap();
+        }
+
+        this.encodedQ = encode(q);
+        this.encodedFq = encode(fq);
+        this.encodedFl = encode(fl);
+        this.encodedSort = encode(sort);
+
+        this.encodedFacetFields = encode(facetFields);
+        this.encodedFacetQueries = encode(facetQueries);
+        this.encodedFacetRanges = encode(new ArrayList<>(facetRanges.keySet()));
+        final Map<String, String> rangeParameters = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> facetRange : facetRanges.entrySet()) {
+            final String prefix = "f." + encode(facetRange.getKey()) + ".facet.range.";
+            final List<String> range = facetRange.getValue();
+            rangeParameters.put(prefix + "start", encode(range.get(0)));
+            rangeParameters.put(prefix + "end", encode(range.get(1)));
+            rangeParameters.put(prefix + "gap", encode(range.get(2)));
+        }
+        this.encodedFacetRangeParameters = Collections.unmodifiableMap(rangeParameters);
+
+        this.hashCode = computeHashCode();
+    }
+
+    private DeliverySearchQuery(@NonNull DeliverySearchQuery query, @Nullable Integer start) {
+        this.q = query.q;
+        this.fq = query.fq;
+        this.fl = query.fl;
+        this.sort = query.sort;
+        this.start = start;
+        this.rows = query.rows;
+
+        this.encodedQ = query.encodedQ;
+        this.encodedFq = query.encodedFq;
+        this.encodedFl = query.encodedFl;
+        this.encodedSort = query.encodedSort;
+
+        this.facet = query.facet;
+        this.facetFields = query.facetFields;
+        this.facetQueries = query.facetQueries;
+        this.facetRanges = query.facetRanges;
+        this.encodedFacetFields = query.encodedFacetFields;
+        this.encodedFacetQueries = query.encodedFacetQueries;
+        this.encodedFacetRanges = query.encodedFacetRanges;
+        this.encodedFacetRangeParameters = query.encodedFacetRangeParameters;
+
+        this.hashCode = computeHashCode();
     }
 
     /**
@@ -41,6 +158,169 @@ class DeliverySearchQuery {
         return new DeliverySearchQueryBuilder();
     }
 
+    /**
+     * Creates sibling query that differs from this one only by start, e.g. next or previous page,
+     * already encoded parameters are reused.
+     *
+     * @param start start of the sibling query, {@code null} to omit start parameter
+     * @return sibling query, or this instance if start is not changed
+     */
+    @NonNull
+    DeliverySearchQuery withStart(@Nullable Integer start) {
+        if (null == start ? null == this.start : start.equals(this.start)) {
+            return this;
+        }
+        return new DeliverySearchQuery(this, start);
+    }
+
+    /**
+     * @return URL encoded query string, e.g. {@code q=*:*&fl=*&fl=document:%5Bjson%5D&rows=10}
+     */
+    @NonNull
+    String getEncodedQuery() {
+        String result = encodedQuery;
+        if (null == result) {
+            result = buildEncodedQuery();
+            encodedQuery = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return canonical form of the query, see {@link QueryFingerprint#canonicalize(DeliverySearchQuery)}
+     */
+    @NonNull
+    String getCanonicalForm() {
+        String result = canonicalForm;
+        if (null == result) {
+            result = QueryFingerprint.canonicalize(this);
+            canonicalForm = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return hex fingerprint of canonical form of the query, queries that Solr treats identically share it
+     */
+    @NonNull
+    String getId() {
+        String result = id;
+        if (null == result) {
+            result = QueryFingerprint.of(getCanonicalForm()).toString();
+            id = result;
+        }
+        return result;
+    }
+
+    @NonNull
+    private String buildEncodedQuery() {
+        final StringBuilder result = new StringBuilder(128);
+        appendParameter(result, "q", encodedQ);
+        for (String value : encodedFq) {
+            appendParameter(result, "fq", value);
+        }
+        appendParameter(result, "sort", encodedSort);
+        for (String value : encodedFl) {
+            appendParameter(result, "fl", value);
+        }
+        appendParameter(result, "start", null == start ? null : start.toString());
+        appendParameter(result, "rows", null == rows ? null : rows.toString());
+        if (facet) {
+            appendParameter(result, "facet", "true");
+            for (String value : encodedFacetFields) {
+                appendParameter(result, "facet.field", value);
+            }
+            for (String value : encodedFacetQueries) {
+                appendParameter(result, "facet.query", value);
+            }
+            for (String value : encodedFacetRanges) {
+                appendParameter(result, "facet.range", value);
+            }
+            for (Map.Entry<String, String> parameter : encodedFacetRangeParameters.entrySet()) {
+                appendParameter(result, parameter.getKey(), parameter.getValue());
+            }
+        }
+        return result.toString();
+    }
+
+    private static void appendParameter(@NonNull StringBuilder target, @NonNull String name, @Nullable String encodedValue) {
+        if (null == encodedValue) {
+            return;
+        }
+        if (target.length() > 0) {
+            target.append('&');
+        }
+        target.append(name).append('=').append(encodedValue);
+    }
+
+    @NonNull
+    private static List<String> encode(@NonNull List<String> values) {
+        final List<String> result = new ArrayList<>(values.size());
+        for (String value : values) {
+            result.add(encode(value));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    @Nullable
+    static String encode(@Nullable String value) {
+        if (null == value) {
+            return null;
+        }
+        final int length = value.length();
+        int i = 0;
+        while (i < length && !needsEncoding(value.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return value;
+        }
+        final StringBuilder result = new StringBuilder(length + 16).append(value, 0, i);
+        for (; i < length; i++) {
+            final char c = value.charAt(i);
+            if (!needsEncoding(c)) {
+                result.append(c);
+            } else if (c < 0x80) {
+                appendPercentEncoded(result, c);
+            } else {
+                int end = i + 1;
+                if (Character.isHighSurrogate(c) && end < length && Character.isLowSurrogate(value.charAt(end))) {
+                    end++;
+                }
+                for (byte b : value.substring(i, end).getBytes(UTF_8)) {
+                    appendPercentEncoded(result, b & 0xff);
+                }
+                i = end - 1;
+            }
+        }
+        return result.toString();
+    }
+
+    private static boolean needsEncoding(char c) {
+        return c < 0x20 || c >= 0x7f || QUERY_COMPONENT_ENCODE_SET.indexOf(c) >= 0;
+    }
+
+    private static void appendPercentEncoded(@NonNull StringBuilder target, int b) {
+        target.append('%').append(HEX_DIGITS[(b >> 4) & 0xf]).append(HEX_DIGITS[b & 0xf]);
+    }
+
+    private int computeHashCode() {
+        int result = q != null ? q.hashCode() : 0;
+        result = 31 * result + (fq != null ? fq.hashCode() : 0);
+        result = 31 * result + (fl != null ? fl.hashCode() : 0);
+        result = 31 * result + (sort != null ? sort.hashCode() : 0);
+        result = 31 * result + (start != null ? start.hashCode() : 0);
+        result = 31 * result + (rows != null ? rows.hashCode() : 0);
+        if (facet) {
+            // facets are folded in for facet queries only, hash code of other queries is not changed
+            result = 31 * result + 1;
+            result = 31 * result + facetFields.hashCode();
+            result = 31 * result + facetQueries.hashCode();
+            result = 31 * result + facetRanges.hashCode();
+        }
+        return result;
+    }
+
     @Override
     public String toString() {
         return "DeliverySearchQuery{" +
@@ -50,6 +330,7 @@ class DeliverySearchQuery {
                 ", sort=" + sort +
                 ", start=" + start +
                 ", rows=" + rows +
+                (facet ? ", facetFields=" + facetFields + ", facetQueries=" + facetQueries + ", facetRanges=" + facetRanges : "") +
                 '}';
     }
 
@@ -60,8 +341,13 @@ class DeliverySearchQuery {
 
         DeliverySearchQuery that = (DeliverySearchQuery) o;
 
+        if (hashCode != that.hashCode) return false;
         if (start != null ? !start.equals(that.start) : that.start != null) return false;
         if (rows != null ? !rows.equals(that.rows) : that.rows != null) return false;
+        if (facet != that.facet) return false;
+        if (!facetFields.equals(that.facetFields)) return false;
+        if (!facetQueries.equals(that.facetQueries)) return false;
+        if (!facetRanges.equals(that.facetRanges)) return false;
         if (q != null ? !q.equals(that.q) : that.q != null) return false;
         if (fq != null ? !fq.equals(that.fq) : that.fq != null) return false;
         if (fl != null ? !fl.equals(that.fl) : that.fl != null) return false;
@@ -70,12 +356,6 @@ class DeliverySearchQuery {
 
     @Override
     public int hashCode() {
-        int result = q != null ? q.hashCode() : 0;
-        result = 31 * result + (fq != null ? fq.hashCode() : 0);
-        result = 31 * result + (fl != null ? fl.hashCode() : 0);
-        result = 31 * result + (sort != null ? sort.hashCode() : 0);
-        result = 31 * result + (start != null ? start.hashCode() : 0);
-        result = 31 * result + (rows != null ? rows.hashCode() : 0);
-        return result;
+        return hashCode;
     }
 }
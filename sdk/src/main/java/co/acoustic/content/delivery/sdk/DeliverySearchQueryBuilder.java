@@ -20,10 +20,12 @@ import android.os.Parcelable;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -45,7 +47,7 @@ class DeliverySearchQueryBuilder implements Parcelable {
     private String q = DEFAULT_QUERY_PARAM;
     private Set<String> fieldList = new LinkedHashSet<>(2);
 
-    private List<String> filterQueryList = new LinkedList<>();
+    private List<String> filterQueryList = new ArrayList<>();
 
     //Using LinkedHashMap in order to support sort rules overlapping and ordering. 
     private Map<String, Boolean> sortRules = new LinkedHashMap<>(16, 0.75f, true);
@@ -57,11 +59,29 @@ class DeliverySearchQueryBuilder implements Parcelable {
     private boolean includeAllFields = true;
     private boolean includeRetired;
 
+    private Set<String> facetFields = new LinkedHashSet<>();
+    private Set<String> facetQueries = new LinkedHashSet<>();
+    //Range facets by field, every range is [start, end, gap].
+    private Map<String, List<String>> facetRanges = new LinkedHashMap<>();
+
+    /**
+     * Query compiled by the last {@link #build()} call, reset by every change of the builder.
+     */
+    @Nullable
+    private DeliverySearchQuery compiledQuery;
+
+    /**
+     * Facet query compiled by the last {@link #buildFacets()} call, reset by every change of the builder.
+     */
+    @Nullable
+    private DeliverySearchQuery compiledFacetQuery;
+
     DeliverySearchQueryBuilder() {
     }
 
     DeliverySearchQueryBuilder(@NonNull DeliverySearchQueryBuilder builder) {
         q = builder.q;
+        fieldList.addAll(builder.fieldList);
         filterQueryList.addAll(builder.filterQueryList);
         sortRules.putAll(builder.sortRules);
         start = builder.start;
@@ -69,6 +89,9 @@ class DeliverySearchQueryBuilder implements Parcelable {
         includeDraft = builder.includeDraft;
         includeAllFields = builder.includeAllFields;
         includeRetired = builder.includeRetired;
+        facetFields.addAll(builder.facetFields);
+        facetQueries.addAll(builder.facetQueries);
+        facetRanges.putAll(builder.facetRanges);
     }
 
     DeliverySearchQueryBuilder filterQuery(String field, String value) {
@@ -80,6 +103,7 @@ class DeliverySearchQueryBuilder implements Parcelable {
     DeliverySearchQueryBuilder filterQuery(String filterQuery) {
         Validator.checkNotNull(filterQuery, "filterQuery cannot be null.");
         filterQueryList.add(filterQuery);
+        invalidate();
         return this;
     }
 
@@ -98,7 +122,9 @@ class DeliverySearchQueryBuilder implements Parcelable {
 
     DeliverySearchQueryBuilder fieldList(String fieldList) {
         Validator.checkNotNull(fieldList, "fieldQuery cannot be null.");
-        this.fieldList.add(fieldList);
+        if (this.fieldList.add(fieldList)) {
+            invalidate();
+        }
         return this;
     }
 
@@ -114,6 +140,7 @@ class DeliverySearchQueryBuilder implements Parcelable {
     DeliverySearchQueryBuilder sort(@NonNull String field, boolean asc) {
         Validator.checkNotNull(field);
         sortRules.put(field, asc);
+        invalidate();
         return this;
     }
 
@@ -141,6 +168,7 @@ class DeliverySearchQueryBuilder implements Parcelable {
 
     DeliverySearchQueryBuilder query(String query) {
         this.q = Validator.checkNotNull(query);
+        invalidate();
         return this;
     }
 
@@ -151,6 +179,7 @@ class DeliverySearchQueryBuilder implements Parcelable {
 
     DeliverySearchQueryBuilder start(int start) {
         this.start = Validator.checkCondition(start, "start cannot be less then 0", val -> (val >= 0));
+        invalidate();
         return this;
     }
 
@@ -159,8 +188,24 @@ class DeliverySearchQueryBuilder implements Parcelable {
         return start;
     }
 
+    /**
+     * Creates copy of this builder that differs only by start, e.g. for next or previous page. Query of the copy is
+     * derived from the query of this builder by {@link DeliverySearchQuery#withStart(Integer)}, so its parameters
+     * are not encoded again.
+     *
+     * @param start start of the copy, must be greater or equal {@code 0}
+     * @return copy of this builder
+     */
+    DeliverySearchQueryBuilder copyWithStart(int start) {
+        final DeliverySearchQuery query = build();
+        final DeliverySearchQueryBuilder result = new DeliverySearchQueryBuilder(this).start(start);
+        result.compiledQuery = query.withStart(result.start);
+        return result;
+    }
+
     DeliverySearchQueryBuilder rows(int rows) {
         this.rows = Validator.checkCondition(rows, "rows cannot be less then 1", val -> (val >= 1));
+        invalidate();
         return this;
     }
 
@@ -170,22 +215,106 @@ class DeliverySearchQueryBuilder implements Parcelable {
     }
 
     DeliverySearchQueryBuilder setIncludeDraft(boolean includeDraft) {
-        this.includeDraft = includeDraft;
+        if (this.includeDraft != includeDraft) {
+            this.includeDraft = includeDraft;
+            invalidate();
+        }
         return this;
     }
 
     DeliverySearchQueryBuilder setIncludeAllFields(boolean includeAllFields) {
-        this.includeAllFields = includeAllFields;
+        if (this.includeAllFields != includeAllFields) {
+            this.includeAllFields = includeAllFields;
+            invalidate();
+        }
         return this;
     }
 
     DeliverySearchQueryBuilder setIncludeRetired(boolean includeRetired) {
-        this.includeRetired = includeRetired;
+        if (this.includeRetired != includeRetired) {
+            this.includeRetired = includeRetired;
+            invalidate();
+        }
+        return this;
+    }
+
+    DeliverySearchQueryBuilder facetField(@NonNull String field) {
+        Validator.checkNotNull(field, "field cannot be null.");
+        if (facetFields.add(field)) {
+            invalidate();
+        }
+        return this;
+    }
+
+    @NonNull
+    List<String> getFacetFields() {
+        return new ArrayList<>(facetFields);
+    }
+
+    DeliverySearchQueryBuilder facetQuery(@NonNull String query) {
+        Validator.checkNotNull(query, "query cannot be null.");
+        if (facetQueries.add(query)) {
+            invalidate();
+        }
+        return this;
+    }
+
+    @NonNull
+    List<String> getFacetQueries() {
+        return new ArrayList<>(facetQueries);
+    }
+
+    DeliverySearchQueryBuilder facetRange(@NonNull String field, @NonNull String start, @NonNull String end, @NonNull String gap) {
+        Validator.checkNotNull(field, "field cannot be null.");
+        Validator.checkNotNull(start, "start cannot be null.");
+        Validator.checkNotNull(end, "end cannot be null.");
+        Validator.checkNotNull(gap, "gap cannot be null.");
+        facetRanges.put(field, Collections.unmodifiableList(Arrays.asList(start, end, gap)));
+        invalidate();
         return this;
     }
 
+    /**
+     * @return range facets by field, every range is [start, end, gap]
+     */
+    @NonNull
+    Map<String, List<String>> getFacetRanges() {
+        return new LinkedHashMap<>(facetRanges);
+    }
+
+    /**
+     * Builds immutable query, the query is compiled once and the same instance is returned until the builder is changed.
+     * Facets are not part of the query, see {@link #buildFacets()}.
+     *
+     * @return compiled query
+     */
     DeliverySearchQuery build() {
-        return new DeliverySearchQuery(this);
+        DeliverySearchQuery query = compiledQuery;
+        if (null == query) {
+            query = new DeliverySearchQuery(this, false);
+            compiledQuery = query;
+        }
+        return query;
+    }
+
+    /**
+     * Builds immutable facet query, that counts documents matching the query per facet without returning any of them.
+     * Sort, field list and paging are not part of the facet query, as they don't change the counts.
+     *
+     * @return compiled facet query
+     */
+    DeliverySearchQuery buildFacets() {
+        DeliverySearchQuery query = compiledFacetQuery;
+        if (null == query) {
+            query = new DeliverySearchQuery(this, true);
+            compiledFacetQuery = query;
+        }
+        return query;
+    }
+
+    private void invalidate() {
+        compiledQuery = null;
+        compiledFacetQuery = null;
     }
 
     @Override
@@ -208,7 +337,10 @@ class DeliverySearchQueryBuilder implements Parcelable {
         if (!filterQueryList.equals(builder.filterQueryList)) return false;
         if (!sortRules.equals(builder.sortRules)) return false;
         if (start != null ? !start.equals(builder.start) : builder.start != null) return false;
-        return rows != null ? rows.equals(builder.rows) : builder.rows == null;
+        if (rows != null ? !rows.equals(builder.rows) : builder.rows != null) return false;
+        if (!facetFields.equals(builder.facetFields)) return false;
+        if (!facetQueries.equals(builder.facetQueries)) return false;
+        return facetRanges.equals(builder.facetRanges);
     }
 
     @Override
@@ -222,6 +354,9 @@ class DeliverySearchQueryBuilder implements Parcelable {
         result = 31 * result + (includeDraft ? 1 : 0);
         result = 31 * result + (includeAllFields ? 1 : 0);
         result = 31 * result + (includeRetired ? 1 : 0);
+        result = 31 * result + facetFields.hashCode();
+        result = 31 * result + facetQueries.hashCode();
+        result = 31 * result + facetRanges.hashCode();
         return result;
     }
 
@@ -244,6 +379,14 @@ class DeliverySearchQueryBuilder implements Parcelable {
         dest.writeInt(includeDraft ? 1 : 0);
         dest.writeInt(includeAllFields ? 1 : 0);
         dest.writeInt(includeRetired ? 1 : 0);
+
+        ParcelableUtils.writeArrayListOfStrings(new ArrayList<>(facetFields), dest);
+        ParcelableUtils.writeArrayListOfStrings(new ArrayList<>(facetQueries), dest);
+        dest.writeInt(facetRanges.size());
+        for (Map.Entry<String, List<String>> facetRange : facetRanges.entrySet()) {
+            dest.writeString(facetRange.getKey());
+            ParcelableUtils.writeArrayListOfStrings(new ArrayList<>(facetRange.getValue()), dest);
+        }
     }
 
     private DeliverySearchQueryBuilder(Parcel source) {
@@ -270,6 +413,90 @@ class DeliverySearchQueryBuilder implements Parcelable {
         includeDraft = source.readInt() == 1;
         includeAllFields = source.readInt() == 1;
         includeRetired = source.readInt() == 1;
+
+        final ArrayList<String> sourceFacetFields = ParcelableUtils.readArrayListOfStrings(source);
+        if (null != sourceFacetFields) {
+            facetFields.addAll(sourceFacetFields);
+        }
+        final ArrayList<String> sourceFacetQueries = ParcelableUtils.readArrayListOfStrings(source);
+        if (null != sourceFacetQueries) {
+            facetQueries.addAll(sourceFacetQueries);
+        }
+        final int sourceFacetRangesSize = source.readInt();
+        for (int i = 0; i < sourceFacetRangesSize; i++) {
+            facetRanges.put(source.readString(), Collections.unmodifiableList(ParcelableUtils.readArrayListOfStrings(source)));
+        }
+    }
+
+    void writeSnapshot(@NonNull SnapshotWriter dest) throws IOException {
+        dest.writeString(q);
+        dest.writeStringList(new ArrayList<>(fieldList), true);
+        dest.writeStringList(new ArrayList<>(filterQueryList), true);
+
+        dest.writeVarInt(sortRules.size());
+        for (Map.Entry<String, Boolean> sortRule : sortRules.entrySet()) {
+            dest.writeSharedString(sortRule.getKey());
+            dest.writeBoolean(sortRule.getValue());
+        }
+
+        dest.writeNullableInt(start);
+        dest.writeNullableInt(rows);
+
+        dest.writeBoolean(includeDraft);
+        dest.writeBoolean(includeAllFields);
+        dest.writeBoolean(includeRetired);
+
+        dest.writeStringList(new ArrayList<>(facetFields), true);
+        dest.writeStringList(new ArrayList<>(facetQueries), false);
+        dest.writeVarInt(facetRanges.size());
+        for (Map.Entry<String, List<String>> facetRange : facetRanges.entrySet()) {
+            dest.writeSharedString(facetRange.getKey());
+            dest.writeStringList(facetRange.getValue(), false);
+        }
+    }
+
+    /**
+     * @param version version of the snapshot, facets are written since version 2
+     */
+    DeliverySearchQueryBuilder(@NonNull SnapshotReader source, int version) throws IOException {
+        q = source.readString();
+
+        final ArrayList<String> sourceFieldList = source.readStringList(true);
+        if (null != sourceFieldList) {
+            fieldList.addAll(sourceFieldList);
+        }
+
+        final ArrayList<String> sourceFilterQueryList = source.readStringList(true);
+        if (null != sourceFilterQueryList) {
+            filterQueryList.addAll(sourceFilterQueryList);
+        }
+
+        final int sourceSortRulesSize = source.readVarInt();
+        for (int i = 0; i < sourceSortRulesSize; i++) {
+            sortRules.put(source.readSharedString(), source.readBoolean());
+        }
+
+        start = source.readNullableInt();
+        rows = source.readNullableInt();
+
+        includeDraft = source.readBoolean();
+        includeAllFields = source.readBoolean();
+        includeRetired = source.readBoolean();
+
+        if (version >= 2) {
+            final ArrayList<String> sourceFacetFields = source.readStringList(true);
+            if (null != sourceFacetFields) {
+                facetFields.addAll(sourceFacetFields);
+            }
+            final ArrayList<String> sourceFacetQueries = source.readStringList(false);
+            if (null != sourceFacetQueries) {
+                facetQueries.addAll(sourceFacetQueries);
+            }
+            final int sourceFacetRangesSize = source.readVarInt();
+            for (int i = 0; i < sourceFacetRangesSize; i++) {
+                facetRanges.put(source.readSharedString(), Collections.unmodifiableList(source.readStringList(false)));
+            }
+        }
     }
 
     public static final Creator<DeliverySearchQueryBuilder> CREATOR = new Creator<DeliverySearchQueryBuilder>() {
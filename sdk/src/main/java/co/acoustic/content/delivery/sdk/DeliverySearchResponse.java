@@ -14,9 +14,41 @@
 
 package co.acoustic.content.delivery.sdk;
 
+import com.google.gson.annotations.SerializedName;
+
 import java.util.ArrayList;
+import java.util.Map;
 
 class DeliverySearchResponse {
     int numFound;
     ArrayList<DeliverySearchResponseDocument> documents;
+
+    /**
+     * Facet counts, returned for facet queries only.
+     */
+    @SerializedName("facet_counts")
+    FacetCounts facetCounts;
+
+    // Conversion measurements, set by TimingConverterFactory only while metrics are collected.
+    transient long conversionNanos = ParseMetrics.NOT_MEASURED;
+    transient long convertedAtNanos = ParseMetrics.NOT_MEASURED;
+    transient long conversionAllocatedBytes = ParseMetrics.NOT_MEASURED;
+
+    /**
+     * Solr facet counts, value/count pairs of fields and ranges are returned as flat lists, e.g. ["image", 12, "video", 3].
+     */
+    static class FacetCounts {
+        @SerializedName("facet_queries")
+        Map<String, Integer> facetQueries;
+
+        @SerializedName("facet_fields")
+        Map<String, ArrayList<String>> facetFields;
+
+        @SerializedName("facet_ranges")
+        Map<String, FacetRange> facetRanges;
+    }
+
+    static class FacetRange {
+        ArrayList<String> counts;
+    }
 }
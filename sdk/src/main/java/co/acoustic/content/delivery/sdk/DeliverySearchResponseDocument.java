@@ -14,6 +14,8 @@
 
 package co.acoustic.content.delivery.sdk;
 
+import com.google.gson.annotations.JsonAdapter;
+
 import org.json.JSONObject;
 
 import java.util.ArrayList;
@@ -42,13 +44,15 @@ class DeliverySearchResponseDocument {
      * For content, this field can contain boolean element values for elements mapped to this field.
      * The mapping of elements to search fields is defined in the content type referenced by the content item.
      */
-    ArrayList<Boolean> boolean1;
+    @JsonAdapter(BooleanColumn.GsonAdapter.class)
+    BooleanColumn boolean1;
 
     /**
      * For content, this field can contain boolean element values for elements mapped to this field.
      * The mapping of elements to search fields is defined in the content type referenced by the content item.
      */
-    ArrayList<Boolean> boolean2;
+    @JsonAdapter(BooleanColumn.GsonAdapter.class)
+    BooleanColumn boolean2;
 
     /**
      * The list of all category selections for the asset or content.
@@ -229,13 +233,15 @@ class DeliverySearchResponseDocument {
      * For content, this field can contain number element values for elements mapped to this field.
      * The mapping of elements to search fields is defined in the content type referenced by the content item.
      */
-    ArrayList<Double> number1;
+    @JsonAdapter(DoubleColumn.GsonAdapter.class)
+    DoubleColumn number1;
 
     /**
      * For content, this field can contain number element values for elements mapped to this field.
      * The mapping of elements to search fields is defined in the content type referenced by the content item.
      */
-    ArrayList<Double> number2;
+    @JsonAdapter(DoubleColumn.GsonAdapter.class)
+    DoubleColumn number2;
 
     /**
      * For pages, this field contains the ID of the parent page.
@@ -35,6 +35,13 @@ public class DeliverySearchResult<T extends Document> {
     private final List<T> documents;
     private final Documents<T> request;
 
+    /**
+     * Handle of documents in {@link DeliverySearchResultStore} of the SDK instance, minted by the first
+     * {@link #getDetachedState()} call, so detached states of the same result share the store entry.
+     */
+    @Nullable
+    private String detachedHandle;
+
     DeliverySearchResult(@IntRange(from = 0) int numFound, @NonNull Documents<T> request, @NonNull List<T> documents) {
         this.numFound = Validator.checkCondition(numFound, "numFound cannot be less then 0", value -> (value >= 0));
         this.request = Validator.checkNotNull(request, "request cannot be null");
@@ -44,9 +51,16 @@ public class DeliverySearchResult<T extends Document> {
     DeliverySearchResult(@NonNull DeliverySearch deliverySearch, @NonNull State state) {
         Validator.checkNotNull(state, "state cannot be null");
         Validator.checkNotNull(deliverySearch, "deliverySearch cannot be null");
+        // documents of the state were returned by request of the same state, that is created below as request of type T
+        @SuppressWarnings("unchecked")
+        final List<T> stateDocuments = (List<T>) deliverySearch.getDocuments(state);
+        if (null == stateDocuments) {
+            throw new IllegalStateException("Documents of detached state are no longer available, use DeliverySearch.restoreDeliverySearchResult()");
+        }
         numFound = state.numFound;
-        documents = (List<T>) state.documents;
+        documents = stateDocuments;
         request = deliverySearch.createDocuments(state.requestState);
+        detachedHandle = state.handle;
     }
 
     /**
@@ -87,7 +101,34 @@ public class DeliverySearchResult<T extends Document> {
      */
     @NonNull
     public State getState() {
-        return new State(this);
+        return new State(this, false);
+    }
+
+    /**
+     * Creates new detached {@link State} instance that holds state of this instance.
+     * <p/>
+     * Detached state doesn't hold documents, they are kept in memory of the SDK instance instead, and only the small
+     * handle and the query are written to the {@link Parcel}. This keeps saved instance state small for large pages.
+     * Use {@link DeliverySearch#restoreDeliverySearchResult(State)} of the same SDK instance to restore detached state,
+     * it provides documents kept in memory or fetches them again if they are no longer available e.g. when application
+     * process was restarted.
+     *
+     * @return detached {@link State} instance that holds state of this instance
+     */
+    @NonNull
+    public State getDetachedState() {
+        return new State(this, true);
+    }
+
+    @NonNull
+    private synchronized String getDetachedHandle() {
+        final DeliverySearchResultStore store = request.getDeliverySearch().sdk.getResultStore();
+        if (null == detachedHandle) {
+            detachedHandle = store.put(documents);
+        } else {
+            store.put(detachedHandle, documents);
+        }
+        return detachedHandle;
     }
 
     @Override
@@ -114,14 +155,57 @@ public class DeliverySearchResult<T extends Document> {
     public static class State implements Parcelable {
 
         private final int numFound;
+        @Nullable
         private final List<? extends Document> documents;
 
         private final Documents.State requestState;
 
-        private State(@NonNull DeliverySearchResult deliverySearchResult) {
+        @Nullable
+        private final String handle;
+
+        private State(@NonNull DeliverySearchResult<? extends Document> deliverySearchResult, boolean detached) {
             this.numFound = deliverySearchResult.numFound;
-            this.documents = deliverySearchResult.documents;
+            this.documents = detached ? null : deliverySearchResult.documents;
             this.requestState = deliverySearchResult.request.getState();
+            this.handle = detached ? deliverySearchResult.getDetachedHandle() : null;
+        }
+
+        State(int numFound, @NonNull List<? extends Document> documents, @NonNull Documents.State requestState) {
+            this.numFound = numFound;
+            this.documents = documents;
+            this.requestState = requestState;
+            this.handle = null;
+        }
+
+        /**
+         * Checks whether this state holds documents. Detached state doesn't, its documents are kept in memory of the SDK
+         * instance as long as they are not evicted, see {@link DeliverySearch#restoreDeliverySearchResult(State)}.
+         *
+         * @return {@code true} - state holds documents, {@code false} - otherwise
+         */
+        public boolean hasDocuments() {
+            return null != documents;
+        }
+
+        int getNumFound() {
+            return numFound;
+        }
+
+        @Nullable
+        List<? extends Document> getDocuments() {
+            return documents;
+        }
+
+        /**
+         * @return handle of documents in {@link DeliverySearchResultStore}, {@code null} if state is not detached
+         */
+        @Nullable
+        String getHandle() {
+            return handle;
+        }
+
+        Documents.State getRequestState() {
+            return requestState;
         }
 
         @Override
@@ -132,26 +216,34 @@ public class DeliverySearchResult<T extends Document> {
         @Override
         public void writeToParcel(Parcel dest, int flags) {
             dest.writeInt(numFound);
-
-            final int documentsSize = documents.size();
-            dest.writeInt(documentsSize);
-            for (int i = 0; i < documentsSize; i++) {
-                dest.writeParcelable(documents.get(i), flags);
-            }
-
             dest.writeParcelable(requestState, flags);
+            dest.writeString(handle);
+            if (null == handle) {
+                // documents of the result are of the same type, that is determined by request state,
+                // so they are written without class names
+                dest.writeTypedList(documents);
+            }
         }
 
         private State(Parcel source) {
             numFound = source.readInt();
+            requestState = source.readParcelable(Documents.State.class.getClassLoader());
+            handle = source.readString();
+            documents = null == handle ? source.createTypedArrayList(getDocumentCreator(requestState.clazz)) : null;
+        }
 
-            final int documentsSize = source.readInt();
-            documents = new ArrayList<>(documentsSize);
-            for (int i = 0; i < documentsSize; i++) {
-                documents.add(source.readParcelable(getClass().getClassLoader()));
+        @NonNull
+        private static Creator<? extends Document> getDocumentCreator(@NonNull Class<?> documentsClass) {
+            if (Assets.class.equals(documentsClass)) {
+                return Asset.CREATOR;
+            } else if (Categories.class.equals(documentsClass)) {
+                return Category.CREATOR;
+            } else if (ContentItems.class.equals(documentsClass)) {
+                return ContentItem.CREATOR;
+            } else if (ContentTypes.class.equals(documentsClass)) {
+                return ContentType.CREATOR;
             }
-
-            requestState = source.readParcelable(Documents.State.class.getClassLoader());
+            throw new IllegalArgumentException("Cannot restore documents of " + documentsClass);
         }
 
         @Override
@@ -164,6 +256,7 @@ public class DeliverySearchResult<T extends Document> {
             if (numFound != state.numFound) return false;
             if (documents != null ? !documents.equals(state.documents) : state.documents != null)
                 return false;
+            if (handle != null ? !handle.equals(state.handle) : state.handle != null) return false;
             return requestState != null ? requestState.equals(state.requestState) : state.requestState == null;
         }
 
@@ -172,6 +265,7 @@ public class DeliverySearchResult<T extends Document> {
             int result = numFound;
             result = 31 * result + (documents != null ? documents.hashCode() : 0);
             result = 31 * result + (requestState != null ? requestState.hashCode() : 0);
+            result = 31 * result + (handle != null ? handle.hashCode() : 0);
             return result;
         }
 
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-process store of documents that belong to detached {@link DeliverySearchResult.State}s, every
+ * {@link ContentDeliverySDK} instance has store of its own, so instances don't evict results of each other.
+ * <p/>
+ * Keeps at most {@value #MAX_ENTRIES} recently used entries, documents of evicted entries, as well as documents of
+ * states restored in a new process, are not available and have to be fetched again.
+ */
+class DeliverySearchResultStore {
+
+    static final int MAX_ENTRIES = 16;
+
+    private final Map<String, List<? extends Document>> entries = new LinkedHashMap<String, List<? extends Document>>(MAX_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<? extends Document>> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Stores given documents.
+     *
+     * @param documents documents to store
+     * @return handle that should be used to get stored documents
+     */
+    @NonNull
+    String put(@NonNull List<? extends Document> documents) {
+        final String handle = UUID.randomUUID().toString();
+        synchronized (entries) {
+            entries.put(handle, documents);
+        }
+        return handle;
+    }
+
+    /**
+     * Stores given documents under the handle that was returned by {@link #put(List)} for them before,
+     * documents are stored again if they were evicted meanwhile, and are marked as recently used otherwise.
+     *
+     * @param handle    handle returned by {@link #put(List)}
+     * @param documents documents to store
+     */
+    void put(@NonNull String handle, @NonNull List<? extends Document> documents) {
+        synchronized (entries) {
+            entries.put(handle, documents);
+        }
+    }
+
+    /**
+     * @param handle handle returned by {@link #put(List)}
+     * @return stored documents, {@code null} if documents are no longer available
+     */
+    @Nullable
+    List<? extends Document> get(@NonNull String handle) {
+        synchronized (entries) {
+            return entries.get(handle);
+        }
+    }
+
+    void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+}
@@ -19,6 +19,7 @@ import android.os.Parcelable;
 
 import androidx.annotation.NonNull;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -27,6 +28,16 @@ import java.util.List;
  */
 public abstract class Document implements Parcelable {
 
+    /**
+     * Returned by epoch milliseconds accessors when date is not set or cannot be parsed.
+     */
+    public static final long NO_DATE = Iso8601.INVALID;
+
+    /**
+     * Marks epoch milliseconds caches that weren't computed yet.
+     */
+    static final long NOT_PARSED = Long.MAX_VALUE;
+
     Document(@NonNull DeliverySearchResponseDocument rawDoc) {
         classification = rawDoc.classification;
         created = rawDoc.created;
@@ -46,6 +57,10 @@ public abstract class Document implements Parcelable {
         readFromParcel(source);
     }
 
+    Document(@NonNull SnapshotReader source) throws IOException {
+        readSnapshot(source);
+    }
+
     /**
      * This field describes the kind of item. The value that is returned can be "asset", "category", "content" or "taxonomy".
      */
@@ -121,6 +136,12 @@ public abstract class Document implements Parcelable {
      */
     private ArrayList<String> tags;
 
+    /**
+     * Epoch milliseconds of {@link #created} and {@link #lastModified}, parsed on first access.
+     */
+    private volatile long createdMillis = NOT_PARSED;
+    private volatile long lastModifiedMillis = NOT_PARSED;
+
     /**
      * @return string that holds the kind of item
      */
@@ -135,6 +156,21 @@ public abstract class Document implements Parcelable {
         return created;
     }
 
+    /**
+     * Creation date of the item as epoch milliseconds, value is parsed on first call and cached afterwards.
+     *
+     * @return creation date of the item in milliseconds since January 1, 1970 00:00:00 UTC,
+     * {@link #NO_DATE} if date is not set or cannot be parsed
+     */
+    public long getCreatedMillis() {
+        long result = createdMillis;
+        if (NOT_PARSED == result) {
+            result = Iso8601.parseMillis(created);
+            createdMillis = result;
+        }
+        return result;
+    }
+
     /**
      * @return UUID of the user that created the item
      */
@@ -173,6 +209,21 @@ public abstract class Document implements Parcelable {
         return lastModified;
     }
 
+    /**
+     * Last modification date of the item as epoch milliseconds, value is parsed on first call and cached afterwards.
+     *
+     * @return last modification date of the item in milliseconds since January 1, 1970 00:00:00 UTC,
+     * {@link #NO_DATE} if date is not set or cannot be parsed
+     */
+    public long getLastModifiedMillis() {
+        long result = lastModifiedMillis;
+        if (NOT_PARSED == result) {
+            result = Iso8601.parseMillis(lastModified);
+            lastModifiedMillis = result;
+        }
+        return result;
+    }
+
     /**
      * @return UUID of the user that last modified the item
      */
@@ -244,6 +295,36 @@ public abstract class Document implements Parcelable {
         tags = ParcelableUtils.readArrayListOfStrings(source);
     }
 
+    void writeSnapshot(@NonNull SnapshotWriter dest) throws IOException {
+        dest.writeSharedString(classification);
+        dest.writeString(created);
+        dest.writeSharedString(creatorId);
+        dest.writeString(description);
+        dest.writeString(id);
+        dest.writeStringList(keywords, true);
+        dest.writeString(lastModified);
+        dest.writeSharedString(lastModifierId);
+        dest.writeSharedString(locale);
+        dest.writeString(name);
+        dest.writeBoolean(restricted);
+        dest.writeStringList(tags, true);
+    }
+
+    void readSnapshot(@NonNull SnapshotReader source) throws IOException {
+        classification = source.readSharedString();
+        created = source.readString();
+        creatorId = source.readSharedString();
+        description = source.readString();
+        id = source.readString();
+        keywords = source.readStringList(true);
+        lastModified = source.readString();
+        lastModifierId = source.readSharedString();
+        locale = source.readSharedString();
+        name = source.readString();
+        restricted = source.readBoolean();
+        tags = source.readStringList(true);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
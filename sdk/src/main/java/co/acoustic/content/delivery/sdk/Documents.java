@@ -18,13 +18,19 @@ import android.os.Parcel;
 import android.os.Parcelable;
 import android.text.TextUtils;
 
+import androidx.annotation.IntDef;
 import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
+import androidx.annotation.WorkerThread;
 
+import java.io.IOException;
+import java.lang.annotation.Retention;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 import okhttp3.ResponseBody;
 import retrofit2.Call;
@@ -32,6 +38,10 @@ import retrofit2.Callback;
 import retrofit2.Converter;
 import retrofit2.Response;
 
+import static co.acoustic.content.delivery.sdk.DeliverySearchNetworkServiceConstants.TYPE_DELIVERY_SEARCH;
+import static co.acoustic.content.delivery.sdk.DeliverySearchNetworkServiceConstants.TYPE_MY_DELIVERY_SEARCH;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
 /**
  * General delivery search query builder that provides general functionality to receive various types of {@link Document}s.
  *
@@ -41,21 +51,38 @@ public abstract class Documents<T extends Document> {
 
     public static final int DEFAULT_PAGE_SIZE = 10;
 
-    private final DeliverySearch deliverySearch;
-    private final DeliverySearchQueryBuilder deliverySearchQueryBuilder;
-    private final NetworkingCallsExecutor callsExecutor;
+    /**
+     * Priority of queries that fetch content user is waiting for, the default.
+     */
+    public static final int PRIORITY_USER_VISIBLE = 0;
 
-    @Nullable
-    private DeliverySearchResultListener<T> deliverySearchResultListener;
+    /**
+     * Priority of queries that fetch content user is likely to need soon, e.g. next page.
+     */
+    public static final int PRIORITY_PREFETCH = 1;
 
-    @Nullable
-    private DeliverySearchErrorListener deliverySearchErrorListener;
+    /**
+     * Priority of queries that synchronize content in background.
+     */
+    public static final int PRIORITY_BACKGROUND = 2;
 
-    private DeliverySearchQuery onGoingDeliverySearchQuery;
-    private Call<DeliverySearchResponse> onGoingDeliverySearchCall;
+    @Retention(SOURCE)
+    @IntDef({
+            PRIORITY_USER_VISIBLE,
+            PRIORITY_PREFETCH,
+            PRIORITY_BACKGROUND
+    })
+    public @interface Priority {}
 
-    private DeliverySearchResult<T> pendingDeliverySearchResult;
-    private Throwable pendingDeliverySearchError;
+    private final DeliverySearch deliverySearch;
+    private final DeliverySearchQueryBuilder deliverySearchQueryBuilder;
+    private final NetworkingCallsExecutor callsExecutor;
+
+    /**
+     * Ongoing call, pending result and listeners, replaced atomically as {@link #get()}, {@link #then(DeliverySearchResultListener)},
+     * {@link #error(DeliverySearchErrorListener)} and responses race with each other.
+     */
+    private final AtomicReference<Lifecycle<T>> lifecycle = new AtomicReference<>(Lifecycle.idle());
 
     private boolean includeDraft;
     private boolean includeProtectedContent;
@@ -63,6 +90,15 @@ public abstract class Documents<T extends Document> {
     private boolean includeAllFields = true;
     private boolean includeRetired;
 
+    @Priority
+    private int priority = PRIORITY_USER_VISIBLE;
+
+    @Nullable
+    private CancellationScope cancellationScope;
+
+    @Nullable
+    private Executor callbackExecutor;
+
     private final Callback<DeliverySearchResponse> onGoingDeliverySearchCallCallback = new Callback<DeliverySearchResponse>() {
         @Override
         public void onResponse(Call<DeliverySearchResponse> call, Response<DeliverySearchResponse> response) {
@@ -77,7 +113,7 @@ public abstract class Documents<T extends Document> {
 
     Documents(@NonNull DeliverySearch deliverySearch, @Nullable State state) {
         this.deliverySearch = deliverySearch;
-        this.callsExecutor = new DefaultNetworkingCallsExecutor();
+        this.callsExecutor = getDefaultCallsExecutor(deliverySearch);
 
         if (null == state) {
             this.deliverySearchQueryBuilder = new DeliverySearchQueryBuilder();
@@ -94,9 +130,13 @@ public abstract class Documents<T extends Document> {
         }
     }
 
+    @NonNull
+    DeliverySearch getDeliverySearch() {
+        return deliverySearch;
+    }
 
     Documents(@NonNull DeliverySearch deliverySearch, @Nullable State state, @NonNull DeliverySearchQueryBuilder deliverySearchQueryBuilder) {
-        this(deliverySearch, state, deliverySearchQueryBuilder, new DefaultNetworkingCallsExecutor());
+        this(deliverySearch, state, deliverySearchQueryBuilder, getDefaultCallsExecutor(deliverySearch));
     }
 
     @VisibleForTesting
@@ -185,6 +225,105 @@ public abstract class Documents<T extends Document> {
         return this;
     }
 
+    /**
+     * Adds field to count documents per value of, see {@link #getFacetsAsync()}. Facets don't affect {@link #get()}.
+     *
+     * @param field target field, e.g. "{@code type}", cannot be {@code null}
+     * @return this
+     */
+    public Documents facetField(@NonNull String field) {
+        deliverySearchQueryBuilder.facetField(field);
+        return this;
+    }
+
+    /**
+     * Adds query to count matching documents of, see {@link #getFacetsAsync()}. Facets don't affect {@link #get()}.
+     *
+     * @param query Solr query string, e.g. "{@code tags:featured}", cannot be {@code null}
+     * @return this
+     */
+    public Documents facetQuery(@NonNull String query) {
+        deliverySearchQueryBuilder.facetQuery(query);
+        return this;
+    }
+
+    /**
+     * Adds field to count documents per range of, see {@link #getFacetsAsync()}. Facets don't affect {@link #get()}.
+     * Range of the same field replaces previous one.
+     *
+     * @param field target field, e.g. "{@code lastModified}", cannot be {@code null}
+     * @param start lower bound of the first range, e.g. "{@code NOW/DAY-7DAYS}", cannot be {@code null}
+     * @param end   upper bound of the last range, e.g. "{@code NOW/DAY+1DAY}", cannot be {@code null}
+     * @param gap   size of each range, e.g. "{@code +1DAY}", cannot be {@code null}
+     * @return this
+     */
+    public Documents facetRange(@NonNull String field, @NonNull String start, @NonNull String end, @NonNull String gap) {
+        deliverySearchQueryBuilder.facetRange(field, start, end, gap);
+        return this;
+    }
+
+    /**
+     * Alters priority of this delivery search query, set to {@link #PRIORITY_USER_VISIBLE} by default.
+     * When number of concurrent queries is limited, queries of higher priority are run first,
+     * and prefetch and background queries are deferred while user visible queries are waiting.
+     *
+     * @param priority one of {@link #PRIORITY_USER_VISIBLE}, {@link #PRIORITY_PREFETCH} or {@link #PRIORITY_BACKGROUND}
+     * @return this
+     * @see SDKConfig.Builder#setMaxConcurrentRequests(int)
+     */
+    public Documents priority(@Priority int priority) {
+        this.priority = Validator.checkCondition(priority, "Unknown priority " + priority,
+                value -> (value >= PRIORITY_USER_VISIBLE && value <= PRIORITY_BACKGROUND));
+        return this;
+    }
+
+    @Priority
+    int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Starts delivery search queries of this instance, and of instances created by {@link DeliverySearchResult#nextPage()}
+     * and {@link DeliverySearchResult#previousPage()} of its results, within given scope.
+     * Once the scope is closed, ongoing query is cancelled and its result is not passed to listeners.
+     *
+     * @param scope the scope to start queries within
+     * @return this
+     */
+    public Documents within(@NonNull CancellationScope scope) {
+        cancellationScope = Validator.checkNotNull(scope, "scope cannot be null");
+        return this;
+    }
+
+    @Nullable
+    CancellationScope getCancellationScope() {
+        return cancellationScope;
+    }
+
+    /**
+     * Sets {@link Executor} that notifies listeners of this instance, and of instances created by
+     * {@link DeliverySearchResult#nextPage()} and {@link DeliverySearchResult#previousPage()} of its results.
+     * Response is parsed on the networking thread regardless, only notification of listeners is passed to the executor.
+     * Overrides {@link SDKConfig.Builder#setCallbackExecutor(Executor)} for this query.
+     *
+     * @param callbackExecutor the executor to notify listeners, e.g. {@link SDKConfig#DIRECT_CALLBACK_EXECUTOR}
+     * @return this
+     */
+    public Documents callbackExecutor(@NonNull Executor callbackExecutor) {
+        this.callbackExecutor = Validator.checkNotNull(callbackExecutor, "callbackExecutor cannot be null");
+        return this;
+    }
+
+    @NonNull
+    Executor getCallbackExecutor() {
+        if (null != callbackExecutor) {
+            return callbackExecutor;
+        }
+        final ContentDeliverySDK sdk = deliverySearch.sdk;
+        final Executor sdkCallbackExecutor = null == sdk ? null : sdk.getCallbackExecutor();
+        return null == sdkCallbackExecutor ? SDKConfig.DIRECT_CALLBACK_EXECUTOR : sdkCallbackExecutor;
+    }
+
     /**
      * Adds filter by name parameter.
      *
@@ -252,33 +391,134 @@ public abstract class Documents<T extends Document> {
      */
     public Documents get() {
         final NetworkingCallsProvider callsProvider = deliverySearch.sdk.getNetworkingCallsProvider();
-        if (null != onGoingDeliverySearchCall) {
-            onGoingDeliverySearchCall.cancel();
-            onGoingDeliverySearchCall = null;
-            onGoingDeliverySearchQuery = null;
-        }
-
-        pendingDeliverySearchResult = null;
-        pendingDeliverySearchError = null;
-
-        onGoingDeliverySearchQuery = deliverySearchQueryBuilder
-                .setIncludeAllFields(includeAllFields)
-                .setIncludeDraft(includeDraft)
-                .setIncludeRetired(includeRetired)
-                .build();
-
-        onGoingDeliverySearchCall = callsProvider.getDeliverySearchCall(
-                onGoingDeliverySearchQuery,
+        final Call<DeliverySearchResponse> call = callsProvider.getDeliverySearchCall(
+                buildQuery(),
                 includeDraft,
                 includeRetired,
                 includeProtectedContent,
                 retrieveCompleteContentContext
         );
 
-        callsExecutor.executeCall(onGoingDeliverySearchCall, onGoingDeliverySearchCallCallback);
+        // the new call supersedes ongoing one, and drops pending result or error that nobody has got yet
+        Lifecycle<T> current;
+        do {
+            current = lifecycle.get();
+        } while (!lifecycle.compareAndSet(current, current.start(call)));
+        cancel(current.call);
+
+        if (null != cancellationScope && !cancellationScope.add(call, callsExecutor)) {
+            // scope is already closed, the call was cancelled without being started
+            finish(call, null, null);
+            return this;
+        }
+
+        callsExecutor.executeCall(call, onGoingDeliverySearchCallCallback, priority);
         return this;
     }
 
+    /**
+     * Initiates delivery search query and returns its future. Unlike {@link #get()}, every call starts independent query,
+     * previous queries are not cancelled, and result is passed to the future rather than to listeners of this instance.
+     * <p/>
+     * Cancelling the future cancels the query, the query is also cancelled if {@link CancellationScope} it is started
+     * within is closed. Use {@link DeliverySearch#getAll(long, java.util.concurrent.TimeUnit, Documents[])} to run
+     * several queries concurrently and join their results.
+     *
+     * @return future of the delivery search query result
+     */
+    @NonNull
+    public DeliverySearchFuture<DeliverySearchResult<T>> getAsync() {
+        return enqueue(createDeliverySearchCall(), this::createDeliverySearchResult);
+    }
+
+    /**
+     * Runs delivery search query on the calling thread and waits for its result, intended to be used by threads
+     * that are already off the main thread, e.g. background sync workers. Unlike {@link #get()}, result is returned
+     * rather than passed to listeners, and the query doesn't wait for a free slot of limited concurrent queries.
+     * <p/>
+     * Timeouts are the same as with {@link #get()}, and the query is cancelled if {@link CancellationScope} it is started
+     * within is closed meanwhile.
+     *
+     * @return result of delivery search query
+     * @throws IOException      if the query failed because of network error or timeout, or was cancelled
+     * @throws RuntimeException if server responded with error
+     */
+    @NonNull
+    @WorkerThread
+    public DeliverySearchResult<T> execute() throws IOException {
+        return execute(createDeliverySearchCall(), this::createDeliverySearchResult);
+    }
+
+    /**
+     * Computes fingerprint of the delivery search call this instance makes on {@link #get()}, calls that are
+     * guaranteed to return the same documents have the same fingerprint regardless of filter queries order.
+     * <p/>
+     * Identity of current user is folded in for calls that depend on it, i.e. protected content and preview calls.
+     * Fingerprint is stable across app runs, so it can key persistent caches of results.
+     *
+     * @return 32 characters long lowercase hex fingerprint of the delivery search call
+     */
+    @NonNull
+    public String getQueryFingerprint() {
+        final boolean previewHost = includeDraft || includeRetired;
+        final ContentDeliverySDK sdk = deliverySearch.sdk;
+        final String authScope = (includeProtectedContent || previewHost) && null != sdk ? sdk.getCurrentUserName() : null;
+        return QueryFingerprint.of(
+                buildQuery(),
+                includeProtectedContent ? TYPE_MY_DELIVERY_SEARCH : TYPE_DELIVERY_SEARCH,
+                previewHost,
+                retrieveCompleteContentContext,
+                authScope
+        ).toString();
+    }
+
+    /**
+     * Initiates facet query and returns its future. Facet query sends {@code rows=0}, so it counts documents matching
+     * this delivery search query per facet added by {@link #facetField(String)}, {@link #facetQuery(String)} and
+     * {@link #facetRange(String, String, String, String)} without fetching any of them. Sort and paging are ignored.
+     * <p/>
+     * Like with {@link #getAsync()}, every call starts independent query and cancelling the future cancels the query.
+     *
+     * @return future of the facet query result
+     */
+    @NonNull
+    public DeliverySearchFuture<FacetResult> getFacetsAsync() {
+        return enqueue(createFacetSearchCall(), this::createFacetResult);
+    }
+
+    /**
+     * Runs facet query on the calling thread and waits for its result, see {@link #getFacetsAsync()} and {@link #execute()}.
+     *
+     * @return result of facet query
+     * @throws IOException      if the query failed because of network error or timeout, or was cancelled
+     * @throws RuntimeException if server responded with error
+     */
+    @NonNull
+    @WorkerThread
+    public FacetResult executeFacets() throws IOException {
+        return execute(createFacetSearchCall(), this::createFacetResult);
+    }
+
+    /**
+     * Computes fingerprint of the facet call this instance makes on {@link #getFacetsAsync()}, see {@link #getQueryFingerprint()}.
+     * Sort and paging are not part of facet call, so pages of the same query share the fingerprint.
+     *
+     * @return 32 characters long lowercase hex fingerprint of the facet call
+     */
+    @NonNull
+    public String getFacetsFingerprint() {
+        final boolean previewHost = includeDraft || includeRetired;
+        final ContentDeliverySDK sdk = deliverySearch.sdk;
+        final String authScope = (includeProtectedContent || previewHost) && null != sdk ? sdk.getCurrentUserName() : null;
+        return QueryFingerprint.of(
+                buildFacetQuery(),
+                includeProtectedContent ? TYPE_MY_DELIVERY_SEARCH : TYPE_DELIVERY_SEARCH,
+                previewHost,
+                false,
+                authScope
+        ).toString();
+    }
+
     /**
      * Alters {@link DeliverySearchResultListener} that should get result of this delivery search query.
      *
@@ -286,7 +526,10 @@ public abstract class Documents<T extends Document> {
      * @return this
      */
     public Documents then(@NonNull DeliverySearchResultListener<T> listener) {
-        deliverySearchResultListener = listener;
+        Lifecycle<T> current;
+        do {
+            current = lifecycle.get();
+        } while (!lifecycle.compareAndSet(current, current.withResultListener(listener)));
         notifyPendingDeliverySearchQueryResult();
         return this;
     }
@@ -298,7 +541,10 @@ public abstract class Documents<T extends Document> {
      * @return this
      */
     public Documents error(@NonNull DeliverySearchErrorListener listener) {
-        deliverySearchErrorListener = listener;
+        Lifecycle<T> current;
+        do {
+            current = lifecycle.get();
+        } while (!lifecycle.compareAndSet(current, current.withErrorListener(listener)));
         notifyPendingDeliverySearchQueryResult();
         return this;
     }
@@ -341,29 +587,22 @@ public abstract class Documents<T extends Document> {
     }
 
     Documents<T> createNextPageInstance() {
-        final Documents<T> newInstance = createInstance(deliverySearch, new DeliverySearchQueryBuilder(deliverySearchQueryBuilder));
-
-        Integer start = newInstance.deliverySearchQueryBuilder.getStart();
+        Integer start = deliverySearchQueryBuilder.getStart();
         if (null == start) {
             start = 0;
         }
 
-        Integer rows = newInstance.deliverySearchQueryBuilder.getRows();
+        Integer rows = deliverySearchQueryBuilder.getRows();
         if (null == rows) {
             rows = DEFAULT_PAGE_SIZE;
-            newInstance.deliverySearchQueryBuilder.rows(rows);
         }
 
-        final int nextPageStart = start + rows;
-        newInstance.deliverySearchQueryBuilder.start(nextPageStart);
-        return newInstance;
+        return createPageInstance(start + rows, rows);
     }
 
     @Nullable
     Documents<T> createPrevPageInstance() {
-        final Documents<T> newInstance = createInstance(deliverySearch, new DeliverySearchQueryBuilder(deliverySearchQueryBuilder));
-
-        Integer start = newInstance.deliverySearchQueryBuilder.getStart();
+        Integer start = deliverySearchQueryBuilder.getStart();
         if (null == start) {
             start = 0;
         }
@@ -373,17 +612,51 @@ public abstract class Documents<T extends Document> {
             return null;
         }
 
-        Integer rows = newInstance.deliverySearchQueryBuilder.getRows();
+        Integer rows = deliverySearchQueryBuilder.getRows();
         if (null == rows) {
             rows = DEFAULT_PAGE_SIZE;
-            newInstance.deliverySearchQueryBuilder.rows(rows);
         }
 
         final int prevPageStart = start - rows;
-        newInstance.deliverySearchQueryBuilder.start(prevPageStart < 0 ? 0 : prevPageStart);
+        return createPageInstance(prevPageStart < 0 ? 0 : prevPageStart, rows);
+    }
+
+    /**
+     * Creates instance of sibling page, that shares everything with this instance except for start.
+     * Query of the page is derived from the query of this instance, so its parameters are not encoded again.
+     */
+    @NonNull
+    private Documents<T> createPageInstance(int start, int rows) {
+        final DeliverySearchQueryBuilder pageQueryBuilder;
+        if (null == deliverySearchQueryBuilder.getRows()) {
+            // rows are added to the query, so it cannot be derived
+            pageQueryBuilder = new DeliverySearchQueryBuilder(deliverySearchQueryBuilder).rows(rows).start(start);
+        } else {
+            buildQuery();
+            pageQueryBuilder = deliverySearchQueryBuilder.copyWithStart(start);
+        }
+
+        final Documents<T> newInstance = createInstance(deliverySearch, pageQueryBuilder);
+        newInstance.includeDraft = includeDraft;
+        newInstance.includeProtectedContent = includeProtectedContent;
+        newInstance.retrieveCompleteContentContext = retrieveCompleteContentContext;
+        newInstance.includeAllFields = includeAllFields;
+        newInstance.includeRetired = includeRetired;
+        newInstance.priority = priority;
+        newInstance.cancellationScope = cancellationScope;
+        newInstance.callbackExecutor = callbackExecutor;
         return newInstance;
     }
 
+    void setPendingDeliverySearchResult(@NonNull DeliverySearchResult<T> result) {
+        Lifecycle<T> current;
+        do {
+            current = lifecycle.get();
+        } while (!lifecycle.compareAndSet(current, current.finish(result, null)));
+        cancel(current.call);
+        notifyPendingDeliverySearchQueryResult();
+    }
+
     void setIncludeDraft(boolean includeDraft) {
         this.includeDraft = includeDraft;
     }
@@ -404,6 +677,154 @@ public abstract class Documents<T extends Document> {
         this.includeRetired = includeRetired;
     }
 
+    @NonNull
+    private static NetworkingCallsExecutor getDefaultCallsExecutor(@NonNull DeliverySearch deliverySearch) {
+        final ContentDeliverySDK sdk = deliverySearch.sdk;
+        return null == sdk ? new DefaultNetworkingCallsExecutor() : sdk.getRequestScheduler();
+    }
+
+    @NonNull
+    private DeliverySearchQuery buildQuery() {
+        return deliverySearchQueryBuilder
+                .setIncludeAllFields(includeAllFields)
+                .setIncludeDraft(includeDraft)
+                .setIncludeRetired(includeRetired)
+                .build();
+    }
+
+    private DeliverySearchQuery buildFacetQuery() {
+        return deliverySearchQueryBuilder
+                .setIncludeDraft(includeDraft)
+                .setIncludeRetired(includeRetired)
+                .buildFacets();
+    }
+
+    @NonNull
+    private Call<DeliverySearchResponse> createDeliverySearchCall() {
+        return deliverySearch.sdk.getNetworkingCallsProvider().getDeliverySearchCall(
+                buildQuery(),
+                includeDraft,
+                includeRetired,
+                includeProtectedContent,
+                retrieveCompleteContentContext
+        );
+    }
+
+    @NonNull
+    private Call<DeliverySearchResponse> createFacetSearchCall() {
+        return deliverySearch.sdk.getNetworkingCallsProvider().getFacetSearchCall(
+                buildFacetQuery(),
+                includeDraft,
+                includeRetired,
+                includeProtectedContent
+        );
+    }
+
+    @Nullable
+    private FacetResult createFacetResult(Response<DeliverySearchResponse> response) {
+        final DeliverySearchResponse deliverySearchResponse = response.body();
+        return null == deliverySearchResponse
+                ? null
+                : new FacetResult(deliverySearchResponse.numFound, deliverySearchResponse.facetCounts);
+    }
+
+    /**
+     * Starts the call within {@link CancellationScope} of this instance, if any, and passes result mapped from
+     * its response to the returned future, see {@link #getAsync()}.
+     */
+    @NonNull
+    private <R> DeliverySearchFuture<R> enqueue(@NonNull Call<DeliverySearchResponse> call, @NonNull ResponseMapper<R> mapper) {
+        final DeliverySearchFuture<R> future = new DeliverySearchFuture<>(getCallbackExecutor());
+        future.setCancellationHook(call::cancel);
+
+        final CancellationScope scope = cancellationScope;
+        if (null != scope && !scope.add(call, callsExecutor)) {
+            future.cancel(false);
+            return future;
+        }
+
+        callsExecutor.executeCall(call, new Callback<DeliverySearchResponse>() {
+            @Override
+            public void onResponse(Call<DeliverySearchResponse> call, Response<DeliverySearchResponse> response) {
+                onFinished(call);
+                if (call.isCanceled()) {
+                    future.cancel(false);
+                    return;
+                }
+                try {
+                    if (response.isSuccessful()) {
+                        final R result = mapper.map(response);
+                        if (null == result) {
+                            future.completeExceptionally(new NullPointerException("Empty response from server"));
+                        } else {
+                            future.complete(result);
+                        }
+                    } else {
+                        future.completeExceptionally(createDeliverySearchError(response));
+                    }
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<DeliverySearchResponse> call, Throwable error) {
+                onFinished(call);
+                if (call.isCanceled()) {
+                    future.cancel(false);
+                } else {
+                    future.completeExceptionally(error);
+                }
+            }
+
+            private void onFinished(Call<DeliverySearchResponse> call) {
+                if (null != scope) {
+                    scope.remove(call);
+                }
+            }
+        }, priority);
+        return future;
+    }
+
+    /**
+     * Runs the call on the calling thread within {@link CancellationScope} of this instance, if any, and returns
+     * result mapped from its response, see {@link #execute()}.
+     */
+    @NonNull
+    private <R> R execute(@NonNull Call<DeliverySearchResponse> call, @NonNull ResponseMapper<R> mapper) throws IOException {
+        final CancellationScope scope = cancellationScope;
+        if (null != scope && !scope.add(call, callsExecutor)) {
+            throw new IOException("Canceled");
+        }
+        try {
+            final Response<DeliverySearchResponse> response = call.execute();
+            if (!response.isSuccessful()) {
+                throw createDeliverySearchError(response);
+            }
+            final R result = mapper.map(response);
+            if (null == result) {
+                throw new NullPointerException("Empty response from server");
+            }
+            return result;
+        } finally {
+            if (null != scope) {
+                scope.remove(call);
+            }
+        }
+    }
+
+    /**
+     * Maps successful delivery search response to result of the query, e.g. {@link DeliverySearchResult} or {@link FacetResult}.
+     */
+    private interface ResponseMapper<R> {
+
+        /**
+         * @return result of the response, {@code null} if response is empty
+         */
+        @Nullable
+        R map(@NonNull Response<DeliverySearchResponse> response);
+    }
+
     @NonNull
     abstract String getTargetDocumentClassification();
 
@@ -414,42 +835,124 @@ public abstract class Documents<T extends Document> {
     abstract Documents<T> createInstance(@NonNull DeliverySearch deliverySearch, @NonNull DeliverySearchQueryBuilder queryBuilder);
 
     private void onDeliverySearchQueryResponse(Call<DeliverySearchResponse> call, Response<DeliverySearchResponse> response, Throwable error) {
-        if (call.equals(onGoingDeliverySearchCall)) {
-            onGoingDeliverySearchQuery = null;
-            onGoingDeliverySearchCall = null;
-
-            if (null != error) {
-                pendingDeliverySearchError = error;
-                notifyPendingDeliverySearchQueryResult();
-                return;
-            }
+        if (null != cancellationScope) {
+            cancellationScope.remove(call);
+        }
 
+        // documents are parsed on the networking thread, so the callback executor only notifies listeners
+        DeliverySearchResult<T> result = null;
+        Throwable resultError = error;
+        if (null == error && !call.isCanceled()) {
             if (response.isSuccessful()) {
-                processSuccessfulDeliverySearchQueryResponse(response);
+                result = createDeliverySearchResult(response);
+                if (null == result) {
+                    resultError = new NullPointerException("Empty response from server");
+                }
             } else {
-                processErrorDeliverySearchQueryResponse(response);
+                resultError = createDeliverySearchError(response);
             }
+        }
+
+        final DeliverySearchResult<T> resultToDeliver = result;
+        final Throwable errorToDeliver = resultError;
+        getCallbackExecutor().execute(() -> deliverDeliverySearchQueryResult(call, resultToDeliver, errorToDeliver));
+    }
+
+    private void deliverDeliverySearchQueryResult(Call<DeliverySearchResponse> call,
+                                                  @Nullable DeliverySearchResult<T> result,
+                                                  @Nullable Throwable error) {
+        if (call.isCanceled()) {
+            // the call was cancelled by closed scope, nobody waits for its result
+            finish(call, null, null);
+        } else if (finish(call, result, error)) {
             notifyPendingDeliverySearchQueryResult();
         }
     }
 
-    private void processSuccessfulDeliverySearchQueryResponse(Response<DeliverySearchResponse> response) {
+    /**
+     * Finishes given call with its result or error, unless the call was superseded by another one meanwhile.
+     *
+     * @return {@code true} - the call was ongoing one, {@code false} - otherwise
+     */
+    private boolean finish(@NonNull Call<DeliverySearchResponse> call, @Nullable DeliverySearchResult<T> result, @Nullable Throwable error) {
+        Lifecycle<T> current;
+        do {
+            current = lifecycle.get();
+            if (current.call != call) {
+                return false;
+            }
+        } while (!lifecycle.compareAndSet(current, current.finish(result, error)));
+        return true;
+    }
+
+    private void cancel(@Nullable Call<DeliverySearchResponse> call) {
+        if (null != call) {
+            call.cancel();
+            if (null != cancellationScope) {
+                cancellationScope.remove(call);
+            }
+        }
+    }
+
+    /**
+     * @return result of successful response, {@code null} if response is empty
+     */
+    @Nullable
+    private DeliverySearchResult<T> createDeliverySearchResult(Response<DeliverySearchResponse> response) {
         final DeliverySearchResponse deliverySearchResponse = response.body();
         if (null == deliverySearchResponse) {
-            pendingDeliverySearchError = new NullPointerException("Empty response from server");
+            return null;
         } else {
-            pendingDeliverySearchResult = new DeliverySearchResult<>(
+            final MetricsDispatcher metricsDispatcher = getMetricsDispatcher();
+            if (null == metricsDispatcher || !metricsDispatcher.isEnabled()) {
+                return new DeliverySearchResult<>(
+                        deliverySearchResponse.numFound,
+                        this,
+                        parseDocuments(deliverySearchResponse.documents)
+                );
+            }
+
+            final long pickedUpNanos = System.nanoTime();
+            final long usedHeapBefore = ParseMetrics.usedHeapBytes();
+            final List<T> documents = parseDocuments(deliverySearchResponse.documents);
+            final long mappedNanos = System.nanoTime();
+            final long mappingAllocatedBytes = ParseMetrics.usedHeapBytes() - usedHeapBefore;
+
+            final DeliverySearchResult<T> result = new DeliverySearchResult<>(
                     deliverySearchResponse.numFound,
                     this,
-                    parseDocuments(deliverySearchResponse.documents)
+                    documents
             );
+
+            final ParseMetrics metrics = new ParseMetrics();
+            metrics.classification = getTargetDocumentClassification();
+            metrics.deliverySearchQuery = response.raw().request().tag(DeliverySearchQuery.class);
+            metrics.documentCount = documents.size();
+            metrics.conversionNanos = deliverySearchResponse.conversionNanos;
+            metrics.mappingNanos = mappedNanos - pickedUpNanos;
+            if (ParseMetrics.NOT_MEASURED != deliverySearchResponse.convertedAtNanos) {
+                metrics.dispatchQueueNanos = pickedUpNanos - deliverySearchResponse.convertedAtNanos;
+            }
+            if (deliverySearchResponse.conversionAllocatedBytes >= 0 && mappingAllocatedBytes >= 0) {
+                // negative heap growth means garbage collection happened meanwhile, so allocations cannot be estimated
+                metrics.allocatedBytes = deliverySearchResponse.conversionAllocatedBytes + mappingAllocatedBytes;
+            }
+            metricsDispatcher.dispatchParseMetrics(metrics);
+            return result;
         }
     }
 
-    private void processErrorDeliverySearchQueryResponse(Response<DeliverySearchResponse> response) {
+    @Nullable
+    private MetricsDispatcher getMetricsDispatcher() {
+        final ContentDeliverySDK sdk = deliverySearch.sdk;
+        return null == sdk ? null : sdk.getMetricsDispatcher();
+    }
+
+    @NonNull
+    private RuntimeException createDeliverySearchError(Response<DeliverySearchResponse> response) {
         final ResponseBody errorResponseBody = response.errorBody();
         if (null == errorResponseBody) {
-            pendingDeliverySearchError = new NullPointerException("Empty response from server");
+            return new NullPointerException("Empty response from server");
         } else {
             try {
                 final NetworkingCallsProvider callsProvider = deliverySearch.sdk
@@ -461,15 +964,16 @@ public abstract class Documents<T extends Document> {
                 if (null != searchResponseError.description) {
                     searchErrorMsg += " " + searchResponseError.description;
                 }
-                pendingDeliverySearchError = new RuntimeException(searchErrorMsg);
+                return new RuntimeException(searchErrorMsg);
             } catch (Exception ex) {
-                pendingDeliverySearchError = new RuntimeException("Failed to parse error response", ex);
+                return new RuntimeException("Failed to parse error response", ex);
             }
         }
     }
 
     @NonNull
-    private List<T> parseDocuments(@Nullable List<DeliverySearchResponseDocument> rawDocs) {
+    @VisibleForTesting
+    List<T> parseDocuments(@Nullable List<DeliverySearchResponseDocument> rawDocs) {
         final String targetDocumentClassification = getTargetDocumentClassification();
         final List<T> parsedDocuments = new ArrayList<>();
         if (null != rawDocs) {
@@ -485,24 +989,91 @@ public abstract class Documents<T extends Document> {
         return parsedDocuments;
     }
 
+    /**
+     * Passes pending result or error to its listener. Both are taken out of the lifecycle atomically,
+     * so every result and error is passed once at most, even if listeners are set while the response is being delivered.
+     */
     private void notifyPendingDeliverySearchQueryResult() {
-        if (null != deliverySearchResultListener && null != pendingDeliverySearchResult) {
-            final DeliverySearchResult<T> deliverySearchResultToNotify = pendingDeliverySearchResult;
-            final DeliverySearchResultListener<T> listenerToNotify = deliverySearchResultListener;
+        while (true) {
+            final Lifecycle<T> current = lifecycle.get();
+            if (null != current.resultListener && null != current.result) {
+                if (lifecycle.compareAndSet(current, current.withoutResult())) {
+                    current.resultListener.onThen(current.result);
+                    return;
+                }
+            } else if (null != current.errorListener && null != current.error) {
+                if (lifecycle.compareAndSet(current, current.withoutError())) {
+                    current.errorListener.onError(current.error);
+                    return;
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Immutable snapshot of delivery search query lifecycle: ongoing call, its pending result or error, and listeners
+     * waiting for them. Every transition creates new snapshot, that replaces the current one by compare-and-set.
+     * <ul>
+     * <li>re-issued query supersedes ongoing one, late responses of superseded calls are dropped;</li>
+     * <li>listener replaces previously set one, and is notified once at most, then it is removed;</li>
+     * <li>result or error is kept until its listener is set, and is passed to one listener at most.</li>
+     * </ul>
+     */
+    private static final class Lifecycle<T extends Document> {
+
+        private static final Lifecycle<?> IDLE = new Lifecycle<>(null, null, null, null, null);
+
+        @Nullable
+        final Call<DeliverySearchResponse> call;
+        @Nullable
+        final DeliverySearchResult<T> result;
+        @Nullable
+        final Throwable error;
+        @Nullable
+        final DeliverySearchResultListener<T> resultListener;
+        @Nullable
+        final DeliverySearchErrorListener errorListener;
+
+        private Lifecycle(@Nullable Call<DeliverySearchResponse> call,
+                          @Nullable DeliverySearchResult<T> result,
+                          @Nullable Throwable error,
+                          @Nullable DeliverySearchResultListener<T> resultListener,
+                          @Nullable DeliverySearchErrorListener errorListener) {
+            this.call = call;
+            this.result = result;
+            this.error = error;
+            this.resultListener = resultListener;
+            this.errorListener = errorListener;
+        }
 
-            pendingDeliverySearchResult = null;
-            deliverySearchResultListener = null;
+        static <T extends Document> Lifecycle<T> idle() {
+            return (Lifecycle<T>) IDLE;
+        }
+
+        Lifecycle<T> start(@NonNull Call<DeliverySearchResponse> call) {
+            return new Lifecycle<>(call, null, null, resultListener, errorListener);
+        }
+
+        Lifecycle<T> finish(@Nullable DeliverySearchResult<T> result, @Nullable Throwable error) {
+            return new Lifecycle<>(null, result, error, resultListener, errorListener);
+        }
 
-            listenerToNotify.onThen(deliverySearchResultToNotify);
+        Lifecycle<T> withResultListener(@NonNull DeliverySearchResultListener<T> resultListener) {
+            return new Lifecycle<>(call, result, error, resultListener, errorListener);
+        }
 
-        } else if (null != deliverySearchErrorListener && null != pendingDeliverySearchError) {
-            final Throwable errorToNotify = pendingDeliverySearchError;
-            final DeliverySearchErrorListener listenerToNotify = deliverySearchErrorListener;
+        Lifecycle<T> withErrorListener(@NonNull DeliverySearchErrorListener errorListener) {
+            return new Lifecycle<>(call, result, error, resultListener, errorListener);
+        }
 
-            pendingDeliverySearchError = null;
-            deliverySearchErrorListener = null;
+        Lifecycle<T> withoutResult() {
+            return new Lifecycle<>(call, null, error, null, errorListener);
+        }
 
-            listenerToNotify.onError(errorToNotify);
+        Lifecycle<T> withoutError() {
+            return new Lifecycle<>(call, result, null, resultListener, null);
         }
     }
 
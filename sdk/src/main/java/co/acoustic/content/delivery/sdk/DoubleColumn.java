@@ -0,0 +1,155 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list of doubles backed by primitive array, {@code null} elements are tracked in a separate bit mask,
+ * that is allocated only if list contains {@code null} elements.
+ */
+final class DoubleColumn extends AbstractList<Double> implements RandomAccess {
+
+    private final double[] values;
+    @Nullable
+    private final long[] nulls;
+
+    DoubleColumn(@NonNull double[] values, @Nullable long[] nulls) {
+        this.values = values;
+        this.nulls = nulls;
+    }
+
+    @Nullable
+    static DoubleColumn of(@Nullable List<Double> source) {
+        if (null == source) {
+            return null;
+        }
+        final int size = source.size();
+        final double[] values = new double[size];
+        long[] nulls = null;
+        for (int i = 0; i < size; i++) {
+            final Double value = source.get(i);
+            if (null == value) {
+                nulls = NullMask.markNull(nulls, size, i);
+            } else {
+                values[i] = value;
+            }
+        }
+        return new DoubleColumn(values, nulls);
+    }
+
+    @Override
+    public Double get(int index) {
+        return isNull(index) ? null : values[index];
+    }
+
+    /**
+     * @throws NullPointerException if element at given index is {@code null}
+     */
+    double getDouble(int index) {
+        if (isNull(index)) {
+            throw new NullPointerException("Element at index " + index + " is null");
+        }
+        return values[index];
+    }
+
+    boolean isNull(int index) {
+        if (index < 0 || index >= values.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + values.length);
+        }
+        return NullMask.isNull(nulls, index);
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @NonNull
+    double[] getValues() {
+        return values;
+    }
+
+    @Nullable
+    long[] getNulls() {
+        return nulls;
+    }
+
+    /**
+     * Parses JSON array of numbers straight into {@link DoubleColumn}, without boxing of the elements.
+     */
+    static class GsonAdapter extends TypeAdapter<DoubleColumn> {
+
+        @Override
+        public void write(JsonWriter out, DoubleColumn value) throws IOException {
+            if (null == value) {
+                out.nullValue();
+                return;
+            }
+            out.beginArray();
+            for (int i = 0; i < value.size(); i++) {
+                if (value.isNull(i)) {
+                    out.nullValue();
+                } else {
+                    out.value(value.values[i]);
+                }
+            }
+            out.endArray();
+        }
+
+        @Override
+        public DoubleColumn read(JsonReader in) throws IOException {
+            if (JsonToken.NULL == in.peek()) {
+                in.nextNull();
+                return null;
+            }
+            double[] values = new double[4];
+            long[] nulls = null;
+            int size = 0;
+            in.beginArray();
+            while (in.hasNext()) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                if (JsonToken.NULL == in.peek()) {
+                    in.nextNull();
+                    if (null == nulls) {
+                        nulls = new long[NullMask.words(values.length)];
+                    } else if (nulls.length <= size >> 6) {
+                        nulls = Arrays.copyOf(nulls, NullMask.words(values.length));
+                    }
+                    nulls[size >> 6] |= 1L << size;
+                } else {
+                    values[size] = in.nextDouble();
+                }
+                size++;
+            }
+            in.endArray();
+            return new DoubleColumn(size == values.length ? values : Arrays.copyOf(values, size), nulls);
+        }
+    }
+}
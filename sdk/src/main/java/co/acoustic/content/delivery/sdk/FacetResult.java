@@ -0,0 +1,342 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents facet counts of delivery search query, i.e. numbers of documents matching the query per value of
+ * facet fields, per facet query and per range of range facets. Documents themselves are not fetched.
+ */
+public final class FacetResult implements Parcelable {
+
+    private final int numFound;
+    private final Map<String, List<Count>> fields;
+    private final Map<String, Integer> queries;
+    private final Map<String, List<Count>> ranges;
+
+    FacetResult(int numFound, @Nullable DeliverySearchResponse.FacetCounts facetCounts) {
+        this.numFound = numFound;
+        fields = new LinkedHashMap<>();
+        queries = new LinkedHashMap<>();
+        ranges = new LinkedHashMap<>();
+        if (null == facetCounts) {
+            return;
+        }
+        if (null != facetCounts.facetFields) {
+            for (Map.Entry<String, ArrayList<String>> field : facetCounts.facetFields.entrySet()) {
+                fields.put(field.getKey(), parseCounts(field.getValue()));
+            }
+        }
+        if (null != facetCounts.facetQueries) {
+            for (Map.Entry<String, Integer> query : facetCounts.facetQueries.entrySet()) {
+                queries.put(query.getKey(), null == query.getValue() ? 0 : query.getValue());
+            }
+        }
+        if (null != facetCounts.facetRanges) {
+            for (Map.Entry<String, DeliverySearchResponse.FacetRange> range : facetCounts.facetRanges.entrySet()) {
+                ranges.put(range.getKey(), parseCounts(null == range.getValue() ? null : range.getValue().counts));
+            }
+        }
+    }
+
+    /**
+     * Parses Solr flat list of value/count pairs, e.g. ["image", "12", "video", "3"].
+     */
+    @NonNull
+    private static List<Count> parseCounts(@Nullable List<String> flatCounts) {
+        if (null == flatCounts) {
+            return Collections.emptyList();
+        }
+        final List<Count> result = new ArrayList<>(flatCounts.size() / 2);
+        for (int i = 0; i + 1 < flatCounts.size(); i += 2) {
+            final String count = flatCounts.get(i + 1);
+            try {
+                result.add(new Count(flatCounts.get(i), null == count ? 0 : Integer.parseInt(count)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Malformed facet count " + count, e);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * @return number of documents matching delivery search query
+     */
+    public int getNumFound() {
+        return numFound;
+    }
+
+    /**
+     * @return counts per value by facet field, in order returned by server, i.e. most frequent values first
+     */
+    @NonNull
+    public Map<String, List<Count>> getFields() {
+        return Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * @param field facet field, cannot be {@code null}
+     * @return counts per value of given facet field, empty list if the field was not faceted
+     */
+    @NonNull
+    public List<Count> getFieldCounts(@NonNull String field) {
+        Validator.checkNotNull(field, "field cannot be null");
+        final List<Count> counts = fields.get(field);
+        return null == counts ? Collections.<Count>emptyList() : counts;
+    }
+
+    /**
+     * @return counts by facet query
+     */
+    @NonNull
+    public Map<String, Integer> getQueryCounts() {
+        return Collections.unmodifiableMap(queries);
+    }
+
+    /**
+     * @return counts per range start by range facet field
+     */
+    @NonNull
+    public Map<String, List<Count>> getRanges() {
+        return Collections.unmodifiableMap(ranges);
+    }
+
+    /**
+     * @param field range facet field, cannot be {@code null}
+     * @return counts per range start of given range facet field, empty list if the field was not faceted
+     */
+    @NonNull
+    public List<Count> getRangeCounts(@NonNull String field) {
+        Validator.checkNotNull(field, "field cannot be null");
+        final List<Count> counts = ranges.get(field);
+        return null == counts ? Collections.<Count>emptyList() : counts;
+    }
+
+    void writeSnapshot(@NonNull SnapshotWriter dest) throws IOException {
+        dest.writeVarInt(numFound);
+        writeSnapshotCounts(dest, fields);
+        dest.writeVarInt(queries.size());
+        for (Map.Entry<String, Integer> query : queries.entrySet()) {
+            dest.writeString(query.getKey());
+            dest.writeVarInt(query.getValue());
+        }
+        writeSnapshotCounts(dest, ranges);
+    }
+
+    FacetResult(@NonNull SnapshotReader source) throws IOException {
+        numFound = source.readVarInt();
+        fields = readSnapshotCounts(source);
+        final int queriesSize = source.readVarInt();
+        queries = new LinkedHashMap<>();
+        for (int i = 0; i < queriesSize; i++) {
+            queries.put(source.readString(), source.readVarInt());
+        }
+        ranges = readSnapshotCounts(source);
+    }
+
+    private static void writeSnapshotCounts(@NonNull SnapshotWriter dest, @NonNull Map<String, List<Count>> countsByField) throws IOException {
+        dest.writeVarInt(countsByField.size());
+        for (Map.Entry<String, List<Count>> field : countsByField.entrySet()) {
+            dest.writeSharedString(field.getKey());
+            final List<Count> counts = field.getValue();
+            dest.writeVarInt(counts.size());
+            for (Count count : counts) {
+                dest.writeString(count.value);
+                dest.writeVarInt(count.count);
+            }
+        }
+    }
+
+    @NonNull
+    private static Map<String, List<Count>> readSnapshotCounts(@NonNull SnapshotReader source) throws IOException {
+        final int size = source.readVarInt();
+        final Map<String, List<Count>> result = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            final String field = source.readSharedString();
+            final int countsSize = source.readCount();
+            final List<Count> counts = new ArrayList<>(SnapshotReader.capacity(countsSize));
+            for (int j = 0; j < countsSize; j++) {
+                counts.add(new Count(source.readString(), source.readVarInt()));
+            }
+            result.put(field, Collections.unmodifiableList(counts));
+        }
+        return result;
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeInt(numFound);
+        writeParcelCounts(dest, fields);
+        dest.writeInt(queries.size());
+        for (Map.Entry<String, Integer> query : queries.entrySet()) {
+            dest.writeString(query.getKey());
+            dest.writeInt(query.getValue());
+        }
+        writeParcelCounts(dest, ranges);
+    }
+
+    private FacetResult(Parcel source) {
+        numFound = source.readInt();
+        fields = readParcelCounts(source);
+        final int queriesSize = source.readInt();
+        queries = new LinkedHashMap<>();
+        for (int i = 0; i < queriesSize; i++) {
+            queries.put(source.readString(), source.readInt());
+        }
+        ranges = readParcelCounts(source);
+    }
+
+    private static void writeParcelCounts(@NonNull Parcel dest, @NonNull Map<String, List<Count>> countsByField) {
+        dest.writeInt(countsByField.size());
+        for (Map.Entry<String, List<Count>> field : countsByField.entrySet()) {
+            dest.writeString(field.getKey());
+            final List<Count> counts = field.getValue();
+            dest.writeInt(counts.size());
+            for (Count count : counts) {
+                dest.writeString(count.value);
+                dest.writeInt(count.count);
+            }
+        }
+    }
+
+    @NonNull
+    private static Map<String, List<Count>> readParcelCounts(@NonNull Parcel source) {
+        final int size = source.readInt();
+        final Map<String, List<Count>> result = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            final String field = source.readString();
+            final int countsSize = source.readInt();
+            final List<Count> counts = new ArrayList<>(countsSize);
+            for (int j = 0; j < countsSize; j++) {
+                counts.add(new Count(source.readString(), source.readInt()));
+            }
+            result.put(field, Collections.unmodifiableList(counts));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        FacetResult that = (FacetResult) o;
+
+        if (numFound != that.numFound) return false;
+        if (!fields.equals(that.fields)) return false;
+        if (!queries.equals(that.queries)) return false;
+        return ranges.equals(that.ranges);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = numFound;
+        result = 31 * result + fields.hashCode();
+        result = 31 * result + queries.hashCode();
+        result = 31 * result + ranges.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "FacetResult{" +
+                "numFound=" + numFound +
+                ", fields=" + fields +
+                ", queries=" + queries +
+                ", ranges=" + ranges +
+                '}';
+    }
+
+    public static final Creator<FacetResult> CREATOR = new Creator<FacetResult>() {
+        @Override
+        public FacetResult createFromParcel(Parcel source) {
+            return new FacetResult(source);
+        }
+
+        @Override
+        public FacetResult[] newArray(int size) {
+            return new FacetResult[size];
+        }
+    };
+
+    /**
+     * Number of documents that have given facet value, or that fall into range starting with given value.
+     */
+    public static final class Count {
+
+        private final String value;
+        private final int count;
+
+        Count(@Nullable String value, int count) {
+            this.value = value;
+            this.count = count;
+        }
+
+        /**
+         * @return facet value, or start of the range for range facets
+         */
+        @Nullable
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * @return number of documents
+         */
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Count that = (Count) o;
+
+            if (count != that.count) return false;
+            return value != null ? value.equals(that.value) : that.value == null;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = value != null ? value.hashCode() : 0;
+            result = 31 * result + count;
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return value + "=" + count;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Parses ISO-8601 timestamps returned by delivery search API, e.g. 2020-01-07T17:52:31.610Z, into epoch milliseconds
+ * without allocating and without {@link java.text.SimpleDateFormat}.
+ * <p/>
+ * Supported format is {@code yyyy-MM-dd['T'HH:mm[:ss[.S*]]][Z|±HH[[:]mm]]}, timestamps without offset are treated as UTC.
+ */
+final class Iso8601 {
+
+    /**
+     * Returned for {@code null} or malformed timestamps.
+     */
+    static final long INVALID = Long.MIN_VALUE;
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    private static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+    private static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+
+    /**
+     * @return epoch milliseconds of given timestamp, {@link #INVALID} if timestamp is {@code null} or malformed
+     */
+    static long parseMillis(@Nullable String value) {
+        if (null == value) {
+            return INVALID;
+        }
+        final int length = value.length();
+        if (length < 10 || value.charAt(4) != '-' || value.charAt(7) != '-') {
+            return INVALID;
+        }
+        final int year = parseDigits(value, 0, 4);
+        final int month = parseDigits(value, 5, 7);
+        final int day = parseDigits(value, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+            return INVALID;
+        }
+
+        long millis = epochDay(year, month, day) * MILLIS_PER_DAY;
+        int position = 10;
+        if (position < length && (value.charAt(position) == 'T' || value.charAt(position) == 't' || value.charAt(position) == ' ')) {
+            if (position + 6 > length || value.charAt(position + 3) != ':') {
+                return INVALID;
+            }
+            final int hour = parseDigits(value, position + 1, position + 3);
+            final int minute = parseDigits(value, position + 4, position + 6);
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+                return INVALID;
+            }
+            millis += hour * MILLIS_PER_HOUR + minute * MILLIS_PER_MINUTE;
+            position += 6;
+
+            if (position < length && value.charAt(position) == ':') {
+                final int second = parseDigits(value, position + 1, position + 3);
+                if (second < 0 || second > 59) {
+                    return INVALID;
+                }
+                millis += second * MILLIS_PER_SECOND;
+                position += 3;
+
+                if (position < length && (value.charAt(position) == '.' || value.charAt(position) == ',')) {
+                    position++;
+                    final int fractionStart = position;
+                    int fraction = 0;
+                    while (position < length && isDigit(value.charAt(position))) {
+                        // only milliseconds are kept, further digits are truncated
+                        if (position - fractionStart < 3) {
+                            fraction = fraction * 10 + (value.charAt(position) - '0');
+                        }
+                        position++;
+                    }
+                    final int digits = position - fractionStart;
+                    if (0 == digits) {
+                        return INVALID;
+                    }
+                    for (int i = digits; i < 3; i++) {
+                        fraction *= 10;
+                    }
+                    millis += fraction;
+                }
+            }
+        }
+
+        if (position == length) {
+            return millis;
+        }
+        final char zone = value.charAt(position);
+        if ((zone == 'Z' || zone == 'z') && position + 1 == length) {
+            return millis;
+        }
+        if (zone != '+' && zone != '-') {
+            return INVALID;
+        }
+        final int offsetHours = parseDigits(value, position + 1, position + 3);
+        position += 3;
+        int offsetMinutes = 0;
+        if (position < length) {
+            if (value.charAt(position) == ':') {
+                position++;
+            }
+            offsetMinutes = parseDigits(value, position, position + 2);
+            position += 2;
+        }
+        if (position != length || offsetHours < 0 || offsetHours > 18 || offsetMinutes < 0 || offsetMinutes > 59) {
+            return INVALID;
+        }
+        final long offset = offsetHours * MILLIS_PER_HOUR + offsetMinutes * MILLIS_PER_MINUTE;
+        return zone == '+' ? millis - offset : millis + offset;
+    }
+
+    /**
+     * @return value of digits in [start, end) range, {@code -1} if range is out of bounds or contains non-digit
+     */
+    private static int parseDigits(String value, int start, int end) {
+        if (end > value.length()) {
+            return -1;
+        }
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            final char c = value.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return ((year % 4 == 0 && year % 100 != 0) || year % 400 == 0) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * @return number of days since 1970-01-01 of given proleptic Gregorian calendar date
+     */
+    private static long epochDay(int year, int month, int day) {
+        final long y = month <= 2 ? year - 1 : year;
+        final long era = (y >= 0 ? y : y - 399) / 400;
+        final long yearOfEra = y - era * 400;
+        final long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private Iso8601() {
+        throw new UnsupportedOperationException();
+    }
+}
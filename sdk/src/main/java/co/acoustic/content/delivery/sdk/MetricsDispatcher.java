@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Holds {@link ContentDeliverySDK.MetricsListener} registered for particular {@link ContentDeliverySDK} instance
+ * and passes collected metrics to it.
+ */
+class MetricsDispatcher {
+
+    @Nullable
+    private volatile ContentDeliverySDK.MetricsListener listener;
+
+    void setListener(@Nullable ContentDeliverySDK.MetricsListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Checks whether metrics should be collected, intended to be used to skip measurements entirely when there is no listener registered.
+     */
+    boolean isEnabled() {
+        return null != listener;
+    }
+
+    void dispatchNetworkMetrics(@NonNull NetworkMetrics metrics) {
+        final ContentDeliverySDK.MetricsListener listenerToNotify = listener;
+        if (null != listenerToNotify) {
+            listenerToNotify.onNetworkMetrics(metrics);
+        }
+    }
+
+    void dispatchParseMetrics(@NonNull ParseMetrics metrics) {
+        final ContentDeliverySDK.MetricsListener listenerToNotify = listener;
+        if (null != listenerToNotify) {
+            listenerToNotify.onParseMetrics(metrics);
+        }
+    }
+}
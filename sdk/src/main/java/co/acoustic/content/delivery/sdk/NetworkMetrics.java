@@ -0,0 +1,205 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+
+/**
+ * Holds timing and transfer metrics of a single networking call made by {@link ContentDeliverySDK}.
+ * <p/>
+ * All durations are measured in nanoseconds. Durations of phases that did not happen during the call
+ * (e.g. DNS lookup, connect and TLS handshake when pooled connection was reused) are reported as {@value #NOT_MEASURED}.
+ */
+public class NetworkMetrics {
+
+    public static final long NOT_MEASURED = -1;
+
+    public static final int NO_STATUS_CODE = -1;
+
+    String url;
+    String encodedQuery;
+    String deliveryType;
+    boolean previewHost;
+    DeliverySearchQuery deliverySearchQuery;
+
+    boolean connectionReused = true;
+
+    long dnsNanos = NOT_MEASURED;
+    long connectNanos = NOT_MEASURED;
+    long tlsNanos = NOT_MEASURED;
+    long timeToFirstByteNanos = NOT_MEASURED;
+    long bodyDownloadNanos = NOT_MEASURED;
+    long totalNanos = NOT_MEASURED;
+
+    long requestBytes;
+    long responseBytes;
+
+    int statusCode = NO_STATUS_CODE;
+    IOException failure;
+
+    NetworkMetrics() {
+    }
+
+    /**
+     * @return requested URL
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return delivery type of the delivery search call, "delivery" or "mydelivery", {@code null} for calls other than delivery search e.g. login
+     */
+    @Nullable
+    public String getDeliveryType() {
+        return deliveryType;
+    }
+
+    /**
+     * @return {@code true} - call was made against preview API host, {@code false} - otherwise
+     */
+    public boolean isPreviewHost() {
+        return previewHost;
+    }
+
+    /**
+     * @return URL encoded query string of the call, {@code null} if call doesn't have query
+     */
+    @Nullable
+    public String getEncodedQuery() {
+        return encodedQuery;
+    }
+
+    /**
+     * Returns identifier of delivery search query that initiated the call, that is 32 characters long hex fingerprint
+     * of canonical form of the query. Queries that Solr treats identically share the identifier, e.g. ones that differ
+     * by order of filter queries only, and it doesn't change between process runs, so it can be used to group metrics by query.
+     * Pages of the same query have different identifiers.
+     *
+     * @return identifier of delivery search query, {@code null} for calls other than delivery search
+     */
+    @Nullable
+    public String getQueryId() {
+        return null == deliverySearchQuery ? null : deliverySearchQuery.getId();
+    }
+
+    /**
+     * @return delivery search query that initiated the call, {@code null} for calls other than delivery search
+     */
+    @Nullable
+    DeliverySearchQuery getDeliverySearchQuery() {
+        return deliverySearchQuery;
+    }
+
+    /**
+     * @return {@code true} - pooled connection was reused, {@code false} - new connection was opened for the call
+     */
+    public boolean isConnectionReused() {
+        return connectionReused;
+    }
+
+    /**
+     * @return DNS lookup duration
+     */
+    public long getDnsNanos() {
+        return dnsNanos;
+    }
+
+    /**
+     * @return connect duration, includes TLS handshake duration for secure connections
+     */
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+
+    /**
+     * @return TLS handshake duration
+     */
+    public long getTlsNanos() {
+        return tlsNanos;
+    }
+
+    /**
+     * @return duration between the moment request was sent and the moment first byte of the response was received
+     */
+    public long getTimeToFirstByteNanos() {
+        return timeToFirstByteNanos;
+    }
+
+    /**
+     * @return response body download duration
+     */
+    public long getBodyDownloadNanos() {
+        return bodyDownloadNanos;
+    }
+
+    /**
+     * @return complete call duration
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return number of request body bytes sent
+     */
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    /**
+     * @return number of response body bytes received
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    /**
+     * @return HTTP status code of the response, {@value #NO_STATUS_CODE} if response wasn't received
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return error that caused call failure, {@code null} if call succeeded
+     */
+    @Nullable
+    public IOException getFailure() {
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        return "NetworkMetrics{" +
+                "url='" + url + '\'' +
+                ", deliveryType='" + deliveryType + '\'' +
+                ", previewHost=" + previewHost +
+                ", connectionReused=" + connectionReused +
+                ", dnsNanos=" + dnsNanos +
+                ", connectNanos=" + connectNanos +
+                ", tlsNanos=" + tlsNanos +
+                ", timeToFirstByteNanos=" + timeToFirstByteNanos +
+                ", bodyDownloadNanos=" + bodyDownloadNanos +
+                ", totalNanos=" + totalNanos +
+                ", requestBytes=" + requestBytes +
+                ", responseBytes=" + responseBytes +
+                ", statusCode=" + statusCode +
+                ", failure=" + failure +
+                '}';
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.URL;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import static co.acoustic.content.delivery.sdk.DeliverySearchNetworkServiceConstants.TYPE_DELIVERY_SEARCH;
+import static co.acoustic.content.delivery.sdk.DeliverySearchNetworkServiceConstants.TYPE_MY_DELIVERY_SEARCH;
+
+/**
+ * {@link EventListener} implementation that measures single call phases and reports them as {@link NetworkMetrics}.
+ */
+class NetworkMetricsEventListener extends EventListener {
+
+    private final MetricsDispatcher metricsDispatcher;
+    private final NetworkMetrics metrics = new NetworkMetrics();
+
+    private long callStartNanos;
+    private long dnsStartNanos;
+    private long connectStartNanos;
+    private long secureConnectStartNanos;
+    private long requestSentNanos;
+    private long responseBodyStartNanos;
+
+    NetworkMetricsEventListener(@NonNull MetricsDispatcher metricsDispatcher, @NonNull Request request, boolean previewHost) {
+        this.metricsDispatcher = metricsDispatcher;
+
+        final HttpUrl url = request.url();
+        metrics.url = url.toString();
+        metrics.encodedQuery = url.encodedQuery();
+        metrics.previewHost = previewHost;
+        metrics.deliverySearchQuery = request.tag(DeliverySearchQuery.class);
+        for (String segment : url.pathSegments()) {
+            if (TYPE_DELIVERY_SEARCH.equals(segment) || TYPE_MY_DELIVERY_SEARCH.equals(segment)) {
+                metrics.deliveryType = segment;
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        metrics.dnsNanos = System.nanoTime() - dnsStartNanos;
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStartNanos = System.nanoTime();
+        metrics.connectionReused = false;
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        metrics.tlsNanos = System.nanoTime() - secureConnectStartNanos;
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        metrics.connectNanos = System.nanoTime() - connectStartNanos;
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        requestSentNanos = System.nanoTime();
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestSentNanos = System.nanoTime();
+        metrics.requestBytes += byteCount;
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        metrics.timeToFirstByteNanos = System.nanoTime() - requestSentNanos;
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        metrics.statusCode = response.code();
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        responseBodyStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        metrics.bodyDownloadNanos = System.nanoTime() - responseBodyStartNanos;
+        metrics.responseBytes += byteCount;
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        metrics.totalNanos = System.nanoTime() - callStartNanos;
+        metricsDispatcher.dispatchNetworkMetrics(metrics);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        metrics.totalNanos = System.nanoTime() - callStartNanos;
+        metrics.failure = ioe;
+        metricsDispatcher.dispatchNetworkMetrics(metrics);
+    }
+
+    /**
+     * Creates {@link NetworkMetricsEventListener} per call, while metrics listener is registered.
+     */
+    static class Factory implements EventListener.Factory {
+
+        private final MetricsDispatcher metricsDispatcher;
+        private final String previewHost;
+
+        Factory(@NonNull MetricsDispatcher metricsDispatcher, @NonNull SDKConfig config) {
+            this.metricsDispatcher = Validator.checkNotNull(metricsDispatcher, "metricsDispatcher cannot be null");
+            final URL previewApiUrl = Validator.checkNotNull(config, "config cannot be null").getPreviewApiUrl();
+            this.previewHost = null == previewApiUrl ? null : previewApiUrl.getHost();
+        }
+
+        @Override
+        public EventListener create(Call call) {
+            if (!metricsDispatcher.isEnabled()) {
+                return EventListener.NONE;
+            }
+            final Request request = call.request();
+            return new NetworkMetricsEventListener(
+                    metricsDispatcher,
+                    request,
+                    request.url().host().equalsIgnoreCase(previewHost)
+            );
+        }
+    }
+}
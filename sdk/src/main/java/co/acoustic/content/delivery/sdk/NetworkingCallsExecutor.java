@@ -21,4 +21,18 @@ interface NetworkingCallsExecutor {
 
     <T> void executeCall(Call<T> call, Callback<T> callback);
 
+    /**
+     * Executes the call with given priority, executors that don't support priorities ignore it.
+     */
+    default <T> void executeCall(Call<T> call, Callback<T> callback, @Documents.Priority int priority) {
+        executeCall(call, callback);
+    }
+
+    /**
+     * Notifies the executor that some of the calls it was given were cancelled, executors that keep calls waiting
+     * for a free slot drop them and fail their callbacks.
+     */
+    default void onCallsCancelled() {
+    }
+
 }
@@ -60,27 +60,57 @@ class NetworkingCallsProvider {
         if (retrieveCompleteContentContext) {
             call = networkService.renderingSearch(
                     getDeliverySearchType(includeProtectedContent),
-                    query.q,
-                    query.fq,
-                    query.sort,
-                    query.fl,
+                    query.encodedQ,
+                    query.encodedFq,
+                    query.encodedSort,
+                    query.encodedFl,
                     query.start,
-                    query.rows
+                    query.rows,
+                    query
             );
         } else {
             call = networkService.search(
                     getDeliverySearchType(includeProtectedContent),
-                    query.q,
-                    query.fq,
-                    query.sort,
-                    query.fl,
+                    query.encodedQ,
+                    query.encodedFq,
+                    query.encodedSort,
+                    query.encodedFl,
                     query.start,
-                    query.rows
+                    query.rows,
+                    query
             );
         }
         return call;
     }
 
+    /**
+     * Creates call of facet query built by {@link DeliverySearchQueryBuilder#buildFacets()}, facet counts
+     * are available by search endpoint only, so there is no rendering variant.
+     */
+    Call<DeliverySearchResponse> getFacetSearchCall(
+            @NonNull DeliverySearchQuery query,
+            boolean includeDraft,
+            boolean includeRetired,
+            boolean includeProtectedContent
+    ) {
+        final boolean previewApiService = includeDraft || includeRetired;
+        return getRetrofitInstance(
+                previewApiService,
+                (LOG_NETWORK ? RetrofitFactory.INTERCEPT_FLAG_LOG : 0) | RetrofitFactory.INTERCEPT_FLAG_COOKIE
+        ).create(DeliverySearchNetworkService.class).facetSearch(
+                getDeliverySearchType(includeProtectedContent),
+                query.encodedQ,
+                query.encodedFq,
+                query.rows,
+                query.facet,
+                query.encodedFacetFields,
+                query.encodedFacetQueries,
+                query.encodedFacetRanges,
+                query.encodedFacetRangeParameters,
+                query
+        );
+    }
+
     Call<List<LoginResponse>> getLoginCall(@NonNull String authorization) {
         return getRetrofitInstance(
                 false,
@@ -88,6 +118,22 @@ class NetworkingCallsProvider {
         ).create(LoginNetworkingService.class).login(authorization);
     }
 
+    /**
+     * Creates {@link Retrofit} instances, service methods and their converters, including Gson type adapters,
+     * that are otherwise created by the first calls. Calls are created only, nothing is sent.
+     */
+    void warmUp() {
+        final int interceptFlags = (LOG_NETWORK ? RetrofitFactory.INTERCEPT_FLAG_LOG : 0) | RetrofitFactory.INTERCEPT_FLAG_COOKIE;
+        for (boolean previewApiService : new boolean[]{false, true}) {
+            final DeliverySearchNetworkService networkService = getRetrofitInstance(previewApiService, interceptFlags)
+                    .create(DeliverySearchNetworkService.class);
+            networkService.search(TYPE_DELIVERY_SEARCH, null, null, null, null, null, null, null);
+            networkService.renderingSearch(TYPE_DELIVERY_SEARCH, null, null, null, null, null, null, null);
+        }
+        getLoginCall("");
+        getErrorResponseConverter();
+    }
+
     Retrofit getRetrofitInstance(boolean previewApiService, int interceptFlags) {
         return (previewApiService)
                 ? retrofitFactory.acousticPreviewApiService(interceptFlags)
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Bit set of {@code null} elements of a list, one bit per element packed into {@code long} words.
+ * Mask is {@code null} while list contains no {@code null} elements, so lists without them don't allocate it.
+ */
+final class NullMask {
+
+    /**
+     * @return number of words of mask of list of given size
+     */
+    static int words(int size) {
+        return (size + 63) >> 6;
+    }
+
+    /**
+     * Marks element at given index as {@code null}.
+     *
+     * @param nulls mask to update, {@code null} to allocate new one
+     * @param size  size of the list
+     * @param index index of {@code null} element
+     * @return updated mask
+     */
+    @NonNull
+    static long[] markNull(@Nullable long[] nulls, int size, int index) {
+        final long[] result = null == nulls ? new long[words(size)] : nulls;
+        result[index >> 6] |= 1L << index;
+        return result;
+    }
+
+    static boolean isNull(@Nullable long[] nulls, int index) {
+        return null != nulls && (nulls[index >> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Marks element at given index of up to 32 elements as {@code null}, for mask of fixed set of fields.
+     *
+     * @param nulls mask to update
+     * @param index index of {@code null} element
+     * @return updated mask
+     */
+    static int markNull(int nulls, int index) {
+        return nulls | 1 << index;
+    }
+
+    static boolean isNull(int nulls, int index) {
+        return (nulls & (1 << index)) != 0;
+    }
+
+    private NullMask() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -50,76 +50,86 @@ class ParcelableUtils {
         return result;
     }
 
-    static void writeArrayListOfBoolean(@Nullable ArrayList<Boolean> target, @NonNull Parcel dest) {
-        final int size = null == target ? -1 : target.size();
-        dest.writeInt(size);
+    /**
+     * Writes boolean column as its size followed by words of values and {@code null} elements bit sets.
+     */
+    static void writeBooleanColumn(@Nullable BooleanColumn target, @NonNull Parcel dest) {
         if (null == target) {
+            dest.writeInt(-1);
             return;
         }
-        for (int i = 0; i < size; i++) {
-            dest.writeSerializable(target.get(i));
-        }
+        dest.writeInt(target.size());
+        dest.writeLongArray(target.getValues());
+        dest.writeLongArray(target.getNulls());
     }
 
     @Nullable
-    static ArrayList<Boolean> readArrayListOfBoolean(@NonNull Parcel source) {
-        ArrayList<Boolean> result = null;
+    static BooleanColumn readBooleanColumn(@NonNull Parcel source) {
         final int size = source.readInt();
-        if (size >= 0) {
-            result = new ArrayList<>();
-            for (int i = 0; i < size; i++) {
-                result.add((Boolean) source.readSerializable());
-            }
+        if (size < 0) {
+            return null;
         }
-        return result;
+        return new BooleanColumn(size, source.createLongArray(), source.createLongArray());
     }
 
+    /**
+     * Writes list of dates as array of epoch milliseconds followed by {@link NullMask} of {@code null} elements,
+     * the same way as {@link #writeDoubleColumn(DoubleColumn, Parcel)} does.
+     */
     static void writeArrayListOfDate(@Nullable ArrayList<Date> target, @NonNull Parcel dest) {
-        final int size = null == target ? -1 : target.size();
-        dest.writeInt(size);
         if (null == target) {
+            dest.writeLongArray(null);
             return;
         }
+        final int size = target.size();
+        final long[] values = new long[size];
+        long[] nulls = null;
         for (int i = 0; i < size; i++) {
-            dest.writeSerializable(target.get(i));
+            final Date value = target.get(i);
+            if (null == value) {
+                nulls = NullMask.markNull(nulls, size, i);
+            } else {
+                values[i] = value.getTime();
+            }
         }
+        dest.writeLongArray(values);
+        dest.writeLongArray(nulls);
     }
 
     @Nullable
     static ArrayList<Date> readArrayListOfDate(@NonNull Parcel source) {
-        ArrayList<Date> result = null;
-        final int size = source.readInt();
-        if (size >= 0) {
-            result = new ArrayList<>();
-            for (int i = 0; i < size; i++) {
-                result.add((Date) source.readSerializable());
-            }
+        final long[] values = source.createLongArray();
+        if (null == values) {
+            return null;
+        }
+        final long[] nulls = source.createLongArray();
+        final ArrayList<Date> result = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            result.add(NullMask.isNull(nulls, i) ? null : new Date(values[i]));
         }
         return result;
     }
 
-    static void writeArrayListOfDouble(@Nullable ArrayList<Double> target, @NonNull Parcel dest) {
-        final int size = null == target ? -1 : target.size();
-        dest.writeInt(size);
+    /**
+     * Writes double column as array of primitives followed by {@code null} elements bit set,
+     * bit set is written only if column contains {@code null} elements.
+     */
+    static void writeDoubleColumn(@Nullable DoubleColumn target, @NonNull Parcel dest) {
         if (null == target) {
+            dest.writeDoubleArray(null);
             return;
         }
-        for (int i = 0; i < size; i++) {
-            dest.writeSerializable(target.get(i));
-        }
+        dest.writeDoubleArray(target.getValues());
+        dest.writeLongArray(target.getNulls());
     }
 
     @Nullable
-    static ArrayList<Double> readArrayListOfDouble(@NonNull Parcel source) {
-        ArrayList<Double> result = null;
-        final int size = source.readInt();
-        if (size >= 0) {
-            result = new ArrayList<>();
-            for (int i = 0; i < size; i++) {
-                result.add((Double) source.readSerializable());
-            }
+    static DoubleColumn readDoubleColumn(@NonNull Parcel source) {
+        final double[] values = source.createDoubleArray();
+        if (null == values) {
+            return null;
         }
-        return result;
+        return new DoubleColumn(values, source.createLongArray());
     }
 
     static void writeJSONObject(@Nullable JSONObject target, @NonNull Parcel dest) {
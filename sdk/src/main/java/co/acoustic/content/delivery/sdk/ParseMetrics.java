@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Holds metrics of converting and mapping a single delivery search response into {@link Document}s.
+ * <p/>
+ * All durations are measured in nanoseconds, values that could not be measured are reported as {@value #NOT_MEASURED}.
+ */
+public class ParseMetrics {
+
+    public static final long NOT_MEASURED = -1;
+
+    String classification;
+    DeliverySearchQuery deliverySearchQuery;
+
+    int documentCount;
+
+    long conversionNanos = NOT_MEASURED;
+    long mappingNanos = NOT_MEASURED;
+    long dispatchQueueNanos = NOT_MEASURED;
+    long allocatedBytes = NOT_MEASURED;
+
+    ParseMetrics() {
+    }
+
+    /**
+     * @return classification of the documents that were mapped e.g. "asset" or "content"
+     */
+    public String getClassification() {
+        return classification;
+    }
+
+    /**
+     * Returns identifier of delivery search query that produced the response, the same as
+     * {@link NetworkMetrics#getQueryId()} of its call, so parse and network metrics of the query can be matched.
+     *
+     * @return identifier of delivery search query, {@code null} if unknown
+     */
+    @Nullable
+    public String getQueryId() {
+        return null == deliverySearchQuery ? null : deliverySearchQuery.getId();
+    }
+
+    /**
+     * @return delivery search query that produced the response, {@code null} if unknown
+     */
+    @Nullable
+    DeliverySearchQuery getDeliverySearchQuery() {
+        return deliverySearchQuery;
+    }
+
+    /**
+     * @return number of documents mapped from the response
+     */
+    public int getDocumentCount() {
+        return documentCount;
+    }
+
+    /**
+     * @return duration of JSON to response object conversion
+     */
+    public long getConversionNanos() {
+        return conversionNanos;
+    }
+
+    /**
+     * @return duration of mapping response objects to {@link Document}s
+     */
+    public long getMappingNanos() {
+        return mappingNanos;
+    }
+
+    /**
+     * @return duration between the moment response was converted and the moment it was picked up by callback thread
+     */
+    public long getDispatchQueueNanos() {
+        return dispatchQueueNanos;
+    }
+
+    /**
+     * Returns approximate amount of heap allocated during conversion and mapping. The value is calculated as the growth of
+     * used heap, so it is affected by garbage collections and allocations made by other threads meanwhile,
+     * and should be used for comparison between many pages rather than as the exact value of a single page.
+     *
+     * @return approximate allocated bytes
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    static long usedHeapBytes() {
+        final Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Override
+    public String toString() {
+        return "ParseMetrics{" +
+                "classification='" + classification + '\'' +
+                ", documentCount=" + documentCount +
+                ", conversionNanos=" + conversionNanos +
+                ", mappingNanos=" + mappingNanos +
+                ", dispatchQueueNanos=" + dispatchQueueNanos +
+                ", allocatedBytes=" + allocatedBytes +
+                '}';
+    }
+}
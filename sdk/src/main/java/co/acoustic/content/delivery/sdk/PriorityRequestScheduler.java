@@ -0,0 +1,206 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import static co.acoustic.content.delivery.sdk.Documents.PRIORITY_USER_VISIBLE;
+
+/**
+ * {@link NetworkingCallsExecutor} that limits number of concurrently running calls and runs pending calls in
+ * order of their priority, calls of the same priority are run in order they were submitted.
+ * <p/>
+ * One slot is reserved for {@link Documents#PRIORITY_USER_VISIBLE} calls, so prefetch and background calls
+ * cannot occupy all slots and are deferred instead. Calls that are already running are never interrupted.
+ * Pending calls that were cancelled, e.g. by {@link CancellationScope}, are failed without taking a slot.
+ */
+class PriorityRequestScheduler implements NetworkingCallsExecutor {
+
+    private final int maxConcurrentCalls;
+
+    private final PriorityQueue<PendingCall<?>> pendingCalls = new PriorityQueue<>();
+    private int runningCalls;
+    private long sequence;
+
+    PriorityRequestScheduler(@IntRange(from = 1) int maxConcurrentCalls) {
+        this.maxConcurrentCalls = Validator.checkCondition(maxConcurrentCalls, "maxConcurrentCalls cannot be less then 1", value -> (value >= 1));
+    }
+
+    @Override
+    public <T> void executeCall(Call<T> call, Callback<T> callback) {
+        executeCall(call, callback, PRIORITY_USER_VISIBLE);
+    }
+
+    @Override
+    public <T> void executeCall(Call<T> call, Callback<T> callback, @Documents.Priority int priority) {
+        Validator.checkNotNull(call, "call cannot be null");
+        Validator.checkNotNull(callback, "callback cannot be null");
+        synchronized (this) {
+            pendingCalls.add(new PendingCall<>(call, callback, priority, sequence++));
+        }
+        promoteAndRun();
+    }
+
+    @Override
+    public void onCallsCancelled() {
+        promoteAndRun();
+    }
+
+    /**
+     * @return number of calls waiting for a free slot
+     */
+    synchronized int getPendingCallsCount() {
+        return pendingCalls.size();
+    }
+
+    /**
+     * @return number of calls currently running
+     */
+    synchronized int getRunningCallsCount() {
+        return runningCalls;
+    }
+
+    private boolean canRun(@Documents.Priority int priority) {
+        if (PRIORITY_USER_VISIBLE == priority || 1 == maxConcurrentCalls) {
+            return runningCalls < maxConcurrentCalls;
+        }
+        return runningCalls < maxConcurrentCalls - 1;
+    }
+
+    private void promoteAndRun() {
+        final List<PendingCall<?>> callsToRun = new ArrayList<>(1);
+        List<PendingCall<?>> cancelledCalls = null;
+        synchronized (this) {
+            if (!pendingCalls.isEmpty()) {
+                cancelledCalls = removeCancelledCalls();
+            }
+            // pending calls are ordered by priority, and lower priority calls have less slots available,
+            // so nothing can be run once the call with the highest priority cannot
+            PendingCall<?> next;
+            while (null != (next = pendingCalls.peek()) && canRun(next.priority)) {
+                pendingCalls.poll();
+                runningCalls++;
+                callsToRun.add(next);
+            }
+        }
+        // callbacks are notified and calls are enqueued outside of the lock, since executor may run them synchronously
+        if (null != cancelledCalls) {
+            for (PendingCall<?> call : cancelledCalls) {
+                call.fail(new IOException("Canceled"));
+            }
+        }
+        boolean slotReleased = false;
+        for (PendingCall<?> call : callsToRun) {
+            // a call that failed to start must not stop the rest, they already hold their slots
+            slotReleased |= !call.run();
+        }
+        if (slotReleased) {
+            promoteAndRun();
+        }
+    }
+
+    @Nullable
+    private List<PendingCall<?>> removeCancelledCalls() {
+        List<PendingCall<?>> result = null;
+        for (Iterator<PendingCall<?>> iterator = pendingCalls.iterator(); iterator.hasNext(); ) {
+            final PendingCall<?> pendingCall = iterator.next();
+            if (pendingCall.call.isCanceled()) {
+                iterator.remove();
+                if (null == result) {
+                    result = new ArrayList<>(1);
+                }
+                result.add(pendingCall);
+            }
+        }
+        return result;
+    }
+
+    private void onCallFinished() {
+        releaseSlot();
+        promoteAndRun();
+    }
+
+    private synchronized void releaseSlot() {
+        runningCalls--;
+    }
+
+    private final class PendingCall<T> implements Comparable<PendingCall<?>>, Callback<T> {
+
+        private final Call<T> call;
+        private final Callback<T> callback;
+        private final int priority;
+        private final long sequence;
+
+        PendingCall(@NonNull Call<T> call, @NonNull Callback<T> callback, int priority, long sequence) {
+            this.call = call;
+            this.callback = callback;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Starts the call, if it cannot be started, e.g. executor of the dispatcher was shut down and rejected it,
+         * its slot is released and its callback is failed.
+         *
+         * @return {@code true} - call was started, {@code false} - otherwise
+         */
+        boolean run() {
+            try {
+                call.enqueue(this);
+                return true;
+            } catch (RuntimeException e) {
+                releaseSlot();
+                fail(e);
+                return false;
+            }
+        }
+
+        void fail(@NonNull Throwable error) {
+            callback.onFailure(call, error);
+        }
+
+        @Override
+        public void onResponse(Call<T> call, Response<T> response) {
+            onCallFinished();
+            callback.onResponse(call, response);
+        }
+
+        @Override
+        public void onFailure(Call<T> call, Throwable error) {
+            onCallFinished();
+            callback.onFailure(call, error);
+        }
+
+        @Override
+        public int compareTo(PendingCall<?> other) {
+            if (priority != other.priority) {
+                return priority < other.priority ? -1 : 1;
+            }
+            return sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
+        }
+    }
+}
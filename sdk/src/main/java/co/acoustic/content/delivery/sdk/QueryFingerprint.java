@@ -0,0 +1,240 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Stable 128-bit key of delivery search call, intended to be used by caching, deduplication and metrics.
+ * <p/>
+ * Fingerprint is computed from canonical form of the query, so queries that Solr treats identically share it:
+ * filter queries, field lists and facets are sorted and deduplicated, whitespace outside of quoted phrases is collapsed.
+ * Sort order is kept as is, since it is significant. Delivery type, API host, rendering endpoint and auth scope
+ * are folded in as well, since they determine what documents are returned.
+ */
+final class QueryFingerprint {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Version of canonical form, must be changed whenever canonical form changes so old keys don't match new ones.
+     */
+    private static final String CANONICAL_FORM_VERSION = "1";
+
+    private final long mostSignificantBits;
+    private final long leastSignificantBits;
+
+    private QueryFingerprint(long mostSignificantBits, long leastSignificantBits) {
+        this.mostSignificantBits = mostSignificantBits;
+        this.leastSignificantBits = leastSignificantBits;
+    }
+
+    /**
+     * Computes fingerprint of delivery search call.
+     *
+     * @param query        delivery search query
+     * @param deliveryType delivery type, "delivery" or "mydelivery"
+     * @param previewHost  {@code true} - call is made against preview API host, {@code false} - otherwise
+     * @param rendering    {@code true} - call is made against rendering search endpoint, {@code false} - otherwise
+     * @param authScope    identity the call is authorized with, {@code null} for calls that don't depend on identity
+     * @return fingerprint of the call
+     */
+    @NonNull
+    static QueryFingerprint of(
+            @NonNull DeliverySearchQuery query,
+            @NonNull @DeliverySearchNetworkServiceConstants.DeliveryTypes String deliveryType,
+            boolean previewHost,
+            boolean rendering,
+            @Nullable String authScope
+    ) {
+        Validator.checkNotNull(query, "query cannot be null");
+        Validator.checkNotNull(deliveryType, "deliveryType cannot be null");
+
+        final StringBuilder canonicalForm = new StringBuilder(128);
+        appendComponent(canonicalForm, CANONICAL_FORM_VERSION);
+        appendComponent(canonicalForm, deliveryType);
+        appendComponent(canonicalForm, previewHost ? "preview" : "live");
+        appendComponent(canonicalForm, rendering ? "rendering" : "search");
+        appendComponent(canonicalForm, authScope);
+        canonicalForm.append(query.getCanonicalForm());
+        return of(canonicalForm.toString());
+    }
+
+    @NonNull
+    static QueryFingerprint of(@NonNull String canonicalForm) {
+        final byte[] digest = md5().digest(canonicalForm.getBytes(UTF_8));
+        return new QueryFingerprint(toLong(digest, 0), toLong(digest, 8));
+    }
+
+    /**
+     * Creates canonical form of the query, that doesn't depend on order of filter queries and field lists.
+     *
+     * @param query delivery search query
+     * @return canonical form of the query
+     */
+    @NonNull
+    static String canonicalize(@NonNull DeliverySearchQuery query) {
+        final StringBuilder result = new StringBuilder(128);
+        appendComponent(result, normalizeWhitespace(query.q));
+        appendComponents(result, query.fq);
+        appendComponents(result, query.fl);
+        appendComponent(result, normalizeWhitespace(query.sort));
+        appendComponent(result, null == query.start ? null : query.start.toString());
+        appendComponent(result, null == query.rows ? null : query.rows.toString());
+        if (query.facet) {
+            // facets are appended to facet queries only, so canonical form of other queries is not changed
+            appendComponent(result, "facet");
+            appendComponents(result, query.facetFields);
+            appendComponents(result, query.facetQueries);
+            final TreeMap<String, List<String>> sortedRanges = new TreeMap<>(query.facetRanges);
+            result.append(sortedRanges.size()).append('#');
+            for (Map.Entry<String, List<String>> range : sortedRanges.entrySet()) {
+                appendComponent(result, range.getKey());
+                for (String value : range.getValue()) {
+                    appendComponent(result, value);
+                }
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Trims the value and collapses whitespace runs into single space, whitespace within quoted phrases is kept as is.
+     *
+     * @param value value to normalize
+     * @return normalized value
+     */
+    @Nullable
+    static String normalizeWhitespace(@Nullable String value) {
+        if (null == value) {
+            return null;
+        }
+        final int length = value.length();
+        final StringBuilder result = new StringBuilder(length);
+        boolean quoted = false;
+        boolean pendingSpace = false;
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (!quoted && Character.isWhitespace(c)) {
+                pendingSpace = result.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                result.append(' ');
+                pendingSpace = false;
+            }
+            result.append(c);
+            if (c == '\\' && i + 1 < length) {
+                result.append(value.charAt(++i));
+            } else if (c == '"') {
+                quoted = !quoted;
+            }
+        }
+        return result.length() == length ? value : result.toString();
+    }
+
+    private static void appendComponents(@NonNull StringBuilder target, @NonNull Collection<String> values) {
+        final TreeSet<String> sortedValues = new TreeSet<>();
+        for (String value : values) {
+            sortedValues.add(normalizeWhitespace(value));
+        }
+        target.append(sortedValues.size()).append('#');
+        for (String value : sortedValues) {
+            appendComponent(target, value);
+        }
+    }
+
+    /**
+     * Appends length-prefixed component, so that components boundaries are unambiguous whatever they contain.
+     */
+    private static void appendComponent(@NonNull StringBuilder target, @Nullable String value) {
+        if (null == value) {
+            target.append('-');
+        } else {
+            target.append(value.length()).append(':').append(value);
+        }
+        target.append(';');
+    }
+
+    @NonNull
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not supported", e);
+        }
+    }
+
+    private static long toLong(@NonNull byte[] bytes, int offset) {
+        long result = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            result = (result << 8) | (bytes[i] & 0xff);
+        }
+        return result;
+    }
+
+    long getMostSignificantBits() {
+        return mostSignificantBits;
+    }
+
+    long getLeastSignificantBits() {
+        return leastSignificantBits;
+    }
+
+    /**
+     * @return 32 characters long lowercase hex representation of the fingerprint
+     */
+    @Override
+    public String toString() {
+        final char[] result = new char[32];
+        appendHex(result, 0, mostSignificantBits);
+        appendHex(result, 16, leastSignificantBits);
+        return new String(result);
+    }
+
+    private static void appendHex(@NonNull char[] target, int offset, long value) {
+        for (int i = 15; i >= 0; i--) {
+            target[offset + i] = HEX_DIGITS[(int) (value & 0xf)];
+            value >>>= 4;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        QueryFingerprint that = (QueryFingerprint) o;
+
+        if (mostSignificantBits != that.mostSignificantBits) return false;
+        return leastSignificantBits == that.leastSignificantBits;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (leastSignificantBits ^ (leastSignificantBits >>> 32));
+    }
+}
@@ -15,14 +15,24 @@
 package co.acoustic.content.delivery.sdk;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
 import com.google.gson.Gson;
 
-import java.util.concurrent.TimeUnit;
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.Executor;
 
+import okhttp3.Authenticator;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.CookieJar;
+import okhttp3.EventListener;
+import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
 import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
@@ -30,12 +40,11 @@ import retrofit2.converter.gson.GsonConverterFactory;
 /**
  * The factory pattern implementation for creating {@link Retrofit} instances,
  * that setup for working with Acoustic API.
+ * <p/>
+ * Created instances are cached per API host and intercept flags, all of them share connection pool and dispatcher
+ * of {@link Transport}.
  */
 class RetrofitFactory {
-    private static final int CONNECT_TIMEOUT_SECONDS = 20;
-    private static final int READ_TIMEOUT_SECONDS = 20;
-    private static final int WRITE_TIMEOUT_SECONDS = 20;
-
     public static final int INTERCEPT_FLAG_NONE = 0;
     public static final int INTERCEPT_FLAG_LOG = 1;
     public static final int INTERCEPT_FLAG_COOKIE = 2;
@@ -43,13 +52,31 @@ class RetrofitFactory {
     private final Gson gson;
 
     private final SDKConfig acousticConfig;
+    private final Transport transport;
     private final InterceptorsFactory interceptorsFactory;
 
     private final CookieManager cookieJar;
 
+    private final EventListener.Factory eventListenerFactory;
+    private final MetricsDispatcher metricsDispatcher;
+
+    @Nullable
+    private Authenticator authenticator;
+    @Nullable
+    private Interceptor sessionInterceptor;
+
+    private OkHttpClient baseOkHttpClient;
+    private Executor callbackExecutor;
+    private final Retrofit[] apiServices = new Retrofit[(INTERCEPT_FLAG_LOG | INTERCEPT_FLAG_COOKIE) + 1];
+    private final Retrofit[] previewApiServices = new Retrofit[(INTERCEPT_FLAG_LOG | INTERCEPT_FLAG_COOKIE) + 1];
+
 
     RetrofitFactory(Gson gson, SDKConfig acousticConfig, CookieManager cookieManager) {
-        this(gson, acousticConfig, cookieManager, new InterceptorsFactory());
+        this(gson, acousticConfig, cookieManager, new MetricsDispatcher());
+    }
+
+    RetrofitFactory(Gson gson, SDKConfig acousticConfig, CookieManager cookieManager, MetricsDispatcher metricsDispatcher) {
+        this(gson, acousticConfig, cookieManager, new InterceptorsFactory(), metricsDispatcher);
     }
 
     @VisibleForTesting
@@ -58,56 +85,177 @@ class RetrofitFactory {
             @NonNull SDKConfig acousticConfig,
             @NonNull CookieManager cookieJar,
             @NonNull InterceptorsFactory interceptorsFactory) {
+        this(gson, acousticConfig, cookieJar, interceptorsFactory, new MetricsDispatcher());
+    }
+
+    @VisibleForTesting
+    RetrofitFactory(
+            @NonNull Gson gson,
+            @NonNull SDKConfig acousticConfig,
+            @NonNull CookieManager cookieJar,
+            @NonNull InterceptorsFactory interceptorsFactory,
+            @NonNull MetricsDispatcher metricsDispatcher) {
         this.gson = Validator.checkNotNull(gson, "Gson, cannot be null");
         this.acousticConfig = Validator.checkNotNull(acousticConfig, "acousticConfig, cannot be null");
+        this.transport = null != acousticConfig.getTransport()
+                ? acousticConfig.getTransport()
+                : Transport.builder().setExecutorService(acousticConfig.getExecutorService()).build();
         this.cookieJar = Validator.checkNotNull(cookieJar, "cookieJar, cannot be null");
         this.interceptorsFactory = Validator.checkNotNull(interceptorsFactory, "interceptorsFactory, cannot be null");
+        this.metricsDispatcher = Validator.checkNotNull(metricsDispatcher, "metricsDispatcher, cannot be null");
+        this.eventListenerFactory = new NetworkMetricsEventListener.Factory(metricsDispatcher, acousticConfig);
     }
 
     /**
-     * Creates new instance of {@link Retrofit}, that setup for working with Acoustic API.
+     * Sets {@link Authenticator} that renews login session of clients that keep cookies, see {@link #INTERCEPT_FLAG_COOKIE}.
+     * Affects only clients created afterwards, so it should be set before the first {@link Retrofit} instance is provided.
+     *
+     * @param authenticator the authenticator to renew login session, {@code null} to not renew it
+     */
+    synchronized void setAuthenticator(@Nullable Authenticator authenticator) {
+        this.authenticator = authenticator;
+    }
+
+    /**
+     * Sets {@link Interceptor} that observes requests of clients that keep cookies, see {@link #INTERCEPT_FLAG_COOKIE},
+     * to keep their login session alive. Affects only clients created afterwards, like {@link #setAuthenticator(Authenticator)}.
+     *
+     * @param sessionInterceptor the interceptor to observe requests, {@code null} to not observe them
+     */
+    synchronized void setSessionInterceptor(@Nullable Interceptor sessionInterceptor) {
+        this.sessionInterceptor = sessionInterceptor;
+    }
+
+    /**
+     * Provides instance of {@link Retrofit}, that setup for working with Acoustic API.
      *
      * @param interceptFlags the set of flags for intercepting url and providing required modifications
      *                       in it.
-     * @return new instance {@link Retrofit}
+     * @return instance {@link Retrofit}
+     * @throws IllegalStateException if {@link Transport} was shut down
      */
-    Retrofit acousticApiService(int interceptFlags) {
-        return new Retrofit
-                .Builder()
-                .baseUrl(acousticConfig.getApiUrl())
-                .addConverterFactory(GsonConverterFactory.create(gson))
-                .client(createOkHttpClient(interceptFlags))
-                .build();
+    synchronized Retrofit acousticApiService(int interceptFlags) {
+        // calls run on executor of application keep running after shutdown, so they are not created at all
+        transport.checkNotShutdown();
+        Retrofit retrofit = apiServices[interceptFlags];
+        if (null == retrofit) {
+            retrofit = createRetrofit(acousticConfig.getApiUrl(), interceptFlags);
+            apiServices[interceptFlags] = retrofit;
+        }
+        return retrofit;
     }
 
     /**
-     * Creates new instance of {@link Retrofit}, that setup for working with Acoustic Preview API.
+     * Provides instance of {@link Retrofit}, that setup for working with Acoustic Preview API.
      *
      * @param interceptFlags the set of flags for intercepting url and providing required modifications
      *                       in it.
-     * @return new instance {@link Retrofit}
+     * @return instance {@link Retrofit}
+     * @throws IllegalStateException if {@link Transport} was shut down
      */
-    Retrofit acousticPreviewApiService(int interceptFlags) {
+    synchronized Retrofit acousticPreviewApiService(int interceptFlags) {
+        transport.checkNotShutdown();
+        Retrofit retrofit = previewApiServices[interceptFlags];
+        if (null == retrofit) {
+            retrofit = createRetrofit(acousticConfig.getPreviewApiUrl(), interceptFlags);
+            previewApiServices[interceptFlags] = retrofit;
+        }
+        return retrofit;
+    }
+
+    @NonNull
+    private Retrofit createRetrofit(@NonNull URL baseUrl, int interceptFlags) {
         return new Retrofit
                 .Builder()
-                .baseUrl(acousticConfig.getPreviewApiUrl())
-                .addConverterFactory(GsonConverterFactory.create(gson))
+                .baseUrl(baseUrl)
+                .addConverterFactory(new TimingConverterFactory(GsonConverterFactory.create(gson), metricsDispatcher))
                 .client(createOkHttpClient(interceptFlags))
+                // responses are parsed on networking threads, only listeners are notified on callback executor
+                .callbackExecutor(SDKConfig.DIRECT_CALLBACK_EXECUTOR)
                 .build();
     }
 
     /**
-     * Creates new instance of {@link OkHttpClient}.
+     * Opens connections to API and preview API hosts, so the first queries don't wait for DNS lookup and TLS handshake.
+     * Connections are opened asynchronously by HEAD requests, and are kept in the connection pool shared by all clients.
+     * Requests are not reported to {@link ContentDeliverySDK.MetricsListener}, failures are ignored as the first query connects anyway.
+     * <p/>
+     * HEAD requests are deliberate, OkHttp has no public API to open pooled connection without a request. They are real
+     * round trips to API base URLs, so they show up in server logs, typically answered with 401 or 404 that is ignored.
+     * HEAD has no response body, so it is the cheapest request that leaves the connection in the pool.
+     */
+    void preconnect() {
+        final OkHttpClient client = getBaseOkHttpClient().newBuilder()
+                .eventListener(EventListener.NONE)
+                .build();
+        final Callback callback = new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                // connection is opened by the first query
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+            }
+        };
+        client.newCall(new Request.Builder().url(acousticConfig.getApiUrl()).head().build()).enqueue(callback);
+        client.newCall(new Request.Builder().url(acousticConfig.getPreviewApiUrl()).head().build()).enqueue(callback);
+    }
+
+    /**
+     * Provides {@link Transport} of configuration, or the one of this factory if configuration has none.
+     */
+    @NonNull
+    Transport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Provides {@link Executor} that notifies listeners, configured one or the main thread executor of the platform.
+     */
+    @NonNull
+    synchronized Executor getCallbackExecutor() {
+        if (null == callbackExecutor) {
+            Executor executor = acousticConfig.getCallbackExecutor();
+            if (null == executor) {
+                // Retrofit defaults to the main thread on Android, and to direct callbacks elsewhere
+                executor = new Retrofit.Builder()
+                        .baseUrl(acousticConfig.getApiUrl())
+                        .client(getBaseOkHttpClient())
+                        .build()
+                        .callbackExecutor();
+            }
+            callbackExecutor = null == executor ? SDKConfig.DIRECT_CALLBACK_EXECUTOR : executor;
+        }
+        return callbackExecutor;
+    }
+
+    /**
+     * Provides {@link OkHttpClient} of this factory, it shares connection pool and dispatcher of {@link Transport}
+     * with all clients created by this factory, and by other factories using the same transport.
+     */
+    @NonNull
+    private synchronized OkHttpClient getBaseOkHttpClient() {
+        if (null == baseOkHttpClient) {
+            // delivery search queries are limited by PriorityRequestScheduler, dispatcher should not limit them further
+            transport.ensureMaxRequestsPerHost(acousticConfig.getMaxConcurrentRequests() + 1);
+            baseOkHttpClient = transport.getOkHttpClient().newBuilder()
+                    .eventListenerFactory(eventListenerFactory)
+                    .build();
+        }
+        return baseOkHttpClient;
+    }
+
+    /**
+     * Creates new instance of {@link OkHttpClient}, that shares connection pool and dispatcher with other instances.
      *
      * @param interceptFlags the set of flags for intercepting url and providing required modifications
      *                       in it.
      * @return new instance {@link OkHttpClient}
      */
     private OkHttpClient createOkHttpClient(int interceptFlags) {
-        final OkHttpClient.Builder builder = new OkHttpClient.Builder()
-                .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
-                .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
-                .writeTimeout(WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        final OkHttpClient.Builder builder = getBaseOkHttpClient().newBuilder();
 
         if ((interceptFlags | INTERCEPT_FLAG_LOG) == interceptFlags) {
             builder.addInterceptor(interceptorsFactory.createLoggingInterceptor(HttpLoggingInterceptor.Level.BODY));
@@ -115,6 +263,12 @@ class RetrofitFactory {
 
         if ((interceptFlags | INTERCEPT_FLAG_COOKIE) == interceptFlags) {
             builder.cookieJar(cookieJar);
+            if (null != authenticator) {
+                builder.authenticator(authenticator);
+            }
+            if (null != sessionInterceptor) {
+                builder.addInterceptor(sessionInterceptor);
+            }
         }
 
         return builder.build();
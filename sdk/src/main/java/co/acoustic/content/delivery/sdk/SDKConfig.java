@@ -17,23 +17,62 @@ package co.acoustic.content.delivery.sdk;
 import android.text.TextUtils;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
+import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Provides configuration for {@link ContentDeliverySDK} instance.
  */
 public class SDKConfig {
+
+    /**
+     * Default maximum number of values kept in the pool of strings repeated across documents.
+     *
+     * @see Builder#setStringPoolMaxSize(int)
+     */
+    public static final int DEFAULT_STRING_POOL_MAX_SIZE = 2048;
+
+    /**
+     * Default maximum number of delivery search queries running concurrently.
+     *
+     * @see Builder#setMaxConcurrentRequests(int)
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 5;
+
+    /**
+     * Callback executor that notifies listeners directly on the networking thread that parsed the response,
+     * intended for pipelines that continue processing in background anyway.
+     *
+     * @see Builder#setCallbackExecutor(Executor)
+     */
+    public static final Executor DIRECT_CALLBACK_EXECUTOR = Runnable::run;
+
     private final URL apiUrl;
     private final URL previewApiUrl;
+    private final int stringPoolMaxSize;
+    private final ExecutorService executorService;
+    private final int maxConcurrentRequests;
+    private final Executor callbackExecutor;
+    private final File cookieStoreFile;
+    private final Transport transport;
 
     private SDKConfig(Builder builder) {
         Validator.checkCondition(builder, "Builder should have api url. builder = " + builder, sdkBuilder -> builder.getApiUrl() != null);
 
         apiUrl = builder.getApiUrl();
         previewApiUrl = builder.getPreviewApiUrl();
+        stringPoolMaxSize = builder.getStringPoolMaxSize();
+        executorService = builder.getExecutorService();
+        maxConcurrentRequests = builder.getMaxConcurrentRequests();
+        callbackExecutor = builder.getCallbackExecutor();
+        cookieStoreFile = builder.getCookieStoreFile();
+        transport = builder.getTransport();
     }
 
     public URL getApiUrl() {
@@ -44,6 +83,52 @@ public class SDKConfig {
         return previewApiUrl;
     }
 
+    /**
+     * @see Builder#setStringPoolMaxSize(int)
+     */
+    public int getStringPoolMaxSize() {
+        return stringPoolMaxSize;
+    }
+
+    /**
+     * @see Builder#setExecutorService(ExecutorService)
+     */
+    @Nullable
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * @see Builder#setMaxConcurrentRequests(int)
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * @see Builder#setCallbackExecutor(Executor)
+     */
+    @Nullable
+    public Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    /**
+     * @see Builder#setCookieStoreFile(File)
+     */
+    @Nullable
+    public File getCookieStoreFile() {
+        return cookieStoreFile;
+    }
+
+    /**
+     * @see Builder#setTransport(Transport)
+     */
+    @Nullable
+    public Transport getTransport() {
+        return transport;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -54,6 +139,12 @@ public class SDKConfig {
     public static class Builder {
         private URL apiUrl = null;
         private URL previewApiUrl = null;
+        private int stringPoolMaxSize = DEFAULT_STRING_POOL_MAX_SIZE;
+        private ExecutorService executorService = null;
+        private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+        private Executor callbackExecutor = null;
+        private File cookieStoreFile = null;
+        private Transport transport = null;
 
         @VisibleForTesting
         Builder() {
@@ -102,6 +193,149 @@ public class SDKConfig {
             return previewApiUrl;
         }
 
+        /**
+         * Sets maximum number of values kept in the pool that makes equal values of fields repeated across documents,
+         * e.g. classification, type ID, locale, status, creator ID, tags or categories, share single {@link String} instance.
+         * The pool is cleared once it reaches maximum size. The default is {@link #DEFAULT_STRING_POOL_MAX_SIZE}.
+         *
+         * @param stringPoolMaxSize maximum number of pooled values, {@code 0} disables pooling. Cannot be less than 0.
+         * @return the current {@link Builder} instance, to continue building.
+         * @see ContentDeliverySDK#getStringPoolStats()
+         */
+        public Builder setStringPoolMaxSize(int stringPoolMaxSize) {
+            this.stringPoolMaxSize = Validator.checkCondition(stringPoolMaxSize, "stringPoolMaxSize cannot be less then 0", size -> (size >= 0));
+            return this;
+        }
+
+        /**
+         * Get's maximum size of the string pool for SDK config that will be build.
+         *
+         * @see #setStringPoolMaxSize(int)
+         */
+        public int getStringPoolMaxSize() {
+            return stringPoolMaxSize;
+        }
+
+        /**
+         * Sets {@link ExecutorService} that runs networking calls, e.g. the one shared with the rest of application.
+         * The default is {@code null}, networking calls are run by executor of OkHttp.
+         *
+         * @param executorService the {@link ExecutorService} to run networking calls, {@code null} to use the default one.
+         * @return the current {@link Builder} instance, to continue building.
+         */
+        public Builder setExecutorService(@Nullable ExecutorService executorService) {
+            this.executorService = executorService;
+            return this;
+        }
+
+        /**
+         * Get's {@link ExecutorService} that runs networking calls for SDK config that will be build.
+         *
+         * @see #setExecutorService(ExecutorService)
+         */
+        @Nullable
+        public ExecutorService getExecutorService() {
+            return executorService;
+        }
+
+        /**
+         * Sets maximum number of delivery search queries running concurrently. Once it is reached, queries are deferred
+         * and run in order of their {@link Documents#priority(int) priority}. One slot is reserved for user visible queries,
+         * so prefetch and background queries never delay them. The default is {@link #DEFAULT_MAX_CONCURRENT_REQUESTS}.
+         *
+         * @param maxConcurrentRequests maximum number of concurrent queries. Cannot be less than 1.
+         * @return the current {@link Builder} instance, to continue building.
+         */
+        public Builder setMaxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = Validator.checkCondition(maxConcurrentRequests, "maxConcurrentRequests cannot be less then 1", value -> (value >= 1));
+            return this;
+        }
+
+        /**
+         * Get's maximum number of concurrent delivery search queries for SDK config that will be build.
+         *
+         * @see #setMaxConcurrentRequests(int)
+         */
+        public int getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        /**
+         * Sets {@link Executor} that notifies listeners of delivery search queries and login. Responses are parsed
+         * on networking threads regardless, only notification of listeners is passed to the callback executor.
+         * The default is {@code null}, listeners are notified on the main thread on Android.
+         * Use {@link #DIRECT_CALLBACK_EXECUTOR} to notify listeners on networking threads, and to avoid thread hops
+         * when results are processed further in background.
+         *
+         * @param callbackExecutor the {@link Executor} to notify listeners, {@code null} to use the default one.
+         * @return the current {@link Builder} instance, to continue building.
+         * @see Documents#callbackExecutor(Executor)
+         */
+        public Builder setCallbackExecutor(@Nullable Executor callbackExecutor) {
+            this.callbackExecutor = callbackExecutor;
+            return this;
+        }
+
+        /**
+         * Get's {@link Executor} that notifies listeners for SDK config that will be build.
+         *
+         * @see #setCallbackExecutor(Executor)
+         */
+        @Nullable
+        public Executor getCallbackExecutor() {
+            return callbackExecutor;
+        }
+
+        /**
+         * Sets file to persist cookies of the login session to, so restarted application process reuses the session
+         * while it is valid, instead of logging in again. The file is read once on the first networking call,
+         * and written only when responses change cookies. The default is {@code null}, cookies are kept in memory only.
+         * <p/>
+         * The file holds session credentials, so it should be kept in the application private storage,
+         * e.g. {@code new File(context.getNoBackupFilesDir(), "acoustic-cookies")}.
+         *
+         * @param cookieStoreFile the file to persist cookies to, {@code null} to keep cookies in memory only.
+         * @return the current {@link Builder} instance, to continue building.
+         */
+        public Builder setCookieStoreFile(@Nullable File cookieStoreFile) {
+            this.cookieStoreFile = cookieStoreFile;
+            return this;
+        }
+
+        /**
+         * Get's file to persist cookies to for SDK config that will be build.
+         *
+         * @see #setCookieStoreFile(File)
+         */
+        @Nullable
+        public File getCookieStoreFile() {
+            return cookieStoreFile;
+        }
+
+        /**
+         * Sets {@link Transport} shared with other SDK instances, e.g. ones of other tenants, so they share connection pool
+         * and threads. Cookies and login session are kept per SDK instance regardless. {@link Transport}'s executor is used
+         * instead of {@link #setExecutorService(ExecutorService)} then. The default is {@code null}, SDK instance has
+         * transport of its own.
+         *
+         * @param transport the {@link Transport} to share, {@code null} to have transport of its own.
+         * @return the current {@link Builder} instance, to continue building.
+         */
+        public Builder setTransport(@Nullable Transport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * Get's {@link Transport} for SDK config that will be build.
+         *
+         * @see #setTransport(Transport)
+         */
+        @Nullable
+        public Transport getTransport() {
+            return transport;
+        }
+
         /**
          * Creates new instance of {@link SDKConfig}.
          *
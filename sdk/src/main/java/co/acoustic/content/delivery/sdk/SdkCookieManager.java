@@ -12,50 +12,483 @@
  * See the License for the specific language governing permissions and limitations under the License.
  */
 
+
 package co.acoustic.content.delivery.sdk;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 import okhttp3.Cookie;
 import okhttp3.HttpUrl;
 
+/**
+ * Keeps cookies of SDK session per host, and optionally persists them to the file, so the session survives process restart.
+ * <p/>
+ * Cookies set by responses replace ones of the same name, domain and path, expired cookies are neither sent nor kept.
+ * Cookies of every host are kept in immutable list that is replaced on change, so loading cookies for request
+ * takes no lock and allocates nothing unless some of cookies don't match the request.
+ * <p/>
+ * Persistent cookies are written to the file in background whenever they change, writes are never run concurrently
+ * and the latest cookies are written last. Session cookies are never written.
+ */
 class SdkCookieManager implements RetrofitFactory.CookieManager {
 
-    private List<Cookie> cookies;
+    private static final int STORE_MAGIC = 0x41434443; // "ACDC"
+    private static final int STORE_VERSION = 1;
+
+    private final Map<String, List<Cookie>> cookiesByHost = new ConcurrentHashMap<>();
+    private final Map<String, SharedCookie> sharedCookies = new ConcurrentHashMap<>();
+
+    @Nullable
+    private final File storeFile;
+    private final Executor persistExecutor;
+    private volatile boolean loaded;
+
+    private final Object lock = new Object();
+
+    /**
+     * Cookies that are waiting to be written to the file, guarded by {@link #lock}.
+     */
+    @Nullable
+    private Map<String, List<Cookie>> pendingSnapshot;
+    private boolean persisting;
+
+    SdkCookieManager() {
+        this(null);
+    }
+
+    /**
+     * @param storeFile file to persist cookies to, {@code null} to keep cookies in memory only
+     */
+    SdkCookieManager(@Nullable File storeFile) {
+        this(storeFile, Runnable::run);
+    }
+
+    /**
+     * @param storeFile       file to persist cookies to, {@code null} to keep cookies in memory only
+     * @param persistExecutor executor that writes cookies to the file
+     */
+    SdkCookieManager(@Nullable File storeFile, @NonNull Executor persistExecutor) {
+        this.storeFile = storeFile;
+        this.persistExecutor = Validator.checkNotNull(persistExecutor, "persistExecutor cannot be null");
+        this.loaded = null == storeFile;
+    }
+
+    /**
+     * Makes requests to given host send cookie of given name set by the session host, e.g. preview API host uses
+     * login session of API host. Other cookies of the session host are not sent, and cookies set by responses of
+     * given host are kept for it alone, cookie of its own takes precedence over the shared one of the same name.
+     *
+     * @param host        host that shares the cookie
+     * @param sessionHost host which cookie is shared
+     * @param name        name of the shared cookie
+     */
+    void shareCookie(@NonNull String host, @NonNull String sessionHost, @NonNull String name) {
+        Validator.checkNotNull(host, "host cannot be null");
+        Validator.checkNotNull(sessionHost, "sessionHost cannot be null");
+        Validator.checkNotNull(name, "name cannot be null");
+        if (!host.equals(sessionHost)) {
+            sharedCookies.put(host, new SharedCookie(sessionHost, name));
+        }
+    }
 
     @Override
     public void saveFromResponse(HttpUrl url, List<Cookie> cookies) {
-        this.cookies = cookies;
+        if (cookies.isEmpty()) {
+            return;
+        }
+        ensureLoaded();
+        final String host = url.host();
+        final long now = System.currentTimeMillis();
+        synchronized (lock) {
+            final List<Cookie> current = cookiesByHost.get(host);
+            final List<Cookie> updated = new ArrayList<>();
+            if (null != current) {
+                for (Cookie cookie : current) {
+                    if (cookie.expiresAt() > now && !isReplaced(cookie, cookies)) {
+                        updated.add(cookie);
+                    }
+                }
+            }
+            for (Cookie cookie : cookies) {
+                // cookie that has already expired just removes the one it replaces
+                if (cookie.expiresAt() > now) {
+                    updated.add(cookie);
+                }
+            }
+            if (!isChanged(current, updated)) {
+                return;
+            }
+            if (updated.isEmpty()) {
+                cookiesByHost.remove(host);
+            } else {
+                cookiesByHost.put(host, Collections.unmodifiableList(updated));
+            }
+            persist();
+        }
     }
 
     @Override
     public List<Cookie> loadForRequest(HttpUrl url) {
-        if (cookies != null)
-            return cookies;
-        return new ArrayList<>();
+        return loadForRequest(url, System.currentTimeMillis());
+    }
+
+    @VisibleForTesting
+    List<Cookie> loadForRequest(@NonNull HttpUrl url, long now) {
+        ensureLoaded();
+        final List<Cookie> cookies = cookiesByHost.get(url.host());
+        final List<Cookie> result = null == cookies ? Collections.<Cookie>emptyList() : getMatching(cookies, url, now);
+        final SharedCookie sharedCookie = sharedCookies.get(url.host());
+        if (null == sharedCookie) {
+            return result;
+        }
+        final List<Cookie> sessionCookies = cookiesByHost.get(sharedCookie.sessionHost);
+        if (null == sessionCookies) {
+            return result;
+        }
+        for (Cookie cookie : sessionCookies) {
+            if (cookie.name().equals(sharedCookie.name) && matches(cookie, url, now) && !containsName(result, cookie.name())) {
+                final List<Cookie> withShared = new ArrayList<>(result.size() + 1);
+                withShared.addAll(result);
+                withShared.add(cookie);
+                return withShared;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return cookies that match the request, given list itself if all of them do
+     */
+    @NonNull
+    private static List<Cookie> getMatching(@NonNull List<Cookie> cookies, @NonNull HttpUrl url, long now) {
+        List<Cookie> result = cookies;
+        for (int i = 0; i < cookies.size(); i++) {
+            final Cookie cookie = cookies.get(i);
+            if (!matches(cookie, url, now)) {
+                if (result == cookies) {
+                    result = new ArrayList<>(cookies.subList(0, i));
+                }
+            } else if (result != cookies) {
+                result.add(cookie);
+            }
+        }
+        return result;
+    }
+
+    private static boolean containsName(@NonNull List<Cookie> cookies, @NonNull String name) {
+        for (int i = 0; i < cookies.size(); i++) {
+            if (cookies.get(i).name().equals(name)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
     public void clear() {
-        cookies = null;
+        synchronized (lock) {
+            cookiesByHost.clear();
+            loaded = true;
+            // the store is deleted after pending writes, so they cannot restore it
+            persist();
+        }
     }
 
     public boolean isEmpty() {
-        return null == cookies || cookies.isEmpty();
+        ensureLoaded();
+        return cookiesByHost.isEmpty();
     }
 
     public boolean hasCookie(String name) {
-        if (null == cookies) {
-            return false;
+        ensureLoaded();
+        final long now = System.currentTimeMillis();
+        for (List<Cookie> cookies : cookiesByHost.values()) {
+            for (Cookie cookie : cookies) {
+                if (cookie.name().equals(name) && cookie.expiresAt() > now) {
+                    return true;
+                }
+            }
         }
+        return false;
+    }
 
-        for (Cookie cookie : cookies) {
-            if (cookie.name().equals(name)) {
-                return true;
+    /**
+     * @return the latest expiry time of persistent cookies of given name in milliseconds,
+     * {@link Long#MIN_VALUE} if there are no such cookies
+     */
+    long getExpiresAt(@NonNull String name) {
+        ensureLoaded();
+        long expiresAt = Long.MIN_VALUE;
+        for (List<Cookie> cookies : cookiesByHost.values()) {
+            for (Cookie cookie : cookies) {
+                if (cookie.persistent() && cookie.name().equals(name) && cookie.expiresAt() > expiresAt) {
+                    expiresAt = cookie.expiresAt();
+                }
             }
         }
+        return expiresAt;
+    }
 
+    /**
+     * Cookies of the host never repeat name, domain and path, so lists of the same size that contain the same cookies
+     * differ only in order.
+     */
+    private static boolean isChanged(@Nullable List<Cookie> current, @NonNull List<Cookie> updated) {
+        if (null == current) {
+            return !updated.isEmpty();
+        }
+        return current.size() != updated.size() || !current.containsAll(updated);
+    }
+
+    private static boolean isReplaced(@NonNull Cookie cookie, @NonNull List<Cookie> newCookies) {
+        for (Cookie newCookie : newCookies) {
+            if (newCookie.name().equals(cookie.name())
+                    && newCookie.domain().equals(cookie.domain())
+                    && newCookie.path().equals(cookie.path())) {
+                return true;
+            }
+        }
         return false;
     }
+
+    private static boolean matches(@NonNull Cookie cookie, @NonNull HttpUrl url, long now) {
+        return cookie.expiresAt() > now
+                && (!cookie.secure() || url.isHttps())
+                && pathMatches(url.encodedPath(), cookie.path());
+    }
+
+    /**
+     * Checks whether request path matches cookie path, see RFC 6265 section 5.1.4.
+     */
+    private static boolean pathMatches(@NonNull String urlPath, @NonNull String cookiePath) {
+        if (urlPath.equals(cookiePath)) {
+            return true;
+        }
+        return urlPath.startsWith(cookiePath)
+                && (cookiePath.endsWith("/") || urlPath.charAt(cookiePath.length()) == '/');
+    }
+
+    /**
+     * Reads persisted cookies unless they were read already, it's done on first use otherwise.
+     */
+    void ensureLoaded() {
+        if (!loaded) {
+            synchronized (lock) {
+                if (!loaded) {
+                    load();
+                    loaded = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads cookies persisted by previous process, if any. Store that cannot be read is discarded, as it only means
+     * that user has to log in again.
+     */
+    private void load() {
+        if (null == storeFile || !storeFile.exists()) {
+            return;
+        }
+        try {
+            final InputStream in = new FileInputStream(storeFile);
+            try {
+                readStore(new SnapshotReader(new BufferedInputStream(in)));
+            } finally {
+                in.close();
+            }
+        } catch (IOException | RuntimeException e) {
+            cookiesByHost.clear();
+            //noinspection ResultOfMethodCallIgnored
+            storeFile.delete();
+        }
+    }
+
+    private void readStore(@NonNull SnapshotReader reader) throws IOException {
+        int magic = 0;
+        for (int i = 0; i < 4; i++) {
+            magic = (magic << 8) | reader.readByte();
+        }
+        if (STORE_MAGIC != magic || STORE_VERSION != reader.readVarInt()) {
+            throw new StreamCorruptedException("Not a cookie store");
+        }
+        final long now = System.currentTimeMillis();
+        final int hostsCount = reader.readVarInt();
+        for (int i = 0; i < hostsCount; i++) {
+            final String host = reader.readSharedString();
+            final int cookiesCount = reader.readVarInt();
+            final List<Cookie> cookies = new ArrayList<>();
+            for (int j = 0; j < cookiesCount; j++) {
+                final Cookie cookie = readCookie(reader);
+                if (cookie.expiresAt() > now) {
+                    cookies.add(cookie);
+                }
+            }
+            if (null != host && !cookies.isEmpty()) {
+                cookiesByHost.put(host, Collections.unmodifiableList(cookies));
+            }
+        }
+    }
+
+    /**
+     * Takes snapshot of persistent cookies and schedules its write unless write is already scheduled, in which case
+     * the scheduled write picks up the latest snapshot. Must be called holding {@link #lock}.
+     */
+    private void persist() {
+        if (null == storeFile) {
+            return;
+        }
+        final Map<String, List<Cookie>> snapshot = new HashMap<>();
+        for (Map.Entry<String, List<Cookie>> entry : cookiesByHost.entrySet()) {
+            final List<Cookie> persistentCookies = new ArrayList<>(entry.getValue().size());
+            for (Cookie cookie : entry.getValue()) {
+                if (cookie.persistent()) {
+                    persistentCookies.add(cookie);
+                }
+            }
+            if (!persistentCookies.isEmpty()) {
+                snapshot.put(entry.getKey(), persistentCookies);
+            }
+        }
+        pendingSnapshot = snapshot;
+        if (persisting) {
+            return;
+        }
+        persisting = true;
+        try {
+            persistExecutor.execute(this::writePendingSnapshots);
+        } catch (RuntimeException e) {
+            // e.g. executor was shut down, cookies are kept for the current session only
+            persisting = false;
+            pendingSnapshot = null;
+        }
+    }
+
+    private void writePendingSnapshots() {
+        while (true) {
+            final Map<String, List<Cookie>> snapshot;
+            synchronized (lock) {
+                snapshot = pendingSnapshot;
+                pendingSnapshot = null;
+                if (null == snapshot) {
+                    persisting = false;
+                    return;
+                }
+            }
+            write(Validator.checkNotNull(storeFile), snapshot);
+        }
+    }
+
+    /**
+     * Writes cookies to the temporary file that replaces the store, so the store is never left partially written,
+     * the store is deleted if there are no cookies to write. Failure to persist cookies doesn't affect the current session.
+     */
+    private static void write(@NonNull File storeFile, @NonNull Map<String, List<Cookie>> snapshot) {
+        if (snapshot.isEmpty()) {
+            //noinspection ResultOfMethodCallIgnored
+            storeFile.delete();
+            return;
+        }
+        final File tempFile = new File(storeFile.getPath() + ".tmp");
+        try {
+            final OutputStream out = new FileOutputStream(tempFile);
+            try {
+                writeStore(new SnapshotWriter(out), snapshot);
+            } finally {
+                out.close();
+            }
+            if (!tempFile.renameTo(storeFile)) {
+                throw new IOException("Cannot replace " + storeFile);
+            }
+        } catch (IOException e) {
+            //noinspection ResultOfMethodCallIgnored
+            tempFile.delete();
+        }
+    }
+
+    private static void writeStore(@NonNull SnapshotWriter writer, @NonNull Map<String, List<Cookie>> snapshot) throws IOException {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            writer.writeByte(STORE_MAGIC >>> shift);
+        }
+        writer.writeVarInt(STORE_VERSION);
+        writer.writeVarInt(snapshot.size());
+        for (Map.Entry<String, List<Cookie>> entry : snapshot.entrySet()) {
+            writer.writeSharedString(entry.getKey());
+            writer.writeVarInt(entry.getValue().size());
+            for (Cookie cookie : entry.getValue()) {
+                writeCookie(writer, cookie);
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeCookie(@NonNull SnapshotWriter writer, @NonNull Cookie cookie) throws IOException {
+        writer.writeSharedString(cookie.name());
+        writer.writeString(cookie.value());
+        writer.writeSharedString(cookie.domain());
+        writer.writeSharedString(cookie.path());
+        writer.writeBoolean(cookie.persistent());
+        writer.writeVarLong(cookie.expiresAt());
+        writer.writeBoolean(cookie.hostOnly());
+        writer.writeBoolean(cookie.secure());
+        writer.writeBoolean(cookie.httpOnly());
+    }
+
+    @NonNull
+    private static Cookie readCookie(@NonNull SnapshotReader reader) throws IOException {
+        final Cookie.Builder builder = new Cookie.Builder()
+                .name(Validator.checkNotNull(reader.readSharedString()))
+                .value(Validator.checkNotNull(reader.readString()));
+        final String domain = Validator.checkNotNull(reader.readSharedString());
+        builder.path(Validator.checkNotNull(reader.readSharedString()));
+        final boolean persistent = reader.readBoolean();
+        final long expiresAt = reader.readVarLong();
+        if (persistent) {
+            builder.expiresAt(expiresAt);
+        }
+        if (reader.readBoolean()) {
+            builder.hostOnlyDomain(domain);
+        } else {
+            builder.domain(domain);
+        }
+        if (reader.readBoolean()) {
+            builder.secure();
+        }
+        if (reader.readBoolean()) {
+            builder.httpOnly();
+        }
+        return builder.build();
+    }
+
+    /**
+     * Cookie of the session host that is sent to another host, see {@link #shareCookie(String, String, String)}.
+     */
+    private static final class SharedCookie {
+
+        final String sessionHost;
+        final String name;
+
+        SharedCookie(@NonNull String sessionHost, @NonNull String name) {
+            this.sessionHost = sessionHost;
+            this.name = name;
+        }
+    }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+
+import okhttp3.Authenticator;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+
+/**
+ * Renews expired login session when request fails with 401 Unauthorized, and replays the request with the new session.
+ * <p/>
+ * Session is renewed by single login call at a time, requests that fail meanwhile wait for it. Requests that were sent
+ * before the session was renewed are replayed without logging in again, so burst of failing requests costs one login.
+ * Every request is replayed once at most, and the session isn't renewed if user is not logged in or logged out.
+ */
+class SessionAuthenticator implements Authenticator {
+
+    static final String LOGIN_PATH = "login/v1/basicauth";
+
+    private final Session session;
+
+    private final Object lock = new Object();
+    private long sessionRenewedAtMillis = Long.MIN_VALUE;
+
+    SessionAuthenticator(@NonNull Session session) {
+        this.session = Validator.checkNotNull(session, "session cannot be null");
+    }
+
+    @Nullable
+    @Override
+    public Request authenticate(@Nullable Route route, @NonNull Response response) throws IOException {
+        final Request request = response.request();
+        if (null != response.priorResponse() || request.url().encodedPath().endsWith(LOGIN_PATH)) {
+            // the request was replayed already, or credentials themselves were rejected
+            return null;
+        }
+
+        synchronized (lock) {
+            if (response.sentRequestAtMillis() <= sessionRenewedAtMillis) {
+                // session was renewed while the request was in flight
+                return request;
+            }
+            return renewSessionLocked() ? request : null;
+        }
+    }
+
+    /**
+     * Renews the session ahead of its expiry. Requests that fail meanwhile wait for it, and are replayed afterwards
+     * without logging in again.
+     *
+     * @return {@code true} - session was renewed, {@code false} - user is not logged in or login failed
+     * @throws IOException if login call failed
+     */
+    boolean renewSession() throws IOException {
+        synchronized (lock) {
+            return renewSessionLocked();
+        }
+    }
+
+    private boolean renewSessionLocked() throws IOException {
+        final String encodedCredentials = session.getEncodedCredentials();
+        if (null == encodedCredentials || !session.renew(encodedCredentials)) {
+            return false;
+        }
+        sessionRenewedAtMillis = System.currentTimeMillis();
+        return true;
+    }
+
+    /**
+     * Login session of the SDK.
+     */
+    interface Session {
+
+        /**
+         * @return credentials of logged in user, {@code null} if user is not logged in
+         */
+        @Nullable
+        String getEncodedCredentials();
+
+        /**
+         * Logs in again on the calling thread with given credentials.
+         *
+         * @return {@code true} - session was renewed, {@code false} - login failed
+         * @throws IOException if login call failed
+         */
+        boolean renew(@NonNull String encodedCredentials) throws IOException;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Renews login session in background shortly before the auth cookie expires, so the first request after expiry
+ * doesn't pay for failed attempt and login. Refresh time is randomized, so clients logged in together
+ * don't refresh together.
+ * <p/>
+ * Refresh is made by {@link SessionAuthenticator}, so requests that fail meanwhile wait for it rather than logging in
+ * themselves. Refresh is skipped if SDK was idle, i.e. no requests were made since the session was established or
+ * during {@link #IDLE_TIMEOUT_MILLIS}, the session is then renewed on demand once SDK is used again.
+ */
+class SessionRefresher implements Interceptor {
+
+    static final String AUTH_COOKIE_NAME = "x-ibm-dx-user-auth";
+
+    /**
+     * Session is refreshed at least this long before it expires.
+     */
+    static final long REFRESH_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    /**
+     * Refresh is brought forward by random time up to this one.
+     */
+    static final long MAX_JITTER_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    static final long IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+    private final SessionAuthenticator authenticator;
+    private final SdkCookieManager cookieManager;
+    private final ScheduledExecutorService scheduler;
+    private final Random random;
+
+    @Nullable
+    private ScheduledFuture<?> scheduledRefresh;
+    private long sessionEstablishedAtMillis;
+
+    private volatile long lastRequestAtMillis = Long.MIN_VALUE;
+
+    SessionRefresher(@NonNull SessionAuthenticator authenticator,
+                     @NonNull SdkCookieManager cookieManager,
+                     @NonNull ScheduledExecutorService scheduler) {
+        this(authenticator, cookieManager, scheduler, new Random());
+    }
+
+    @VisibleForTesting
+    SessionRefresher(@NonNull SessionAuthenticator authenticator,
+                     @NonNull SdkCookieManager cookieManager,
+                     @NonNull ScheduledExecutorService scheduler,
+                     @NonNull Random random) {
+        this.authenticator = Validator.checkNotNull(authenticator, "authenticator cannot be null");
+        this.cookieManager = Validator.checkNotNull(cookieManager, "cookieManager cannot be null");
+        this.scheduler = Validator.checkNotNull(scheduler, "scheduler cannot be null");
+        this.random = Validator.checkNotNull(random, "random cannot be null");
+    }
+
+    /**
+     * Records time of the request, login requests are not counted, as they are not a sign of SDK being used.
+     */
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        if (!chain.request().url().encodedPath().endsWith(SessionAuthenticator.LOGIN_PATH)) {
+            lastRequestAtMillis = System.currentTimeMillis();
+        }
+        return chain.proceed(chain.request());
+    }
+
+    /**
+     * Schedules refresh of the session that was just established, replacing previously scheduled one.
+     * Sessions without persistent auth cookie are not refreshed.
+     */
+    synchronized void onSessionEstablished() {
+        cancelScheduledRefresh();
+        final long now = System.currentTimeMillis();
+        sessionEstablishedAtMillis = now;
+
+        final long expiresAt = cookieManager.getExpiresAt(AUTH_COOKIE_NAME);
+        if (Long.MIN_VALUE == expiresAt) {
+            return;
+        }
+        final long jitter = (long) (random.nextDouble() * MAX_JITTER_MILLIS);
+        final long delay = Math.max(0, expiresAt - REFRESH_MARGIN_MILLIS - jitter - now);
+        try {
+            scheduledRefresh = scheduler.schedule(this::refresh, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // transport was shut down, session is renewed on demand if it's still used
+        }
+    }
+
+    /**
+     * Cancels scheduled refresh, e.g. when user logs out.
+     */
+    synchronized void cancel() {
+        cancelScheduledRefresh();
+    }
+
+    @VisibleForTesting
+    void refresh() {
+        synchronized (this) {
+            scheduledRefresh = null;
+            final long activeSince = Math.max(sessionEstablishedAtMillis, System.currentTimeMillis() - IDLE_TIMEOUT_MILLIS);
+            if (lastRequestAtMillis < activeSince) {
+                return;
+            }
+        }
+        try {
+            // successful renewal establishes new session, that schedules the next refresh
+            authenticator.renewSession();
+        } catch (IOException e) {
+            // session will be renewed on demand by the next request
+        }
+    }
+
+    private void cancelScheduledRefresh() {
+        if (null != scheduledRefresh) {
+            scheduledRefresh.cancel(false);
+            scheduledRefresh = null;
+        }
+    }
+}
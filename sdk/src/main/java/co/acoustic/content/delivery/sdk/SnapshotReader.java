@@ -0,0 +1,296 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Reads primitives of snapshot format written by {@link SnapshotWriter} from the {@link InputStream}.
+ * <p/>
+ * Reader takes exactly the bytes it reads from the stream, so snapshot can be followed by other data, and streams
+ * that are costly to read byte by byte should be buffered by the caller. Sizes are checked before anything is allocated
+ * for them, and collections are allocated as their elements are read, so corrupted or truncated snapshot fails with
+ * {@link IOException} rather than exhausts the memory.
+ */
+class SnapshotReader {
+
+    /**
+     * Upper bound of sizes, larger ones can only be read from corrupted stream.
+     */
+    static final int MAX_SIZE = 1 << 24;
+
+    /**
+     * Collections are allocated for up to this number of elements up front, and grow as more elements are read.
+     */
+    private static final int MAX_PREALLOCATED_SIZE = 1024;
+    private static final int MAX_PREALLOCATED_BYTES = 64 * 1024;
+
+    private final InputStream in;
+    private final byte[] scratch = new byte[1024];
+
+    private final ArrayList<String> stringTable = new ArrayList<>();
+
+    private int version = Snapshots.VERSION;
+
+    SnapshotReader(@NonNull InputStream in) {
+        this.in = Validator.checkNotNull(in, "Input stream cannot be null");
+    }
+
+    /**
+     * @return version of the snapshot being read, that documents use to read fields written in older formats
+     */
+    int getVersion() {
+        return version;
+    }
+
+    void setVersion(int version) {
+        this.version = version;
+    }
+
+    int readByte() throws IOException {
+        final int result = in.read();
+        if (result < 0) {
+            throw new EOFException();
+        }
+        return result;
+    }
+
+    boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    int readVarInt() throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final int b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new StreamCorruptedException("Malformed variable length int");
+    }
+
+    long readVarLong() throws IOException {
+        long zigZag = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            final int b = readByte();
+            zigZag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new StreamCorruptedException("Malformed variable length long");
+    }
+
+    @Nullable
+    Integer readNullableInt() throws IOException {
+        return readBoolean() ? (int) readVarLong() : null;
+    }
+
+    double readDouble() throws IOException {
+        long bits = 0;
+        for (int shift = 0; shift < 64; shift += 8) {
+            bits |= (long) readByte() << shift;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    @Nullable
+    String readString() throws IOException {
+        final int length = readSize();
+        return length < 0 ? null : readUtf8(length);
+    }
+
+    @Nullable
+    String readSharedString() throws IOException {
+        final int reference = readVarInt();
+        if (0 == reference) {
+            return null;
+        }
+        if (1 == reference) {
+            final String value = readUtf8(readCount());
+            stringTable.add(value);
+            return value;
+        }
+        final int index = reference - 2;
+        if (index >= stringTable.size()) {
+            throw new StreamCorruptedException("Unknown string table index " + index);
+        }
+        return stringTable.get(index);
+    }
+
+    @Nullable
+    ArrayList<String> readStringList(boolean shared) throws IOException {
+        final int size = readSize();
+        if (size < 0) {
+            return null;
+        }
+        final ArrayList<String> result = new ArrayList<>(capacity(size));
+        for (int i = 0; i < size; i++) {
+            result.add(shared ? readSharedString() : readString());
+        }
+        return result;
+    }
+
+    @Nullable
+    BooleanColumn readBooleanColumn() throws IOException {
+        final int size = readSize();
+        if (size < 0) {
+            return null;
+        }
+        final long[] values = new long[(size + 63) >> 6];
+        long[] nulls = null;
+        for (int i = 0; i < size; i++) {
+            final int value = readByte();
+            if (2 == value) {
+                if (null == nulls) {
+                    nulls = new long[values.length];
+                }
+                nulls[i >> 6] |= 1L << i;
+            } else if (1 == value) {
+                values[i >> 6] |= 1L << i;
+            }
+        }
+        return new BooleanColumn(size, values, nulls);
+    }
+
+    @Nullable
+    DoubleColumn readDoubleColumn() throws IOException {
+        final int size = readSize();
+        if (size < 0) {
+            return null;
+        }
+        long[] nulls = null;
+        for (int maskStart = 0; maskStart < size; maskStart += 8) {
+            final long mask = readByte();
+            if (0 != mask) {
+                if (null == nulls) {
+                    nulls = new long[(size + 63) >> 6];
+                }
+                nulls[maskStart >> 6] |= mask << (maskStart & 63);
+            }
+        }
+        double[] values = new double[capacity(size)];
+        for (int i = 0; i < size; i++) {
+            if (i == values.length) {
+                values = Arrays.copyOf(values, (int) Math.min(size, 2L * values.length));
+            }
+            if (null == nulls || (nulls[i >> 6] & (1L << i)) == 0) {
+                values[i] = readDouble();
+            }
+        }
+        return new DoubleColumn(values, nulls);
+    }
+
+    @Nullable
+    byte[] readBlob() throws IOException {
+        final int length = readSize();
+        if (length < 0) {
+            return null;
+        }
+        return readBytes(length);
+    }
+
+    @Nullable
+    JSONObject readJSONObject() throws IOException {
+        final byte[] value = readBlob();
+        if (null == value) {
+            return null;
+        }
+        try {
+            return new JSONObject(new String(value, SnapshotWriter.UTF_8));
+        } catch (JSONException e) {
+            final StreamCorruptedException exception = new StreamCorruptedException("Malformed JSON document");
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+
+    /**
+     * Reads size of non-null value, e.g. number of elements of the list.
+     */
+    int readCount() throws IOException {
+        final int count = readVarInt();
+        if (count < 0 || count > MAX_SIZE) {
+            throw new StreamCorruptedException("Malformed size " + count);
+        }
+        return count;
+    }
+
+    /**
+     * @param size size read from the stream
+     * @return initial capacity of collection of given size, that doesn't exceed {@value #MAX_PREALLOCATED_SIZE}
+     */
+    static int capacity(int size) {
+        return Math.min(size, MAX_PREALLOCATED_SIZE);
+    }
+
+    /**
+     * Reads size of nullable value, -1 stands for {@code null}.
+     */
+    private int readSize() throws IOException {
+        final int size = readVarInt() - 1;
+        if (size < -1 || size > MAX_SIZE) {
+            throw new StreamCorruptedException("Malformed size " + size);
+        }
+        return size;
+    }
+
+    @NonNull
+    private String readUtf8(int length) throws IOException {
+        if (length <= scratch.length) {
+            readFully(scratch, 0, length);
+            return new String(scratch, 0, length, SnapshotWriter.UTF_8);
+        }
+        return new String(readBytes(length), SnapshotWriter.UTF_8);
+    }
+
+    @NonNull
+    private byte[] readBytes(int length) throws IOException {
+        byte[] result = new byte[Math.min(length, MAX_PREALLOCATED_BYTES)];
+        int read = 0;
+        while (read < length) {
+            if (read == result.length) {
+                result = Arrays.copyOf(result, (int) Math.min(length, 2L * result.length));
+            }
+            readFully(result, read, result.length - read);
+            read = result.length;
+        }
+        return result;
+    }
+
+    private void readFully(@NonNull byte[] target, int offset, int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            final int count = in.read(target, offset + read, length - read);
+            if (count < 0) {
+                throw new EOFException();
+            }
+            read += count;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONObject;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes primitives of snapshot format, see {@link Snapshots}, to the {@link OutputStream}.
+ * <p/>
+ * Values are written to the internal buffer that is passed to the stream once it is full or {@link #flush()} is called.
+ * Integers are written as variable length quantities, strings as UTF-8 bytes prefixed with length. Strings written by
+ * {@link #writeSharedString(String)} are added to the string table, so repeated values are written as the table index.
+ */
+class SnapshotWriter implements Flushable {
+
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    private final Map<String, Integer> stringTable = new HashMap<>();
+
+    SnapshotWriter(@NonNull OutputStream out) {
+        this.out = Validator.checkNotNull(out, "Output stream cannot be null");
+    }
+
+    void writeByte(int value) throws IOException {
+        if (position == BUFFER_SIZE) {
+            flushBuffer();
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    void writeBoolean(boolean value) throws IOException {
+        writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Writes unsigned variable length int, 7 bits per byte.
+     */
+    void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+
+    /**
+     * Writes signed variable length long using zig-zag encoding, so small negative values take few bytes as well.
+     */
+    void writeVarLong(long value) throws IOException {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            writeByte((int) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        writeByte((int) zigZag);
+    }
+
+    void writeNullableInt(@Nullable Integer value) throws IOException {
+        writeBoolean(null != value);
+        if (null != value) {
+            writeVarLong(value);
+        }
+    }
+
+    void writeDouble(double value) throws IOException {
+        final long bits = Double.doubleToLongBits(value);
+        for (int shift = 0; shift < 64; shift += 8) {
+            writeByte((int) (bits >>> shift));
+        }
+    }
+
+    /**
+     * Writes string that is not expected to be repeated e.g. ID or name.
+     */
+    void writeString(@Nullable String value) throws IOException {
+        if (null == value) {
+            writeVarInt(0);
+            return;
+        }
+        final int length = utf8Length(value);
+        writeVarInt(length + 1);
+        writeUtf8(value);
+    }
+
+    /**
+     * Writes string that is expected to be repeated e.g. locale, status or tag. First occurrence of the string is written
+     * in full and added to the string table, the following ones are written as index in the table.
+     */
+    void writeSharedString(@Nullable String value) throws IOException {
+        if (null == value) {
+            writeVarInt(0);
+            return;
+        }
+        final Integer index = stringTable.get(value);
+        if (null != index) {
+            writeVarInt(index + 2);
+            return;
+        }
+        stringTable.put(value, stringTable.size());
+        writeVarInt(1);
+        writeVarInt(utf8Length(value));
+        writeUtf8(value);
+    }
+
+    void writeStringList(@Nullable List<String> values, boolean shared) throws IOException {
+        if (null == values) {
+            writeVarInt(0);
+            return;
+        }
+        final int size = values.size();
+        writeVarInt(size + 1);
+        for (int i = 0; i < size; i++) {
+            if (shared) {
+                writeSharedString(values.get(i));
+            } else {
+                writeString(values.get(i));
+            }
+        }
+    }
+
+    /**
+     * Writes boolean column as one byte per element, {@code null} elements are kept.
+     */
+    void writeBooleanColumn(@Nullable BooleanColumn values) throws IOException {
+        if (null == values) {
+            writeVarInt(0);
+            return;
+        }
+        final int size = values.size();
+        writeVarInt(size + 1);
+        for (int i = 0; i < size; i++) {
+            writeByte(values.isNull(i) ? 2 : (values.getBoolean(i) ? 1 : 0));
+        }
+    }
+
+    /**
+     * Writes double column as {@code null} elements mask followed by values of non-null elements.
+     */
+    void writeDoubleColumn(@Nullable DoubleColumn values) throws IOException {
+        if (null == values) {
+            writeVarInt(0);
+            return;
+        }
+        final int size = values.size();
+        writeVarInt(size + 1);
+        for (int maskStart = 0; maskStart < size; maskStart += 8) {
+            int mask = 0;
+            for (int i = maskStart; i < size && i < maskStart + 8; i++) {
+                if (values.isNull(i)) {
+                    mask |= 1 << (i - maskStart);
+                }
+            }
+            writeByte(mask);
+        }
+        final double[] primitives = values.getValues();
+        for (int i = 0; i < size; i++) {
+            if (!values.isNull(i)) {
+                writeDouble(primitives[i]);
+            }
+        }
+    }
+
+    void writeBlob(@Nullable byte[] value) throws IOException {
+        if (null == value) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(value.length + 1);
+        if (value.length > BUFFER_SIZE - position) {
+            flushBuffer();
+            out.write(value);
+        } else {
+            System.arraycopy(value, 0, buffer, position, value.length);
+            position += value.length;
+        }
+    }
+
+    void writeJSONObject(@Nullable JSONObject value) throws IOException {
+        writeBlob(null == value ? null : value.toString().getBytes(UTF_8));
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private void writeUtf8(@NonNull String value) throws IOException {
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                writeByte(c);
+            } else if (c < 0x800) {
+                writeByte(0xC0 | (c >> 6));
+                writeByte(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                writeByte(0xF0 | (codePoint >> 18));
+                writeByte(0x80 | ((codePoint >> 12) & 0x3F));
+                writeByte(0x80 | ((codePoint >> 6) & 0x3F));
+                writeByte(0x80 | (codePoint & 0x3F));
+            } else if (isSurrogate(c)) {
+                // unpaired surrogate, replaced the same way as String.getBytes() does
+                writeByte('?');
+            } else {
+                writeByte(0xE0 | (c >> 12));
+                writeByte(0x80 | ((c >> 6) & 0x3F));
+                writeByte(0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static boolean isSurrogate(char c) {
+        return c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE;
+    }
+
+    private static int utf8Length(@NonNull String value) {
+        final int length = value.length();
+        int result = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                result++;
+            } else if (c < 0x800) {
+                result += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                result += 4;
+                i++;
+            } else if (isSurrogate(c)) {
+                result++;
+            } else {
+                result += 3;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes and reads {@link Document}s and {@link DeliverySearchResult}s in compact binary snapshot format,
+ * intended to be used for disk caches, offline bundles and passing results between processes.
+ * <p/>
+ * Snapshot starts with the format signature and version, integers are written as variable length quantities,
+ * values that are usually repeated across documents, like locale, status, type ID or tags, are written once
+ * and referenced afterwards, and "document" JSON is written as raw UTF-8 bytes.
+ * <p/>
+ * Snapshots are written and read in a streaming manner, given streams are not closed. Reading takes exactly the bytes
+ * of the snapshot from the stream, so snapshot can be embedded in larger stream, and unbuffered streams, e.g.
+ * {@link java.io.FileInputStream}, should be wrapped in {@link java.io.BufferedInputStream} by the caller.
+ * Snapshot that is corrupted or truncated fails to be read with {@link IOException}.
+ */
+public final class Snapshots {
+
+    static final int MAGIC = 0x41434453; // "ACDS"
+    static final int VERSION = 3;
+
+    private static final int KIND_DOCUMENTS = 1;
+    private static final int KIND_DELIVERY_SEARCH_RESULT = 2;
+    private static final int KIND_FACET_RESULT = 3;
+
+    private static final int DOCUMENT_ASSET = 1;
+    private static final int DOCUMENT_CATEGORY = 2;
+    private static final int DOCUMENT_CONTENT_ITEM = 3;
+    private static final int DOCUMENT_CONTENT_TYPE = 4;
+
+    private static final int DOCUMENTS_ASSETS = 1;
+    private static final int DOCUMENTS_CATEGORIES = 2;
+    private static final int DOCUMENTS_CONTENT_ITEMS = 3;
+    private static final int DOCUMENTS_CONTENT_TYPES = 4;
+
+    /**
+     * Writes snapshot of given documents.
+     *
+     * @param documents documents to write, cannot be {@code null}
+     * @param out       stream to write snapshot to, cannot be {@code null}
+     * @throws IOException if writing to the stream failed
+     */
+    public static void writeDocuments(@NonNull List<? extends Document> documents, @NonNull OutputStream out) throws IOException {
+        Validator.checkNotNull(documents, "Documents cannot be null");
+        final SnapshotWriter writer = new SnapshotWriter(out);
+        writeHeader(writer, KIND_DOCUMENTS);
+        writeDocumentList(writer, documents);
+        writer.flush();
+    }
+
+    /**
+     * Reads documents snapshot written by {@link #writeDocuments(List, OutputStream)}.
+     *
+     * @param in stream to read snapshot from, cannot be {@code null}
+     * @return documents read from the snapshot
+     * @throws IOException if reading from the stream failed or stream doesn't contain documents snapshot of supported version
+     */
+    @NonNull
+    public static List<Document> readDocuments(@NonNull InputStream in) throws IOException {
+        final SnapshotReader reader = new SnapshotReader(in);
+        readHeader(reader, KIND_DOCUMENTS);
+        return readDocumentList(reader);
+    }
+
+    /**
+     * Writes snapshot of given {@link DeliverySearchResult}, including the delivery search query that returned it.
+     *
+     * @param result delivery search result to write, cannot be {@code null}
+     * @param out    stream to write snapshot to, cannot be {@code null}
+     * @throws IOException if writing to the stream failed
+     */
+    public static void writeDeliverySearchResult(@NonNull DeliverySearchResult<? extends Document> result, @NonNull OutputStream out) throws IOException {
+        Validator.checkNotNull(result, "Result cannot be null");
+        final SnapshotWriter writer = new SnapshotWriter(out);
+        final DeliverySearchResult.State state = result.getState();
+        writeHeader(writer, KIND_DELIVERY_SEARCH_RESULT);
+        writer.writeVarInt(state.getNumFound());
+        writeRequestState(writer, state.getRequestState());
+        writeDocumentList(writer, state.getDocuments());
+        writer.flush();
+    }
+
+    /**
+     * Reads {@link DeliverySearchResult} snapshot written by {@link #writeDeliverySearchResult(DeliverySearchResult, OutputStream)}.
+     * Use {@link DeliverySearch#createDeliverySearchResult(DeliverySearchResult.State)} to create {@link DeliverySearchResult} from returned state.
+     *
+     * @param in stream to read snapshot from, cannot be {@code null}
+     * @return state of delivery search result read from the snapshot
+     * @throws IOException if reading from the stream failed or stream doesn't contain delivery search result snapshot of supported version
+     */
+    @NonNull
+    public static DeliverySearchResult.State readDeliverySearchResultState(@NonNull InputStream in) throws IOException {
+        final SnapshotReader reader = new SnapshotReader(in);
+        final int version = readHeader(reader, KIND_DELIVERY_SEARCH_RESULT);
+        final int numFound = reader.readVarInt();
+        final Documents.State requestState = readRequestState(reader, version);
+        return new DeliverySearchResult.State(numFound, readDocumentList(reader), requestState);
+    }
+
+    /**
+     * Writes snapshot of given {@link FacetResult}.
+     *
+     * @param result facet result to write, cannot be {@code null}
+     * @param out    stream to write snapshot to, cannot be {@code null}
+     * @throws IOException if writing to the stream failed
+     */
+    public static void writeFacetResult(@NonNull FacetResult result, @NonNull OutputStream out) throws IOException {
+        Validator.checkNotNull(result, "Result cannot be null");
+        final SnapshotWriter writer = new SnapshotWriter(out);
+        writeHeader(writer, KIND_FACET_RESULT);
+        result.writeSnapshot(writer);
+        writer.flush();
+    }
+
+    /**
+     * Reads {@link FacetResult} snapshot written by {@link #writeFacetResult(FacetResult, OutputStream)}.
+     *
+     * @param in stream to read snapshot from, cannot be {@code null}
+     * @return facet result read from the snapshot
+     * @throws IOException if reading from the stream failed or stream doesn't contain facet result snapshot of supported version
+     */
+    @NonNull
+    public static FacetResult readFacetResult(@NonNull InputStream in) throws IOException {
+        final SnapshotReader reader = new SnapshotReader(in);
+        readHeader(reader, KIND_FACET_RESULT);
+        return new FacetResult(reader);
+    }
+
+    private static void writeHeader(@NonNull SnapshotWriter writer, int kind) throws IOException {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            writer.writeByte(MAGIC >>> shift);
+        }
+        writer.writeVarInt(VERSION);
+        writer.writeVarInt(kind);
+    }
+
+    /**
+     * @return version of the snapshot
+     */
+    private static int readHeader(@NonNull SnapshotReader reader, int expectedKind) throws IOException {
+        int magic = 0;
+        for (int i = 0; i < 4; i++) {
+            magic = (magic << 8) | reader.readByte();
+        }
+        if (MAGIC != magic) {
+            throw new StreamCorruptedException("Not a snapshot");
+        }
+        final int version = reader.readVarInt();
+        if (version > VERSION) {
+            throw new StreamCorruptedException("Unsupported snapshot version " + version);
+        }
+        final int kind = reader.readVarInt();
+        if (expectedKind != kind) {
+            throw new StreamCorruptedException("Unexpected snapshot kind " + kind);
+        }
+        reader.setVersion(version);
+        return version;
+    }
+
+    private static void writeDocumentList(@NonNull SnapshotWriter writer, @NonNull List<? extends Document> documents) throws IOException {
+        final int size = documents.size();
+        writer.writeVarInt(size);
+        for (int i = 0; i < size; i++) {
+            final Document document = documents.get(i);
+            writer.writeVarInt(getDocumentType(document));
+            document.writeSnapshot(writer);
+        }
+    }
+
+    @NonNull
+    private static List<Document> readDocumentList(@NonNull SnapshotReader reader) throws IOException {
+        final int size = reader.readCount();
+        final List<Document> result = new ArrayList<>(SnapshotReader.capacity(size));
+        for (int i = 0; i < size; i++) {
+            result.add(readDocument(reader));
+        }
+        return result;
+    }
+
+    private static int getDocumentType(@NonNull Document document) {
+        final Class<?> clazz = document.getClass();
+        if (Asset.class.equals(clazz)) {
+            return DOCUMENT_ASSET;
+        } else if (Category.class.equals(clazz)) {
+            return DOCUMENT_CATEGORY;
+        } else if (ContentItem.class.equals(clazz)) {
+            return DOCUMENT_CONTENT_ITEM;
+        } else if (ContentType.class.equals(clazz)) {
+            return DOCUMENT_CONTENT_TYPE;
+        }
+        throw new IllegalArgumentException("Cannot write snapshot of " + clazz);
+    }
+
+    @NonNull
+    private static Document readDocument(@NonNull SnapshotReader reader) throws IOException {
+        final int type = reader.readVarInt();
+        switch (type) {
+            case DOCUMENT_ASSET:
+                return new Asset(reader);
+            case DOCUMENT_CATEGORY:
+                return new Category(reader);
+            case DOCUMENT_CONTENT_ITEM:
+                return new ContentItem(reader);
+            case DOCUMENT_CONTENT_TYPE:
+                return new ContentType(reader);
+            default:
+                throw new StreamCorruptedException("Unknown document type " + type);
+        }
+    }
+
+    private static void writeRequestState(@NonNull SnapshotWriter writer, @NonNull Documents.State state) throws IOException {
+        if (Assets.class.equals(state.clazz)) {
+            writer.writeVarInt(DOCUMENTS_ASSETS);
+        } else if (Categories.class.equals(state.clazz)) {
+            writer.writeVarInt(DOCUMENTS_CATEGORIES);
+        } else if (ContentItems.class.equals(state.clazz)) {
+            writer.writeVarInt(DOCUMENTS_CONTENT_ITEMS);
+        } else if (ContentTypes.class.equals(state.clazz)) {
+            writer.writeVarInt(DOCUMENTS_CONTENT_TYPES);
+        } else {
+            throw new IllegalArgumentException("Cannot write snapshot of " + state.clazz);
+        }
+        state.getDeliverySearchQueryBuilder().writeSnapshot(writer);
+        writer.writeBoolean(state.isIncludeDraft());
+        writer.writeBoolean(state.isIncludeProtectedContent());
+        writer.writeBoolean(state.isRetrieveCompleteContentContext());
+        writer.writeBoolean(state.isIncludeAllFields());
+        writer.writeBoolean(state.isIncludeRetired());
+    }
+
+    @NonNull
+    private static Documents.State readRequestState(@NonNull SnapshotReader reader, int version) throws IOException {
+        final int type = reader.readVarInt();
+        final Class<?> clazz;
+        switch (type) {
+            case DOCUMENTS_ASSETS:
+                clazz = Assets.class;
+                break;
+            case DOCUMENTS_CATEGORIES:
+                clazz = Categories.class;
+                break;
+            case DOCUMENTS_CONTENT_ITEMS:
+                clazz = ContentItems.class;
+                break;
+            case DOCUMENTS_CONTENT_TYPES:
+                clazz = ContentTypes.class;
+                break;
+            default:
+                throw new StreamCorruptedException("Unknown documents type " + type);
+        }
+        return new Documents.State(
+                clazz,
+                new DeliverySearchQueryBuilder(reader, version),
+                reader.readBoolean(),
+                reader.readBoolean(),
+                reader.readBoolean(),
+                reader.readBoolean(),
+                reader.readBoolean()
+        );
+    }
+
+    private Snapshots() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded concurrent pool of canonical {@link String} instances, used to make equal values repeated across
+ * documents e.g. locale, status or type ID share single instance.
+ * <p/>
+ * Pool is cleared once it reaches its maximum size, so values that are no longer frequent are dropped
+ * and frequent ones get back into the pool on their next occurrence.
+ */
+class StringPool {
+
+    private final int maxSize;
+    private final ConcurrentHashMap<String, String> values;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * @param maxSize maximum number of values kept in the pool, {@code 0} disables pooling
+     */
+    StringPool(int maxSize) {
+        this.maxSize = Validator.checkCondition(maxSize, "maxSize cannot be less then 0", value -> (value >= 0));
+        this.values = new ConcurrentHashMap<>(Math.min(maxSize, 256));
+    }
+
+    boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * @return canonical instance equal to given value, or value itself if pooling is disabled
+     */
+    @Nullable
+    String canonicalize(@Nullable String value) {
+        if (null == value || !isEnabled()) {
+            return value;
+        }
+        final String canonical = values.get(value);
+        if (null != canonical) {
+            hitCount.incrementAndGet();
+            return canonical;
+        }
+        missCount.incrementAndGet();
+        if (values.size() >= maxSize) {
+            values.clear();
+            evictionCount.incrementAndGet();
+        }
+        final String previous = values.putIfAbsent(value, value);
+        return null == previous ? value : previous;
+    }
+
+    /**
+     * Replaces elements of given list with their canonical instances.
+     */
+    void canonicalize(@Nullable List<String> values) {
+        if (null == values || !isEnabled()) {
+            return;
+        }
+        final int size = values.size();
+        for (int i = 0; i < size; i++) {
+            values.set(i, canonicalize(values.get(i)));
+        }
+    }
+
+    @NonNull
+    StringPoolStats getStats() {
+        return new StringPoolStats(maxSize, values.size(), hitCount.get(), missCount.get(), evictionCount.get());
+    }
+}
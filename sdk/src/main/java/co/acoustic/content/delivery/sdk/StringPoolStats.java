@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+/**
+ * Holds statistics of the pool {@link ContentDeliverySDK} uses to share instances of string values
+ * repeated across documents, e.g. locale, status or type ID.
+ *
+ * @see SDKConfig.Builder#setStringPoolMaxSize(int)
+ * @see ContentDeliverySDK#getStringPoolStats()
+ */
+public class StringPoolStats {
+
+    private final int maxSize;
+    private final int size;
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+
+    StringPoolStats(int maxSize, int size, long hitCount, long missCount, long evictionCount) {
+        this.maxSize = maxSize;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * @return maximum number of values kept in the pool, {@code 0} if pooling is disabled
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return number of values currently kept in the pool
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return number of parsed values that were replaced by instance from the pool
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return number of parsed values that weren't found in the pool
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return number of times the pool was cleared on reaching its maximum size
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return ratio of hits to all lookups, {@code 0} if there were no lookups
+     */
+    public double getHitRate() {
+        final long requestCount = hitCount + missCount;
+        return 0 == requestCount ? 0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "StringPoolStats{" +
+                "maxSize=" + maxSize +
+                ", size=" + size +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                '}';
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Canonicalizes values of {@link DeliverySearchResponseDocument} fields that are repeated across documents
+ * through the {@link StringPool}, right after the document is parsed.
+ */
+class StringPoolTypeAdapterFactory implements TypeAdapterFactory {
+
+    private final StringPool stringPool;
+
+    StringPoolTypeAdapterFactory(@NonNull StringPool stringPool) {
+        this.stringPool = Validator.checkNotNull(stringPool, "stringPool cannot be null");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (DeliverySearchResponseDocument.class != type.getRawType()) {
+            return null;
+        }
+        final TypeAdapter<DeliverySearchResponseDocument> delegate =
+                gson.getDelegateAdapter(this, TypeToken.get(DeliverySearchResponseDocument.class));
+        return (TypeAdapter<T>) new TypeAdapter<DeliverySearchResponseDocument>() {
+            @Override
+            public void write(JsonWriter out, DeliverySearchResponseDocument value) throws IOException {
+                delegate.write(out, value);
+            }
+
+            @Override
+            public DeliverySearchResponseDocument read(JsonReader in) throws IOException {
+                final DeliverySearchResponseDocument rawDoc = delegate.read(in);
+                if (null != rawDoc) {
+                    canonicalize(rawDoc);
+                }
+                return rawDoc;
+            }
+        };
+    }
+
+    private void canonicalize(@NonNull DeliverySearchResponseDocument rawDoc) {
+        rawDoc.classification = stringPool.canonicalize(rawDoc.classification);
+        rawDoc.typeId = stringPool.canonicalize(rawDoc.typeId);
+        rawDoc.type = stringPool.canonicalize(rawDoc.type);
+        rawDoc.locale = stringPool.canonicalize(rawDoc.locale);
+        rawDoc.status = stringPool.canonicalize(rawDoc.status);
+        rawDoc.creatorId = stringPool.canonicalize(rawDoc.creatorId);
+        rawDoc.lastModifierId = stringPool.canonicalize(rawDoc.lastModifierId);
+        rawDoc.assetType = stringPool.canonicalize(rawDoc.assetType);
+        rawDoc.mediaType = stringPool.canonicalize(rawDoc.mediaType);
+        rawDoc.siteId = stringPool.canonicalize(rawDoc.siteId);
+        stringPool.canonicalize(rawDoc.kind);
+        stringPool.canonicalize(rawDoc.tags);
+        stringPool.canonicalize(rawDoc.keywords);
+        stringPool.canonicalize(rawDoc.categories);
+        stringPool.canonicalize(rawDoc.categoryLeaves);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Decorates given {@link Converter.Factory} and measures conversion of {@link DeliverySearchResponse}s,
+ * measurements are stored in the converted response and picked up by {@link Documents} once response is mapped.
+ */
+class TimingConverterFactory extends Converter.Factory {
+
+    private final Converter.Factory delegate;
+    private final MetricsDispatcher metricsDispatcher;
+
+    TimingConverterFactory(@NonNull Converter.Factory delegate, @NonNull MetricsDispatcher metricsDispatcher) {
+        this.delegate = Validator.checkNotNull(delegate, "Delegate, cannot be null");
+        this.metricsDispatcher = Validator.checkNotNull(metricsDispatcher, "Metrics dispatcher, cannot be null");
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        final Converter<ResponseBody, ?> converter = delegate.responseBodyConverter(type, annotations, retrofit);
+        if (null == converter || DeliverySearchResponse.class != type) {
+            return converter;
+        }
+        return new TimingConverter(converter);
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations, Annotation[] methodAnnotations, Retrofit retrofit) {
+        return delegate.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+    }
+
+    @Override
+    public Converter<?, String> stringConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        return delegate.stringConverter(type, annotations, retrofit);
+    }
+
+    private class TimingConverter implements Converter<ResponseBody, Object> {
+
+        private final Converter<ResponseBody, ?> converter;
+
+        private TimingConverter(Converter<ResponseBody, ?> converter) {
+            this.converter = converter;
+        }
+
+        @Override
+        public Object convert(@NonNull ResponseBody value) throws IOException {
+            if (!metricsDispatcher.isEnabled()) {
+                return converter.convert(value);
+            }
+
+            final long usedHeapBefore = ParseMetrics.usedHeapBytes();
+            final long startNanos = System.nanoTime();
+            final Object result = converter.convert(value);
+            final long endNanos = System.nanoTime();
+
+            if (result instanceof DeliverySearchResponse) {
+                final DeliverySearchResponse response = (DeliverySearchResponse) result;
+                response.conversionNanos = endNanos - startNanos;
+                response.convertedAtNanos = endNanos;
+                response.conversionAllocatedBytes = ParseMetrics.usedHeapBytes() - usedHeapBefore;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+/**
+ * HTTP stack of {@link ContentDeliverySDK}: connection pool, dispatcher and threads. Transport can be shared by several
+ * SDK instances, e.g. one per tenant or site, so the process doesn't hold idle connection pool and threads of every
+ * instance. Every SDK instance keeps its own cookies, login session, string pool and metrics regardless.
+ * <p/>
+ * Transport is passed to SDK instances by {@link SDKConfig.Builder#setTransport(Transport)}. SDK instances without it
+ * have transport of their own. Connection pool and threads are created on first use, and are released by
+ * {@link #shutdown()} once transport is no longer needed.
+ */
+public final class Transport {
+
+    private static final int CONNECT_TIMEOUT_SECONDS = 20;
+    private static final int READ_TIMEOUT_SECONDS = 20;
+    private static final int WRITE_TIMEOUT_SECONDS = 20;
+
+    @Nullable
+    private final ExecutorService executorService;
+
+    private OkHttpClient okHttpClient;
+    private ScheduledExecutorService scheduler;
+    private boolean shutdown;
+
+    private Transport(@NonNull Builder builder) {
+        executorService = builder.getExecutorService();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Cancels calls of all SDK instances using this transport, closes idle connections and stops threads of transport.
+     * {@link ExecutorService} passed to {@link Builder#setExecutorService(ExecutorService)} is not shut down, as it's
+     * owned by application. SDK instances cannot make calls afterwards, attempts to make them throw
+     * {@link IllegalStateException}.
+     */
+    public synchronized void shutdown() {
+        if (shutdown) {
+            return;
+        }
+        shutdown = true;
+        if (null != okHttpClient) {
+            final Dispatcher dispatcher = okHttpClient.dispatcher();
+            dispatcher.cancelAll();
+            if (null == executorService) {
+                dispatcher.executorService().shutdown();
+            }
+            okHttpClient.connectionPool().evictAll();
+        }
+        if (null != scheduler) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * @return {@code true} - {@link #shutdown()} was called, {@code false} - otherwise
+     */
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * @see Builder#setExecutorService(ExecutorService)
+     */
+    @Nullable
+    ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * Provides {@link OkHttpClient} that holds connection pool and dispatcher of this transport, SDK instances derive
+     * their clients from it by {@link OkHttpClient#newBuilder()}, so they share both.
+     *
+     * @throws IllegalStateException if transport was shut down
+     */
+    @NonNull
+    synchronized OkHttpClient getOkHttpClient() {
+        checkNotShutdown();
+        if (null == okHttpClient) {
+            final Dispatcher dispatcher = null == executorService ? new Dispatcher() : new Dispatcher(executorService);
+            okHttpClient = new OkHttpClient.Builder()
+                    .dispatcher(dispatcher)
+                    .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .writeTimeout(WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .build();
+        }
+        return okHttpClient;
+    }
+
+    /**
+     * Raises limit of concurrent requests per host of the shared dispatcher, it's never lowered, so SDK instance
+     * with lower limit doesn't restrict the others.
+     */
+    synchronized void ensureMaxRequestsPerHost(int maxRequestsPerHost) {
+        final Dispatcher dispatcher = getOkHttpClient().dispatcher();
+        if (dispatcher.getMaxRequestsPerHost() < maxRequestsPerHost) {
+            dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        }
+    }
+
+    /**
+     * Provides scheduler of background work e.g. login session refresh, its single thread is started on first use.
+     *
+     * @throws IllegalStateException if transport was shut down
+     */
+    @NonNull
+    synchronized ScheduledExecutorService getScheduler() {
+        checkNotShutdown();
+        if (null == scheduler) {
+            scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                final Thread thread = new Thread(runnable, "ContentDeliverySDK-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scheduler;
+    }
+
+    /**
+     * @throws IllegalStateException if transport was shut down
+     */
+    synchronized void checkNotShutdown() {
+        if (shutdown) {
+            throw new IllegalStateException("Transport was shut down");
+        }
+    }
+
+    /**
+     * The builder implementation for constructing Transport.
+     */
+    public static class Builder {
+        private ExecutorService executorService = null;
+
+        /**
+         * Sets {@link ExecutorService} that runs networking calls, e.g. the one shared with the rest of application.
+         * The default is {@code null}, networking calls are run by executor of OkHttp.
+         *
+         * @param executorService the {@link ExecutorService} to run networking calls, {@code null} to use the default one.
+         * @return the current {@link Builder} instance, to continue building.
+         */
+        public Builder setExecutorService(@Nullable ExecutorService executorService) {
+            this.executorService = executorService;
+            return this;
+        }
+
+        /**
+         * Get's {@link ExecutorService} that runs networking calls for transport that will be build.
+         *
+         * @see #setExecutorService(ExecutorService)
+         */
+        @Nullable
+        public ExecutorService getExecutorService() {
+            return executorService;
+        }
+
+        /**
+         * Creates new instance of {@link Transport}.
+         */
+        @NonNull
+        public Transport build() {
+            return new Transport(this);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BooleanColumnTest {
+
+    private final Gson gson = new Gson();
+
+    @Test
+    public void testParse() {
+        final DeliverySearchResponseDocument rawDoc = parse("{\"boolean1\": [true, false, null, true]}");
+        assertEquals(Arrays.asList(true, false, null, true), rawDoc.boolean1);
+        assertTrue(rawDoc.boolean1.getBoolean(3));
+        assertTrue(rawDoc.boolean1.isNull(2));
+        assertNull(rawDoc.boolean2);
+    }
+
+    @Test
+    public void testParseNullAndEmpty() {
+        final DeliverySearchResponseDocument rawDoc = parse("{\"boolean1\": null, \"boolean2\": []}");
+        assertNull(rawDoc.boolean1);
+        assertTrue(rawDoc.boolean2.isEmpty());
+        assertNull(rawDoc.boolean2.getNulls());
+    }
+
+    @Test
+    public void testParseLargeWithNulls() {
+        final List<Boolean> expected = new ArrayList<>();
+        final StringBuilder json = new StringBuilder("{\"boolean1\": [");
+        for (int i = 0; i < 200; i++) {
+            final Boolean value = i % 7 == 0 ? null : i % 3 == 0;
+            expected.add(value);
+            json.append(i > 0 ? "," : "").append(value);
+        }
+        json.append("]}");
+        assertEquals(expected, parse(json.toString()).boolean1);
+    }
+
+    @Test
+    public void testOf() {
+        final List<Boolean> source = Arrays.asList(true, null, false);
+        final BooleanColumn column = BooleanColumn.of(source);
+        assertEquals(source, column);
+        assertEquals(source.hashCode(), column.hashCode());
+        assertNull(BooleanColumn.of(Arrays.asList(true, false)).getNulls());
+        assertNull(BooleanColumn.of(null));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnly() {
+        BooleanColumn.of(Arrays.asList(true, false)).set(0, false);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetBooleanOutOfRange() {
+        BooleanColumn.of(Arrays.asList(true, false)).getBoolean(2);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testGetBooleanOfNullElement() {
+        BooleanColumn.of(Arrays.asList(true, null)).getBoolean(1);
+    }
+
+    private DeliverySearchResponseDocument parse(String json) {
+        return gson.fromJson(json, DeliverySearchResponseDocument.class);
+    }
+}
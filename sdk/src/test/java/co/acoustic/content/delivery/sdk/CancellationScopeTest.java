@@ -0,0 +1,205 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CancellationScopeTest {
+
+    @Test
+    public void testCloseCancelsCalls() {
+        final CancellationScope scope = new CancellationScope();
+        final Call<?> call1 = mock(Call.class);
+        final Call<?> call2 = mock(Call.class);
+        final Call<?> finishedCall = mock(Call.class);
+
+        assertTrue(scope.add(call1, null));
+        assertTrue(scope.add(call2, null));
+        assertTrue(scope.add(finishedCall, null));
+        scope.remove(finishedCall);
+        assertEquals(2, scope.getCallsCount());
+        assertFalse(scope.isClosed());
+
+        scope.close();
+        assertTrue(scope.isClosed());
+        assertEquals(0, scope.getCallsCount());
+        verify(call1).cancel();
+        verify(call2).cancel();
+        verify(finishedCall, never()).cancel();
+
+        scope.close();
+        verify(call1).cancel();
+    }
+
+    @Test
+    public void testAddToClosedScope() {
+        final CancellationScope scope = new CancellationScope();
+        scope.close();
+
+        final Call<?> call = mock(Call.class);
+        assertFalse(scope.add(call, null));
+        verify(call).cancel();
+        assertEquals(0, scope.getCallsCount());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAddNull() {
+        new CancellationScope().add(null, null);
+    }
+
+    @Test
+    public void testCloseCancelsDocumentsCall() {
+        final Call<DeliverySearchResponse> call = mockCall();
+        final Callback<DeliverySearchResponse>[] callback = new Callback[1];
+        final NetworkingCallsExecutor executor = new NetworkingCallsExecutor() {
+            @Override
+            public <T> void executeCall(Call<T> call, Callback<T> cb) {
+                callback[0] = (Callback<DeliverySearchResponse>) cb;
+            }
+        };
+        final CancellationScope scope = new CancellationScope();
+        final Documents.DeliverySearchResultListener<Asset> resultListener = mock(Documents.DeliverySearchResultListener.class);
+        final Documents.DeliverySearchErrorListener errorListener = mock(Documents.DeliverySearchErrorListener.class);
+
+        final Assets assets = new Assets(createDeliverySearch(call), null, new DeliverySearchQueryBuilder(), executor);
+        assets.within(scope).get();
+        assets.then(resultListener).error(errorListener);
+        assertEquals(1, scope.getCallsCount());
+
+        scope.close();
+        verify(call).cancel();
+
+        callback[0].onFailure(call, new IOException("Canceled"));
+        verify(errorListener, never()).onError(any());
+        verify(resultListener, never()).onThen(any());
+        assertSame(scope, assets.createNextPageInstance().getCancellationScope());
+    }
+
+    @Test
+    public void testDocumentsWithinClosedScopeAreNotStarted() {
+        final Call<DeliverySearchResponse> call = mockCall();
+        final NetworkingCallsExecutor executor = mock(NetworkingCallsExecutor.class);
+        final CancellationScope scope = new CancellationScope();
+        scope.close();
+
+        new Assets(createDeliverySearch(call), null, new DeliverySearchQueryBuilder(), executor)
+                .within(scope)
+                .get();
+
+        verify(call).cancel();
+        verify(executor, never()).executeCall(any(), any(), anyInt());
+    }
+
+    @Test
+    public void testFinishedDocumentsCallIsRemoved() {
+        final Call<DeliverySearchResponse> call = mockCall();
+        final NetworkingCallsExecutor executor = new NetworkingCallsExecutor() {
+            @Override
+            public <T> void executeCall(Call<T> call, Callback<T> callback) {
+                callback.onFailure(call, new IOException("Failed"));
+            }
+        };
+        final CancellationScope scope = new CancellationScope();
+
+        new Assets(createDeliverySearch(call), null, new DeliverySearchQueryBuilder(), executor)
+                .within(scope)
+                .get();
+
+        assertEquals(0, scope.getCallsCount());
+        scope.close();
+        verify(call, never()).cancel();
+    }
+
+    @Test
+    public void testSchedulerFailsCancelledPendingCalls() {
+        final PriorityRequestScheduler scheduler = new PriorityRequestScheduler(1);
+        final Callback<DeliverySearchResponse>[] runningCallback = new Callback[1];
+        final Call<DeliverySearchResponse> running = mock(Call.class);
+        doAnswer(invocation -> {
+            runningCallback[0] = invocation.getArgument(0);
+            return null;
+        }).when(running).enqueue(any());
+        final Call<DeliverySearchResponse> pending = mockCall();
+        final Callback<DeliverySearchResponse> pendingCallback = mock(Callback.class);
+
+        scheduler.executeCall(running, mock(Callback.class));
+        scheduler.executeCall(pending, pendingCallback);
+        when(pending.isCanceled()).thenReturn(true);
+
+        runningCallback[0].onFailure(running, new IOException("Failed"));
+
+        verify(pending, never()).enqueue(any());
+        verify(pendingCallback).onFailure(any(), any(IOException.class));
+        assertEquals(0, scheduler.getPendingCallsCount());
+        assertEquals(0, scheduler.getRunningCallsCount());
+    }
+
+    @Test
+    public void testCloseFailsQueuedCallsOfScope() {
+        final PriorityRequestScheduler scheduler = new PriorityRequestScheduler(1);
+        final Call<DeliverySearchResponse> running = mock(Call.class);
+        scheduler.executeCall(running, mock(Callback.class));
+        final Call<DeliverySearchResponse> queued = mockCall();
+        final CancellationScope scope = new CancellationScope();
+
+        final Assets assets = new Assets(createDeliverySearch(queued), null, new DeliverySearchQueryBuilder(), scheduler);
+        assets.within(scope);
+        final DeliverySearchFuture<DeliverySearchResult<Asset>> future = assets.getAsync();
+        assertEquals(1, scheduler.getPendingCallsCount());
+
+        scope.close();
+
+        verify(queued, atLeastOnce()).cancel();
+        verify(queued, never()).enqueue(any());
+        assertTrue(future.isCancelled());
+        assertEquals(0, scheduler.getPendingCallsCount());
+        assertEquals(1, scheduler.getRunningCallsCount());
+    }
+
+    private static Call<DeliverySearchResponse> mockCall() {
+        final Call<DeliverySearchResponse> call = mock(Call.class);
+        final boolean[] cancelled = new boolean[1];
+        doAnswer(invocation -> {
+            cancelled[0] = true;
+            return null;
+        }).when(call).cancel();
+        when(call.isCanceled()).thenAnswer(invocation -> cancelled[0]);
+        return call;
+    }
+
+    private static DeliverySearch createDeliverySearch(Call<DeliverySearchResponse> call) {
+        final NetworkingCallsProvider callsProvider = mock(NetworkingCallsProvider.class);
+        when(callsProvider.getDeliverySearchCall(any(DeliverySearchQuery.class), anyBoolean(), anyBoolean(), anyBoolean(), anyBoolean())).thenReturn(call);
+        final ContentDeliverySDK sdk = mock(ContentDeliverySDK.class);
+        when(sdk.getNetworkingCallsProvider()).thenReturn(callsProvider);
+        return new DeliverySearch(sdk);
+    }
+}
@@ -28,6 +28,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -75,6 +76,40 @@ public class ContentDeliverySDKTest {
         assertNotNull("NetworkingCallsProvider should never be null", networkingCallsProvider);
     }
 
+    @Test
+    public void testNetworkingIsCreatedLazily() throws Exception {
+        final ContentDeliverySDK sdk = ContentDeliverySDK.create(SDKConfig.builder().setApiUrl("http://test.blah.com/").build());
+        sdk.deliverySearch().contentItems().filterByName("name");
+        sdk.logout();
+        assertFalse("Networking should not be created before first use", sdk.isNetworkingCreated());
+
+        final NetworkingCallsProvider[] providers = new NetworkingCallsProvider[4];
+        final Thread[] threads = new Thread[providers.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread(() -> providers[index] = sdk.getNetworkingCallsProvider());
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(sdk.isNetworkingCreated());
+        for (NetworkingCallsProvider provider : providers) {
+            assertSame("Networking should be created once", providers[0], provider);
+        }
+    }
+
+    @Test
+    public void testWarmUpCreatesNetworking() throws Exception {
+        final ContentDeliverySDK sdk = ContentDeliverySDK.create(SDKConfig.builder().setApiUrl("http://test.blah.com/").build());
+        sdk.warmUp();
+        final long deadline = System.currentTimeMillis() + 2000;
+        while (!sdk.isNetworkingCreated() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue("Networking should be created by warm up", sdk.isNetworkingCreated());
+    }
+
     @Test
     public void testGetCookieManager() {
         final ContentDeliverySDK sdk = ContentDeliverySDK.create(SDKConfig.builder().setApiUrl("http://test.blah.com/").build());
@@ -178,7 +213,7 @@ public class ContentDeliverySDKTest {
                                 .add("cache-control", "private, no-cache")
                                 .add("expires", "Mon, 16 Mar 2020 20:42:33 GMT")
                                 .add("set-cookie", "x-ibm-dx-tenant-id=ae6a1610-fd30-4b81-8871-0f7f11f95426; Path=/api; Secure; HttpOnly")
-                                .add("set-cookie", "x-ibm-dx-user-auth=eyJraWQiOiJZS2UzV2JBVDBxY1M1aGU1SmNVViIsInR5cCI6IkpXVCIsImFsZyI6IlJTMjU2In0.eyJ0b2tlbl90eXBlIjoiQmVhcmVyIiwic3ViIjoidnNsdXBrb0Bzb2Z0c2VydmVpbmMuY29tIiwiZXh0ZW5kU2Vzc2lvbiI6ZmFsc2UsImFwaVVybCI6Imh0dHBzOi8vbXk3LmNvbnRlbnQtY21zLmNvbS9hcGkiLCJhdXRob3JpbmdVcmwiOiJodHRwczovL3d3dy5kaWdpdGFsZXhwZXJpZW5jZS5pYm0uY29tIiwidGVuYW50SWQiOiJhZTZhMTYxMC1mZDMwLTRiODEtODg3MS0wZjdmMTFmOTU0MjYiLCJwcmVmZXJyZWRfdXNlcm5hbWUiOiJ2c2x1cGtvQHNvZnRzZXJ2ZWluYy5jb20iLCJlbWFpbCI6InZzbHVwa29Ac29mdHNlcnZlaW5jLmNvbSIsImlzcyI6Imh0dHA6Ly93d3cuZGlnaXRhbGV4cGVyaWVuY2UuaWJtLmNvbS9pc3N1ZXIiLCJleHAiOjE1ODQ0MzQ1NTMsImlhdCI6MTU4NDM5MTM1M30.NO_CyllrwU6eRR1II-RmqIgoOLFaFXNpYDazO56Is0pLCkYb1LRrdjd0VIhmA24hCZISzDz2btONiO4Uar_uvgijLLX9ZsEVuDMReVR46Efja8X4U5IhD3JXfwLsypLqN-FO6ppXNcfGpFYd9qA11jSXcoY8FK9B46qLuvRRAVow4XL4_EgRBEV1TYDhXbn_YnQnunx1h1wf1LZD7I3I7b7Hx_8XHA0tHNwFkWRNIgdI2q-YjKlvfJP42xSXzIQmTO7oaRX2HaUjqiBmho_XYWKudpYaeMPD-KbH_V-BlXPewU7Z4V2RsO9n-NiGpbEbzo_OyHoKHnDAGRTe9oKD5A; Expires=Tue, 17 Mar 2020 08:42:33 GMT; Path=/api; Secure; HttpOnly")
+                                .add("set-cookie", "x-ibm-dx-user-auth=eyJraWQiOiJZS2UzV2JBVDBxY1M1aGU1SmNVViIsInR5cCI6IkpXVCIsImFsZyI6IlJTMjU2In0.eyJ0b2tlbl90eXBlIjoiQmVhcmVyIiwic3ViIjoidnNsdXBrb0Bzb2Z0c2VydmVpbmMuY29tIiwiZXh0ZW5kU2Vzc2lvbiI6ZmFsc2UsImFwaVVybCI6Imh0dHBzOi8vbXk3LmNvbnRlbnQtY21zLmNvbS9hcGkiLCJhdXRob3JpbmdVcmwiOiJodHRwczovL3d3dy5kaWdpdGFsZXhwZXJpZW5jZS5pYm0uY29tIiwidGVuYW50SWQiOiJhZTZhMTYxMC1mZDMwLTRiODEtODg3MS0wZjdmMTFmOTU0MjYiLCJwcmVmZXJyZWRfdXNlcm5hbWUiOiJ2c2x1cGtvQHNvZnRzZXJ2ZWluYy5jb20iLCJlbWFpbCI6InZzbHVwa29Ac29mdHNlcnZlaW5jLmNvbSIsImlzcyI6Imh0dHA6Ly93d3cuZGlnaXRhbGV4cGVyaWVuY2UuaWJtLmNvbS9pc3N1ZXIiLCJleHAiOjE1ODQ0MzQ1NTMsImlhdCI6MTU4NDM5MTM1M30.NO_CyllrwU6eRR1II-RmqIgoOLFaFXNpYDazO56Is0pLCkYb1LRrdjd0VIhmA24hCZISzDz2btONiO4Uar_uvgijLLX9ZsEVuDMReVR46Efja8X4U5IhD3JXfwLsypLqN-FO6ppXNcfGpFYd9qA11jSXcoY8FK9B46qLuvRRAVow4XL4_EgRBEV1TYDhXbn_YnQnunx1h1wf1LZD7I3I7b7Hx_8XHA0tHNwFkWRNIgdI2q-YjKlvfJP42xSXzIQmTO7oaRX2HaUjqiBmho_XYWKudpYaeMPD-KbH_V-BlXPewU7Z4V2RsO9n-NiGpbEbzo_OyHoKHnDAGRTe9oKD5A; Expires=Wed, 17 Mar 2100 08:42:33 GMT; Path=/api; Secure; HttpOnly")
                                 .add("strict-transport-security", "max-age=31536000; includeSubDomains")
                                 .add("x-content-type-options", "nosniff")
                                 .add("x-xss-protection", "1; mode=block")
@@ -37,7 +37,7 @@ public class ContentItemTest {
         testValue.add(true);
         testValue.add(false);
         testValue.add(true);
-        assertEquals(testValue, createContentItemToTest(rawDoc -> rawDoc.boolean1 = testValue).getBoolean1());
+        assertEquals(testValue, createContentItemToTest(rawDoc -> rawDoc.boolean1 = BooleanColumn.of(testValue)).getBoolean1());
     }
 
     @Test
@@ -51,7 +51,7 @@ public class ContentItemTest {
         testValue.add(false);
         testValue.add(false);
         testValue.add(true);
-        assertEquals(testValue, createContentItemToTest(rawDoc -> rawDoc.boolean2 = testValue).getBoolean2());
+        assertEquals(testValue, createContentItemToTest(rawDoc -> rawDoc.boolean2 = BooleanColumn.of(testValue)).getBoolean2());
     }
 
     @Test
@@ -187,7 +187,7 @@ public class ContentItemTest {
         testValue.add(10.65);
         testValue.add(192.34);
         testValue.add(23455.22);
-        assertEquals(testValue, createContentItemToTest(rawDoc -> rawDoc.number1 = testValue).getNumber1());
+        assertEquals(testValue, createContentItemToTest(rawDoc -> rawDoc.number1 = DoubleColumn.of(testValue)).getNumber1());
     }
 
     @Test
@@ -201,7 +201,7 @@ public class ContentItemTest {
         testValue.add(10.65);
         testValue.add(192.34);
         testValue.add(23455.22);
-        assertEquals(testValue, createContentItemToTest(rawDoc -> rawDoc.number2 = testValue).getNumber2());
+        assertEquals(testValue, createContentItemToTest(rawDoc -> rawDoc.number2 = DoubleColumn.of(testValue)).getNumber2());
     }
 
     @Test
@@ -314,6 +314,14 @@ public class ContentItemTest {
         assertNull(createContentItemToTest().getSortableNumber1());
     }
 
+    @Test
+    public void testGetSortableNumberNaN() throws JSONException {
+        final ContentItem contentItem = createContentItemToTest(rawDoc -> rawDoc.sortableNumber1 = Double.NaN);
+        assertEquals(Double.valueOf(Double.NaN), contentItem.getSortableNumber1());
+        assertTrue(Double.isNaN(contentItem.getSortableNumber1(42)));
+        assertNull(contentItem.getSortableNumber2());
+    }
+
     @Test
     public void testGetSortableNumber2() throws JSONException {
         final Double testValue = 192.34;
@@ -325,6 +333,74 @@ public class ContentItemTest {
         assertNull(createContentItemToTest().getSortableNumber2());
     }
 
+    @Test
+    public void testGetSortableDateMillis() throws JSONException {
+        final ContentItem contentItem = createContentItemToTest(rawDoc -> rawDoc.sortableDate1 = "2029-09-21T04:00:00Z");
+        assertEquals(1884657600000L, contentItem.getSortableDate1Millis());
+        assertEquals(Document.NO_DATE, contentItem.getSortableDate2Millis());
+    }
+
+    @Test
+    public void testGetDateMillisAt() throws JSONException {
+        final ArrayList<String> testValue = new ArrayList<>();
+        testValue.add("2029-09-21T04:00:00Z");
+        testValue.add("not a date");
+        final ContentItem contentItem = createContentItemToTest(rawDoc -> rawDoc.date2 = testValue);
+        assertEquals(1884657600000L, contentItem.getDate2MillisAt(0));
+        assertEquals(Document.NO_DATE, contentItem.getDate2MillisAt(1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetDateMillisAtNotSet() {
+        createContentItemToTest().getDate1MillisAt(0);
+    }
+
+    @Test
+    public void testGetSortableNumberWithDefault() throws JSONException {
+        final ContentItem contentItem = createContentItemToTest(rawDoc -> rawDoc.sortableNumber1 = -0.5);
+        assertEquals(-0.5, contentItem.getSortableNumber1(42), 0);
+        assertEquals(42, contentItem.getSortableNumber2(42), 0);
+    }
+
+    @Test
+    public void testGetNumberAt() throws JSONException {
+        final ArrayList<Double> testValue = new ArrayList<>();
+        testValue.add(10.65);
+        testValue.add(-192.34);
+        final ContentItem contentItem = createContentItemToTest(rawDoc -> rawDoc.number2 = DoubleColumn.of(testValue));
+        assertEquals(10.65, contentItem.getNumber2At(0), 0);
+        assertEquals(-192.34, contentItem.getNumber2At(1), 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetNumberAtNotSet() {
+        createContentItemToTest().getNumber1At(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testGetNumberAtNullElement() throws JSONException {
+        final ArrayList<Double> testValue = new ArrayList<>();
+        testValue.add(null);
+        createContentItemToTest(rawDoc -> rawDoc.number1 = DoubleColumn.of(testValue)).getNumber1At(0);
+    }
+
+    @Test
+    public void testGetBooleanAt() throws JSONException {
+        final ArrayList<Boolean> testValue = new ArrayList<>();
+        testValue.add(false);
+        testValue.add(true);
+        final ContentItem contentItem = createContentItemToTest(rawDoc -> rawDoc.boolean1 = BooleanColumn.of(testValue));
+        assertFalse(contentItem.getBoolean1At(0));
+        assertTrue(contentItem.getBoolean1At(1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetBooleanAtOutOfRange() throws JSONException {
+        final ArrayList<Boolean> testValue = new ArrayList<>();
+        testValue.add(true);
+        createContentItemToTest(rawDoc -> rawDoc.boolean2 = BooleanColumn.of(testValue)).getBoolean2At(1);
+    }
+
     @Test
     public void testGetSortableString1() throws JSONException {
         final String testValue = "test_string1";
@@ -427,8 +503,8 @@ public class ContentItemTest {
         boolean1_2.add(true);
         assertNotEquals(
                 "Two objects with different boolean1, should not be equals",
-                createContentItemToTest(rawDoc -> rawDoc.boolean1 = boolean1_1),
-                createContentItemToTest(rawDoc -> rawDoc.boolean1 = boolean1_2)
+                createContentItemToTest(rawDoc -> rawDoc.boolean1 = BooleanColumn.of(boolean1_1)),
+                createContentItemToTest(rawDoc -> rawDoc.boolean1 = BooleanColumn.of(boolean1_2))
         );
 
         final ArrayList<Boolean> boolean2_1 = new ArrayList<>();
@@ -438,8 +514,8 @@ public class ContentItemTest {
         final ArrayList<Boolean> boolean2_2 = new ArrayList<>();
         assertNotEquals(
                 "Two objects with different boolean2, should not be equals",
-                createContentItemToTest(rawDoc -> rawDoc.boolean2 = boolean2_1),
-                createContentItemToTest(rawDoc -> rawDoc.boolean2 = boolean2_2)
+                createContentItemToTest(rawDoc -> rawDoc.boolean2 = BooleanColumn.of(boolean2_1)),
+                createContentItemToTest(rawDoc -> rawDoc.boolean2 = BooleanColumn.of(boolean2_2))
         );
 
         final ArrayList<String> categories1 = new ArrayList<>();
@@ -554,8 +630,8 @@ public class ContentItemTest {
         number1_2.add(23455.22);
         assertNotEquals(
                 "Two objects with different number1, should not be equals",
-                createContentItemToTest(rawDoc -> rawDoc.number1 = number1_1),
-                createContentItemToTest(rawDoc -> rawDoc.number1 = number1_2)
+                createContentItemToTest(rawDoc -> rawDoc.number1 = DoubleColumn.of(number1_1)),
+                createContentItemToTest(rawDoc -> rawDoc.number1 = DoubleColumn.of(number1_2))
         );
 
         final ArrayList<Double> number2_1 = new ArrayList<>();
@@ -567,8 +643,8 @@ public class ContentItemTest {
         number2_2.add(192.34);
         assertNotEquals(
                 "Two objects with different number2, should not be equals",
-                createContentItemToTest(rawDoc -> rawDoc.number2 = number2_1),
-                createContentItemToTest(rawDoc -> rawDoc.number2 = number2_2)
+                createContentItemToTest(rawDoc -> rawDoc.number2 = DoubleColumn.of(number2_1)),
+                createContentItemToTest(rawDoc -> rawDoc.number2 = DoubleColumn.of(number2_2))
         );
 
         assertNotEquals(
@@ -727,8 +803,8 @@ public class ContentItemTest {
         boolean1_2.add(true);
         assertNotEquals(
                 "hashCode() should be different for objects with different boolean1.",
-                createContentItemToTest(rawDoc -> rawDoc.boolean1 = boolean1_1),
-                createContentItemToTest(rawDoc -> rawDoc.boolean1 = boolean1_2)
+                createContentItemToTest(rawDoc -> rawDoc.boolean1 = BooleanColumn.of(boolean1_1)),
+                createContentItemToTest(rawDoc -> rawDoc.boolean1 = BooleanColumn.of(boolean1_2))
         );
 
         final ArrayList<Boolean> boolean2_1 = new ArrayList<>();
@@ -738,8 +814,8 @@ public class ContentItemTest {
         final ArrayList<Boolean> boolean2_2 = new ArrayList<>();
         assertNotEquals(
                 "hashCode() should be different for objects with different boolean2.",
-                createContentItemToTest(rawDoc -> rawDoc.boolean2 = boolean2_1),
-                createContentItemToTest(rawDoc -> rawDoc.boolean2 = boolean2_2)
+                createContentItemToTest(rawDoc -> rawDoc.boolean2 = BooleanColumn.of(boolean2_1)),
+                createContentItemToTest(rawDoc -> rawDoc.boolean2 = BooleanColumn.of(boolean2_2))
         );
 
         final ArrayList<String> categories1 = new ArrayList<>();
@@ -854,8 +930,8 @@ public class ContentItemTest {
         number1_2.add(23455.22);
         assertNotEquals(
                 "hashCode() should be different for objects with different number1.",
-                createContentItemToTest(rawDoc -> rawDoc.number1 = number1_1),
-                createContentItemToTest(rawDoc -> rawDoc.number1 = number1_2)
+                createContentItemToTest(rawDoc -> rawDoc.number1 = DoubleColumn.of(number1_1)),
+                createContentItemToTest(rawDoc -> rawDoc.number1 = DoubleColumn.of(number1_2))
         );
 
         final ArrayList<Double> number2_1 = new ArrayList<>();
@@ -867,8 +943,8 @@ public class ContentItemTest {
         number2_2.add(192.34);
         assertNotEquals(
                 "hashCode() should be different for objects with different number2.",
-                createContentItemToTest(rawDoc -> rawDoc.number2 = number2_1),
-                createContentItemToTest(rawDoc -> rawDoc.number2 = number2_2)
+                createContentItemToTest(rawDoc -> rawDoc.number2 = DoubleColumn.of(number2_1)),
+                createContentItemToTest(rawDoc -> rawDoc.number2 = DoubleColumn.of(number2_2))
         );
 
         assertNotEquals(
@@ -1142,8 +1218,8 @@ public class ContentItemTest {
         testTags.add("Sights");
 
         final DeliverySearchResponseDocument raw = new DeliverySearchResponseDocument();
-        raw.boolean1 = boolean1;
-        raw.boolean2 = boolean2;
+        raw.boolean1 = BooleanColumn.of(boolean1);
+        raw.boolean2 = BooleanColumn.of(boolean2);
         raw.categories = categories;
         raw.categoryLeaves = categoryLeaves;
         raw.date1 = date1;
@@ -1153,8 +1229,8 @@ public class ContentItemTest {
         raw.isManaged = true;
         raw.location1 = location1;
         raw.locations = locations;
-        raw.number1 = number1;
-        raw.number2 = number2;
+        raw.number1 = DoubleColumn.of(number1);
+        raw.number2 = DoubleColumn.of(number2);
         raw.status = "ready";
         raw.string1 = string1;
         raw.string2 = string2;
@@ -634,8 +634,8 @@ public class ContentItemsTest {
         testTags.add("Sights");
 
         final DeliverySearchResponseDocument raw = new DeliverySearchResponseDocument();
-        raw.boolean1 = boolean1;
-        raw.boolean2 = boolean2;
+        raw.boolean1 = BooleanColumn.of(boolean1);
+        raw.boolean2 = BooleanColumn.of(boolean2);
         raw.categories = categories;
         raw.categoryLeaves = categoryLeaves;
         raw.date1 = date1;
@@ -645,8 +645,8 @@ public class ContentItemsTest {
         raw.isManaged = true;
         raw.location1 = location1;
         raw.locations = locations;
-        raw.number1 = number1;
-        raw.number2 = number2;
+        raw.number1 = DoubleColumn.of(number1);
+        raw.number2 = DoubleColumn.of(number2);
         raw.status = "ready";
         raw.string1 = string1;
         raw.string2 = string2;
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+
+public class DeliverySearchFutureTest {
+
+    @Test
+    public void testComplete() throws Exception {
+        final DeliverySearchFuture<String> future = new DeliverySearchFuture<>();
+        final List<String> notified = new ArrayList<>();
+        future.addCompletionListener((result, error) -> notified.add("first:" + result));
+        future.addCompletionListener((result, error) -> notified.add("second:" + result));
+        assertFalse(future.isDone());
+
+        assertTrue(future.complete("result"));
+        assertFalse(future.complete("other"));
+        assertFalse(future.completeExceptionally(new IOException()));
+
+        assertTrue(future.isDone());
+        assertFalse(future.isCancelled());
+        assertEquals("result", future.get());
+        assertEquals("result", future.get(0, TimeUnit.MILLISECONDS));
+        assertEquals(Arrays.asList("first:result", "second:result"), notified);
+
+        future.addCompletionListener((result, error) -> notified.add("late:" + result));
+        assertEquals("late:result", notified.get(2));
+    }
+
+    @Test
+    public void testCompleteExceptionally() throws Exception {
+        final DeliverySearchFuture<String> future = new DeliverySearchFuture<>();
+        final IOException failure = new IOException("failure");
+        final Throwable[] notified = new Throwable[1];
+        future.addCompletionListener((result, error) -> notified[0] = error);
+
+        assertTrue(future.completeExceptionally(failure));
+        assertSame(failure, notified[0]);
+        try {
+            future.get();
+            fail("Failure should be thrown");
+        } catch (ExecutionException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        final DeliverySearchFuture<String> future = new DeliverySearchFuture<>();
+        final int[] hookRuns = new int[1];
+        final Throwable[] notified = new Throwable[1];
+        future.setCancellationHook(() -> hookRuns[0]++);
+        future.addCompletionListener((result, error) -> notified[0] = error);
+
+        assertTrue(future.cancel(false));
+        assertFalse(future.cancel(false));
+        assertFalse(future.complete("result"));
+
+        assertTrue(future.isCancelled());
+        assertTrue(future.isDone());
+        assertEquals(1, hookRuns[0]);
+        assertTrue(notified[0] instanceof CancellationException);
+        try {
+            future.get();
+            fail("Cancellation should be thrown");
+        } catch (CancellationException expected) {
+        }
+    }
+
+    @Test
+    public void testCancelCompleted() {
+        final DeliverySearchFuture<String> future = new DeliverySearchFuture<>();
+        future.complete("result");
+        assertFalse(future.cancel(true));
+        assertFalse(future.isCancelled());
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void testGetTimeout() throws Exception {
+        new DeliverySearchFuture<String>().get(10, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testGetWaitsForCompletion() throws Exception {
+        final DeliverySearchFuture<String> future = new DeliverySearchFuture<>();
+        final Thread completer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+            }
+            future.complete("result");
+        });
+        completer.start();
+        assertEquals("result", future.get(10, TimeUnit.SECONDS));
+        completer.join();
+    }
+
+    @Test
+    public void testThenApply() throws Exception {
+        final List<Runnable> dispatched = new ArrayList<>();
+        final DeliverySearchFuture<String> future = new DeliverySearchFuture<>(dispatched::add);
+        final DeliverySearchFuture<Integer> mapped = future.thenApply(String::length);
+
+        future.complete("result");
+        assertFalse("Mapper should run on callback executor", mapped.isDone());
+        assertEquals(1, dispatched.size());
+        dispatched.get(0).run();
+
+        assertEquals(Integer.valueOf(6), mapped.get(0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testThenApplyFailure() throws Exception {
+        final DeliverySearchFuture<String> future = new DeliverySearchFuture<>();
+        final IOException failure = new IOException("failure");
+        final DeliverySearchFuture<String> mapped = future.thenApply(value -> {
+            throw failure;
+        });
+        final DeliverySearchFuture<String> mappedTwice = mapped.thenApply(value -> value + "!");
+
+        future.complete("result");
+
+        try {
+            mappedTwice.get(0, TimeUnit.SECONDS);
+            fail("Failure should be thrown");
+        } catch (ExecutionException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    @Test
+    public void testThenApplyCancellation() {
+        final DeliverySearchFuture<String> future1 = new DeliverySearchFuture<>();
+        final DeliverySearchFuture<String> mapped1 = future1.thenApply(value -> value + "!");
+        assertTrue(mapped1.cancel(false));
+        assertTrue(future1.isCancelled());
+
+        final DeliverySearchFuture<String> future2 = new DeliverySearchFuture<>();
+        final DeliverySearchFuture<String> mapped2 = future2.thenApply(value -> value + "!");
+        assertTrue(future2.cancel(false));
+        assertTrue(mapped2.isCancelled());
+    }
+
+    @Test
+    public void testThenCompose() throws Exception {
+        final DeliverySearchFuture<String> future = new DeliverySearchFuture<>();
+        final DeliverySearchFuture<String> next = new DeliverySearchFuture<>();
+        final List<String> mapped = new ArrayList<>();
+        final DeliverySearchFuture<String> composed = future.thenCompose(value -> {
+            mapped.add(value);
+            return next;
+        });
+
+        future.complete("first");
+        assertEquals(Collections.singletonList("first"), mapped);
+        assertFalse(composed.isDone());
+        next.complete("second");
+
+        assertEquals("second", composed.get(0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testThenComposeCancelsNextFuture() {
+        final DeliverySearchFuture<String> future = new DeliverySearchFuture<>();
+        final DeliverySearchFuture<String> next = new DeliverySearchFuture<>();
+        final DeliverySearchFuture<String> composed = future.thenCompose(value -> next);
+
+        future.complete("first");
+        assertTrue(composed.cancel(false));
+
+        assertTrue(next.isCancelled());
+    }
+
+    @Test
+    public void testExceptionally() throws Exception {
+        final DeliverySearchFuture<String> failed = new DeliverySearchFuture<>();
+        final DeliverySearchFuture<String> recovered = failed.exceptionally(Throwable::getMessage);
+        failed.completeExceptionally(new IOException("failure"));
+        assertEquals("failure", recovered.get(0, TimeUnit.SECONDS));
+
+        final DeliverySearchFuture<String> succeeded = new DeliverySearchFuture<>();
+        final DeliverySearchFuture<String> passed = succeeded.exceptionally(error -> {
+            throw new AssertionError("Mapper should not be called");
+        });
+        succeeded.complete("result");
+        assertEquals("result", passed.get(0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAllOf() throws Exception {
+        final DeliverySearchFuture<String> future1 = new DeliverySearchFuture<>();
+        final DeliverySearchFuture<String> future2 = new DeliverySearchFuture<>();
+        final DeliverySearchFuture<List<String>> combined = DeliverySearchFuture.allOf(0, TimeUnit.SECONDS, Arrays.asList(future1, future2));
+
+        future2.complete("second");
+        assertFalse(combined.isDone());
+        future1.complete("first");
+
+        assertEquals(Arrays.asList("first", "second"), combined.get(0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAllOfEmpty() throws Exception {
+        final DeliverySearchFuture<List<String>> combined = DeliverySearchFuture.allOf(1, TimeUnit.SECONDS, Collections.<DeliverySearchFuture<String>>emptyList());
+        assertEquals(Collections.emptyList(), combined.get(0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAllOfFailureCancelsOthers() throws Exception {
+        final DeliverySearchFuture<String> future1 = new DeliverySearchFuture<>();
+        final DeliverySearchFuture<String> future2 = new DeliverySearchFuture<>();
+        final DeliverySearchFuture<List<String>> combined = DeliverySearchFuture.allOf(0, TimeUnit.SECONDS, Arrays.asList(future1, future2));
+
+        final IOException failure = new IOException("failure");
+        future1.completeExceptionally(failure);
+
+        assertTrue(future2.isCancelled());
+        try {
+            combined.get(0, TimeUnit.SECONDS);
+            fail("Failure should be thrown");
+        } catch (ExecutionException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    @Test
+    public void testAllOfDeadline() throws Exception {
+        final DeliverySearchFuture<String> completed = new DeliverySearchFuture<>();
+        final DeliverySearchFuture<String> pending = new DeliverySearchFuture<>();
+        final DeliverySearchFuture<List<String>> combined = DeliverySearchFuture.allOf(50, TimeUnit.MILLISECONDS, Arrays.asList(completed, pending));
+        completed.complete("completed");
+
+        try {
+            combined.get(10, TimeUnit.SECONDS);
+            fail("Deadline should be reported");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        // remaining futures are cancelled by the deadline thread right after combined future fails
+        final long startNanos = System.nanoTime();
+        while (!pending.isCancelled()) {
+            assertTrue("Pending future should be cancelled", System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(10));
+            Thread.sleep(1);
+        }
+        assertFalse(completed.isCancelled());
+    }
+
+    @Test
+    public void testAllOfCancel() {
+        final DeliverySearchFuture<String> future1 = new DeliverySearchFuture<>();
+        final DeliverySearchFuture<String> future2 = new DeliverySearchFuture<>();
+        final DeliverySearchFuture<List<String>> combined = DeliverySearchFuture.allOf(0, TimeUnit.SECONDS, Arrays.asList(future1, future2));
+
+        assertTrue(combined.cancel(false));
+        assertTrue(future1.isCancelled());
+        assertTrue(future2.isCancelled());
+    }
+}
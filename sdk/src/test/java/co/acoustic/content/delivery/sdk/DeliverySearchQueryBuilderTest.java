@@ -18,6 +18,11 @@ import android.os.Parcel;
 
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
 import static org.junit.Assert.*;
 
 public class DeliverySearchQueryBuilderTest {
@@ -620,4 +625,115 @@ public class DeliverySearchQueryBuilderTest {
         assertFalse(builder91.equals(builder92));
         assertNotEquals(builder91.hashCode(), builder92.hashCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testBuildReusesCompiledQuery() {
+        DeliverySearchQueryBuilder builder = new DeliverySearchQueryBuilder()
+                .query(testQuery)
+                .filterQuery("section", "0")
+                .rows(10);
+
+        DeliverySearchQuery query = builder.build();
+        assertSame(query, builder.build());
+
+        builder.setIncludeDraft(false)
+                .setIncludeRetired(false)
+                .setIncludeAllFields(true)
+                .fieldList("name");
+        DeliverySearchQuery withField = builder.build();
+        assertNotSame(query, withField);
+        assertSame(withField, builder.fieldList("name").build());
+    }
+
+    @Test
+    public void testBuildAfterChange() {
+        DeliverySearchQueryBuilder builder = new DeliverySearchQueryBuilder();
+        DeliverySearchQuery query = builder.build();
+
+        assertEquals(testQuery, builder.query(testQuery).build().q);
+        assertTrue(builder.filterQuery("section:0").build().fq.contains("section:0"));
+        assertEquals("name asc", builder.sort("name", true).build().sort);
+        assertEquals(Integer.valueOf(5), builder.start(5).build().start);
+        assertEquals(Integer.valueOf(10), builder.rows(10).build().rows);
+        assertTrue(builder.setIncludeDraft(true).build().fq.contains("status:ready OR status:draft OR draftStatus:*"));
+        assertFalse(builder.setIncludeAllFields(false).build().fl.contains("*"));
+        assertTrue(builder.setIncludeRetired(true).build().fq.contains("status:ready OR status:draft OR draftStatus:* OR status:retired"));
+
+        assertNotEquals(query, builder.build());
+    }
+
+    @Test
+    public void testParcelableWithFacets() {
+        DeliverySearchQueryBuilder source = new DeliverySearchQueryBuilder()
+                .filterQuery("classification", "asset")
+                .start(0)
+                .rows(10)
+                .facetField("assetType")
+                .facetQuery("tags:featured")
+                .facetRange("lastModified", "NOW/DAY-7DAYS", "NOW/DAY+1DAY", "+1DAY");
+
+        Parcel parcel = MockParcel.obtain();
+        source.writeToParcel(parcel, source.describeContents());
+        parcel.setDataPosition(0);
+
+        DeliverySearchQueryBuilder createdFromParcel = DeliverySearchQueryBuilder.CREATOR.createFromParcel(parcel);
+        assertEquals(source, createdFromParcel);
+        assertEquals(source.buildFacets(), createdFromParcel.buildFacets());
+    }
+
+    @Test
+    public void testFacetsInvalidateCompiledQueries() {
+        DeliverySearchQueryBuilder builder = new DeliverySearchQueryBuilder().facetField("assetType");
+        final DeliverySearchQuery query = builder.build();
+        final DeliverySearchQuery facetQuery = builder.buildFacets();
+        assertSame(facetQuery, builder.buildFacets());
+
+        builder.facetField("assetType");
+        assertSame("Duplicate facet field should not change the query", facetQuery, builder.buildFacets());
+
+        builder.facetQuery("tags:featured");
+        assertNotSame(facetQuery, builder.buildFacets());
+        assertEquals("Facets should not change query of documents", query, builder.build());
+    }
+
+    @Test
+    public void testReadSnapshotVersion1() throws IOException {
+        DeliverySearchQueryBuilder source = new DeliverySearchQueryBuilder()
+                .query("name:Canada*")
+                .filterQuery("type", "Article")
+                .sort("name", true)
+                .rows(10);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final SnapshotWriter writer = new SnapshotWriter(out);
+        source.writeSnapshot(writer);
+        writer.flush();
+        // version 1 snapshot is the same except for trailing sizes of facet fields, queries and ranges
+        final byte[] snapshot = out.toByteArray();
+        final byte[] version1Snapshot = Arrays.copyOf(snapshot, snapshot.length - 3);
+
+        final DeliverySearchQueryBuilder restored =
+                new DeliverySearchQueryBuilder(new SnapshotReader(new ByteArrayInputStream(version1Snapshot)), 1);
+        assertEquals(source, restored);
+    }
+
+    @Test
+    public void testCopyWithStart() {
+        DeliverySearchQueryBuilder source = new DeliverySearchQueryBuilder()
+                .filterQuery("classification", "asset")
+                .fieldList("name")
+                .sort("name", true)
+                .start(0)
+                .rows(10);
+        final DeliverySearchQuery query = source.build();
+
+        DeliverySearchQueryBuilder copy = source.copyWithStart(10);
+        final DeliverySearchQuery copyQuery = copy.build();
+
+        assertEquals(Integer.valueOf(10), copy.getStart());
+        assertEquals(new DeliverySearchQueryBuilder(source).start(10).build(), copyQuery);
+        assertSame("Encoded parameters should be reused", query.encodedFq, copyQuery.encodedFq);
+        assertSame("Encoded parameters should be reused", query.encodedFl, copyQuery.encodedFl);
+        assertSame(query, source.build());
+    }
+}
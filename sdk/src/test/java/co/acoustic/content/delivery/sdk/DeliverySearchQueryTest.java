@@ -17,6 +17,8 @@ package co.acoustic.content.delivery.sdk;
 import org.junit.Before;
 import org.junit.Test;
 
+import okhttp3.HttpUrl;
+
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -176,6 +178,109 @@ public class DeliverySearchQueryTest {
         assertNotEquals("hash codes should be equals", hashCodeToCompare, query.hashCode());
     }
 
+    @Test
+    public void testEncodedQuery() {
+        final DeliverySearchQuery query = createBuilderWithTestData(testQuery, testFQ, testSort, testStart, testRows).build();
+
+        assertEquals("q=classification%3Aasset" +
+                        "&fq=popularity%3A%5B10%20TO%20*%5D&fq=section%3A0" +
+                        "&sort=name%20asc%2Cclassification%20desc" +
+                        "&fl=*&fl=document%3A%5Bjson%5D" +
+                        "&start=10&rows=5",
+                query.getEncodedQuery());
+        assertEquals(query.getEncodedQuery(), toHttpUrl(query).encodedQuery());
+    }
+
+    @Test
+    public void testId() {
+        final DeliverySearchQuery query = DeliverySearchQuery.builder().filterQuery("a:1").filterQuery("b:2").build();
+        final DeliverySearchQuery reordered = DeliverySearchQuery.builder().filterQuery("b:2").filterQuery("a:1").build();
+
+        assertEquals(32, query.getId().length());
+        assertSame(query.getId(), query.getId());
+        assertEquals(query.getId(), reordered.getId());
+        assertNotEquals(query.getId(), query.withStart(10).getId());
+    }
+
+    @Test
+    public void testEncodedQueryOmitsNulls() {
+        assertEquals("q=*%3A*&fl=*&fl=document%3A%5Bjson%5D", DeliverySearchQuery.builder().build().getEncodedQuery());
+    }
+
+    @Test
+    public void testEncodeMatchesHttpUrl() {
+        final String[] values = new String[] {
+                "", "name:test", "a b+c", "100%", "a&b=c#d", "\"quoted\"", "tab\tnew\nline", "\u007f",
+                "caf\u00e9", "\u4e2d\u6587", "\ud83d\ude00", "[* TO NOW]", "a|b{c}^`~"
+        };
+        for (String value : values) {
+            final String expected = new HttpUrl.Builder()
+                    .scheme("https")
+                    .host("localhost")
+                    .addQueryParameter("v", value)
+                    .build()
+                    .encodedQuery();
+            assertEquals(value, expected, "v=" + DeliverySearchQuery.encode(value));
+        }
+        assertNull(DeliverySearchQuery.encode(null));
+    }
+
+    @Test
+    public void testEncodeReturnsSameInstanceWhenNothingToEncode() {
+        final String value = "classification.asset*";
+        assertSame(value, DeliverySearchQuery.encode(value));
+    }
+
+    @Test
+    public void testWithStart() {
+        final DeliverySearchQuery query = createBuilderWithTestData(testQuery, testFQ, testSort, testStart, testRows).build();
+
+        assertSame(query, query.withStart(testStart));
+
+        final DeliverySearchQuery nextPage = query.withStart(testStart + testRows);
+        assertEquals(createBuilderWithTestData(testQuery, testFQ, testSort, testStart + testRows, testRows).build(), nextPage);
+        assertEquals(Integer.valueOf(testStart + testRows), nextPage.start);
+        assertSame(query.encodedFq, nextPage.encodedFq);
+        assertSame(query.encodedFl, nextPage.encodedFl);
+        assertTrue(nextPage.getEncodedQuery().endsWith("&start=15&rows=5"));
+
+        final DeliverySearchQuery noStart = query.withStart(null);
+        assertNull(noStart.start);
+        assertEquals(createBuilderWithTestData(testQuery, testFQ, testSort, null, testRows).build(), noStart);
+    }
+
+    @Test
+    public void testImmutable() {
+        final DeliverySearchQuery query = createBuilderWithTestData(testQuery, testFQ, testSort, testStart, testRows).build();
+        try {
+            query.fq.add("name:test");
+            fail("fq should be unmodifiable");
+        } catch (UnsupportedOperationException ignored) {
+        }
+        try {
+            query.encodedFl.clear();
+            fail("encodedFl should be unmodifiable");
+        } catch (UnsupportedOperationException ignored) {
+        }
+    }
+
+    private static HttpUrl toHttpUrl(DeliverySearchQuery query) {
+        final HttpUrl.Builder builder = new HttpUrl.Builder()
+                .scheme("https")
+                .host("localhost")
+                .addQueryParameter("q", query.q);
+        for (String fq : query.fq) {
+            builder.addQueryParameter("fq", fq);
+        }
+        builder.addQueryParameter("sort", query.sort);
+        for (String fl : query.fl) {
+            builder.addQueryParameter("fl", fl);
+        }
+        builder.addQueryParameter("start", String.valueOf(query.start));
+        builder.addQueryParameter("rows", String.valueOf(query.rows));
+        return builder.build();
+    }
+
     private DeliverySearchQueryBuilder createBuilderWithTestData(String testQuery, List<String> testFQ, Map<String, Boolean> testSort, Integer testStart, Integer testRows) {
         final DeliverySearchQueryBuilder builder = DeliverySearchQuery.builder();
         if (testQuery != null) {
@@ -199,4 +304,36 @@ public class DeliverySearchQueryTest {
         }
         return builder;
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFacetQuery() {
+        final DeliverySearchQuery query = createBuilderWithTestData(testQuery, testFQ, testSort, testStart, testRows)
+                .facetField("assetType")
+                .facetQuery("tags:featured")
+                .facetRange("lastModified", "NOW/DAY-7DAYS", "NOW/DAY+1DAY", "+1DAY")
+                .buildFacets();
+
+        assertEquals("q=classification%3Aasset&fq=popularity%3A%5B10%20TO%20*%5D&fq=section%3A0&rows=0&facet=true"
+                        + "&facet.field=assetType&facet.query=tags%3Afeatured&facet.range=lastModified"
+                        + "&f.lastModified.facet.range.start=NOW%2FDAY-7DAYS&f.lastModified.facet.range.end=NOW%2FDAY%2B1DAY"
+                        + "&f.lastModified.facet.range.gap=%2B1DAY",
+                query.getEncodedQuery());
+        assertTrue(query.fl.isEmpty());
+        assertNull(query.sort);
+        assertNull(query.start);
+        assertEquals(Integer.valueOf(0), query.rows);
+    }
+
+    @Test
+    public void testFacetsAreNotPartOfQuery() {
+        final DeliverySearchQuery query = createBuilderWithTestData(testQuery, testFQ, testSort, testStart, testRows).build();
+        final DeliverySearchQuery queryWithFacets = createBuilderWithTestData(testQuery, testFQ, testSort, testStart, testRows)
+                .facetField("assetType")
+                .build();
+
+        assertEquals(query, queryWithFacets);
+        assertEquals(hashCodeToCompare, queryWithFacets.hashCode());
+        assertEquals(query.getEncodedQuery(), queryWithFacets.getEncodedQuery());
+        assertNotEquals(query, createBuilderWithTestData(testQuery, testFQ, testSort, testStart, testRows).buildFacets());
+    }
+}
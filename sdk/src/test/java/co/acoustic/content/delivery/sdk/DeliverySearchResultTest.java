@@ -23,6 +23,7 @@ import java.util.List;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -83,6 +84,7 @@ public class DeliverySearchResultTest {
          */
         final DeliverySearch deliverySearch = mock(DeliverySearch.class);
         when(deliverySearch.createDocuments(any(Documents.State.class))).thenReturn(assets);
+        doReturn(documents).when(deliverySearch).getDocuments(sourceState);
 
         final DeliverySearchResult<Asset> restored = new DeliverySearchResult<>(deliverySearch, sourceState);
 
@@ -168,6 +170,23 @@ public class DeliverySearchResultTest {
         assertTrue(nextPage instanceof Assets);
     }
 
+    @Test
+    public void testNextPageKeepsQueryOptions() {
+        Assets assets = ContentDeliverySDK
+                .create(SDKConfig.builder().setApiUrl("https://my7.test.com/").build())
+                .deliverySearch()
+                .assets();
+        assets.rows(5);
+        assets.setIncludeDraft(true);
+
+        DeliverySearchResult<Asset> deliverySearchResult = new DeliverySearchResult<>(20, assets, new ArrayList<>());
+
+        final Documents.State nextPageState = deliverySearchResult.<Assets>nextPage().getState();
+        assertTrue(nextPageState.isIncludeDraft());
+        assertEquals(Integer.valueOf(5), nextPageState.getDeliverySearchQueryBuilder().getStart());
+        assertEquals(Integer.valueOf(5), nextPageState.getDeliverySearchQueryBuilder().getRows());
+    }
+
     @Test
     public void testPreviousPage() {
         Assets assets = ContentDeliverySDK
@@ -14,14 +14,28 @@
 
 package co.acoustic.content.delivery.sdk;
 
+import android.os.Parcel;
+
 import org.junit.Test;
 
+import java.net.HttpURLConnection;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 public class DeliverySearchTest {
 
@@ -185,4 +199,117 @@ public class DeliverySearchTest {
                 )
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRestoreDetachedDeliverySearchResult() {
+        final ContentDeliverySDK sdk = ContentDeliverySDK.create(SDKConfig.builder().setApiUrl("http://test.blah.com/").build());
+        final List<Asset> documents = createTestAssets();
+        final DeliverySearchResult<Asset> source = new DeliverySearchResult<>(1, sdk.deliverySearch().assets(), documents);
+
+        final DeliverySearchResult.State detachedState = source.getDetachedState();
+        final Parcel parcel = MockParcel.obtain();
+        detachedState.writeToParcel(parcel, detachedState.describeContents());
+        parcel.setDataPosition(0);
+        verify(parcel, never()).writeTypedList(any());
+
+        final DeliverySearchResult.State restoredState = DeliverySearchResult.State.CREATOR.createFromParcel(parcel);
+        assertFalse("Detached state should not hold documents", restoredState.hasDocuments());
+        assertEquals(detachedState, restoredState);
+        assertEquals("Documents of detached state should be kept in memory", documents, sdk.deliverySearch().getDocuments(restoredState));
+
+        final List<DeliverySearchResult<Asset>> results = new ArrayList<>();
+        final Assets restored = sdk.deliverySearch().restoreDeliverySearchResult(restoredState);
+        restored.then(results::add);
+
+        assertEquals(1, results.size());
+        assertEquals(documents, results.get(0).getDocuments());
+        assertEquals(1, results.get(0).getNumFound());
+    }
+
+    @Test
+    public void testRepeatedDetachedStatesShareStoreEntry() {
+        final ContentDeliverySDK sdk = ContentDeliverySDK.create(SDKConfig.builder().setApiUrl("http://test.blah.com/").build());
+        final DeliverySearchResult<Asset> other = new DeliverySearchResult<>(1, sdk.deliverySearch().assets(), createTestAssets());
+        final DeliverySearchResult.State otherState = other.getDetachedState();
+
+        final DeliverySearchResult<Asset> source = new DeliverySearchResult<>(1, sdk.deliverySearch().assets(), createTestAssets());
+        final DeliverySearchResult.State detachedState = source.getDetachedState();
+        for (int i = 0; i < DeliverySearchResultStore.MAX_ENTRIES * 2; i++) {
+            assertEquals(detachedState, source.getDetachedState());
+        }
+
+        final Parcel parcel = MockParcel.obtain();
+        otherState.writeToParcel(parcel, otherState.describeContents());
+        parcel.setDataPosition(0);
+        assertNotNull("Repeated detached states should not evict other results",
+                sdk.deliverySearch().getDocuments(DeliverySearchResult.State.CREATOR.createFromParcel(parcel)));
+    }
+
+    @Test
+    public void testSdkInstancesDoNotEvictDetachedStatesOfEachOther() {
+        final ContentDeliverySDK sdk = ContentDeliverySDK.create(SDKConfig.builder().setApiUrl("http://test.blah.com/").build());
+        final ContentDeliverySDK otherSdk = ContentDeliverySDK.create(SDKConfig.builder().setApiUrl("http://other.blah.com/").build());
+        final DeliverySearchResult.State detachedState = new DeliverySearchResult<>(1, sdk.deliverySearch().assets(), createTestAssets())
+                .getDetachedState();
+
+        for (int i = 0; i < DeliverySearchResultStore.MAX_ENTRIES * 2; i++) {
+            new DeliverySearchResult<>(1, otherSdk.deliverySearch().assets(), createTestAssets()).getDetachedState();
+        }
+
+        assertNotNull(sdk.deliverySearch().getDocuments(detachedState));
+        assertNull("Detached state should be restored by SDK instance that created it", otherSdk.deliverySearch().getDocuments(detachedState));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCreateDeliverySearchResultFromEvictedState() {
+        final ContentDeliverySDK sdk = ContentDeliverySDK.create(SDKConfig.builder().setApiUrl("http://test.blah.com/").build());
+        final DeliverySearchResult.State detachedState = new DeliverySearchResult<>(1, sdk.deliverySearch().assets(), createTestAssets())
+                .getDetachedState();
+
+        final Parcel parcel = MockParcel.obtain();
+        detachedState.writeToParcel(parcel, detachedState.describeContents());
+        parcel.setDataPosition(0);
+        sdk.getResultStore().clear();
+
+        final DeliverySearchResult.State restoredState = DeliverySearchResult.State.CREATOR.createFromParcel(parcel);
+        assertFalse(restoredState.hasDocuments());
+        sdk.deliverySearch().createDeliverySearchResult(restoredState);
+    }
+
+    @Test
+    public void testRestoreEvictedDeliverySearchResultRefetches() throws Exception {
+        final MockWebServer mockWebServer = new MockWebServer();
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(ResourceReader.read("assets_default_success_response.json")));
+        mockWebServer.start();
+        try {
+            final ContentDeliverySDK sdk = ContentDeliverySDK.create(SDKConfig.builder().setApiUrl(mockWebServer.url("/").url().toString()).build());
+            final DeliverySearchResult.State detachedState = new DeliverySearchResult<>(1, sdk.deliverySearch().assets(), createTestAssets())
+                    .getDetachedState();
+
+            final Parcel parcel = MockParcel.obtain();
+            detachedState.writeToParcel(parcel, detachedState.describeContents());
+            parcel.setDataPosition(0);
+            sdk.getResultStore().clear();
+
+            final CountDownLatch resultLatch = new CountDownLatch(1);
+            final Assets restored = sdk.deliverySearch().restoreDeliverySearchResult(DeliverySearchResult.State.CREATOR.createFromParcel(parcel));
+            restored.then(result -> resultLatch.countDown());
+
+            assertTrue("Evicted result should be fetched again", resultLatch.await(5, TimeUnit.SECONDS));
+            assertEquals(1, mockWebServer.getRequestCount());
+        } finally {
+            mockWebServer.shutdown();
+        }
+    }
+
+    private static List<Asset> createTestAssets() {
+        final DeliverySearchResponseDocument rawDoc = new DeliverySearchResponseDocument();
+        rawDoc.classification = "asset";
+        rawDoc.id = "assetId";
+        final List<Asset> documents = new ArrayList<>();
+        documents.add(new Asset(rawDoc));
+        return documents;
+    }
+}
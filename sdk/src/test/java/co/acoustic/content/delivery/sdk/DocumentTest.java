@@ -52,6 +52,37 @@ public class DocumentTest {
         assertNull(createDocumentToTest().getCreated());
     }
 
+    @Test
+    public void testGetCreatedMillis() {
+        final Document document = createDocumentToTest(rawDoc -> rawDoc.created = "2020-02-06T19:39:33.605Z");
+        assertEquals(1581017973605L, document.getCreatedMillis());
+        assertEquals("cached value should be returned", 1581017973605L, document.getCreatedMillis());
+    }
+
+    @Test
+    public void testGetCreatedMillisNull() {
+        assertEquals(Document.NO_DATE, createDocumentToTest().getCreatedMillis());
+    }
+
+    @Test
+    public void testGetLastModifiedMillis() {
+        assertEquals(1581017998416L, createDocumentToTest(rawDoc -> rawDoc.lastModified = "2020-02-06T19:39:58.416Z").getLastModifiedMillis());
+    }
+
+    @Test
+    public void testGetLastModifiedMillisMalformed() {
+        assertEquals(Document.NO_DATE, createDocumentToTest(rawDoc -> rawDoc.lastModified = "yesterday").getLastModifiedMillis());
+    }
+
+    @Test
+    public void testMillisNotPartOfEquals() {
+        final Document parsed = createDocumentToTest(rawDoc -> rawDoc.created = "2020-02-06T19:39:33.605Z");
+        parsed.getCreatedMillis();
+        final Document notParsed = createDocumentToTest(rawDoc -> rawDoc.created = "2020-02-06T19:39:33.605Z");
+        assertEquals(notParsed, parsed);
+        assertEquals(notParsed.hashCode(), parsed.hashCode());
+    }
+
     @Test
     public void testGetCreatorId() {
         final String testValue = "30834b6f-0a47-4ef1-ac68-61ee5a2b7fbc";
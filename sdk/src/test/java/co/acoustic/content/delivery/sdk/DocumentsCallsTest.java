@@ -18,14 +18,31 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
 import java.net.HttpURLConnection;
 import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
 import retrofit2.Call;
 import retrofit2.Callback;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -38,6 +55,7 @@ import static org.mockito.ArgumentMatchers.any;
 
 public class DocumentsCallsTest extends BaseDocumentsTest {
     private static final String SUCCESSFUL_ASSETS_GET_RESPONSE_FILE_NAME = "assets_default_success_response.json";
+    private static final String SUCCESSFUL_FACETS_RESPONSE_FILE_NAME = "assets_facets_success_response.json";
     private static final String SUCCESSFUL_GET_WITHOUT_CLASSIFICATION_RESPONSE_FILE_NAME = "assets_without_classification_success_response.json";
     private static final String ACCESS_CONTROL_ERROR_RESPONSE_FILE_NAME = "access_controll_error_response.json";
     private static final String ACCESS_CONTROL_ERROR_WITHOUT_MESSAGE_RESPONSE_FILE_NAME = "access_controll_error_response.json";
@@ -383,4 +401,302 @@ public class DocumentsCallsTest extends BaseDocumentsTest {
                 .error(error -> assertTrue("In this case error should be instance of RuntimeException", error instanceof RuntimeException));
     }
 
+    @Test
+    public void testParseMetrics() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(ResourceReader.read(SUCCESSFUL_ASSETS_GET_RESPONSE_FILE_NAME)));
+
+        final SDKConfig sdkConfig = SDKConfig.builder().setApiUrl(mockWebServer.url("/").url().toString()).build();
+        final ContentDeliverySDK sdk = new ContentDeliverySDK(sdkConfig, new DataEncoder());
+
+        final List<ParseMetrics> reportedMetrics = new ArrayList<>();
+        sdk.setMetricsListener(new ContentDeliverySDK.MetricsListener() {
+            @Override
+            public void onNetworkMetrics(@NonNull NetworkMetrics metrics) {
+            }
+
+            @Override
+            public void onParseMetrics(@NonNull ParseMetrics metrics) {
+                reportedMetrics.add(metrics);
+            }
+        });
+
+        final List<Asset> receivedAssets = new ArrayList<>();
+        new Assets(sdk.deliverySearch(), null, new DeliverySearchQueryBuilder(), new BlockingNetworkingCallsExecutor())
+                .get()
+                .then(result -> receivedAssets.addAll(result.getDocuments()))
+                .error(error -> fail("Code shouldn't came to this point"));
+
+        assertEquals("Parse metrics should be reported once per response", 1, reportedMetrics.size());
+
+        final ParseMetrics metrics = reportedMetrics.get(0);
+        assertEquals("asset", metrics.getClassification());
+        assertEquals(receivedAssets.size(), metrics.getDocumentCount());
+        assertNotNull(metrics.getDeliverySearchQuery());
+        assertEquals(metrics.getDeliverySearchQuery().getId(), metrics.getQueryId());
+        assertTrue(metrics.getConversionNanos() >= 0);
+        assertTrue(metrics.getMappingNanos() >= 0);
+        assertTrue(metrics.getDispatchQueueNanos() >= 0);
+    }
+
+    @Test
+    public void testParseMetricsNotMeasuredWithoutListener() throws Exception {
+        final Converter.Factory delegate = GsonConverterFactory.create();
+        final TimingConverterFactory factory = new TimingConverterFactory(delegate, new MetricsDispatcher());
+        final Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(mockWebServer.url("/"))
+                .addConverterFactory(factory)
+                .build();
+
+        final Converter<ResponseBody, ?> converter = factory.responseBodyConverter(DeliverySearchResponse.class, new Annotation[0], retrofit);
+        final DeliverySearchResponse response = (DeliverySearchResponse) converter.convert(
+                ResponseBody.create(MediaType.get("application/json"), ResourceReader.read(SUCCESSFUL_ASSETS_GET_RESPONSE_FILE_NAME)));
+
+        assertEquals(ParseMetrics.NOT_MEASURED, response.conversionNanos);
+        assertEquals(ParseMetrics.NOT_MEASURED, response.convertedAtNanos);
+    }
+
+    @Test
+    public void testExecute() throws IOException {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(ResourceReader.read(SUCCESSFUL_ASSETS_GET_RESPONSE_FILE_NAME)));
+
+        final SDKConfig sdkConfig = SDKConfig.builder().setApiUrl(mockWebServer.url("/").url().toString()).build();
+        final ContentDeliverySDK sdk = new ContentDeliverySDK(sdkConfig, new DataEncoder());
+
+        final DeliverySearchResult<Asset> result = new Assets(sdk.deliverySearch(), null).execute();
+
+        assertNotNull("Execute result should not be null", result);
+        assertFalse(result.getDocuments().isEmpty());
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    public void testExecuteError() throws IOException {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(HttpURLConnection.HTTP_FORBIDDEN)
+                .setBody(ResourceReader.read(ACCESS_CONTROL_ERROR_RESPONSE_FILE_NAME)));
+
+        final SDKConfig sdkConfig = SDKConfig.builder().setApiUrl(mockWebServer.url("/").url().toString()).build();
+        final ContentDeliverySDK sdk = new ContentDeliverySDK(sdkConfig, new DataEncoder());
+
+        try {
+            new Assets(sdk.deliverySearch(), null).execute();
+            fail("Error response should be thrown");
+        } catch (RuntimeException error) {
+            assertNotNull(error.getMessage());
+        }
+    }
+
+    @Test
+    public void testExecuteWithinClosedScope() {
+        final SDKConfig sdkConfig = SDKConfig.builder().setApiUrl(mockWebServer.url("/").url().toString()).build();
+        final ContentDeliverySDK sdk = new ContentDeliverySDK(sdkConfig, new DataEncoder());
+        final CancellationScope scope = new CancellationScope();
+        scope.close();
+
+        try {
+            new Assets(sdk.deliverySearch(), null).within(scope).execute();
+            fail("Query within closed scope should not be executed");
+        } catch (IOException expected) {
+            assertEquals(0, mockWebServer.getRequestCount());
+        }
+    }
+
+    @Test
+    public void testExecuteCancelledByScope() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+
+        final SDKConfig sdkConfig = SDKConfig.builder().setApiUrl(mockWebServer.url("/").url().toString()).build();
+        final ContentDeliverySDK sdk = new ContentDeliverySDK(sdkConfig, new DataEncoder());
+        final CancellationScope scope = new CancellationScope();
+
+        final Thread closer = new Thread(() -> {
+            try {
+                mockWebServer.takeRequest();
+            } catch (InterruptedException ignored) {
+            }
+            scope.close();
+        });
+        closer.start();
+
+        final long startNanos = System.nanoTime();
+        try {
+            new Assets(sdk.deliverySearch(), null).within(scope).execute();
+            fail("Cancelled query should throw");
+        } catch (IOException expected) {
+            assertTrue("Query should be cancelled before read timeout", System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(10));
+        }
+        closer.join();
+        assertEquals(0, scope.getCallsCount());
+    }
+
+    @Test
+    public void testGetAsync() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(ResourceReader.read(SUCCESSFUL_ASSETS_GET_RESPONSE_FILE_NAME)));
+
+        final SDKConfig sdkConfig = SDKConfig.builder().setApiUrl(mockWebServer.url("/").url().toString()).build();
+        final ContentDeliverySDK sdk = new ContentDeliverySDK(sdkConfig, new DataEncoder());
+
+        final DeliverySearchResult<Asset> result = new Assets(sdk.deliverySearch(), null)
+                .getAsync()
+                .get(10, TimeUnit.SECONDS);
+
+        assertFalse(result.getDocuments().isEmpty());
+    }
+
+    @Test
+    public void testExecuteFacets() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(ResourceReader.read(SUCCESSFUL_FACETS_RESPONSE_FILE_NAME)));
+
+        final SDKConfig sdkConfig = SDKConfig.builder().setApiUrl(mockWebServer.url("/").url().toString()).build();
+        final ContentDeliverySDK sdk = new ContentDeliverySDK(sdkConfig, new DataEncoder());
+
+        final FacetResult result = new Assets(sdk.deliverySearch(), null)
+                .facetField("assetType")
+                .facetQuery("tags:featured")
+                .facetRange("lastModified", "2020-01-01T00:00:00Z", "2020-01-03T00:00:00Z", "+1DAY")
+                .sortBy("name", true)
+                .executeFacets();
+
+        assertEquals(42, result.getNumFound());
+        assertEquals(3, result.getFieldCounts("assetType").size());
+        assertEquals(Integer.valueOf(7), result.getQueryCounts().get("tags:featured"));
+        assertEquals(2, result.getRangeCounts("lastModified").size());
+
+        final HttpUrl requestUrl = mockWebServer.takeRequest().getRequestUrl();
+        assertEquals("/delivery/v1/search", requestUrl.encodedPath());
+        assertEquals("0", requestUrl.queryParameter("rows"));
+        assertEquals("true", requestUrl.queryParameter("facet"));
+        assertEquals("assetType", requestUrl.queryParameter("facet.field"));
+        assertEquals("tags:featured", requestUrl.queryParameter("facet.query"));
+        assertEquals("lastModified", requestUrl.queryParameter("facet.range"));
+        assertEquals("+1DAY", requestUrl.queryParameter("f.lastModified.facet.range.gap"));
+        assertNull("Facet query should not be sorted", requestUrl.queryParameter("sort"));
+        assertNull("Facet query should not fetch fields", requestUrl.queryParameter("fl"));
+        assertNull("Facet query should not be paged", requestUrl.queryParameter("start"));
+    }
+
+    @Test
+    public void testGetFacetsAsync() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(ResourceReader.read(SUCCESSFUL_FACETS_RESPONSE_FILE_NAME)));
+
+        final SDKConfig sdkConfig = SDKConfig.builder().setApiUrl(mockWebServer.url("/").url().toString()).build();
+        final ContentDeliverySDK sdk = new ContentDeliverySDK(sdkConfig, new DataEncoder());
+
+        final Assets assets = new Assets(sdk.deliverySearch(), null);
+        assets.facetField("assetType");
+        final FacetResult result = assets.getFacetsAsync().get(10, TimeUnit.SECONDS);
+
+        assertEquals(42, result.getNumFound());
+        assertEquals("image", result.getFieldCounts("assetType").get(0).getValue());
+        assertEquals(30, result.getFieldCounts("assetType").get(0).getCount());
+    }
+
+    @Test
+    public void testExecuteFacetsError() throws IOException {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(HttpURLConnection.HTTP_FORBIDDEN)
+                .setBody(ResourceReader.read(ACCESS_CONTROL_ERROR_RESPONSE_FILE_NAME)));
+
+        final SDKConfig sdkConfig = SDKConfig.builder().setApiUrl(mockWebServer.url("/").url().toString()).build();
+        final ContentDeliverySDK sdk = new ContentDeliverySDK(sdkConfig, new DataEncoder());
+
+        try {
+            new Assets(sdk.deliverySearch(), null).facetField("assetType").executeFacets();
+            fail("Error response should be thrown");
+        } catch (RuntimeException error) {
+            assertNotNull(error.getMessage());
+        }
+    }
+
+    @Test
+    public void testGetAsyncCancel() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+
+        final SDKConfig sdkConfig = SDKConfig.builder().setApiUrl(mockWebServer.url("/").url().toString()).build();
+        final ContentDeliverySDK sdk = new ContentDeliverySDK(sdkConfig, new DataEncoder());
+
+        final DeliverySearchFuture<DeliverySearchResult<Asset>> future = new Assets(sdk.deliverySearch(), null).getAsync();
+        mockWebServer.takeRequest();
+        assertTrue(future.cancel(false));
+
+        final long startNanos = System.nanoTime();
+        while (0 != sdk.getRequestScheduler().getRunningCallsCount()) {
+            assertTrue("Cancelled call should release its slot", System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(10));
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void testGetAll() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockWebServer.enqueue(new MockResponse()
+                    .setResponseCode(HttpURLConnection.HTTP_OK)
+                    .setBody(ResourceReader.read(SUCCESSFUL_ASSETS_GET_RESPONSE_FILE_NAME)));
+        }
+
+        final SDKConfig sdkConfig = SDKConfig.builder().setApiUrl(mockWebServer.url("/").url().toString()).build();
+        final ContentDeliverySDK sdk = new ContentDeliverySDK(sdkConfig, new DataEncoder());
+        final DeliverySearch deliverySearch = sdk.deliverySearch();
+
+        final List<DeliverySearchResult<?>> results = deliverySearch
+                .getAll(10, TimeUnit.SECONDS, deliverySearch.assets(), deliverySearch.assets().rows(5))
+                .get();
+
+        assertEquals(2, results.size());
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    public void testListenersAreNotifiedByCallbackExecutor() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(ResourceReader.read(SUCCESSFUL_ASSETS_GET_RESPONSE_FILE_NAME)));
+
+        final ExecutorService callbackExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "callback"));
+        try {
+            final SDKConfig sdkConfig = SDKConfig.builder()
+                    .setApiUrl(mockWebServer.url("/").url().toString())
+                    .setCallbackExecutor(callbackExecutor)
+                    .build();
+            final ContentDeliverySDK sdk = new ContentDeliverySDK(sdkConfig, new DataEncoder());
+            final List<String> parseThreads = new ArrayList<>();
+            sdk.setMetricsListener(new ContentDeliverySDK.MetricsListener() {
+                @Override
+                public void onNetworkMetrics(@NonNull NetworkMetrics metrics) {
+                }
+
+                @Override
+                public void onParseMetrics(@NonNull ParseMetrics metrics) {
+                    parseThreads.add(Thread.currentThread().getName());
+                }
+            });
+
+            final CountDownLatch latch = new CountDownLatch(1);
+            final List<String> listenerThreads = new ArrayList<>();
+            new Assets(sdk.deliverySearch(), null)
+                    .get()
+                    .then(result -> {
+                        listenerThreads.add(Thread.currentThread().getName());
+                        latch.countDown();
+                    });
+
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertEquals("callback", listenerThreads.get(0));
+            // documents are parsed before the result is passed to callback executor
+            assertEquals(1, parseThreads.size());
+            assertNotEquals("callback", parseThreads.get(0));
+        } finally {
+            callbackExecutor.shutdown();
+        }
+    }
 }
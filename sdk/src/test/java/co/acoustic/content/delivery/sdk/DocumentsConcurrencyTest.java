@@ -0,0 +1,313 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package co.acoustic.content.delivery.sdk;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stress tests of {@link Documents} request lifecycle, queries, responses and listeners race with each other.
+ */
+public class DocumentsConcurrencyTest extends BaseDocumentsTest {
+
+    private static final int ROUNDS = 2000;
+    private static final int ITERATIONS = 2000;
+
+    private DeliverySearch deliverySearch;
+
+    @Before
+    public void setUp() {
+        final NetworkingCallsProvider callsProvider = mock(NetworkingCallsProvider.class);
+        when(callsProvider.getDeliverySearchCall(any(DeliverySearchQuery.class), anyBoolean(), anyBoolean(), anyBoolean(), anyBoolean()))
+                .thenAnswer(invocation -> createCall());
+
+        final ContentDeliverySDK sdk = mock(ContentDeliverySDK.class);
+        when(sdk.getNetworkingCallsProvider()).thenReturn(callsProvider);
+        deliverySearch = new DeliverySearch(sdk);
+    }
+
+    @Test
+    public void testResultRacingWithListenersIsPassedOnce() throws Exception {
+        final CallbackCapturingExecutor executor = new CallbackCapturingExecutor();
+        final AtomicInteger notificationsCount = new AtomicInteger();
+        final DocumentsRound round = new DocumentsRound(executor) {
+            @Override
+            public void verify(int round) {
+                assertEquals("Result should be passed exactly once, round " + round, round + 1, notificationsCount.get());
+            }
+        };
+
+        race(ROUNDS, round,
+                () -> round.callback.onResponse(round.call, Response.success(createResponse(1))),
+                () -> round.documents.then(result -> notificationsCount.incrementAndGet()),
+                () -> round.documents.then(result -> notificationsCount.incrementAndGet())
+        );
+    }
+
+    @Test
+    public void testErrorRacingWithListenersIsPassedOnce() throws Exception {
+        final CallbackCapturingExecutor executor = new CallbackCapturingExecutor();
+        final AtomicInteger notificationsCount = new AtomicInteger();
+        final DocumentsRound round = new DocumentsRound(executor) {
+            @Override
+            public void verify(int round) {
+                assertEquals("Error should be passed exactly once, round " + round, round + 1, notificationsCount.get());
+            }
+        };
+
+        race(ROUNDS, round,
+                () -> round.callback.onFailure(round.call, new RuntimeException()),
+                () -> round.documents.error(error -> notificationsCount.incrementAndGet()),
+                () -> round.documents.error(error -> notificationsCount.incrementAndGet())
+        );
+    }
+
+    @Test
+    public void testResponseRacingWithReissuedQueryIsDropped() throws Exception {
+        final CallbackCapturingExecutor executor = new CallbackCapturingExecutor();
+        final List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        final DocumentsRound round = new DocumentsRound(executor) {
+
+            @Override
+            public void prepare(int round) {
+                super.prepare(round);
+                documents.then(result -> delivered.add(result.getNumFound()));
+            }
+
+            @Override
+            public void verify(int round) {
+                // the latest query is still ongoing, so the superseded one either was passed before it was issued, or dropped
+                assertTrue(delivered.size() <= 1);
+                callback.onResponse(executor.call, Response.success(createResponse(2)));
+                documents.then(result -> delivered.add(result.getNumFound()));
+                assertEquals("Result of the latest query should be passed once, round " + round,
+                        2, delivered.get(delivered.size() - 1).intValue());
+                assertEquals(1, Collections.frequency(delivered, 2));
+                delivered.clear();
+            }
+        };
+
+        race(ROUNDS, round,
+                () -> round.callback.onResponse(round.call, Response.success(createResponse(1))),
+                () -> round.documents.get()
+        );
+    }
+
+    @Test
+    public void testReissuedQueriesPassEveryResultOnceAtMost() throws Exception {
+        final ExecutorService responses = Executors.newFixedThreadPool(4);
+        final List<Call<DeliverySearchResponse>> calls = Collections.synchronizedList(new ArrayList<>());
+        final NetworkingCallsExecutor executor = new NetworkingCallsExecutor() {
+            @Override
+            public <ResponseType> void executeCall(Call<ResponseType> call, Callback<ResponseType> callback) {
+                calls.add((Call<DeliverySearchResponse>) call);
+                final int index = calls.size();
+                responses.execute(() -> callback.onResponse(call, (Response<ResponseType>) Response.success(createResponse(index))));
+            }
+        };
+
+        final DocumentsTestImpl documents = new DocumentsTestImpl(deliverySearch, null, new DeliverySearchQueryBuilder(), executor);
+        final Set<Integer> delivered = Collections.synchronizedSet(new HashSet<>());
+        final AtomicInteger duplicatesCount = new AtomicInteger();
+        final Documents.DeliverySearchResultListener<DocumentTestImpl> listener = result -> {
+            if (!delivered.add(result.getNumFound())) {
+                duplicatesCount.incrementAndGet();
+            }
+        };
+
+        final AtomicBoolean issuing = new AtomicBoolean(true);
+        runConcurrently(
+                () -> {
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        documents.get();
+                    }
+                    issuing.set(false);
+                },
+                () -> {
+                    while (issuing.get()) {
+                        documents.then(listener);
+                    }
+                }
+        );
+        responses.shutdown();
+        assertTrue(responses.awaitTermination(10, TimeUnit.SECONDS));
+        documents.then(listener);
+
+        assertEquals("Result should never be passed twice", 0, duplicatesCount.get());
+        assertTrue("Result of the latest query should be passed", delivered.contains(ITERATIONS));
+        for (Integer index : delivered) {
+            // results of superseded queries may be passed only while they were the latest ones
+            assertTrue(index >= 1 && index <= ITERATIONS);
+        }
+    }
+
+    private Call<DeliverySearchResponse> createCall() {
+        final Call<DeliverySearchResponse> call = mock(Call.class);
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        doAnswer(invocation -> {
+            cancelled.set(true);
+            return null;
+        }).when(call).cancel();
+        when(call.isCanceled()).thenAnswer(invocation -> cancelled.get());
+        return call;
+    }
+
+    private static DeliverySearchResponse createResponse(int numFound) {
+        final DeliverySearchResponse response = new DeliverySearchResponse();
+        response.numFound = numFound;
+        return response;
+    }
+
+    /**
+     * Runs given tasks concurrently, each on its own thread, for given number of rounds. Threads are released
+     * at the same moment in every round, to make races as likely as possible.
+     */
+    private static void race(int rounds, Round round, Runnable... tasks) throws Exception {
+        final SpinBarrier barrier = new SpinBarrier(tasks.length);
+        final List<Thread> threads = new ArrayList<>();
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < tasks.length; i++) {
+            final int taskIndex = i;
+            final Thread thread = new Thread(() -> {
+                try {
+                    for (int r = 0; r < rounds && errors.isEmpty(); r++) {
+                        if (0 == taskIndex) {
+                            round.prepare(r);
+                        }
+                        barrier.await();
+                        tasks[taskIndex].run();
+                        barrier.await();
+                        if (0 == taskIndex) {
+                            round.verify(r);
+                        }
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                    barrier.breakBarrier();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(errors.toString(), errors.isEmpty());
+    }
+
+    private static void runConcurrently(Runnable... tasks) throws Exception {
+        race(1, new Round() {
+            @Override
+            public void prepare(int round) {
+            }
+
+            @Override
+            public void verify(int round) {
+            }
+        }, tasks);
+    }
+
+    private interface Round {
+
+        void prepare(int round);
+
+        void verify(int round);
+    }
+
+    /**
+     * Issues new query of new {@link Documents} instance before every round.
+     */
+    private abstract class DocumentsRound implements Round {
+
+        private final CallbackCapturingExecutor executor;
+
+        volatile DocumentsTestImpl documents;
+        volatile Call<DeliverySearchResponse> call;
+        volatile Callback<DeliverySearchResponse> callback;
+
+        DocumentsRound(CallbackCapturingExecutor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void prepare(int round) {
+            documents = new DocumentsTestImpl(deliverySearch, null, new DeliverySearchQueryBuilder(), executor);
+            documents.get();
+            call = executor.call;
+            callback = executor.callback;
+        }
+    }
+
+    private static class SpinBarrier {
+
+        private final int parties;
+        private final AtomicInteger arrived = new AtomicInteger();
+        private volatile boolean broken;
+
+        SpinBarrier(int parties) {
+            this.parties = parties;
+        }
+
+        void await() {
+            final int target = ((arrived.getAndIncrement() / parties) + 1) * parties;
+            while (arrived.get() < target) {
+                if (broken) {
+                    throw new IllegalStateException("Barrier is broken");
+                }
+                Thread.yield();
+            }
+        }
+
+        void breakBarrier() {
+            broken = true;
+        }
+    }
+
+    private static class CallbackCapturingExecutor implements NetworkingCallsExecutor {
+
+        volatile Call<DeliverySearchResponse> call;
+        volatile Callback<DeliverySearchResponse> callback;
+
+        @Override
+        public <ResponseType> void executeCall(Call<ResponseType> call, Callback<ResponseType> callback) {
+            this.call = (Call<DeliverySearchResponse>) call;
+            this.callback = (Callback<DeliverySearchResponse>) callback;
+        }
+    }
+}
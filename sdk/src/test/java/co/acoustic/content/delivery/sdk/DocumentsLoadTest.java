@@ -0,0 +1,202 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives concurrent delivery search streams against local server and reports latency percentiles, throughput,
+ * number of opened connections and heap growth.
+ * <p/>
+ * Load is configured with following system properties:
+ * <ul>
+ * <li>{@value TestSystemProperties#LOAD_STREAMS} - number of concurrent streams</li>
+ * <li>{@value TestSystemProperties#LOAD_REQUESTS_PER_STREAM} - number of sequential delivery search queries made by every stream</li>
+ * <li>{@value TestSystemProperties#LOAD_LATENCY_MS} - delay of every response headers in milliseconds</li>
+ * <li>{@value TestSystemProperties#LOAD_BYTES_PER_SECOND} - response body bandwidth, {@code 0} - not throttled</li>
+ * <li>{@value TestSystemProperties#LOAD_ERROR_EVERY} - every n-th response is server error, {@code 0} - no errors</li>
+ * </ul>
+ * Defaults are kept small, so the suite can run together with regular unit tests.
+ */
+public class DocumentsLoadTest {
+    private static final String SUCCESSFUL_ASSETS_GET_RESPONSE_FILE_NAME = "assets_default_success_response.json";
+    private static final String ERROR_RESPONSE_FILE_NAME = "access_controll_error_response.json";
+
+    private static final long AWAIT_TIMEOUT_MINUTES = 10;
+
+    private final MockWebServer mockWebServer = new MockWebServer();
+
+    private int streams;
+    private int requestsPerStream;
+    private int latencyMs;
+    private int bytesPerSecond;
+    private int errorEvery;
+
+    @Before
+    public void setUp() throws Exception {
+        streams = SystemPropertiesUtils.getIntProperty(TestSystemProperties.LOAD_STREAMS, 4);
+        requestsPerStream = SystemPropertiesUtils.getIntProperty(TestSystemProperties.LOAD_REQUESTS_PER_STREAM, 10);
+        latencyMs = SystemPropertiesUtils.getIntProperty(TestSystemProperties.LOAD_LATENCY_MS, 10);
+        bytesPerSecond = SystemPropertiesUtils.getIntProperty(TestSystemProperties.LOAD_BYTES_PER_SECOND, 0);
+        errorEvery = SystemPropertiesUtils.getIntProperty(TestSystemProperties.LOAD_ERROR_EVERY, 10);
+
+        mockWebServer.setDispatcher(new LoadDispatcher(latencyMs, bytesPerSecond, errorEvery));
+        mockWebServer.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    public void testConcurrentDeliverySearchLoad() throws Exception {
+        final SDKConfig sdkConfig = SDKConfig.builder().setApiUrl(mockWebServer.url("/").url().toString()).build();
+        final ContentDeliverySDK sdk = new ContentDeliverySDK(sdkConfig, new TestDataEncoder(), new BlockingNetworkingCallsExecutor());
+
+        final int totalRequests = streams * requestsPerStream;
+        final long[] latenciesNanos = new long[totalRequests];
+        final AtomicInteger succeeded = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+
+        final long usedHeapBefore = usedHeapAfterGc();
+        final ExecutorService executor = Executors.newFixedThreadPool(streams);
+        final List<Future<?>> streamFutures = new ArrayList<>();
+        final long startNanos = System.nanoTime();
+
+        for (int stream = 0; stream < streams; stream++) {
+            final int streamIndex = stream;
+            streamFutures.add(executor.submit(() -> {
+                for (int i = 0; i < requestsPerStream; i++) {
+                    final Assets assets = new Assets(sdk.deliverySearch(), null, new DeliverySearchQueryBuilder(), new BlockingNetworkingCallsExecutor());
+                    final long requestStartNanos = System.nanoTime();
+                    // BlockingNetworkingCallsExecutor delivers result before get() returns
+                    assets.get()
+                            .then(result -> succeeded.incrementAndGet())
+                            .error(error -> failed.incrementAndGet());
+                    latenciesNanos[streamIndex * requestsPerStream + i] = System.nanoTime() - requestStartNanos;
+                }
+            }));
+        }
+
+        for (Future<?> streamFuture : streamFutures) {
+            streamFuture.get(AWAIT_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+        }
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        executor.shutdown();
+        final long usedHeapAfter = usedHeapAfterGc();
+
+        int openedConnections = 0;
+        for (int i = 0; i < mockWebServer.getRequestCount(); i++) {
+            final RecordedRequest request = mockWebServer.takeRequest();
+            if (0 == request.getSequenceNumber()) {
+                openedConnections++;
+            }
+        }
+
+        Arrays.sort(latenciesNanos);
+        System.err.println("DocumentsLoadTest : streams = " + streams
+                + ", requests = " + totalRequests
+                + ", succeeded = " + succeeded.get()
+                + ", failed = " + failed.get()
+                + ", p50 = " + toMillis(percentile(latenciesNanos, 50)) + " ms"
+                + ", p95 = " + toMillis(percentile(latenciesNanos, 95)) + " ms"
+                + ", p99 = " + toMillis(percentile(latenciesNanos, 99)) + " ms"
+                + ", throughput = " + String.format("%.1f", totalRequests / (elapsedNanos / 1e9)) + " req/s"
+                + ", opened connections = " + openedConnections
+                + ", heap growth = " + ((usedHeapAfter - usedHeapBefore) / 1024) + " KB");
+
+        assertEquals("Every request should be served", totalRequests, mockWebServer.getRequestCount());
+        assertEquals("Every request should be completed", totalRequests, succeeded.get() + failed.get());
+        assertEquals("Every injected error should be reported", errorEvery > 0 ? totalRequests / errorEvery : 0, failed.get());
+        assertTrue("Connections count cannot exceed requests count", openedConnections <= totalRequests);
+        assertTrue("Latency cannot be less than configured server latency", latenciesNanos[0] >= TimeUnit.MILLISECONDS.toNanos(latencyMs));
+    }
+
+    private static long percentile(long[] sortedValues, int percentile) {
+        final int index = (int) Math.ceil(percentile / 100.0 * sortedValues.length) - 1;
+        return sortedValues[Math.max(0, Math.min(index, sortedValues.length - 1))];
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format("%.2f", nanos / 1e6);
+    }
+
+    private static long usedHeapAfterGc() {
+        final Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Serves delivery search responses with configured latency and bandwidth, every n-th response is server error.
+     */
+    private static class LoadDispatcher extends Dispatcher {
+        private final String successfulResponseBody = ResourceReader.read(SUCCESSFUL_ASSETS_GET_RESPONSE_FILE_NAME);
+        private final String errorResponseBody = ResourceReader.read(ERROR_RESPONSE_FILE_NAME);
+        private final AtomicInteger dispatchedCount = new AtomicInteger();
+
+        private final int latencyMs;
+        private final int bytesPerSecond;
+        private final int errorEvery;
+
+        private LoadDispatcher(int latencyMs, int bytesPerSecond, int errorEvery) {
+            this.latencyMs = latencyMs;
+            this.bytesPerSecond = bytesPerSecond;
+            this.errorEvery = errorEvery;
+        }
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            final int dispatched = dispatchedCount.incrementAndGet();
+            final MockResponse response;
+            if (errorEvery > 0 && dispatched % errorEvery == 0) {
+                response = new MockResponse()
+                        .setResponseCode(HttpURLConnection.HTTP_INTERNAL_ERROR)
+                        .setBody(errorResponseBody);
+            } else {
+                response = new MockResponse()
+                        .setResponseCode(HttpURLConnection.HTTP_OK)
+                        .setBody(successfulResponseBody);
+            }
+
+            response.setHeadersDelay(latencyMs, TimeUnit.MILLISECONDS);
+            if (bytesPerSecond > 0) {
+                response.throttleBody(bytesPerSecond, 1, TimeUnit.SECONDS);
+            }
+            return response;
+        }
+    }
+}
@@ -18,6 +18,8 @@ import android.os.Parcel;
 
 import org.junit.Test;
 
+import java.util.concurrent.Executor;
+
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -683,4 +685,56 @@ public class DocumentsTest extends BaseDocumentsTest{
         assertNotEquals("hashCode() should be different for objects with different queryBuilders.", state6_1.hashCode(), state6_2.hashCode());
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void testQueryFingerprint() {
+        final DeliverySearch deliverySearch = ContentDeliverySDK
+                .create(SDKConfig.builder().setApiUrl("https://my7.test.com/").build())
+                .deliverySearch();
+
+        DocumentsTestImpl documents1 = new DocumentsTestImpl(deliverySearch, null);
+        documents1.filterBy("name", "test").filterBy("type", "Article");
+        DocumentsTestImpl documents2 = new DocumentsTestImpl(deliverySearch, null);
+        documents2.filterBy("type", "Article").filterBy("name", "test");
+        assertEquals(documents1.getQueryFingerprint(), documents2.getQueryFingerprint());
+        assertEquals(32, documents1.getQueryFingerprint().length());
+
+        documents2.setIncludeProtectedContent(true);
+        assertNotEquals(documents1.getQueryFingerprint(), documents2.getQueryFingerprint());
+
+        documents2.setIncludeProtectedContent(false);
+        documents2.setIncludeDraft(true);
+        assertNotEquals(documents1.getQueryFingerprint(), documents2.getQueryFingerprint());
+    }
+
+    @Test
+    public void testFacetsFingerprint() {
+        final DeliverySearch deliverySearch = ContentDeliverySDK
+                .create(SDKConfig.builder().setApiUrl("https://my7.test.com/").build())
+                .deliverySearch();
+
+        DocumentsTestImpl documents1 = new DocumentsTestImpl(deliverySearch, null);
+        documents1.facetField("type").rows(10);
+        DocumentsTestImpl documents2 = new DocumentsTestImpl(deliverySearch, null);
+        documents2.facetField("type").rows(10).start(10);
+        assertEquals(32, documents1.getFacetsFingerprint().length());
+        assertEquals(documents1.getFacetsFingerprint(), documents2.getFacetsFingerprint());
+        assertNotEquals(documents1.getQueryFingerprint(), documents2.getQueryFingerprint());
+
+        documents2.facetField("status");
+        assertNotEquals(documents1.getFacetsFingerprint(), documents2.getFacetsFingerprint());
+    }
+
+    @Test
+    public void testCallbackExecutorIsInheritedByPages() {
+        final Executor callbackExecutor = mock(Executor.class);
+        DocumentsTestImpl documents = new DocumentsTestImpl(mock(DeliverySearch.class), null, new DeliverySearchQueryBuilder());
+        assertSame(SDKConfig.DIRECT_CALLBACK_EXECUTOR, documents.getCallbackExecutor());
+
+        documents.start(10).rows(10);
+        documents.callbackExecutor(callbackExecutor);
+        assertSame(callbackExecutor, documents.getCallbackExecutor());
+        assertSame(callbackExecutor, documents.createNextPageInstance().getCallbackExecutor());
+        assertSame(callbackExecutor, documents.createPrevPageInstance().getCallbackExecutor());
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DoubleColumnTest {
+
+    private final Gson gson = new Gson();
+
+    @Test
+    public void testParse() {
+        final DeliverySearchResponseDocument rawDoc = parse("{\"number1\": [10.65, -1, 3e3, null, 0]}");
+        assertEquals(Arrays.asList(10.65, -1.0, 3000.0, null, 0.0), rawDoc.number1);
+        assertEquals(-1.0, rawDoc.number1.getDouble(1), 0);
+        assertTrue(rawDoc.number1.isNull(3));
+        assertNull(rawDoc.number2);
+    }
+
+    @Test
+    public void testParseNullAndEmpty() {
+        final DeliverySearchResponseDocument rawDoc = parse("{\"number1\": null, \"number2\": []}");
+        assertNull(rawDoc.number1);
+        assertTrue(rawDoc.number2.isEmpty());
+        assertNull(rawDoc.number2.getNulls());
+    }
+
+    @Test
+    public void testParseLargeWithNulls() {
+        final List<Double> expected = new ArrayList<>();
+        final StringBuilder json = new StringBuilder("{\"number1\": [");
+        for (int i = 0; i < 200; i++) {
+            final Double value = i % 7 == 0 ? null : i / 4.0;
+            expected.add(value);
+            json.append(i > 0 ? "," : "").append(value);
+        }
+        json.append("]}");
+
+        final DoubleColumn column = parse(json.toString()).number1;
+        assertEquals(expected, column);
+        assertEquals(200, column.getValues().length);
+    }
+
+    @Test
+    public void testOf() {
+        final List<Double> source = Arrays.asList(1.5, null, -2.0);
+        final DoubleColumn column = DoubleColumn.of(source);
+        assertEquals(source, column);
+        assertEquals(source.hashCode(), column.hashCode());
+        assertNull(DoubleColumn.of(Arrays.asList(1.0, 2.0)).getNulls());
+        assertNull(DoubleColumn.of(null));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnly() {
+        DoubleColumn.of(Arrays.asList(1.0, 2.0)).add(3.0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetDoubleOutOfRange() {
+        DoubleColumn.of(Arrays.asList(1.0, 2.0)).getDouble(2);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testGetDoubleOfNullElement() {
+        DoubleColumn.of(Arrays.asList(1.0, null)).getDouble(1);
+    }
+
+    private DeliverySearchResponseDocument parse(String json) {
+        return gson.fromJson(json, DeliverySearchResponseDocument.class);
+    }
+}
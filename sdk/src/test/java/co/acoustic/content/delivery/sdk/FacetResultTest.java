@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import android.os.Parcel;
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FacetResultTest {
+
+    private static final String SUCCESSFUL_FACETS_RESPONSE_FILE_NAME = "assets_facets_success_response.json";
+
+    @Test
+    public void testParse() {
+        final FacetResult result = readFacetResult();
+
+        assertEquals(42, result.getNumFound());
+        assertEquals(
+                Arrays.asList(new FacetResult.Count("image", 30), new FacetResult.Count("video", 10), new FacetResult.Count("file", 2)),
+                result.getFieldCounts("assetType")
+        );
+        assertEquals(Collections.singletonMap("tags:featured", 7), result.getQueryCounts());
+        assertEquals(
+                Arrays.asList(new FacetResult.Count("2020-01-01T00:00:00Z", 12), new FacetResult.Count("2020-01-02T00:00:00Z", 0)),
+                result.getRangeCounts("lastModified")
+        );
+        assertTrue(result.getFieldCounts("tags").isEmpty());
+        assertTrue(result.getRangeCounts("created").isEmpty());
+    }
+
+    @Test
+    public void testParseWithoutFacetCounts() {
+        final FacetResult result = new FacetResult(5, null);
+
+        assertEquals(5, result.getNumFound());
+        assertTrue(result.getFields().isEmpty());
+        assertTrue(result.getQueryCounts().isEmpty());
+        assertTrue(result.getRanges().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseMalformedCount() {
+        final DeliverySearchResponse.FacetCounts facetCounts = new DeliverySearchResponse.FacetCounts();
+        facetCounts.facetFields = Collections.singletonMap("assetType", new ArrayList<>(Arrays.asList("image", "many")));
+        new FacetResult(1, facetCounts);
+    }
+
+    @Test
+    public void testParcelable() {
+        final FacetResult source = readFacetResult();
+
+        final Parcel parcel = MockParcel.obtain();
+        source.writeToParcel(parcel, source.describeContents());
+        parcel.setDataPosition(0);
+
+        assertEquals(source, FacetResult.CREATOR.createFromParcel(parcel));
+    }
+
+    @Test
+    public void testSnapshotRoundTrip() throws IOException {
+        final FacetResult source = readFacetResult();
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Snapshots.writeFacetResult(source, out);
+
+        assertEquals(source, Snapshots.readFacetResult(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    private static FacetResult readFacetResult() {
+        final DeliverySearchResponse response = new Gson()
+                .fromJson(ResourceReader.read(SUCCESSFUL_FACETS_RESPONSE_FILE_NAME), DeliverySearchResponse.class);
+        return new FacetResult(response.numFound, response.facetCounts);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+public class Iso8601Test {
+
+    @Test
+    public void testParse() {
+        assertEquals(1578419551610L, Iso8601.parseMillis("2020-01-07T17:52:31.610Z"));
+        assertEquals(0L, Iso8601.parseMillis("1970-01-01T00:00:00Z"));
+        assertEquals(-1L, Iso8601.parseMillis("1969-12-31T23:59:59.999Z"));
+        assertEquals(951782400000L, Iso8601.parseMillis("2000-02-29T00:00:00Z"));
+    }
+
+    @Test
+    public void testParseOptionalParts() {
+        assertEquals(1578355200000L, Iso8601.parseMillis("2020-01-07"));
+        assertEquals(1578419520000L, Iso8601.parseMillis("2020-01-07T17:52Z"));
+        assertEquals(1578419551000L, Iso8601.parseMillis("2020-01-07T17:52:31"));
+        assertEquals(1578419551600L, Iso8601.parseMillis("2020-01-07T17:52:31.6Z"));
+        assertEquals(1578419551610L, Iso8601.parseMillis("2020-01-07T17:52:31.610999Z"));
+    }
+
+    @Test
+    public void testParseOffsets() {
+        final long utc = Iso8601.parseMillis("2020-01-07T17:52:31.610Z");
+        assertEquals(utc, Iso8601.parseMillis("2020-01-07T19:52:31.610+02:00"));
+        assertEquals(utc, Iso8601.parseMillis("2020-01-07T12:22:31.610-0530"));
+        assertEquals(utc, Iso8601.parseMillis("2020-01-07T18:52:31.610+01"));
+    }
+
+    @Test
+    public void testParseInvalid() {
+        final String[] values = {
+                null, "", "2020", "2020-01-07T", "2020-1-07T17:52:31Z", "2020-13-07T17:52:31Z", "2019-02-29T17:52:31Z",
+                "2020-01-07T24:00:00Z", "2020-01-07T17:60:00Z", "2020-01-07T17:52:31.Z", "2020-01-07T17:52:31.610X",
+                "2020-01-07T17:52:31.610Z ", "2020-01-07T17:52:31+2", "2020-01-07T17:52:31+02:0", "2020-01-07 garbage"
+        };
+        for (String value : values) {
+            assertEquals(value, Iso8601.INVALID, Iso8601.parseMillis(value));
+        }
+    }
+
+    @Test
+    public void testParseMatchesSimpleDateFormat() throws ParseException {
+        final SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        final Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            final long expected = (long) (random.nextDouble() * 8_000_000_000_000L) - 2_000_000_000_000L;
+            final String value = format.format(expected);
+            assertEquals(value, format.parse(value).getTime(), Iso8601.parseMillis(value));
+        }
+    }
+}
@@ -19,6 +19,7 @@ import android.os.Parcelable;
 
 import org.mockito.stubbing.Answer;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
@@ -26,9 +27,10 @@ import java.util.List;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyByte;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -58,7 +60,7 @@ public class MockParcel {
         };
         doAnswer(answer).when(mParcel).writeByte(anyByte());
         doAnswer(answer).when(mParcel).writeInt(anyInt());
-        doAnswer(answer).when(mParcel).writeString(anyString());
+        doAnswer(answer).when(mParcel).writeString(nullable(String.class));
         doAnswer(answer).when(mParcel).writeParcelable(any(Parcelable.class), anyInt());
         doAnswer(answer).when(mParcel).writeBoolean(anyBoolean());
         doAnswer(answer).when(mParcel).writeSerializable(any(Class.class));
@@ -68,7 +70,17 @@ public class MockParcel {
         doAnswer(answer).when(mParcel).writeSerializable(any(Double.class));
         doAnswer(answer).when(mParcel).writeLong(anyLong());
         // doAnswer(answer).when(mParcel).writeFloat(anyFloat());
-        // doAnswer(answer).when(mParcel).writeDouble(anyDouble());
+        doAnswer(answer).when(mParcel).writeDouble(anyDouble());
+        final Answer<Object> copyAnswer = i -> {
+            final Object arg = i.getArgument(0);
+            final Object copy = arg instanceof List ? new ArrayList<>((List<?>) arg) : arg;
+            mStore.add(copy);
+            return copy;
+        };
+        doAnswer(copyAnswer).when(mParcel).writeByteArray(any());
+        doAnswer(copyAnswer).when(mParcel).writeDoubleArray(any());
+        doAnswer(copyAnswer).when(mParcel).writeLongArray(any());
+        doAnswer(copyAnswer).when(mParcel).writeTypedList(any());
     }
 
     // uncomment when needed for the first time
@@ -82,7 +94,11 @@ public class MockParcel {
         when(mParcel.readSerializable()).thenAnswer(answer);
          when(mParcel.readLong()).thenAnswer(answer);
         // when(mParcel.readFloat()).thenAnswer(answer);
-        // when(mParcel.readDouble()).thenAnswer(answer);
+        when(mParcel.readDouble()).thenAnswer(answer);
+        when(mParcel.createByteArray()).thenAnswer(answer);
+        when(mParcel.createDoubleArray()).thenAnswer(answer);
+        when(mParcel.createLongArray()).thenAnswer(answer);
+        when(mParcel.createTypedArrayList(any())).thenAnswer(answer);
     }
 
     private void setupOthers() {
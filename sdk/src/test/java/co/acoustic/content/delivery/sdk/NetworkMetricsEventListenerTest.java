@@ -0,0 +1,165 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+
+import static org.junit.Assert.*;
+
+public class NetworkMetricsEventListenerTest extends BaseDocumentsTest {
+    private static final String SUCCESSFUL_ASSETS_GET_RESPONSE_FILE_NAME = "assets_default_success_response.json";
+
+    private MockWebServer mockWebServer = new MockWebServer();
+
+    @Before
+    public void setUp() throws Exception {
+        mockWebServer.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    public void testFactoryWithoutListener() {
+        final SDKConfig sdkConfig = SDKConfig.builder().setApiUrl("https://my7.test.com/").build();
+        final NetworkMetricsEventListener.Factory factory = new NetworkMetricsEventListener.Factory(new MetricsDispatcher(), sdkConfig);
+
+        final okhttp3.Call call = new OkHttpClient().newCall(new Request.Builder().url("https://my7.test.com/delivery/v1/search").build());
+        assertSame("Metrics shouldn't be collected while there is no listener", okhttp3.EventListener.NONE, factory.create(call));
+    }
+
+    @Test
+    public void testFactoryWithListener() {
+        final SDKConfig sdkConfig = SDKConfig.builder().setApiUrl("https://my7.test.com/").build();
+        final MetricsDispatcher metricsDispatcher = new MetricsDispatcher();
+        metricsDispatcher.setListener(metrics -> {
+        });
+        final NetworkMetricsEventListener.Factory factory = new NetworkMetricsEventListener.Factory(metricsDispatcher, sdkConfig);
+
+        final okhttp3.Call call = new OkHttpClient().newCall(new Request.Builder().url("https://my7.test.com/delivery/v1/search").build());
+        assertTrue(factory.create(call) instanceof NetworkMetricsEventListener);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testFactoryWithNullDispatcher() {
+        new NetworkMetricsEventListener.Factory(null, SDKConfig.builder().setApiUrl("https://my7.test.com/").build());
+    }
+
+    @Test
+    public void testDeliverySearchMetrics() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(ResourceReader.read(SUCCESSFUL_ASSETS_GET_RESPONSE_FILE_NAME)));
+
+        final SDKConfig sdkConfig = SDKConfig.builder().setApiUrl(mockWebServer.url("/").url().toString()).build();
+        final ContentDeliverySDK sdk = new ContentDeliverySDK(sdkConfig, new DataEncoder());
+
+        final List<NetworkMetrics> reportedMetrics = new ArrayList<>();
+        final CountDownLatch metricsLatch = new CountDownLatch(1);
+        sdk.setMetricsListener(metrics -> {
+            reportedMetrics.add(metrics);
+            metricsLatch.countDown();
+        });
+
+        final DeliverySearchQueryBuilder queryBuilder = new DeliverySearchQueryBuilder().filterQuery("name", "test");
+        new DocumentsTestImpl(sdk.deliverySearch(), null, queryBuilder, new BlockingNetworkingCallsExecutor())
+                .get()
+                .error(error -> fail("Code shouldn't came to this point"));
+
+        assertTrue("Metrics should be reported", metricsLatch.await(5, TimeUnit.SECONDS));
+        assertEquals(1, reportedMetrics.size());
+
+        final NetworkMetrics metrics = reportedMetrics.get(0);
+        assertEquals(HttpURLConnection.HTTP_OK, metrics.getStatusCode());
+        assertEquals(DeliverySearchNetworkServiceConstants.TYPE_DELIVERY_SEARCH, metrics.getDeliveryType());
+        assertFalse(metrics.isPreviewHost());
+        assertFalse("First call should open new connection", metrics.isConnectionReused());
+        assertNotNull(metrics.getDeliverySearchQuery());
+        assertTrue(metrics.getDeliverySearchQuery().fq.contains("name:test"));
+        assertEquals(metrics.getDeliverySearchQuery().getId(), metrics.getQueryId());
+        assertEquals(32, metrics.getQueryId().length());
+        assertTrue(metrics.getEncodedQuery().contains("fq=name%3Atest"));
+        assertTrue(metrics.getResponseBytes() > 0);
+        assertTrue(metrics.getConnectNanos() >= 0);
+        assertTrue(metrics.getTimeToFirstByteNanos() >= 0);
+        assertTrue(metrics.getBodyDownloadNanos() >= 0);
+        assertTrue(metrics.getTotalNanos() >= metrics.getTimeToFirstByteNanos());
+        assertNull(metrics.getFailure());
+    }
+
+    @Test
+    public void testFailedCallMetrics() throws Exception {
+        final SDKConfig sdkConfig = SDKConfig.builder().setApiUrl(mockWebServer.url("/").url().toString()).build();
+        mockWebServer.shutdown();
+
+        final ContentDeliverySDK sdk = new ContentDeliverySDK(sdkConfig, new DataEncoder());
+
+        final List<NetworkMetrics> reportedMetrics = new ArrayList<>();
+        final CountDownLatch metricsLatch = new CountDownLatch(1);
+        sdk.setMetricsListener(metrics -> {
+            reportedMetrics.add(metrics);
+            metricsLatch.countDown();
+        });
+
+        new DocumentsTestImpl(sdk.deliverySearch(), null, new DeliverySearchQueryBuilder(), new BlockingNetworkingCallsExecutor())
+                .get();
+
+        assertTrue("Metrics should be reported", metricsLatch.await(5, TimeUnit.SECONDS));
+        final NetworkMetrics metrics = reportedMetrics.get(0);
+        assertEquals(NetworkMetrics.NO_STATUS_CODE, metrics.getStatusCode());
+        assertNotNull(metrics.getFailure());
+    }
+
+    @Test
+    public void testLoginMetrics() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(HttpURLConnection.HTTP_OK)
+                .setBody(ResourceReader.read("successful_login_mock_response.json")));
+
+        final SDKConfig sdkConfig = SDKConfig.builder().setApiUrl(mockWebServer.url("/").url().toString()).build();
+        final ContentDeliverySDK sdk = new ContentDeliverySDK(sdkConfig, new TestDataEncoder(), new BlockingNetworkingCallsExecutor());
+
+        final List<NetworkMetrics> reportedMetrics = new ArrayList<>();
+        final CountDownLatch metricsLatch = new CountDownLatch(1);
+        sdk.setMetricsListener(metrics -> {
+            reportedMetrics.add(metrics);
+            metricsLatch.countDown();
+        });
+
+        sdk.login("user", "password", null);
+
+        assertTrue("Metrics should be reported", metricsLatch.await(5, TimeUnit.SECONDS));
+        final NetworkMetrics metrics = reportedMetrics.get(0);
+        assertNull("Login call doesn't have delivery type", metrics.getDeliveryType());
+        assertNull("Login call doesn't have delivery search query", metrics.getDeliverySearchQuery());
+        assertNull(metrics.getQueryId());
+        assertEquals(HttpURLConnection.HTTP_OK, metrics.getStatusCode());
+    }
+}
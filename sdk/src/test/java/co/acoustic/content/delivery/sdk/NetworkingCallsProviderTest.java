@@ -14,6 +14,8 @@
 
 package co.acoustic.content.delivery.sdk;
 
+import com.google.gson.GsonBuilder;
+
 import org.junit.Test;
 
 import java.net.URL;
@@ -28,8 +30,11 @@ import static co.acoustic.content.delivery.sdk.DeliverySearchNetworkServiceConst
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class NetworkingCallsProviderTest {
 
@@ -82,6 +87,21 @@ public class NetworkingCallsProviderTest {
         assertNotNull(call);
     }
 
+    @Test
+    public void testWarmUp() {
+        final RetrofitFactory retrofitFactory = new RetrofitFactory(
+                new GsonBuilder().create(),
+                SDKConfig.builder().setApiUrl("https://my7.test.com/").build(),
+                mock(RetrofitFactory.CookieManager.class));
+        final RetrofitFactory factory = mock(RetrofitFactory.class);
+        when(factory.acousticApiService(anyInt())).thenAnswer(invocation -> retrofitFactory.acousticApiService(invocation.getArgument(0)));
+        when(factory.acousticPreviewApiService(anyInt())).thenAnswer(invocation -> retrofitFactory.acousticPreviewApiService(invocation.getArgument(0)));
+
+        new NetworkingCallsProvider(factory).warmUp();
+        verify(factory, atLeastOnce()).acousticApiService(eq(RetrofitFactory.INTERCEPT_FLAG_COOKIE));
+        verify(factory).acousticPreviewApiService(eq(RetrofitFactory.INTERCEPT_FLAG_COOKIE));
+    }
+
     @Test
     public void testDeliverySearchCall() {
         NetworkingCallsProvider callsProvider = ContentDeliverySDK
@@ -67,26 +67,26 @@ public class ParcelableUtilsTest {
     }
 
     @Test
-    public void testReadAndWriteArrayListOfBoolean() {
+    public void testReadAndWriteBooleanColumn() {
         final ArrayList<Boolean> source = new ArrayList<>();
         source.add(true);
         source.add(false);
         source.add(true);
 
         Parcel parcel = MockParcel.obtain();
-        ParcelableUtils.writeArrayListOfBoolean(source, parcel);
+        ParcelableUtils.writeBooleanColumn(BooleanColumn.of(source), parcel);
         parcel.setDataPosition(0);
 
-        final ArrayList<Boolean> result = ParcelableUtils.readArrayListOfBoolean(parcel);
+        final BooleanColumn result = ParcelableUtils.readBooleanColumn(parcel);
         assertArrayEquals(source.toArray(new Boolean[0]), result.toArray(new Boolean[0]));
     }
 
     @Test
-    public void testReadAndWriteNullArrayListOfBoolean() {
+    public void testReadAndWriteNullBooleanColumn() {
         Parcel parcel = MockParcel.obtain();
-        ParcelableUtils.writeArrayListOfBoolean(null, parcel);
+        ParcelableUtils.writeBooleanColumn(null, parcel);
         parcel.setDataPosition(0);
-        assertNull(ParcelableUtils.readArrayListOfBoolean(parcel));
+        assertNull(ParcelableUtils.readBooleanColumn(parcel));
     }
 
     @Test
@@ -103,6 +103,20 @@ public class ParcelableUtilsTest {
         assertArrayEquals(source.toArray(new Date[0]), result.toArray(new Date[0]));
     }
 
+    @Test
+    public void testReadAndWriteArrayListOfDateWithNulls() {
+        final ArrayList<Date> source = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            source.add(i % 3 == 0 ? null : new Date(i));
+        }
+
+        Parcel parcel = MockParcel.obtain();
+        ParcelableUtils.writeArrayListOfDate(source, parcel);
+        parcel.setDataPosition(0);
+
+        assertEquals(source, ParcelableUtils.readArrayListOfDate(parcel));
+    }
+
     @Test
     public void testReadAndWriteNullArrayListOfDate() {
         Parcel parcel = MockParcel.obtain();
@@ -112,26 +126,26 @@ public class ParcelableUtilsTest {
     }
 
     @Test
-    public void testReadAndWriteArrayListOfDouble() {
+    public void testReadAndWriteDoubleColumn() {
         final ArrayList<Double> source = new ArrayList<>();
         source.add(18.6);
         source.add(1233.44);
         source.add(-32.44);
 
         Parcel parcel = MockParcel.obtain();
-        ParcelableUtils.writeArrayListOfDouble(source, parcel);
+        ParcelableUtils.writeDoubleColumn(DoubleColumn.of(source), parcel);
         parcel.setDataPosition(0);
 
-        final ArrayList<Double> result = ParcelableUtils.readArrayListOfDouble(parcel);
+        final DoubleColumn result = ParcelableUtils.readDoubleColumn(parcel);
         assertArrayEquals(source.toArray(new Double[0]), result.toArray(new Double[0]));
     }
 
     @Test
-    public void testReadAndWriteNullArrayListOfDouble() {
+    public void testReadAndWriteNullDoubleColumn() {
         Parcel parcel = MockParcel.obtain();
-        ParcelableUtils.writeArrayListOfDouble(null, parcel);
+        ParcelableUtils.writeDoubleColumn(null, parcel);
         parcel.setDataPosition(0);
-        assertNull(ParcelableUtils.readArrayListOfDouble(parcel));
+        assertNull(ParcelableUtils.readDoubleColumn(parcel));
     }
 
     @Test
@@ -154,4 +168,46 @@ public class ParcelableUtilsTest {
         parcel.setDataPosition(0);
         assertNull(ParcelableUtils.readJSONObject(parcel));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testReadAndWriteBooleanColumnWithNull() {
+        final ArrayList<Boolean> source = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            source.add(i % 5 == 0 ? null : i % 2 == 0);
+        }
+
+        Parcel parcel = MockParcel.obtain();
+        ParcelableUtils.writeBooleanColumn(BooleanColumn.of(source), parcel);
+        parcel.setDataPosition(0);
+
+        assertEquals(source, ParcelableUtils.readBooleanColumn(parcel));
+    }
+
+    @Test
+    public void testReadAndWriteArrayListOfDateWithNull() {
+        final ArrayList<Date> source = new ArrayList<>();
+        source.add(new Date(0));
+        source.add(null);
+        source.add(new Date());
+
+        Parcel parcel = MockParcel.obtain();
+        ParcelableUtils.writeArrayListOfDate(source, parcel);
+        parcel.setDataPosition(0);
+
+        assertEquals(source, ParcelableUtils.readArrayListOfDate(parcel));
+    }
+
+    @Test
+    public void testReadAndWriteDoubleColumnWithNull() {
+        final ArrayList<Double> source = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            source.add(i % 3 == 0 ? null : i * 1.5);
+        }
+
+        Parcel parcel = MockParcel.obtain();
+        ParcelableUtils.writeDoubleColumn(DoubleColumn.of(source), parcel);
+        parcel.setDataPosition(0);
+
+        assertEquals(source, ParcelableUtils.readDoubleColumn(parcel));
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import static co.acoustic.content.delivery.sdk.Documents.PRIORITY_BACKGROUND;
+import static co.acoustic.content.delivery.sdk.Documents.PRIORITY_PREFETCH;
+import static co.acoustic.content.delivery.sdk.Documents.PRIORITY_USER_VISIBLE;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class PriorityRequestSchedulerTest {
+
+    private final List<Call<String>> startedCalls = new ArrayList<>();
+    private final List<Callback<String>> startedCallbacks = new ArrayList<>();
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorWithZeroConcurrentCalls() {
+        new PriorityRequestScheduler(0);
+    }
+
+    @Test
+    public void testRunsImmediatelyWhileSlotsAreFree() {
+        final PriorityRequestScheduler scheduler = new PriorityRequestScheduler(2);
+        final Call<String> call1 = createCall();
+        final Call<String> call2 = createCall();
+
+        scheduler.executeCall(call1, mockCallback(), PRIORITY_USER_VISIBLE);
+        scheduler.executeCall(call2, mockCallback(), PRIORITY_USER_VISIBLE);
+
+        assertEquals(2, scheduler.getRunningCallsCount());
+        assertEquals(0, scheduler.getPendingCallsCount());
+        verify(call1).enqueue(any());
+        verify(call2).enqueue(any());
+    }
+
+    @Test
+    public void testSlotIsReservedForUserVisibleCalls() {
+        final PriorityRequestScheduler scheduler = new PriorityRequestScheduler(2);
+        final Call<String> prefetch = createCall();
+        final Call<String> background = createCall();
+        final Call<String> userVisible = createCall();
+
+        scheduler.executeCall(prefetch, mockCallback(), PRIORITY_PREFETCH);
+        scheduler.executeCall(background, mockCallback(), PRIORITY_BACKGROUND);
+        verify(prefetch).enqueue(any());
+        verify(background, never()).enqueue(any());
+
+        scheduler.executeCall(userVisible, mockCallback(), PRIORITY_USER_VISIBLE);
+        verify(userVisible).enqueue(any());
+        assertEquals(2, scheduler.getRunningCallsCount());
+        assertEquals(1, scheduler.getPendingCallsCount());
+    }
+
+    @Test
+    public void testPendingCallsRunInPriorityOrder() {
+        final PriorityRequestScheduler scheduler = new PriorityRequestScheduler(1);
+        final Call<String> first = createCall();
+        final Call<String> background = createCall();
+        final Call<String> prefetch1 = createCall();
+        final Call<String> prefetch2 = createCall();
+        final Call<String> userVisible = createCall();
+
+        scheduler.executeCall(first, mockCallback(), PRIORITY_BACKGROUND);
+        scheduler.executeCall(background, mockCallback(), PRIORITY_BACKGROUND);
+        scheduler.executeCall(prefetch1, mockCallback(), PRIORITY_PREFETCH);
+        scheduler.executeCall(prefetch2, mockCallback(), PRIORITY_PREFETCH);
+        scheduler.executeCall(userVisible, mockCallback(), PRIORITY_USER_VISIBLE);
+        assertEquals(4, scheduler.getPendingCallsCount());
+
+        for (int i = 0; i < 4; i++) {
+            startedCallbacks.get(i).onResponse(startedCalls.get(i), Response.success("ok"));
+        }
+
+        assertEquals(first, startedCalls.get(0));
+        assertEquals(userVisible, startedCalls.get(1));
+        assertEquals(prefetch1, startedCalls.get(2));
+        assertEquals(prefetch2, startedCalls.get(3));
+        assertEquals(background, startedCalls.get(4));
+        assertEquals(1, scheduler.getRunningCallsCount());
+        assertEquals(0, scheduler.getPendingCallsCount());
+    }
+
+    @Test
+    public void testCallbacksAreNotified() {
+        final PriorityRequestScheduler scheduler = new PriorityRequestScheduler(1);
+        final Call<String> call1 = createCall();
+        final Call<String> call2 = createCall();
+        final Callback<String> callback1 = mockCallback();
+        final Callback<String> callback2 = mockCallback();
+
+        scheduler.executeCall(call1, callback1);
+        scheduler.executeCall(call2, callback2);
+
+        final Response<String> response = Response.success("ok");
+        startedCallbacks.get(0).onResponse(call1, response);
+        verify(callback1).onResponse(call1, response);
+
+        final IOException error = new IOException("Canceled");
+        startedCallbacks.get(1).onFailure(call2, error);
+        verify(callback2).onFailure(call2, error);
+        assertEquals(0, scheduler.getRunningCallsCount());
+    }
+
+    @Test
+    public void testSlotIsReleasedIfEnqueueFails() {
+        final PriorityRequestScheduler scheduler = new PriorityRequestScheduler(1);
+        final Call<String> failing = mock(Call.class);
+        final IllegalStateException error = new IllegalStateException("Already executed.");
+        doAnswer(invocation -> {
+            throw error;
+        }).when(failing).enqueue(any());
+        final Callback<String> failingCallback = mockCallback();
+
+        scheduler.executeCall(failing, failingCallback);
+        verify(failingCallback).onFailure(failing, error);
+        assertEquals(0, scheduler.getRunningCallsCount());
+
+        final Call<String> call = createCall();
+        scheduler.executeCall(call, mockCallback());
+        verify(call).enqueue(any());
+    }
+
+    @Test
+    public void testRejectedCallDoesNotStopPromotedCalls() {
+        final PriorityRequestScheduler scheduler = new PriorityRequestScheduler(3);
+        final Call<String> running = createCall();
+        final Call<String> pending1 = createCall();
+        final Call<String> rejected = mock(Call.class);
+        final RejectedExecutionException error = new RejectedExecutionException("Executor was shut down");
+        doAnswer(invocation -> {
+            throw error;
+        }).when(rejected).enqueue(any());
+        final Callback<String> rejectedCallback = mockCallback();
+        final Call<String> pending2 = createCall();
+
+        // occupy all slots, so the rest of calls are queued and promoted as slots are released
+        scheduler.executeCall(running, mockCallback());
+        scheduler.executeCall(createCall(), mockCallback());
+        scheduler.executeCall(createCall(), mockCallback());
+        scheduler.executeCall(pending1, mockCallback());
+        scheduler.executeCall(rejected, rejectedCallback);
+        scheduler.executeCall(pending2, mockCallback());
+        assertEquals(3, scheduler.getPendingCallsCount());
+
+        for (int i = 0; i < 3; i++) {
+            startedCallbacks.get(i).onResponse(startedCalls.get(i), Response.success("ok"));
+        }
+
+        verify(pending1).enqueue(any());
+        verify(rejectedCallback).onFailure(rejected, error);
+        verify(pending2).enqueue(any());
+        assertEquals(2, scheduler.getRunningCallsCount());
+        assertEquals(0, scheduler.getPendingCallsCount());
+    }
+
+    @Test
+    public void testDocumentsPassPriority() {
+        final NetworkingCallsExecutor executor = mock(NetworkingCallsExecutor.class);
+        final DeliverySearch deliverySearch = ContentDeliverySDK
+                .create(SDKConfig.builder().setApiUrl("https://my7.test.com/").build())
+                .deliverySearch();
+
+        final Assets assets = new Assets(deliverySearch, null, new DeliverySearchQueryBuilder(), executor);
+        assets.priority(PRIORITY_PREFETCH).get();
+
+        verify(executor).executeCall(any(), any(), eq(PRIORITY_PREFETCH));
+        assertEquals(PRIORITY_PREFETCH, assets.createNextPageInstance().getPriority());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDocumentsUnknownPriority() {
+        new Assets(mock(DeliverySearch.class), null).priority(3);
+    }
+
+    private Call<String> createCall() {
+        final Call<String> call = mock(Call.class);
+        doAnswer(invocation -> {
+            startedCalls.add(call);
+            startedCallbacks.add(invocation.getArgument(0));
+            return null;
+        }).when(call).enqueue(any());
+        return call;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Callback<String> mockCallback() {
+        return mock(Callback.class);
+    }
+}
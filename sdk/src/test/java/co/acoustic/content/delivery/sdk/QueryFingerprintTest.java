@@ -0,0 +1,176 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import org.junit.Test;
+
+import static co.acoustic.content.delivery.sdk.DeliverySearchNetworkServiceConstants.TYPE_DELIVERY_SEARCH;
+import static co.acoustic.content.delivery.sdk.DeliverySearchNetworkServiceConstants.TYPE_MY_DELIVERY_SEARCH;
+import static org.junit.Assert.*;
+
+public class QueryFingerprintTest {
+
+    @Test
+    public void testFilterQueryOrderDoesNotMatter() {
+        final DeliverySearchQuery query1 = DeliverySearchQuery.builder()
+                .filterQuery("classification:content")
+                .filterQuery("type:Article")
+                .build();
+        final DeliverySearchQuery query2 = DeliverySearchQuery.builder()
+                .filterQuery("type:Article")
+                .filterQuery("classification:content")
+                .build();
+
+        assertNotEquals(query1, query2);
+        assertEquals(fingerprint(query1), fingerprint(query2));
+    }
+
+    @Test
+    public void testDuplicatesAndWhitespaceDoNotMatter() {
+        final DeliverySearchQuery query1 = DeliverySearchQuery.builder()
+                .query("name:test   AND  type:Article ")
+                .filterQuery("type:Article")
+                .filterQuery(" type:Article")
+                .fieldList("name")
+                .fieldList("id")
+                .build();
+        final DeliverySearchQuery query2 = DeliverySearchQuery.builder()
+                .query("name:test AND type:Article")
+                .filterQuery("type:Article")
+                .fieldList("id")
+                .fieldList("name")
+                .build();
+
+        assertEquals(fingerprint(query1), fingerprint(query2));
+    }
+
+    @Test
+    public void testSignificantDifferences() {
+        final DeliverySearchQuery query = DeliverySearchQuery.builder()
+                .query("name:\"a  b\"")
+                .sort("name", true)
+                .sort("created", false)
+                .start(0)
+                .rows(10)
+                .build();
+        final QueryFingerprint fingerprint = fingerprint(query);
+
+        assertNotEquals(fingerprint, fingerprint(DeliverySearchQuery.builder()
+                .query("name:\"a b\"").sort("name", true).sort("created", false).start(0).rows(10).build()));
+        assertNotEquals(fingerprint, fingerprint(DeliverySearchQuery.builder()
+                .query("name:\"a  b\"").sort("created", false).sort("name", true).start(0).rows(10).build()));
+        assertNotEquals(fingerprint, fingerprint(query.withStart(10)));
+        assertNotEquals(fingerprint, fingerprint(DeliverySearchQuery.builder()
+                .query("name:\"a  b\"").sort("name", true).sort("created", false).start(0).build()));
+
+        assertNotEquals(fingerprint, QueryFingerprint.of(query, TYPE_MY_DELIVERY_SEARCH, false, false, null));
+        assertNotEquals(fingerprint, QueryFingerprint.of(query, TYPE_DELIVERY_SEARCH, true, false, null));
+        assertNotEquals(fingerprint, QueryFingerprint.of(query, TYPE_DELIVERY_SEARCH, false, true, null));
+        assertNotEquals(fingerprint, QueryFingerprint.of(query, TYPE_DELIVERY_SEARCH, false, false, "user"));
+        assertNotEquals(
+                QueryFingerprint.of(query, TYPE_MY_DELIVERY_SEARCH, false, false, "user1"),
+                QueryFingerprint.of(query, TYPE_MY_DELIVERY_SEARCH, false, false, "user2"));
+    }
+
+    @Test
+    public void testComponentBoundaries() {
+        final DeliverySearchQuery query1 = DeliverySearchQuery.builder().filterQuery("a;1:b").build();
+        final DeliverySearchQuery query2 = DeliverySearchQuery.builder().filterQuery("a").filterQuery("b").build();
+        assertNotEquals(fingerprint(query1), fingerprint(query2));
+    }
+
+    @Test
+    public void testStable() {
+        final DeliverySearchQuery query = DeliverySearchQuery.builder()
+                .filterQuery("classification:content")
+                .build();
+        final QueryFingerprint fingerprint = fingerprint(query);
+
+        assertEquals(QueryFingerprint.of(
+                "1:1;8:delivery;4:live;6:search;-;3:*:*;1#22:classification:content;2#1:*;15:document:[json];-;-;-;"),
+                fingerprint);
+        assertEquals(fingerprint, fingerprint(DeliverySearchQuery.builder().filterQuery("classification:content").build()));
+        assertEquals(fingerprint.hashCode(), fingerprint(DeliverySearchQuery.builder().filterQuery("classification:content").build()).hashCode());
+    }
+
+    @Test
+    public void testToString() {
+        // MD5 of empty string
+        final QueryFingerprint fingerprint = QueryFingerprint.of("");
+        assertEquals("d41d8cd98f00b204e9800998ecf8427e", fingerprint.toString());
+        assertEquals(0xd41d8cd98f00b204L, fingerprint.getMostSignificantBits());
+        assertEquals(0xe9800998ecf8427eL, fingerprint.getLeastSignificantBits());
+    }
+
+    @Test
+    public void testNormalizeWhitespace() {
+        assertNull(QueryFingerprint.normalizeWhitespace(null));
+        assertEquals("", QueryFingerprint.normalizeWhitespace(" \t\n"));
+        assertEquals("a b", QueryFingerprint.normalizeWhitespace("\ta \n  b "));
+        assertEquals("name:\"a \t b\" c", QueryFingerprint.normalizeWhitespace("name:\"a \t b\"   c"));
+        assertEquals("a\\ \\\" b", QueryFingerprint.normalizeWhitespace("a\\ \\\"   b"));
+
+        final String normalized = "name:test";
+        assertSame(normalized, QueryFingerprint.normalizeWhitespace(normalized));
+    }
+
+    @Test
+    public void testCanonicalFormIsCached() {
+        final DeliverySearchQuery query = DeliverySearchQuery.builder().build();
+        assertSame(query.getCanonicalForm(), query.getCanonicalForm());
+    }
+
+    private static QueryFingerprint fingerprint(DeliverySearchQuery query) {
+        return QueryFingerprint.of(query, TYPE_DELIVERY_SEARCH, false, false, null);
+    }
+
+    @Test
+    public void testFacetsOrderAndPagingDoNotMatter() {
+        final DeliverySearchQuery query1 = DeliverySearchQuery.builder()
+                .facetField("assetType")
+                .facetField("tags")
+                .facetRange("lastModified", "NOW-7DAYS", "NOW", "+1DAY")
+                .facetRange("created", "NOW-7DAYS", "NOW", "+1DAY")
+                .start(0)
+                .rows(10)
+                .buildFacets();
+        final DeliverySearchQuery query2 = DeliverySearchQuery.builder()
+                .facetField("tags")
+                .facetField("assetType")
+                .facetRange("created", "NOW-7DAYS", "NOW", "+1DAY")
+                .facetRange("lastModified", "NOW-7DAYS", "NOW", "+1DAY")
+                .start(20)
+                .rows(20)
+                .sort("name", true)
+                .buildFacets();
+
+        assertNotEquals(query1, query2);
+        assertEquals(fingerprint(query1), fingerprint(query2));
+    }
+
+    @Test
+    public void testFacetSignificantDifferences() {
+        final DeliverySearchQueryBuilder builder = DeliverySearchQuery.builder().facetField("assetType");
+        final QueryFingerprint fingerprint = fingerprint(builder.buildFacets());
+
+        assertNotEquals(fingerprint, fingerprint(builder.build()));
+        assertNotEquals(fingerprint, fingerprint(DeliverySearchQuery.builder().facetQuery("assetType").buildFacets()));
+        assertNotEquals(fingerprint, fingerprint(DeliverySearchQuery.builder().facetField("assetType").facetQuery("tags:featured").buildFacets()));
+        assertNotEquals(
+                fingerprint(DeliverySearchQuery.builder().facetRange("created", "NOW-7DAYS", "NOW", "+1DAY").buildFacets()),
+                fingerprint(DeliverySearchQuery.builder().facetRange("created", "NOW-7DAYS", "NOW", "+1HOUR").buildFacets())
+        );
+    }
+}
@@ -22,8 +22,18 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
 
 import okhttp3.logging.HttpLoggingInterceptor;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import retrofit2.Call;
 import retrofit2.Retrofit;
 
@@ -128,4 +138,97 @@ public class RetrofitFactoryTest {
 
         assertNotNull("testCall should not be null", testCall);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRetrofitInstancesAreCached() {
+        final RetrofitFactory factory = new RetrofitFactory(new GsonBuilder().create(), config, cookieManager);
+
+        final Retrofit api = factory.acousticApiService(RetrofitFactory.INTERCEPT_FLAG_COOKIE);
+        assertSame(api, factory.acousticApiService(RetrofitFactory.INTERCEPT_FLAG_COOKIE));
+        assertNotSame(api, factory.acousticApiService(RetrofitFactory.INTERCEPT_FLAG_NONE));
+
+        final Retrofit previewApi = factory.acousticPreviewApiService(RetrofitFactory.INTERCEPT_FLAG_COOKIE);
+        assertSame(previewApi, factory.acousticPreviewApiService(RetrofitFactory.INTERCEPT_FLAG_COOKIE));
+        assertNotSame(api, previewApi);
+    }
+
+    @Test
+    public void testClientsShareConnectionPoolAndDispatcher() {
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final SDKConfig config = SDKConfig.builder()
+                    .setApiUrl(DEFAULT_TEST_URL)
+                    .setExecutorService(executorService)
+                    .setMaxConcurrentRequests(8)
+                    .build();
+            final RetrofitFactory factory = new RetrofitFactory(new GsonBuilder().create(), config, cookieManager);
+
+            final OkHttpClient apiClient = (OkHttpClient) factory.acousticApiService(RetrofitFactory.INTERCEPT_FLAG_NONE).callFactory();
+            final OkHttpClient previewClient = (OkHttpClient) factory.acousticPreviewApiService(RetrofitFactory.INTERCEPT_FLAG_COOKIE).callFactory();
+
+            assertSame(apiClient.connectionPool(), previewClient.connectionPool());
+            assertSame(apiClient.dispatcher(), previewClient.dispatcher());
+            assertSame(executorService, apiClient.dispatcher().executorService());
+            assertEquals(9, apiClient.dispatcher().getMaxRequestsPerHost());
+            assertSame(cookieManager, previewClient.cookieJar());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testCallbackExecutor() {
+        final RetrofitFactory factory = new RetrofitFactory(new GsonBuilder().create(), config, cookieManager);
+        // there is no main thread outside of Android, so listeners are notified directly
+        assertSame(SDKConfig.DIRECT_CALLBACK_EXECUTOR, factory.getCallbackExecutor());
+        assertSame(SDKConfig.DIRECT_CALLBACK_EXECUTOR, factory.acousticApiService(RetrofitFactory.INTERCEPT_FLAG_NONE).callbackExecutor());
+
+        final Executor callbackExecutor = mock(Executor.class);
+        final SDKConfig config = SDKConfig.builder()
+                .setApiUrl(DEFAULT_TEST_URL)
+                .setCallbackExecutor(callbackExecutor)
+                .build();
+        assertSame(callbackExecutor, new RetrofitFactory(new GsonBuilder().create(), config, cookieManager).getCallbackExecutor());
+    }
+
+    @Test
+    public void testPreconnect() throws Exception {
+        final MockWebServer apiServer = new MockWebServer();
+        final MockWebServer previewApiServer = new MockWebServer();
+        try {
+            apiServer.start();
+            previewApiServer.start();
+            final SDKConfig config = mock(SDKConfig.class);
+            when(config.getApiUrl()).thenReturn(apiServer.url("/api/").url());
+            when(config.getPreviewApiUrl()).thenReturn(previewApiServer.url("/api/").url());
+            when(config.getMaxConcurrentRequests()).thenReturn(SDKConfig.DEFAULT_MAX_CONCURRENT_REQUESTS);
+            apiServer.enqueue(new MockResponse().setResponseCode(404));
+            apiServer.enqueue(new MockResponse().setBody("{}"));
+            previewApiServer.enqueue(new MockResponse().setResponseCode(404));
+
+            final RetrofitFactory factory = new RetrofitFactory(new GsonBuilder().create(), config, cookieManager);
+            factory.preconnect();
+
+            final RecordedRequest preconnect = apiServer.takeRequest(2, TimeUnit.SECONDS);
+            assertEquals("HEAD", preconnect.getMethod());
+            assertEquals("/api/", preconnect.getPath());
+            assertEquals("HEAD", previewApiServer.takeRequest(2, TimeUnit.SECONDS).getMethod());
+
+            final Retrofit api = factory.acousticApiService(RetrofitFactory.INTERCEPT_FLAG_COOKIE);
+            final ConnectionPool connectionPool = ((OkHttpClient) api.callFactory()).connectionPool();
+            final long deadline = System.currentTimeMillis() + 2000;
+            while (connectionPool.idleConnectionCount() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals("Connections to both hosts should be pooled", 2, connectionPool.idleConnectionCount());
+
+            api.create(SearchService.class)
+                    .getData("*:*")
+                    .execute();
+            assertEquals("Query should reuse connection opened by preconnect", 1, apiServer.takeRequest().getSequenceNumber());
+        } finally {
+            apiServer.shutdown();
+            previewApiServer.shutdown();
+        }
+    }
+}
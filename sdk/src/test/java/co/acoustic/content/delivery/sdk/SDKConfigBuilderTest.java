@@ -16,8 +16,14 @@ package co.acoustic.content.delivery.sdk;
 
 import org.junit.Test;
 
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
 
 public class SDKConfigBuilderTest {
 
@@ -59,4 +65,83 @@ public class SDKConfigBuilderTest {
                 new SDKConfig.Builder().setApiUrl("http://test.blah.com/").build()
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDefaultStringPoolMaxSize() {
+        final SDKConfig config = new SDKConfig.Builder().setApiUrl("http://test.blah.com/").build();
+        assertEquals(SDKConfig.DEFAULT_STRING_POOL_MAX_SIZE, config.getStringPoolMaxSize());
+    }
+
+    @Test
+    public void testSetStringPoolMaxSize() {
+        final SDKConfig config = new SDKConfig.Builder()
+                .setApiUrl("http://test.blah.com/")
+                .setStringPoolMaxSize(0)
+                .build();
+        assertEquals(0, config.getStringPoolMaxSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNegativeStringPoolMaxSize() {
+        new SDKConfig.Builder().setStringPoolMaxSize(-1);
+    }
+
+    @Test
+    public void testDefaultExecutorAndMaxConcurrentRequests() {
+        final SDKConfig config = new SDKConfig.Builder().setApiUrl("http://test.blah.com/").build();
+        assertNull(config.getExecutorService());
+        assertEquals(SDKConfig.DEFAULT_MAX_CONCURRENT_REQUESTS, config.getMaxConcurrentRequests());
+    }
+
+    @Test
+    public void testSetExecutorAndMaxConcurrentRequests() {
+        final ExecutorService executorService = mock(ExecutorService.class);
+        final SDKConfig config = new SDKConfig.Builder()
+                .setApiUrl("http://test.blah.com/")
+                .setExecutorService(executorService)
+                .setMaxConcurrentRequests(1)
+                .build();
+        assertSame(executorService, config.getExecutorService());
+        assertEquals(1, config.getMaxConcurrentRequests());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetZeroMaxConcurrentRequests() {
+        new SDKConfig.Builder().setMaxConcurrentRequests(0);
+    }
+
+    @Test
+    public void testSetCallbackExecutor() {
+        assertNull(new SDKConfig.Builder().setApiUrl("http://test.blah.com/").build().getCallbackExecutor());
+
+        final SDKConfig config = new SDKConfig.Builder()
+                .setApiUrl("http://test.blah.com/")
+                .setCallbackExecutor(SDKConfig.DIRECT_CALLBACK_EXECUTOR)
+                .build();
+        assertSame(SDKConfig.DIRECT_CALLBACK_EXECUTOR, config.getCallbackExecutor());
+    }
+
+    @Test
+    public void testSetCookieStoreFile() {
+        assertNull(new SDKConfig.Builder().setApiUrl("http://test.blah.com/").build().getCookieStoreFile());
+
+        final File cookieStoreFile = new File("cookies");
+        final SDKConfig config = new SDKConfig.Builder()
+                .setApiUrl("http://test.blah.com/")
+                .setCookieStoreFile(cookieStoreFile)
+                .build();
+        assertSame(cookieStoreFile, config.getCookieStoreFile());
+    }
+
+    @Test
+    public void testSetTransport() {
+        assertNull(new SDKConfig.Builder().setApiUrl("http://test.blah.com/").build().getTransport());
+
+        final Transport transport = Transport.builder().build();
+        final SDKConfig config = new SDKConfig.Builder()
+                .setApiUrl("http://test.blah.com/")
+                .setTransport(transport)
+                .build();
+        assertSame(transport, config.getTransport());
+    }
+}
@@ -14,10 +14,17 @@
 
 package co.acoustic.content.delivery.sdk;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import okhttp3.Cookie;
 import okhttp3.HttpUrl;
@@ -105,4 +112,208 @@ public class SdkCookieManagerTest {
         assertTrue("added cookie should be present.", cookieManager.hasCookie("test-cookie"));
         assertFalse("new cookie should be present.", cookieManager.hasCookie("new-cookie"));
     }
-}
\ No newline at end of file
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testCookiesAreKeptPerHost() {
+        final SdkCookieManager cookieManager = new SdkCookieManager();
+        final HttpUrl apiUrl = HttpUrl.get("https://my7.test.com/api/");
+        final HttpUrl otherUrl = HttpUrl.get("https://my8.test.com/api/");
+
+        cookieManager.saveFromResponse(apiUrl, Collections.singletonList(createCookie("auth", "1", "my7.test.com")));
+        cookieManager.saveFromResponse(otherUrl, Collections.singletonList(createCookie("other", "2", "my8.test.com")));
+
+        assertEquals(Collections.singletonList(createCookie("auth", "1", "my7.test.com")), cookieManager.loadForRequest(apiUrl));
+        assertEquals(Collections.singletonList(createCookie("other", "2", "my8.test.com")), cookieManager.loadForRequest(otherUrl));
+    }
+
+    @Test
+    public void testSharedCookie() {
+        final SdkCookieManager cookieManager = new SdkCookieManager();
+        cookieManager.shareCookie("my7-preview.test.com", "my7.test.com", "auth");
+        final HttpUrl previewUrl = HttpUrl.get("https://my7-preview.test.com/api/");
+
+        final Cookie authCookie = createCookie("auth", "1", "my7.test.com");
+        cookieManager.saveFromResponse(HttpUrl.get("https://my7.test.com/api/"), Arrays.asList(authCookie, createCookie("tenant", "t", "my7.test.com")));
+        assertEquals("Only shared cookie should be sent", Collections.singletonList(authCookie), cookieManager.loadForRequest(previewUrl));
+
+        final Cookie previewCookie = createCookie("preview", "p", "my7-preview.test.com");
+        cookieManager.saveFromResponse(previewUrl, Collections.singletonList(previewCookie));
+        assertEquals(Arrays.asList(previewCookie, authCookie), cookieManager.loadForRequest(previewUrl));
+        assertEquals("Cookies of sharing host should not be sent to session host",
+                Arrays.asList(authCookie, createCookie("tenant", "t", "my7.test.com")),
+                cookieManager.loadForRequest(HttpUrl.get("https://my7.test.com/api/")));
+
+        final Cookie previewAuthCookie = createCookie("auth", "2", "my7-preview.test.com");
+        cookieManager.saveFromResponse(previewUrl, Collections.singletonList(previewAuthCookie));
+        assertEquals("Own cookie should take precedence over shared one",
+                Arrays.asList(previewCookie, previewAuthCookie), cookieManager.loadForRequest(previewUrl));
+    }
+
+    @Test
+    public void testCookiesAreReplacedByName() {
+        final SdkCookieManager cookieManager = new SdkCookieManager();
+        final HttpUrl url = HttpUrl.get("https://my7.test.com/api/");
+
+        cookieManager.saveFromResponse(url, Arrays.asList(createCookie("auth", "1", "my7.test.com"), createCookie("tenant", "t", "my7.test.com")));
+        cookieManager.saveFromResponse(url, Collections.singletonList(createCookie("auth", "2", "my7.test.com")));
+
+        assertEquals(Arrays.asList(createCookie("tenant", "t", "my7.test.com"), createCookie("auth", "2", "my7.test.com")),
+                cookieManager.loadForRequest(url));
+    }
+
+    @Test
+    public void testExpiredCookies() {
+        final SdkCookieManager cookieManager = new SdkCookieManager();
+        final HttpUrl url = HttpUrl.get("https://my7.test.com/api/");
+
+        cookieManager.saveFromResponse(url, Collections.singletonList(createCookie("auth", "1", "my7.test.com")));
+        cookieManager.saveFromResponse(url, Collections.singletonList(new Cookie.Builder()
+                .domain("my7.test.com")
+                .name("auth")
+                .value("")
+                .expiresAt(System.currentTimeMillis() - 1000)
+                .build()));
+        assertTrue("Expired cookie should remove the one it replaces", cookieManager.isEmpty());
+
+        cookieManager.saveFromResponse(url, Collections.singletonList(new Cookie.Builder()
+                .domain("my7.test.com")
+                .name("auth")
+                .value("1")
+                .expiresAt(System.currentTimeMillis() + 100)
+                .build()));
+        assertEquals(1, cookieManager.loadForRequest(url, System.currentTimeMillis()).size());
+        assertTrue(cookieManager.loadForRequest(url, System.currentTimeMillis() + 200).isEmpty());
+    }
+
+    @Test
+    public void testGetExpiresAt() {
+        final SdkCookieManager cookieManager = new SdkCookieManager();
+        final HttpUrl url = HttpUrl.get("https://my7.test.com/api/");
+        final long expiresAt = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+
+        cookieManager.saveFromResponse(url, Collections.singletonList(createCookie("auth", "1", "my7.test.com")));
+        assertEquals("Session cookies don't expire", Long.MIN_VALUE, cookieManager.getExpiresAt("auth"));
+
+        cookieManager.saveFromResponse(url, Arrays.asList(
+                new Cookie.Builder().domain("my7.test.com").name("auth").value("2").expiresAt(expiresAt).build(),
+                new Cookie.Builder().domain("my7.test.com").name("tenant").value("t").expiresAt(expiresAt + 1000).build()));
+        assertEquals(expiresAt, cookieManager.getExpiresAt("auth"));
+        assertEquals(Long.MIN_VALUE, cookieManager.getExpiresAt("other"));
+    }
+
+    @Test
+    public void testCookiesMatchPathAndScheme() {
+        final SdkCookieManager cookieManager = new SdkCookieManager();
+        final Cookie apiCookie = new Cookie.Builder().domain("my7.test.com").path("/api").name("api").value("1").secure().build();
+        final Cookie rootCookie = createCookie("root", "2", "my7.test.com");
+        cookieManager.saveFromResponse(HttpUrl.get("https://my7.test.com/api/"), Arrays.asList(apiCookie, rootCookie));
+
+        final List<Cookie> apiCookies = cookieManager.loadForRequest(HttpUrl.get("https://my7.test.com/api/delivery/v1/search"));
+        assertEquals(Arrays.asList(apiCookie, rootCookie), apiCookies);
+        assertSame("Cookies that all match should be returned without copying",
+                apiCookies, cookieManager.loadForRequest(HttpUrl.get("https://my7.test.com/api")));
+
+        assertEquals(Collections.singletonList(rootCookie), cookieManager.loadForRequest(HttpUrl.get("https://my7.test.com/apis")));
+        assertEquals(Collections.singletonList(rootCookie), cookieManager.loadForRequest(HttpUrl.get("http://my7.test.com/api/")));
+    }
+
+    @Test
+    public void testPersistence() throws Exception {
+        final File storeFile = new File(temporaryFolder.getRoot(), "cookies");
+        final HttpUrl url = HttpUrl.get("https://my7.test.com/api/");
+        final Cookie persistentCookie = new Cookie.Builder()
+                .hostOnlyDomain("my7.test.com")
+                .path("/api")
+                .name("auth")
+                .value("token")
+                .expiresAt(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1))
+                .secure()
+                .httpOnly()
+                .build();
+        final Cookie sessionCookie = createCookie("tenant", "t", "my7.test.com");
+
+        final SdkCookieManager cookieManager = new SdkCookieManager(storeFile);
+        cookieManager.shareCookie("my7-preview.test.com", "my7.test.com", "auth");
+        cookieManager.saveFromResponse(url, Arrays.asList(persistentCookie, sessionCookie));
+        assertTrue(storeFile.exists());
+
+        final SdkCookieManager restoredCookieManager = new SdkCookieManager(storeFile);
+        assertEquals("Session cookies should not be persisted",
+                Collections.singletonList(persistentCookie), restoredCookieManager.loadForRequest(url));
+
+        restoredCookieManager.clear();
+        assertFalse("Cleared cookies should not be persisted", storeFile.exists());
+        assertTrue(new SdkCookieManager(storeFile).isEmpty());
+    }
+
+    @Test
+    public void testPersistenceInBackground() throws Exception {
+        final File storeFile = new File(temporaryFolder.getRoot(), "cookies");
+        final HttpUrl url = HttpUrl.get("https://my7.test.com/api/");
+        final long expiresAt = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        final Cookie oldCookie = new Cookie.Builder().hostOnlyDomain("my7.test.com").name("auth").value("old").expiresAt(expiresAt).build();
+        final Cookie newCookie = new Cookie.Builder().hostOnlyDomain("my7.test.com").name("auth").value("new").expiresAt(expiresAt).build();
+        final List<Runnable> writes = new ArrayList<>();
+
+        final SdkCookieManager cookieManager = new SdkCookieManager(storeFile, writes::add);
+        cookieManager.saveFromResponse(url, Collections.singletonList(oldCookie));
+        cookieManager.saveFromResponse(url, Collections.singletonList(newCookie));
+        assertEquals("Write should be scheduled once for changes made before it runs", 1, writes.size());
+        assertFalse(storeFile.exists());
+
+        writes.remove(0).run();
+        assertEquals(Collections.singletonList(newCookie), new SdkCookieManager(storeFile).loadForRequest(url));
+
+        cookieManager.saveFromResponse(url, Collections.singletonList(newCookie));
+        assertEquals("Unchanged cookies should not be written", 0, writes.size());
+    }
+
+    @Test
+    public void testCorruptedStoreIsDiscarded() throws Exception {
+        final File storeFile = temporaryFolder.newFile("cookies");
+        final FileOutputStream out = new FileOutputStream(storeFile);
+        out.write(new byte[]{1, 2, 3, 4, 5});
+        out.close();
+
+        final SdkCookieManager cookieManager = new SdkCookieManager(storeFile);
+        assertTrue(cookieManager.isEmpty());
+        assertFalse(storeFile.exists());
+    }
+
+    @Test
+    public void testConcurrentResponses() throws Exception {
+        final SdkCookieManager cookieManager = new SdkCookieManager();
+        final HttpUrl url = HttpUrl.get("https://my7.test.com/api/");
+        final int threadsCount = 4;
+        final int cookiesCount = 200;
+
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadsCount; t++) {
+            final int threadIndex = t;
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; i < cookiesCount; i++) {
+                    cookieManager.saveFromResponse(url, Collections.singletonList(createCookie("cookie-" + threadIndex + "-" + i, "v", "my7.test.com")));
+                    cookieManager.loadForRequest(url);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals("Cookies of concurrent responses should not be lost", threadsCount * cookiesCount, cookieManager.loadForRequest(url).size());
+    }
+
+    private static Cookie createCookie(String name, String value, String domain) {
+        return new Cookie.Builder()
+                .domain(domain)
+                .name(name)
+                .value(value)
+                .build();
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package co.acoustic.content.delivery.sdk;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.HttpURLConnection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SessionAuthenticatorTest {
+
+    private static final String AUTH_COOKIE = "x-ibm-dx-user-auth";
+    private static final int BURST_SIZE = 20;
+
+    private final MockWebServer mockWebServer = new MockWebServer();
+
+    private final AtomicInteger loginsCount = new AtomicInteger();
+    private volatile String validToken;
+    private final CountDownLatch unauthorizedBurst = new CountDownLatch(SDKConfig.DEFAULT_MAX_CONCURRENT_REQUESTS);
+
+    @Before
+    public void setUp() throws Exception {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (request.getPath().contains("login/v1/basicauth")) {
+                    final String token = "token-" + loginsCount.incrementAndGet();
+                    return new MockResponse()
+                            .setResponseCode(HttpURLConnection.HTTP_OK)
+                            .addHeader("set-cookie", AUTH_COOKIE + "=" + token + "; Path=/")
+                            .setBody(ResourceReader.read("successful_login_mock_response.json"));
+                }
+                final String cookie = request.getHeader("Cookie");
+                if (null != cookie && cookie.contains(AUTH_COOKIE + "=" + validToken)) {
+                    return new MockResponse()
+                            .setResponseCode(HttpURLConnection.HTTP_OK)
+                            .setBody(ResourceReader.read("content_items_protected_content_success_response.json"));
+                }
+                // hold rejected requests until all concurrent ones are rejected
+                unauthorizedBurst.countDown();
+                unauthorizedBurst.await(2, TimeUnit.SECONDS);
+                return new MockResponse()
+                        .setResponseCode(HttpURLConnection.HTTP_UNAUTHORIZED)
+                        .setBody(ResourceReader.read("failed_to_login_wrong_credentials_error_mock_response.json"));
+            }
+        });
+        mockWebServer.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    public void testBurstOfExpiredSessionRequestsRenewsSessionOnce() throws Exception {
+        final SDKConfig sdkConfig = SDKConfig.builder().setApiUrl(mockWebServer.url("/api/").url().toString()).build();
+        final ContentDeliverySDK sdk = new ContentDeliverySDK(sdkConfig, new TestDataEncoder(), new BlockingNetworkingCallsExecutor());
+
+        validToken = "token-1";
+        sdk.login("user", "password", error -> assertNull(error));
+        assertTrue(sdk.isLoggedIn());
+
+        // session expires
+        validToken = "token-2";
+
+        final CountDownLatch done = new CountDownLatch(BURST_SIZE);
+        final AtomicInteger successesCount = new AtomicInteger();
+        for (int i = 0; i < BURST_SIZE; i++) {
+            sdk.deliverySearch()
+                    .contentItems()
+                    .protectedContent(true)
+                    .get()
+                    .then(result -> {
+                        successesCount.incrementAndGet();
+                        done.countDown();
+                    })
+                    .error(error -> done.countDown());
+        }
+
+        assertTrue(done.await(20, TimeUnit.SECONDS));
+        assertEquals("Every request should be replayed with renewed session", BURST_SIZE, successesCount.get());
+        assertEquals("Session should be renewed by single login", 2, loginsCount.get());
+    }
+
+    @Test
+    public void testSessionIsNotRenewedWithoutCredentials() throws Exception {
+        final SessionAuthenticator.Session session = mock(SessionAuthenticator.Session.class);
+        final SessionAuthenticator authenticator = new SessionAuthenticator(session);
+
+        assertNull(authenticator.authenticate(null, createUnauthorizedResponse("https://my7.test.com/api/mydelivery/v1/search", 0)));
+        verify(session, never()).renew(anyString());
+    }
+
+    @Test
+    public void testRejectedLoginIsNotRetried() throws Exception {
+        final SessionAuthenticator.Session session = mock(SessionAuthenticator.Session.class);
+        when(session.getEncodedCredentials()).thenReturn("credentials");
+        final SessionAuthenticator authenticator = new SessionAuthenticator(session);
+
+        assertNull(authenticator.authenticate(null, createUnauthorizedResponse("https://my7.test.com/api/login/v1/basicauth", 0)));
+        verify(session, never()).renew(anyString());
+    }
+
+    @Test
+    public void testRequestIsReplayedOnce() throws Exception {
+        final SessionAuthenticator.Session session = mock(SessionAuthenticator.Session.class);
+        when(session.getEncodedCredentials()).thenReturn("credentials");
+        when(session.renew("credentials")).thenReturn(true);
+        final SessionAuthenticator authenticator = new SessionAuthenticator(session);
+
+        final Response response = createUnauthorizedResponse("https://my7.test.com/api/mydelivery/v1/search", System.currentTimeMillis());
+        assertSame(response.request(), authenticator.authenticate(null, response));
+
+        final Response replayedResponse = response.newBuilder()
+                .priorResponse(response.newBuilder().body(null).build())
+                .build();
+        assertNull(authenticator.authenticate(null, replayedResponse));
+        verify(session).renew("credentials");
+    }
+
+    @Test
+    public void testRequestSentBeforeRenewalIsReplayedWithoutLogin() throws Exception {
+        final SessionAuthenticator.Session session = mock(SessionAuthenticator.Session.class);
+        when(session.getEncodedCredentials()).thenReturn("credentials");
+        when(session.renew("credentials")).thenReturn(true);
+        final SessionAuthenticator authenticator = new SessionAuthenticator(session);
+
+        final long sentAtMillis = System.currentTimeMillis();
+        authenticator.authenticate(null, createUnauthorizedResponse("https://my7.test.com/api/mydelivery/v1/search", sentAtMillis));
+
+        final Response concurrentResponse = createUnauthorizedResponse("https://my7.test.com/api/mydelivery/v1/search", sentAtMillis);
+        assertSame(concurrentResponse.request(), authenticator.authenticate(null, concurrentResponse));
+        verify(session).renew("credentials");
+    }
+
+    @Test
+    public void testFailedRenewal() throws Exception {
+        final SessionAuthenticator.Session session = mock(SessionAuthenticator.Session.class);
+        when(session.getEncodedCredentials()).thenReturn("credentials");
+        when(session.renew("credentials")).thenReturn(false);
+        final SessionAuthenticator authenticator = new SessionAuthenticator(session);
+
+        assertNull(authenticator.authenticate(null, createUnauthorizedResponse("https://my7.test.com/api/mydelivery/v1/search", 0)));
+    }
+
+    @NonNull
+    private static Response createUnauthorizedResponse(String url, long sentRequestAtMillis) {
+        return new Response.Builder()
+                .request(new Request.Builder().url(url).build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(HttpURLConnection.HTTP_UNAUTHORIZED)
+                .message("Unauthorized")
+                .sentRequestAtMillis(sentRequestAtMillis)
+                .build();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package co.acoustic.content.delivery.sdk;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cookie;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SessionRefresherTest {
+
+    private static final HttpUrl API_URL = HttpUrl.get("https://my7.test.com/api/");
+
+    private final SessionAuthenticator authenticator = mock(SessionAuthenticator.class);
+    private final SdkCookieManager cookieManager = new SdkCookieManager();
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final Random random = new Random() {
+        @Override
+        public double nextDouble() {
+            return 0.5;
+        }
+    };
+    private final ScheduledFuture<?> scheduledFuture = mock(ScheduledFuture.class);
+
+    private SessionRefresher sessionRefresher;
+
+    @Before
+    public void setUp() {
+        doReturn(scheduledFuture).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        sessionRefresher = new SessionRefresher(authenticator, cookieManager, scheduler, random);
+    }
+
+    @Test
+    public void testRefreshIsScheduledBeforeExpiry() {
+        final long expiresIn = TimeUnit.HOURS.toMillis(1);
+        saveAuthCookie(System.currentTimeMillis() + expiresIn);
+        sessionRefresher.onSessionEstablished();
+
+        final long latest = expiresIn - SessionRefresher.REFRESH_MARGIN_MILLIS - SessionRefresher.MAX_JITTER_MILLIS / 2;
+        verify(scheduler).schedule(any(Runnable.class),
+                longThat(delay -> delay <= latest && delay > latest - TimeUnit.SECONDS.toMillis(10)),
+                eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testRefreshOfExpiringSessionIsScheduledImmediately() {
+        saveAuthCookie(System.currentTimeMillis() + 1000);
+        sessionRefresher.onSessionEstablished();
+        verify(scheduler).schedule(any(Runnable.class), eq(0L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testSessionWithoutExpiryIsNotRefreshed() {
+        cookieManager.saveFromResponse(API_URL, Collections.singletonList(new Cookie.Builder()
+                .domain(API_URL.host())
+                .name(SessionRefresher.AUTH_COOKIE_NAME)
+                .value("token")
+                .build()));
+        sessionRefresher.onSessionEstablished();
+        verify(scheduler, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void testNewSessionReplacesScheduledRefresh() {
+        saveAuthCookie(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        sessionRefresher.onSessionEstablished();
+        sessionRefresher.onSessionEstablished();
+        verify(scheduledFuture).cancel(false);
+        verify(scheduler, times(2)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        sessionRefresher.cancel();
+        verify(scheduledFuture, times(2)).cancel(false);
+    }
+
+    @Test
+    public void testRefreshIsNotScheduledAfterShutdown() {
+        final Transport transport = Transport.builder().build();
+        final SessionRefresher refresher = new SessionRefresher(authenticator, cookieManager, transport.getScheduler());
+        saveAuthCookie(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        transport.shutdown();
+        refresher.onSessionEstablished();
+    }
+
+    @Test
+    public void testIdleSessionIsNotRefreshed() throws Exception {
+        saveAuthCookie(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        intercept("https://my7.test.com/api/delivery/v1/search");
+        Thread.sleep(2);
+        sessionRefresher.onSessionEstablished();
+        // login itself is not a sign of activity
+        intercept("https://my7.test.com/api/login/v1/basicauth");
+
+        sessionRefresher.refresh();
+        verify(authenticator, never()).renewSession();
+    }
+
+    @Test
+    public void testActiveSessionIsRefreshed() throws Exception {
+        saveAuthCookie(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        sessionRefresher.onSessionEstablished();
+        intercept("https://my7.test.com/api/delivery/v1/search");
+
+        sessionRefresher.refresh();
+        verify(authenticator).renewSession();
+    }
+
+    @Test
+    public void testFailedRefreshIsIgnored() throws Exception {
+        when(authenticator.renewSession()).thenThrow(new IOException());
+        sessionRefresher.onSessionEstablished();
+        intercept("https://my7.test.com/api/delivery/v1/search");
+
+        sessionRefresher.refresh();
+        verify(authenticator).renewSession();
+    }
+
+    private void saveAuthCookie(long expiresAt) {
+        cookieManager.saveFromResponse(API_URL, Collections.singletonList(new Cookie.Builder()
+                .domain(API_URL.host())
+                .name(SessionRefresher.AUTH_COOKIE_NAME)
+                .value("token")
+                .expiresAt(expiresAt)
+                .build()));
+    }
+
+    private void intercept(String url) throws IOException {
+        intercept(sessionRefresher, url);
+    }
+
+    private static void intercept(SessionRefresher refresher, String url) throws IOException {
+        final Request request = new Request.Builder().url(url).build();
+        final Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        refresher.intercept(chain);
+        verify(chain).proceed(request);
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SnapshotsTest {
+
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(JSONObject.class, new JSONObjectJsonDeserializer())
+            .create();
+
+    @Test
+    public void testAssetsRoundTrip() throws IOException {
+        assertDocumentsRoundTrip(readDocuments("assets_default_success_response.json"));
+    }
+
+    @Test
+    public void testCategoriesRoundTrip() throws IOException {
+        assertDocumentsRoundTrip(readDocuments("categories_default_success_response.json"));
+    }
+
+    @Test
+    public void testContentItemsRoundTrip() throws IOException {
+        assertDocumentsRoundTrip(readDocuments("content_items_default_success_response.json"));
+    }
+
+    @Test
+    public void testContentTypesRoundTrip() throws IOException {
+        assertDocumentsRoundTrip(readDocuments("content_types_default_success_response.json"));
+    }
+
+    @Test
+    public void testMixedDocumentsRoundTrip() throws IOException {
+        final List<Document> documents = new ArrayList<>();
+        documents.addAll(readDocuments("assets_default_success_response.json"));
+        documents.addAll(readDocuments("content_items_default_success_response.json"));
+        assertDocumentsRoundTrip(documents);
+    }
+
+    @Test
+    public void testEmptyDocumentsRoundTrip() throws IOException {
+        assertDocumentsRoundTrip(Collections.emptyList());
+    }
+
+    @Test
+    public void testDocumentWithNullFieldsRoundTrip() throws IOException {
+        final DeliverySearchResponseDocument rawDoc = new DeliverySearchResponseDocument();
+        rawDoc.classification = "content";
+        final ArrayList<Double> numbers = new ArrayList<>();
+        numbers.add(1.5);
+        numbers.add(null);
+        numbers.add(-0.0);
+        rawDoc.number1 = DoubleColumn.of(numbers);
+        final ArrayList<Boolean> booleans = new ArrayList<>();
+        booleans.add(null);
+        booleans.add(true);
+        rawDoc.boolean1 = BooleanColumn.of(booleans);
+        final ArrayList<String> strings = new ArrayList<>();
+        strings.add(null);
+        strings.add("");
+        rawDoc.string1 = strings;
+        assertDocumentsRoundTrip(Collections.singletonList(new ContentItem(rawDoc)));
+    }
+
+    @Test
+    public void testSortableNumbersRoundTrip() throws IOException {
+        final DeliverySearchResponseDocument rawDoc = new DeliverySearchResponseDocument();
+        rawDoc.classification = "content";
+        rawDoc.sortableNumber1 = Double.NaN;
+        final ContentItem contentItem = (ContentItem) roundTrip(Collections.singletonList(new ContentItem(rawDoc))).get(0);
+        assertEquals(Double.valueOf(Double.NaN), contentItem.getSortableNumber1());
+        assertNull(contentItem.getSortableNumber2());
+    }
+
+    @Test
+    public void testDocumentWithNonAsciiAndLongStringsRoundTrip() throws IOException {
+        final StringBuilder longValue = new StringBuilder();
+        while (longValue.length() < 20000) {
+            longValue.append("Zürich 東京 😀 ");
+        }
+        final DeliverySearchResponseDocument rawDoc = new DeliverySearchResponseDocument();
+        rawDoc.classification = "content";
+        rawDoc.name = "Café 🍰";
+        rawDoc.description = longValue.toString();
+        // unpaired surrogate is written as '?' same way as String.getBytes() does
+        rawDoc.id = "broken\uD83D";
+
+        final List<Document> restored = roundTrip(Collections.singletonList(new ContentItem(rawDoc)));
+        final ContentItem contentItem = (ContentItem) restored.get(0);
+        assertEquals(rawDoc.name, contentItem.getName());
+        assertEquals(rawDoc.description, contentItem.getDescription());
+        assertEquals("broken?", contentItem.getId());
+    }
+
+    @Test
+    public void testRepeatedStringsAreWrittenOnce() throws IOException {
+        final List<Document> documents = readDocuments("content_items_default_success_response.json");
+        final List<Document> repeated = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            repeated.addAll(documents);
+        }
+        final int singleSize = writeDocuments(documents).length;
+        final int repeatedSize = writeDocuments(repeated).length;
+        assertTrue("Repeated snapshot should be smaller than copies of single one", repeatedSize < singleSize * 50);
+    }
+
+    @Test
+    public void testDeliverySearchResultRoundTrip() throws IOException {
+        final DeliverySearchQueryBuilder builder = new DeliverySearchQueryBuilder()
+                .query("name:Canada*")
+                .filterQuery("type", "Article")
+                .sort("name", true)
+                .sort("lastModified", false)
+                .start(10)
+                .rows(10)
+                .setIncludeDraft(true);
+        final Documents.State requestState = new Documents.State(ContentItems.class, builder, true, false, true, true, false);
+        final ContentItems request = mock(ContentItems.class);
+        when(request.getState()).thenReturn(requestState);
+        final List<ContentItem> documents = new ArrayList<>();
+        for (Document document : readDocuments("content_items_default_success_response.json")) {
+            documents.add((ContentItem) document);
+        }
+        final DeliverySearchResult<ContentItem> result = new DeliverySearchResult<>(123, request, documents);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Snapshots.writeDeliverySearchResult(result, out);
+        final DeliverySearchResult.State restored = Snapshots.readDeliverySearchResultState(new ByteArrayInputStream(out.toByteArray()));
+
+        assertTrue(restored.hasDocuments());
+        assertEquals(result.getState(), restored);
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void testReadWrongMagic() throws IOException {
+        Snapshots.readDocuments(new ByteArrayInputStream(new byte[]{'J', 'S', 'O', 'N', 1, 1, 0}));
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void testReadUnsupportedVersion() throws IOException {
+        final byte[] snapshot = writeDocuments(Collections.emptyList());
+        snapshot[4] = (byte) (Snapshots.VERSION + 1);
+        Snapshots.readDocuments(new ByteArrayInputStream(snapshot));
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void testReadWrongKind() throws IOException {
+        Snapshots.readDeliverySearchResultState(new ByteArrayInputStream(writeDocuments(Collections.emptyList())));
+    }
+
+    @Test(expected = EOFException.class)
+    public void testReadTruncated() throws IOException {
+        final byte[] snapshot = writeDocuments(readDocuments("assets_default_success_response.json"));
+        Snapshots.readDocuments(new ByteArrayInputStream(Arrays.copyOf(snapshot, snapshot.length / 2)));
+    }
+
+    @Test
+    public void testReadEmbeddedSnapshot() throws IOException {
+        final List<Document> documents = readDocuments("assets_default_success_response.json");
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Snapshots.writeDocuments(documents, out);
+        out.write(new byte[]{1, 2, 3});
+
+        final ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        assertEquals(documents, Snapshots.readDocuments(in));
+        assertEquals("Bytes that follow snapshot should not be read", 3, in.available());
+        assertEquals(1, in.read());
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void testReadCorruptedSize() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final SnapshotWriter writer = new SnapshotWriter(out);
+        writer.writeVarInt(Integer.MAX_VALUE);
+        writer.flush();
+
+        new SnapshotReader(new ByteArrayInputStream(out.toByteArray())).readBlob();
+    }
+
+    @Test(expected = EOFException.class)
+    public void testReadTruncatedLargeBlob() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final SnapshotWriter writer = new SnapshotWriter(out);
+        writer.writeVarInt(SnapshotReader.MAX_SIZE + 1);
+        writer.writeByte(1);
+        writer.flush();
+
+        new SnapshotReader(new ByteArrayInputStream(out.toByteArray())).readBlob();
+    }
+
+    @Test
+    public void testVarLongEdgeValues() throws IOException {
+        final long[] values = {0, 1, -1, 63, -64, 64, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final SnapshotWriter writer = new SnapshotWriter(out);
+        for (long value : values) {
+            writer.writeVarLong(value);
+        }
+        writer.writeVarInt(Integer.MAX_VALUE);
+        writer.flush();
+
+        final SnapshotReader reader = new SnapshotReader(new ByteArrayInputStream(out.toByteArray()));
+        for (long value : values) {
+            assertEquals(value, reader.readVarLong());
+        }
+        assertEquals(Integer.MAX_VALUE, reader.readVarInt());
+    }
+
+    private void assertDocumentsRoundTrip(List<? extends Document> documents) throws IOException {
+        assertEquals(documents, roundTrip(documents));
+    }
+
+    private List<Document> roundTrip(List<? extends Document> documents) throws IOException {
+        return Snapshots.readDocuments(new ByteArrayInputStream(writeDocuments(documents)));
+    }
+
+    private byte[] writeDocuments(List<? extends Document> documents) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Snapshots.writeDocuments(documents, out);
+        return out.toByteArray();
+    }
+
+    private List<Document> readDocuments(String fileName) {
+        final DeliverySearchResponse response = gson.fromJson(ResourceReader.read(fileName), DeliverySearchResponse.class);
+        final List<Document> documents = new ArrayList<>();
+        for (DeliverySearchResponseDocument rawDoc : response.documents) {
+            switch (rawDoc.classification) {
+                case "asset":
+                    documents.add(new Asset(rawDoc));
+                    break;
+                case "category":
+                    documents.add(new Category(rawDoc));
+                    break;
+                case "content":
+                    documents.add(new ContentItem(rawDoc));
+                    break;
+                case "content-type":
+                    documents.add(new ContentType(rawDoc));
+                    break;
+                default:
+                    fail("Unexpected classification " + rawDoc.classification);
+            }
+        }
+        return documents;
+    }
+}
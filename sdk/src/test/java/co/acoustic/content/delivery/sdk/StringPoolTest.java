@@ -0,0 +1,148 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package co.acoustic.content.delivery.sdk;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class StringPoolTest {
+
+    @Test
+    public void testCanonicalize() {
+        final StringPool stringPool = new StringPool(16);
+        final String first = new String("ready");
+        final String second = new String("ready");
+
+        assertSame(first, stringPool.canonicalize(first));
+        assertSame(first, stringPool.canonicalize(second));
+        assertNull(stringPool.canonicalize((String) null));
+
+        final StringPoolStats stats = stringPool.getStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getSize());
+        assertEquals(0.5, stats.getHitRate(), 0);
+    }
+
+    @Test
+    public void testCanonicalizeList() {
+        final StringPool stringPool = new StringPool(16);
+        final String tag = new String("sample");
+        stringPool.canonicalize(tag);
+
+        final List<String> tags = new ArrayList<>(Arrays.asList(new String("sample"), null, "other"));
+        stringPool.canonicalize(tags);
+
+        assertSame(tag, tags.get(0));
+        assertNull(tags.get(1));
+        assertEquals("other", tags.get(2));
+    }
+
+    @Test
+    public void testMaxSize() {
+        final StringPool stringPool = new StringPool(4);
+        for (int i = 0; i < 10; i++) {
+            stringPool.canonicalize("value" + i);
+            assertTrue(stringPool.getStats().getSize() <= 4);
+        }
+        assertEquals(2, stringPool.getStats().getEvictionCount());
+    }
+
+    @Test
+    public void testDisabled() {
+        final StringPool stringPool = new StringPool(0);
+        final String value = new String("en");
+        stringPool.canonicalize("en");
+
+        assertFalse(stringPool.isEnabled());
+        assertSame(value, stringPool.canonicalize(value));
+        assertEquals(0, stringPool.getStats().getSize());
+        assertEquals(0, stringPool.getStats().getHitRate(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeMaxSize() {
+        new StringPool(-1);
+    }
+
+    @Test
+    public void testConcurrentCanonicalize() throws InterruptedException {
+        final StringPool stringPool = new StringPool(64);
+        final int threadCount = 8;
+        final String[][] results = new String[threadCount][];
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        for (int t = 0; t < threadCount; t++) {
+            final int thread = t;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                results[thread] = new String[1000];
+                for (int i = 0; i < 1000; i++) {
+                    results[thread][i] = stringPool.canonicalize(new String("value" + (i % 32)));
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 1000; i++) {
+            for (int t = 1; t < threadCount; t++) {
+                assertSame(results[0][i], results[t][i]);
+            }
+        }
+        assertEquals(threadCount * 1000, stringPool.getStats().getHitCount() + stringPool.getStats().getMissCount());
+    }
+
+    @Test
+    public void testParsedDocumentsShareValues() {
+        final StringPool stringPool = new StringPool(SDKConfig.DEFAULT_STRING_POOL_MAX_SIZE);
+        final Gson gson = new GsonBuilder()
+                .registerTypeAdapter(JSONObject.class, new JSONObjectJsonDeserializer())
+                .registerTypeAdapterFactory(new StringPoolTypeAdapterFactory(stringPool))
+                .create();
+        final String json = ResourceReader.read("content_items_default_success_response.json");
+
+        final List<DeliverySearchResponseDocument> first = gson.fromJson(json, DeliverySearchResponse.class).documents;
+        final List<DeliverySearchResponseDocument> second = gson.fromJson(json, DeliverySearchResponse.class).documents;
+
+        for (int i = 0; i < first.size(); i++) {
+            assertSame(first.get(i).classification, second.get(i).classification);
+            assertSame(first.get(i).locale, second.get(i).locale);
+            assertSame(first.get(i).typeId, second.get(i).typeId);
+            assertSame(first.get(i).status, second.get(i).status);
+            // values that aren't repeated are not pooled
+            assertEquals(first.get(i).id, second.get(i).id);
+        }
+        assertTrue(stringPool.getStats().getHitRate() > 0.5);
+    }
+}
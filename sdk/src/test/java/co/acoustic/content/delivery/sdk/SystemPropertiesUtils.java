@@ -42,4 +42,14 @@ class SystemPropertiesUtils {
     static String getPassword() {
         return System.getProperty(TestSystemProperties.PASSWORD, "");
     }
+
+    static int getIntProperty(String key, int defaultValue) {
+        final String value = System.getProperty(key, "");
+        int result = defaultValue;
+        if (value != null && !value.isEmpty() && !"null".equals(value)) {
+            result = Integer.parseInt(value);
+        }
+        System.err.println("SystemPropertiesUtils.getIntProperty : " + key + " = " + result);
+        return result;
+    }
 }
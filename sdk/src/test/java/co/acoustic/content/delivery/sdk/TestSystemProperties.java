@@ -21,6 +21,12 @@ interface TestSystemProperties {
     String USERNAME = "USERNAME";
     String PASSWORD = "PASSWORD";
 
+    String LOAD_STREAMS = "LOAD_STREAMS";
+    String LOAD_REQUESTS_PER_STREAM = "LOAD_REQUESTS_PER_STREAM";
+    String LOAD_LATENCY_MS = "LOAD_LATENCY_MS";
+    String LOAD_BYTES_PER_SECOND = "LOAD_BYTES_PER_SECOND";
+    String LOAD_ERROR_EVERY = "LOAD_ERROR_EVERY";
+
     interface TestScheme {
         String MOCK = "AcousticMockTests";
         String LIVE = "AcousticLiveTests";
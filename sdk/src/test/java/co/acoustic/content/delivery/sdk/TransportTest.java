@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020 Acoustic, L.P.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Apache License, Version 2.0
+ * www.apache.org
+ * Home page of The Apache Software Foundation
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package co.acoustic.content.delivery.sdk;
+
+import com.google.gson.GsonBuilder;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import okhttp3.OkHttpClient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+public class TransportTest {
+
+    @Test
+    public void testSdkInstancesShareTransport() {
+        final Transport transport = Transport.builder().build();
+        final RetrofitFactory.CookieManager firstCookieManager = mock(RetrofitFactory.CookieManager.class);
+        final RetrofitFactory.CookieManager secondCookieManager = mock(RetrofitFactory.CookieManager.class);
+        final RetrofitFactory first = new RetrofitFactory(new GsonBuilder().create(), SDKConfig.builder()
+                .setApiUrl("https://my7.test.com/api/tenant-1/")
+                .setTransport(transport)
+                .build(), firstCookieManager);
+        final RetrofitFactory second = new RetrofitFactory(new GsonBuilder().create(), SDKConfig.builder()
+                .setApiUrl("https://my8.test.com/api/tenant-2/")
+                .setTransport(transport)
+                .setMaxConcurrentRequests(1)
+                .build(), secondCookieManager);
+
+        final OkHttpClient firstClient = (OkHttpClient) first.acousticApiService(RetrofitFactory.INTERCEPT_FLAG_COOKIE).callFactory();
+        final OkHttpClient secondClient = (OkHttpClient) second.acousticPreviewApiService(RetrofitFactory.INTERCEPT_FLAG_COOKIE).callFactory();
+
+        assertSame(transport, first.getTransport());
+        assertSame(firstClient.connectionPool(), secondClient.connectionPool());
+        assertSame(firstClient.dispatcher(), secondClient.dispatcher());
+        assertSame(firstCookieManager, firstClient.cookieJar());
+        assertSame(secondCookieManager, secondClient.cookieJar());
+        assertEquals("Lower limit of one instance should not restrict the other",
+                SDKConfig.DEFAULT_MAX_CONCURRENT_REQUESTS + 1, firstClient.dispatcher().getMaxRequestsPerHost());
+    }
+
+    @Test
+    public void testSdkInstanceHasTransportOfItsOwn() {
+        final SDKConfig config = SDKConfig.builder().setApiUrl("https://my7.test.com/").build();
+        final RetrofitFactory first = new RetrofitFactory(new GsonBuilder().create(), config, mock(RetrofitFactory.CookieManager.class));
+        final RetrofitFactory second = new RetrofitFactory(new GsonBuilder().create(), config, mock(RetrofitFactory.CookieManager.class));
+        assertNotSame(first.getTransport(), second.getTransport());
+    }
+
+    @Test
+    public void testShutdown() {
+        final Transport transport = Transport.builder().build();
+        final OkHttpClient client = transport.getOkHttpClient();
+        final ScheduledExecutorService scheduler = transport.getScheduler();
+        assertSame(scheduler, transport.getScheduler());
+        assertFalse(transport.isShutdown());
+
+        transport.shutdown();
+        transport.shutdown();
+
+        assertTrue(transport.isShutdown());
+        assertTrue(client.dispatcher().executorService().isShutdown());
+        assertTrue(scheduler.isShutdown());
+        assertEquals(0, client.connectionPool().connectionCount());
+    }
+
+    @Test
+    public void testShutdownKeepsApplicationExecutor() {
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final Transport transport = Transport.builder().setExecutorService(executorService).build();
+            assertSame(executorService, transport.getOkHttpClient().dispatcher().executorService());
+            transport.shutdown();
+            assertFalse(executorService.isShutdown());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUseAfterShutdown() {
+        final Transport transport = Transport.builder().build();
+        transport.shutdown();
+        transport.getOkHttpClient();
+    }
+
+    @Test
+    public void testSdkCallsAfterShutdownWithApplicationExecutor() {
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final Transport transport = Transport.builder().setExecutorService(executorService).build();
+            final RetrofitFactory factory = new RetrofitFactory(new GsonBuilder().create(), SDKConfig.builder()
+                    .setApiUrl("https://my7.test.com/api/")
+                    .setTransport(transport)
+                    .build(), mock(RetrofitFactory.CookieManager.class));
+            factory.acousticApiService(RetrofitFactory.INTERCEPT_FLAG_COOKIE);
+            transport.shutdown();
+
+            try {
+                factory.acousticApiService(RetrofitFactory.INTERCEPT_FLAG_COOKIE);
+                fail("Calls should not be created after shutdown");
+            } catch (IllegalStateException expected) {
+                // expected
+            }
+            try {
+                factory.acousticPreviewApiService(RetrofitFactory.INTERCEPT_FLAG_COOKIE);
+                fail("Calls should not be created after shutdown");
+            } catch (IllegalStateException expected) {
+                // expected
+            }
+            assertFalse(executorService.isShutdown());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+}